@@ -66,6 +66,7 @@ public class HttpThingHandler extends BaseThingHandler {
     private final Logger logger = LoggerFactory.getLogger(HttpThingHandler.class);
     private final ValueTransformationProvider valueTransformationProvider;
     private final HttpClientProvider httpClientProvider;
+    private final RefreshingUrlCacheRegistry refreshingUrlCacheRegistry;
     private HttpClient httpClient;
     private RateLimitedHttpClient rateLimitedHttpClient;
     private final HttpDynamicStateDescriptionProvider httpDynamicStateDescriptionProvider;
@@ -77,9 +78,11 @@ public class HttpThingHandler extends BaseThingHandler {
 
     public HttpThingHandler(Thing thing, HttpClientProvider httpClientProvider,
             ValueTransformationProvider valueTransformationProvider,
-            HttpDynamicStateDescriptionProvider httpDynamicStateDescriptionProvider) {
+            HttpDynamicStateDescriptionProvider httpDynamicStateDescriptionProvider,
+            RefreshingUrlCacheRegistry refreshingUrlCacheRegistry) {
         super(thing);
         this.httpClientProvider = httpClientProvider;
+        this.refreshingUrlCacheRegistry = refreshingUrlCacheRegistry;
         this.httpClient = httpClientProvider.getSecureClient();
         this.rateLimitedHttpClient = new RateLimitedHttpClient(httpClient, scheduler);
         this.valueTransformationProvider = valueTransformationProvider;
@@ -109,6 +112,8 @@ public class HttpThingHandler extends BaseThingHandler {
         } else {
             try {
                 itemValueConverter.send(command);
+                // the state is to be refreshed even if the device ignored the command
+                urlHandlers.values().forEach(RefreshingUrlCache::invalidate);
             } catch (IllegalArgumentException e) {
                 logger.warn("Failed to convert command '{}' to channel '{}' for sending", command, channelUID);
             } catch (IllegalStateException e) {
@@ -191,8 +196,8 @@ public class HttpThingHandler extends BaseThingHandler {
 
     @Override
     public void dispose() {
-        // stop update tasks
-        urlHandlers.values().forEach(RefreshingUrlCache::stop);
+        // stop update tasks, unless they are shared with other things
+        refreshingUrlCacheRegistry.release(rateLimitedHttpClient);
         rateLimitedHttpClient.shutdown();
 
         // clear lists
@@ -275,8 +280,8 @@ public class HttpThingHandler extends BaseThingHandler {
             // we need a key consisting of stateContent and URL, only if both are equal, we can use the same cache
             String key = channelConfig.stateContent + "$" + stateUrl;
             channelUrls.put(channelUID, key);
-            urlHandlers.computeIfAbsent(key, k -> new RefreshingUrlCache(scheduler, rateLimitedHttpClient, stateUrl,
-                    config, channelConfig.stateContent)).addConsumer(itemValueConverter::process);
+            urlHandlers.put(key, refreshingUrlCacheRegistry.addConsumer(scheduler, rateLimitedHttpClient, stateUrl,
+                    config, channelConfig.stateContent, itemValueConverter::process));
         }
 
         StateDescription stateDescription = StateDescriptionFragmentBuilder.create()
@@ -52,7 +52,7 @@ public abstract class AbstractTransformingItemConverter implements ItemValueConv
     @Override
     public void process(Content content) {
         if (channelConfig.mode != HttpChannelMode.WRITEONLY) {
-            stateTransformations.apply(content.getAsString()).ifPresent(transformedValue -> {
+            stateTransformations.apply(content).ifPresent(transformedValue -> {
                 Command command = toCommand(transformedValue);
                 if (command != null) {
                     postCommand.accept(command);
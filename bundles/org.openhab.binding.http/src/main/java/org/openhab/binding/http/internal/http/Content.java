@@ -14,12 +14,18 @@ package org.openhab.binding.http.internal.http;
 
 import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
 
 /**
  * The {@link Content} defines the pre-processed response
+ * <p>
+ * The decoded string and parsed documents are created once per response and shared by all channels.
  *
  * @author Jan N. Klug - Initial contribution
  */
@@ -28,10 +34,21 @@ public class Content {
     private final byte[] rawContent;
     private final Charset encoding;
     private final @Nullable String mediaType;
+    private final @Nullable String eTag;
+    private final @Nullable String lastModified;
+    private final Map<String, Optional<Object>> documents = new ConcurrentHashMap<>();
+    private volatile @Nullable String asString;
 
     public Content(byte[] rawContent, String encoding, @Nullable String mediaType) {
+        this(rawContent, encoding, mediaType, null, null);
+    }
+
+    public Content(byte[] rawContent, String encoding, @Nullable String mediaType, @Nullable String eTag,
+            @Nullable String lastModified) {
         this.rawContent = rawContent;
         this.mediaType = mediaType;
+        this.eTag = eTag;
+        this.lastModified = lastModified;
 
         Charset finalEncoding = StandardCharsets.UTF_8;
         try {
@@ -46,10 +63,45 @@ public class Content {
     }
 
     public String getAsString() {
-        return new String(rawContent, encoding);
+        String asString = this.asString;
+        if (asString == null) {
+            asString = new String(rawContent, encoding);
+            this.asString = asString;
+        }
+        return asString;
+    }
+
+    /**
+     * get the content as parsed document, it is parsed only on the first request for a type
+     *
+     * @param type the type of the document, e.g. JSON
+     * @param parser the parser, returns null if the content can't be parsed
+     * @return the parsed document or empty if parsing failed
+     */
+    @SuppressWarnings("unchecked")
+    public <T> Optional<T> getDocument(String type, Function<String, @Nullable T> parser) {
+        return (Optional<T>) documents.computeIfAbsent(type, t -> Optional.ofNullable(parser.apply(getAsString())));
     }
 
     public @Nullable String getMediaType() {
         return mediaType;
     }
+
+    /**
+     * get the ETag header of the response, for conditional requests
+     *
+     * @return the ETag or null if not present
+     */
+    public @Nullable String getETag() {
+        return eTag;
+    }
+
+    /**
+     * get the Last-Modified header of the response, for conditional requests
+     *
+     * @return the date or null if not present
+     */
+    public @Nullable String getLastModified() {
+        return lastModified;
+    }
 }
@@ -13,17 +13,23 @@
 package org.openhab.binding.http.internal.http;
 
 import java.net.*;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Date;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Consumer;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
 import org.eclipse.jetty.client.api.Authentication;
 import org.eclipse.jetty.client.api.AuthenticationStore;
+import org.eclipse.jetty.http.HttpHeader;
 import org.eclipse.jetty.http.HttpMethod;
 import org.openhab.binding.http.internal.Util;
 import org.openhab.binding.http.internal.config.HttpThingConfig;
@@ -33,15 +39,24 @@ import org.slf4j.LoggerFactory;
 /**
  * The {@link RefreshingUrlCache} is responsible for requesting from a single URL and passing the content to the
  * channels
+ * <p>
+ * The cache may be shared by several things requesting the same URL in the same way. It is refreshed with the shortest
+ * interval of these things, and the requests are sent by the rate limited client of one of them.
+ * <p>
+ * GET requests are conditional if the last response had an ETag or Last-Modified header. If the server responds that
+ * the content was not modified, or the content is identical to the last one, the consumers are not called.
  *
  * @author Jan N. Klug - Initial contribution
  */
 @NonNullByDefault
 public class RefreshingUrlCache {
+    // number of skipped refreshes after which the skip counters are logged
+    private static final int SKIP_LOG_INTERVAL = 100;
+
     private final Logger logger = LoggerFactory.getLogger(RefreshingUrlCache.class);
 
     private final String url;
-    private final RateLimitedHttpClient httpClient;
+    private final ScheduledExecutorService executor;
     private final int timeout;
     private final int bufferSize;
     private final @Nullable String fallbackEncoding;
@@ -50,22 +65,28 @@ public class RefreshingUrlCache {
     private final HttpMethod httpMethod;
     private final String httpContent;
 
-    private final ScheduledFuture<?> future;
-    private @Nullable Content lastContent;
+    // all guarded by this
+    private final Map<RateLimitedHttpClient, User> users = new LinkedHashMap<>();
+    private @Nullable ScheduledFuture<?> future;
+    private int refresh;
+
+    private volatile @Nullable RateLimitedHttpClient httpClient;
+    private volatile @Nullable Content lastContent;
+    private volatile boolean updateRequired = true;
+
+    private final AtomicLong notModifiedCount = new AtomicLong();
+    private final AtomicLong unchangedCount = new AtomicLong();
 
-    public RefreshingUrlCache(ScheduledExecutorService executor, RateLimitedHttpClient httpClient, String url,
-            HttpThingConfig thingConfig, String httpContent) {
-        this.httpClient = httpClient;
+    public RefreshingUrlCache(ScheduledExecutorService executor, String url, HttpThingConfig thingConfig,
+            String httpContent) {
+        this.executor = executor;
         this.url = url;
         this.timeout = thingConfig.timeout;
         this.bufferSize = thingConfig.bufferSize;
-        this.headers = thingConfig.headers;
+        this.headers = List.copyOf(thingConfig.headers);
         this.httpMethod = thingConfig.stateMethod;
         this.httpContent = httpContent;
         fallbackEncoding = thingConfig.encoding;
-
-        future = executor.scheduleWithFixedDelay(this::refresh, 1, thingConfig.refresh, TimeUnit.SECONDS);
-        logger.trace("Started refresh task for URL '{}' with interval {}s", url, thingConfig.refresh);
     }
 
     private void refresh() {
@@ -73,7 +94,8 @@ public class RefreshingUrlCache {
     }
 
     private void refresh(boolean isRetry) {
-        if (consumers.isEmpty()) {
+        final RateLimitedHttpClient httpClient = this.httpClient;
+        if (consumers.isEmpty() || httpClient == null) {
             // do not refresh if we don't have listeners
             return;
         }
@@ -95,6 +117,18 @@ public class RefreshingUrlCache {
                     }
                 });
 
+                final Content cachedContent = httpMethod == HttpMethod.GET ? lastContent : null;
+                if (cachedContent != null) {
+                    String eTag = cachedContent.getETag();
+                    if (eTag != null) {
+                        request.header(HttpHeader.IF_NONE_MATCH, eTag);
+                    }
+                    String lastModified = cachedContent.getLastModified();
+                    if (lastModified != null) {
+                        request.header(HttpHeader.IF_MODIFIED_SINCE, lastModified);
+                    }
+                }
+
                 CompletableFuture<@Nullable Content> response = new CompletableFuture<>();
                 response.exceptionally(e -> {
                     if (e instanceof HttpAuthException) {
@@ -119,7 +153,7 @@ public class RefreshingUrlCache {
                     logger.trace("Sending to '{}': {}", uri, Util.requestToLogString(request));
                 }
 
-                request.send(new HttpResponseListener(response, fallbackEncoding, bufferSize));
+                request.send(new HttpResponseListener(response, fallbackEncoding, bufferSize, cachedContent));
             }).exceptionally(e -> {
                 if (e instanceof CancellationException) {
                     logger.debug("Request to URL {} was cancelled by thing handler.", uri);
@@ -133,15 +167,73 @@ public class RefreshingUrlCache {
         }
     }
 
-    public void stop() {
+    public synchronized void stop() {
         // clearing all listeners to prevent further updates
         consumers.clear();
-        future.cancel(false);
+        users.clear();
+        httpClient = null;
+        ScheduledFuture<?> future = this.future;
+        if (future != null) {
+            future.cancel(false);
+            this.future = null;
+        }
         logger.trace("Stopped refresh task for URL '{}'", url);
     }
 
-    public void addConsumer(Consumer<Content> consumer) {
+    /**
+     * Add a consumer of the content and start refreshing if needed
+     *
+     * @param httpClient the rate limited client of the thing the consumer belongs to
+     * @param refresh the refresh interval of the thing in s
+     * @param consumer the consumer
+     */
+    public synchronized void addConsumer(RateLimitedHttpClient httpClient, int refresh, Consumer<Content> consumer) {
+        User user = users.computeIfAbsent(httpClient, c -> new User());
+        user.refresh = refresh;
+        user.consumers.add(consumer);
         consumers.add(consumer);
+        // the new consumer has not seen the current content yet
+        updateRequired = true;
+        if (this.httpClient == null) {
+            this.httpClient = httpClient;
+        }
+        reschedule();
+    }
+
+    /**
+     * Remove all consumers of a thing
+     *
+     * @param httpClient the rate limited client of the thing
+     * @return true if there are no consumers left and the cache is stopped
+     */
+    public synchronized boolean removeConsumers(RateLimitedHttpClient httpClient) {
+        User user = users.remove(httpClient);
+        if (user != null) {
+            consumers.removeAll(user.consumers);
+        }
+        if (users.isEmpty()) {
+            stop();
+            return true;
+        }
+        if (this.httpClient == httpClient) {
+            // the client of a disposed thing is shut down
+            this.httpClient = users.keySet().iterator().next();
+        }
+        reschedule();
+        return false;
+    }
+
+    private void reschedule() {
+        int minRefresh = users.values().stream().mapToInt(user -> user.refresh).min().orElse(refresh);
+        ScheduledFuture<?> future = this.future;
+        if (future == null || minRefresh != refresh) {
+            if (future != null) {
+                future.cancel(false);
+            }
+            refresh = minRefresh;
+            this.future = executor.scheduleWithFixedDelay(this::refresh, 1, minRefresh, TimeUnit.SECONDS);
+            logger.trace("Started refresh task for URL '{}' with interval {}s", url, minRefresh);
+        }
     }
 
     public Optional<Content> get() {
@@ -153,8 +245,55 @@ public class RefreshingUrlCache {
         }
     }
 
+    /**
+     * Pass the next response to all consumers, even if it did not change
+     */
+    public void invalidate() {
+        updateRequired = true;
+    }
+
+    /**
+     * @return the number of refreshes skipped because the server reported the content as not modified
+     */
+    long getNotModifiedCount() {
+        return notModifiedCount.get();
+    }
+
+    /**
+     * @return the number of refreshes skipped because the content was identical to the last one
+     */
+    long getUnchangedCount() {
+        return unchangedCount.get();
+    }
+
+    private void logSkipped() {
+        long notModified = notModifiedCount.get();
+        long unchanged = unchangedCount.get();
+        if ((notModified + unchanged) % SKIP_LOG_INTERVAL == 0) {
+            logger.debug("Skipped {} refreshes of URL {} so far: {} not modified, {} with unchanged content",
+                    notModified + unchanged, url, notModified, unchanged);
+        }
+    }
+
     private void processResult(@Nullable Content content) {
+        final Content last = lastContent;
+        lastContent = content;
+        if (content != null && !updateRequired) {
+            if (content == last) {
+                logger.trace("Content of URL {} not modified, skipped {} refreshes so far", url,
+                        notModifiedCount.incrementAndGet());
+                logSkipped();
+                return;
+            }
+            if (last != null && Arrays.equals(content.getRawContent(), last.getRawContent())) {
+                logger.trace("Content of URL {} unchanged, skipped {} refreshes so far", url,
+                        unchangedCount.incrementAndGet());
+                logSkipped();
+                return;
+            }
+        }
         if (content != null) {
+            updateRequired = false;
             for (Consumer<Content> consumer : consumers) {
                 try {
                     consumer.accept(content);
@@ -163,6 +302,10 @@ public class RefreshingUrlCache {
                 }
             }
         }
-        lastContent = content;
+    }
+
+    private static class User {
+        private int refresh;
+        private final List<Consumer<Content>> consumers = new ArrayList<>();
     }
 }
@@ -0,0 +1,79 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.http.internal.http;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.function.Consumer;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.openhab.binding.http.internal.config.HttpThingConfig;
+
+/**
+ * The {@link RefreshingUrlCacheRegistry} shares {@link RefreshingUrlCache}s between all things of the binding, so
+ * that things requesting the same URL in the same way are served by a single request per refresh.
+ *
+ * @author openHAB Contributors - Initial contribution
+ */
+@NonNullByDefault
+public class RefreshingUrlCacheRegistry {
+    // all guarded by this
+    private final Map<List<Object>, RefreshingUrlCache> caches = new HashMap<>();
+
+    /**
+     * Add a consumer to the cache for a request
+     *
+     * @param executor the executor for the refresh task
+     * @param httpClient the rate limited client of the thing
+     * @param url the request URL
+     * @param thingConfig the configuration of the thing
+     * @param httpContent the content (if method PUT/POST)
+     * @param consumer the consumer
+     * @return the new or shared cache
+     */
+    public synchronized RefreshingUrlCache addConsumer(ScheduledExecutorService executor,
+            RateLimitedHttpClient httpClient, String url, HttpThingConfig thingConfig, String httpContent,
+            Consumer<Content> consumer) {
+        // everything that makes a difference for the response
+        List<Object> key = List.of(url, thingConfig.stateMethod, httpContent, List.copyOf(thingConfig.headers),
+                thingConfig.timeout, thingConfig.bufferSize, String.valueOf(thingConfig.encoding),
+                thingConfig.ignoreSSLErrors, thingConfig.authMode, thingConfig.username, thingConfig.password);
+        RefreshingUrlCache cache = caches.computeIfAbsent(key,
+                k -> new RefreshingUrlCache(executor, url, thingConfig, httpContent));
+        cache.addConsumer(httpClient, thingConfig.refresh, consumer);
+        return cache;
+    }
+
+    /**
+     * Remove all consumers of a thing, caches without consumers are stopped
+     *
+     * @param httpClient the rate limited client of the thing
+     */
+    public synchronized void release(RateLimitedHttpClient httpClient) {
+        for (Iterator<RefreshingUrlCache> iterator = caches.values().iterator(); iterator.hasNext();) {
+            if (iterator.next().removeConsumers(httpClient)) {
+                iterator.remove();
+            }
+        }
+    }
+
+    /**
+     * @return the number of active caches
+     */
+    public synchronized int size() {
+        return caches.size();
+    }
+}
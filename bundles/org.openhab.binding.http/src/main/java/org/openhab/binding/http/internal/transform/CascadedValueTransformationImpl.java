@@ -20,6 +20,7 @@ import java.util.stream.Collectors;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.binding.http.internal.http.Content;
 import org.openhab.core.transform.TransformationService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -60,4 +61,19 @@ public class CascadedValueTransformationImpl implements ValueTransformation {
 
         return valueOptional;
     }
+
+    @Override
+    public Optional<String> apply(Content content) {
+        if (transformations.isEmpty()) {
+            return Optional.of(content.getAsString());
+        }
+
+        // only the first transformation is applied to the content, the others to the result of their predecessor
+        Optional<String> valueOptional = transformations.get(0).apply(content);
+        for (ValueTransformation transformation : transformations.subList(1, transformations.size())) {
+            valueOptional = valueOptional.flatMap(transformation::apply);
+        }
+
+        return valueOptional;
+    }
 }
@@ -0,0 +1,55 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.http.internal.transform;
+
+import java.util.Optional;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.binding.http.internal.http.Content;
+
+/**
+ * The {@link DocumentEvaluator} evaluates a transformation against the parsed document of a response, which is
+ * shared by all channels of the response. It yields the same result as the transformation service would.
+ *
+ * @author openHAB Contributors - Initial contribution
+ */
+@NonNullByDefault
+interface DocumentEvaluator {
+
+    /**
+     * evaluates the transformation
+     *
+     * @param content the content of the response
+     * @return the result or empty if the transformation service needs to be called instead
+     */
+    Optional<String> evaluate(Content content);
+
+    /**
+     * get an evaluator for a transformation
+     *
+     * @param serviceName the name of the transformation service, upper case
+     * @param pattern the pattern of the transformation
+     * @return the evaluator or null if the transformation can't be evaluated in the binding
+     */
+    static @Nullable DocumentEvaluator forTransformation(String serviceName, String pattern) {
+        switch (serviceName) {
+            case "JSONPATH":
+                return JsonPathEvaluator.compile(pattern);
+            case "XPATH":
+                return XPathEvaluator.compile(pattern);
+            default:
+                return null;
+        }
+    }
+}
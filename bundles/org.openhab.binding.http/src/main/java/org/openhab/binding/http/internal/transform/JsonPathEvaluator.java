@@ -0,0 +1,177 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.http.internal.transform;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.regex.Pattern;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.binding.http.internal.http.Content;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonParser;
+import com.google.gson.JsonPrimitive;
+
+/**
+ * The {@link JsonPathEvaluator} evaluates definite JSONPath expressions like <code>$.store.book[0]['title']</code>
+ * against the JSON document of a response.
+ * <p>
+ * Only scalar results are evaluated, numbers are formatted like the JSONPATH transformation service does. Everything
+ * else (missing paths, null, objects, arrays, wildcards, filters, ...) is left to the transformation service.
+ *
+ * @author openHAB Contributors - Initial contribution
+ */
+@NonNullByDefault
+class JsonPathEvaluator implements DocumentEvaluator {
+    private static final String DOCUMENT_TYPE = "JSON";
+    private static final Pattern INDEX_PATTERN = Pattern.compile("\\d{1,9}");
+    private static final Pattern QUOTED_PATTERN = Pattern.compile("'[^'\\\\,]*'|\"[^\"\\\\,]*\"");
+
+    // String for a member, Integer for an array index
+    private final List<Object> segments;
+
+    private JsonPathEvaluator(List<Object> segments) {
+        this.segments = segments;
+    }
+
+    /**
+     * compile a JSONPath expression
+     *
+     * @param pattern the expression
+     * @return the evaluator or null if the expression is not a definite path
+     */
+    static @Nullable JsonPathEvaluator compile(String pattern) {
+        String path = pattern.trim();
+        if (!path.startsWith("$")) {
+            return null;
+        }
+
+        List<Object> segments = new ArrayList<>();
+        int i = 1;
+        while (i < path.length()) {
+            char c = path.charAt(i);
+            if (c == '.') {
+                int end = i + 1;
+                while (end < path.length() && isNameChar(path.charAt(end))) {
+                    end++;
+                }
+                if (end == i + 1) {
+                    // deep scan or wildcard
+                    return null;
+                }
+                segments.add(path.substring(i + 1, end));
+                i = end;
+            } else if (c == '[') {
+                int end = path.indexOf(']', i);
+                if (end == -1) {
+                    return null;
+                }
+                String selector = path.substring(i + 1, end).trim();
+                if (INDEX_PATTERN.matcher(selector).matches()) {
+                    segments.add(Integer.valueOf(selector));
+                } else if (QUOTED_PATTERN.matcher(selector).matches()) {
+                    segments.add(selector.substring(1, selector.length() - 1));
+                } else {
+                    // filters, slices, unions, negative indices, ...
+                    return null;
+                }
+                i = end + 1;
+            } else {
+                return null;
+            }
+        }
+        return new JsonPathEvaluator(segments);
+    }
+
+    private static boolean isNameChar(char c) {
+        return Character.isLetterOrDigit(c) || c == '_' || c == '-';
+    }
+
+    @Override
+    public Optional<String> evaluate(Content content) {
+        return content.getDocument(DOCUMENT_TYPE, JsonPathEvaluator::parse).flatMap(this::evaluate);
+    }
+
+    private Optional<String> evaluate(JsonElement document) {
+        JsonElement element = document;
+        for (Object segment : segments) {
+            if (segment instanceof Integer && element.isJsonArray()) {
+                JsonArray array = element.getAsJsonArray();
+                int index = (Integer) segment;
+                if (index >= array.size()) {
+                    return Optional.empty();
+                }
+                element = array.get(index);
+            } else if (segment instanceof String && element.isJsonObject()) {
+                JsonObject object = element.getAsJsonObject();
+                JsonElement member = object.get((String) segment);
+                if (member == null) {
+                    return Optional.empty();
+                }
+                element = member;
+            } else {
+                return Optional.empty();
+            }
+        }
+
+        if (!element.isJsonPrimitive()) {
+            return Optional.empty();
+        }
+        JsonPrimitive primitive = element.getAsJsonPrimitive();
+        if (primitive.isNumber()) {
+            return Optional.ofNullable(formatNumber(primitive.getAsString()));
+        }
+        return Optional.of(primitive.getAsString());
+    }
+
+    /**
+     * format a number like the JSON parser of the transformation service (json-smart in permissive mode) does
+     *
+     * @param number the number as in the document
+     * @return the formatted number or null if the format is not known
+     */
+    static @Nullable String formatNumber(String number) {
+        try {
+            if (number.indexOf('.') == -1 && number.indexOf('e') == -1 && number.indexOf('E') == -1) {
+                return new BigInteger(number).toString();
+            } else if (number.length() > 18) {
+                return new BigDecimal(number).toString();
+            } else {
+                return Double.toString(Double.parseDouble(number));
+            }
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private static @Nullable JsonElement parse(String content) {
+        try {
+            return JsonParser.parseString(content);
+        } catch (JsonParseException e) {
+            return null;
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "JsonPathEvaluator{segments=" + segments + "}";
+    }
+}
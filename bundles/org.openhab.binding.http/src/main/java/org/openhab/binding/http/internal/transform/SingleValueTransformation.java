@@ -18,6 +18,7 @@ import java.util.function.Function;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.binding.http.internal.http.Content;
 import org.openhab.core.transform.TransformationException;
 import org.openhab.core.transform.TransformationService;
 import org.slf4j.Logger;
@@ -36,6 +37,7 @@ public class SingleValueTransformation implements ValueTransformation {
     private WeakReference<@Nullable TransformationService> transformationService = new WeakReference<>(null);
     private final String pattern;
     private final String serviceName;
+    private final @Nullable DocumentEvaluator documentEvaluator;
 
     /**
      * Creates a new channel state transformer.
@@ -54,19 +56,46 @@ public class SingleValueTransformation implements ValueTransformation {
         }
         this.serviceName = pattern.substring(0, index).toUpperCase();
         this.pattern = pattern.substring(index + 1);
+        this.documentEvaluator = DocumentEvaluator.forTransformation(serviceName, this.pattern);
     }
 
-    @Override
-    public Optional<String> apply(String value) {
+    private @Nullable TransformationService getTransformationService() {
         TransformationService transformationService = this.transformationService.get();
         if (transformationService == null) {
             transformationService = transformationServiceSupplier.apply(serviceName);
             if (transformationService == null) {
                 logger.warn("Transformation service {} for pattern {} not found!", serviceName, pattern);
-                return Optional.empty();
+                return null;
             }
             this.transformationService = new WeakReference<>(transformationService);
         }
+        return transformationService;
+    }
+
+    @Override
+    public Optional<String> apply(Content content) {
+        DocumentEvaluator documentEvaluator = this.documentEvaluator;
+        if (documentEvaluator == null) {
+            return apply(content.getAsString());
+        }
+        // the service is not used, but evaluating in the binding must not work around a missing service
+        if (getTransformationService() == null) {
+            return Optional.empty();
+        }
+        Optional<String> result = documentEvaluator.evaluate(content);
+        if (result.isPresent()) {
+            return result;
+        }
+        // let the transformation service handle (and report) everything else
+        return apply(content.getAsString());
+    }
+
+    @Override
+    public Optional<String> apply(String value) {
+        TransformationService transformationService = getTransformationService();
+        if (transformationService == null) {
+            return Optional.empty();
+        }
 
         try {
             String result = transformationService.transform(pattern, value);
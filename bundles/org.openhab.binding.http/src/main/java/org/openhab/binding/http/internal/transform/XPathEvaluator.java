@@ -0,0 +1,113 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.http.internal.transform;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.Optional;
+
+import javax.xml.parsers.DocumentBuilder;
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.xpath.XPathConstants;
+import javax.xml.xpath.XPathExpression;
+import javax.xml.xpath.XPathExpressionException;
+import javax.xml.xpath.XPathFactory;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.binding.http.internal.http.Content;
+import org.w3c.dom.Document;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+import org.xml.sax.helpers.DefaultHandler;
+
+/**
+ * The {@link XPathEvaluator} evaluates XPath expressions against the XML document of a response. The document is
+ * parsed with the same settings as in the XPATH transformation service.
+ *
+ * @author openHAB Contributors - Initial contribution
+ */
+@NonNullByDefault
+class XPathEvaluator implements DocumentEvaluator {
+    private static final String DOCUMENT_TYPE = "XML";
+
+    private final String pattern;
+    // guarded by this
+    private final XPathExpression expression;
+
+    private XPathEvaluator(String pattern, XPathExpression expression) {
+        this.pattern = pattern;
+        this.expression = expression;
+    }
+
+    /**
+     * compile an XPath expression
+     *
+     * @param pattern the expression
+     * @return the evaluator or null if the expression is invalid
+     */
+    static @Nullable XPathEvaluator compile(String pattern) {
+        try {
+            return new XPathEvaluator(pattern, XPathFactory.newInstance().newXPath().compile(pattern));
+        } catch (XPathExpressionException e) {
+            return null;
+        }
+    }
+
+    @Override
+    public Optional<String> evaluate(Content content) {
+        return content.getDocument(DOCUMENT_TYPE, XPathEvaluator::parse).flatMap(this::evaluate);
+    }
+
+    private Optional<String> evaluate(Document document) {
+        // neither the DOM nor the expression are thread-safe
+        synchronized (document) {
+            synchronized (this) {
+                try {
+                    return Optional.of((String) expression.evaluate(document, XPathConstants.STRING));
+                } catch (XPathExpressionException e) {
+                    return Optional.empty();
+                }
+            }
+        }
+    }
+
+    private static @Nullable Document parse(String content) {
+        try {
+            DocumentBuilderFactory domFactory = DocumentBuilderFactory.newInstance();
+            // see https://cheatsheetseries.owasp.org/cheatsheets/XML_External_Entity_Prevention_Cheat_Sheet.html
+            domFactory.setFeature("http://xml.org/sax/features/external-general-entities", false);
+            domFactory.setFeature("http://xml.org/sax/features/external-parameter-entities", false);
+            domFactory.setFeature("http://apache.org/xml/features/nonvalidating/load-external-dtd", false);
+            domFactory.setXIncludeAware(false);
+            domFactory.setExpandEntityReferences(false);
+            domFactory.setNamespaceAware(true);
+            domFactory.setValidating(false);
+            DocumentBuilder builder = domFactory.newDocumentBuilder();
+            // the transformation service reports errors if the content is not XML
+            builder.setErrorHandler(new DefaultHandler());
+
+            InputSource inputSource = new InputSource(new StringReader(content));
+            inputSource.setEncoding("UTF-8");
+            return builder.parse(inputSource);
+        } catch (ParserConfigurationException | SAXException | IOException e) {
+            return null;
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "XPathEvaluator{pattern='" + pattern + "'}";
+    }
+}
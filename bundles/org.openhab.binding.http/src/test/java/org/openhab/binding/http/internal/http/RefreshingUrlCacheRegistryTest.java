@@ -0,0 +1,101 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.http.internal.http;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.openhab.binding.http.internal.config.HttpThingConfig;
+
+/**
+ * The {@link RefreshingUrlCacheRegistryTest} is a test class for sharing caches between things
+ *
+ * @author openHAB Contributors - Initial contribution
+ */
+@NonNullByDefault
+public class RefreshingUrlCacheRegistryTest {
+    private static final String URL = "http://inverter/status.json";
+
+    private final ScheduledExecutorService executor = mock(ScheduledExecutorService.class);
+    private final ScheduledFuture<?> future = mock(ScheduledFuture.class);
+    private final RefreshingUrlCacheRegistry registry = new RefreshingUrlCacheRegistry();
+
+    @BeforeEach
+    public void setUp() {
+        doReturn(future).when(executor).scheduleWithFixedDelay(any(), anyLong(), anyLong(), any());
+    }
+
+    private static HttpThingConfig config(int refresh) {
+        HttpThingConfig config = new HttpThingConfig();
+        config.refresh = refresh;
+        return config;
+    }
+
+    @Test
+    public void sameRequestShared() {
+        RateLimitedHttpClient client1 = mock(RateLimitedHttpClient.class);
+        RateLimitedHttpClient client2 = mock(RateLimitedHttpClient.class);
+
+        RefreshingUrlCache cache1 = registry.addConsumer(executor, client1, URL, config(30), "", content -> {
+        });
+        RefreshingUrlCache cache1b = registry.addConsumer(executor, client1, URL, config(30), "", content -> {
+        });
+        RefreshingUrlCache cache2 = registry.addConsumer(executor, client2, URL, config(10), "", content -> {
+        });
+        Assertions.assertSame(cache1, cache1b);
+        Assertions.assertSame(cache1, cache2);
+        Assertions.assertEquals(1, registry.size());
+
+        // restarted with the shorter interval of the second thing
+        verify(executor).scheduleWithFixedDelay(any(), eq(1L), eq(30L), eq(TimeUnit.SECONDS));
+        verify(executor).scheduleWithFixedDelay(any(), eq(1L), eq(10L), eq(TimeUnit.SECONDS));
+
+        registry.release(client2);
+        verify(executor, times(2)).scheduleWithFixedDelay(any(), eq(1L), eq(30L), eq(TimeUnit.SECONDS));
+        Assertions.assertEquals(1, registry.size());
+
+        registry.release(client1);
+        Assertions.assertEquals(0, registry.size());
+        verify(future, times(3)).cancel(false);
+    }
+
+    @Test
+    public void differentRequestsNotShared() {
+        RateLimitedHttpClient client1 = mock(RateLimitedHttpClient.class);
+        RateLimitedHttpClient client2 = mock(RateLimitedHttpClient.class);
+
+        HttpThingConfig withHeader = config(30);
+        withHeader.headers.add("Accept=application/json");
+
+        RefreshingUrlCache cache1 = registry.addConsumer(executor, client1, URL, config(30), "", content -> {
+        });
+        RefreshingUrlCache cache2 = registry.addConsumer(executor, client2, URL, withHeader, "", content -> {
+        });
+        RefreshingUrlCache cache3 = registry.addConsumer(executor, client2, URL, config(30), "{}", content -> {
+        });
+        Assertions.assertNotSame(cache1, cache2);
+        Assertions.assertNotSame(cache1, cache3);
+        Assertions.assertEquals(3, registry.size());
+
+        registry.release(client2);
+        Assertions.assertEquals(1, registry.size());
+    }
+}
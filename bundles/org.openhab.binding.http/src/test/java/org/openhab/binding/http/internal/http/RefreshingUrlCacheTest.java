@@ -0,0 +1,163 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.http.internal.http;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.net.URI;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.eclipse.jetty.client.api.Request;
+import org.eclipse.jetty.client.api.Response;
+import org.eclipse.jetty.client.api.Result;
+import org.eclipse.jetty.http.HttpFields;
+import org.eclipse.jetty.http.HttpHeader;
+import org.eclipse.jetty.http.HttpMethod;
+import org.eclipse.jetty.http.HttpStatus;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.openhab.binding.http.internal.config.HttpThingConfig;
+
+/**
+ * The {@link RefreshingUrlCacheTest} is a test class for skipping unchanged responses
+ *
+ * @author openHAB Contributors - Initial contribution
+ */
+@NonNullByDefault
+public class RefreshingUrlCacheTest {
+    private static final String URL = "http://inverter/status.json";
+
+    private final ScheduledExecutorService executor = mock(ScheduledExecutorService.class);
+    private final ScheduledFuture<?> future = mock(ScheduledFuture.class);
+    private final RateLimitedHttpClient client = mock(RateLimitedHttpClient.class);
+    private final Request request = mock(Request.class);
+
+    private final List<Content> received = new ArrayList<>();
+    private final RefreshingUrlCache cache = new RefreshingUrlCache(executor, URL, new HttpThingConfig(), "");
+    private @Nullable Runnable refreshTask;
+
+    @BeforeEach
+    public void setUp() {
+        doReturn(future).when(executor).scheduleWithFixedDelay(any(), anyLong(), anyLong(), any());
+        doReturn(CompletableFuture.completedFuture(request)).when(client).newRequest(any(URI.class),
+                any(HttpMethod.class), anyString());
+        doReturn(URI.create(URL)).when(request).getURI();
+
+        cache.addConsumer(client, 30, received::add);
+        ArgumentCaptor<Runnable> captor = ArgumentCaptor.forClass(Runnable.class);
+        verify(executor).scheduleWithFixedDelay(captor.capture(), anyLong(), anyLong(), any());
+        refreshTask = captor.getValue();
+    }
+
+    /**
+     * Runs a refresh and answers the request with the given response
+     */
+    private void refresh(int status, @Nullable String content, @Nullable String eTag) {
+        clearInvocations(request);
+        Response response = mock(Response.class);
+        HttpFields headers = new HttpFields();
+        if (eTag != null) {
+            headers.put(HttpHeader.ETAG, eTag);
+        }
+        doReturn(status).when(response).getStatus();
+        doReturn(headers).when(response).getHeaders();
+        doReturn(request).when(response).getRequest();
+
+        doAnswer(invocation -> {
+            HttpResponseListener listener = invocation.getArgument(0);
+            if (content != null) {
+                listener.onContent(response, ByteBuffer.wrap(content.getBytes(StandardCharsets.UTF_8)));
+            }
+            listener.onComplete(new Result(request, response));
+            return null;
+        }).when(request).send(any(Response.CompleteListener.class));
+
+        Runnable refreshTask = this.refreshTask;
+        Assertions.assertNotNull(refreshTask);
+        refreshTask.run();
+    }
+
+    @Test
+    public void notModifiedCompletesWithCachedContent() {
+        refresh(HttpStatus.OK_200, "{\"power\":1}", "\"v1\"");
+        Assertions.assertEquals(1, received.size());
+        Content first = received.get(0);
+
+        // the second request is conditional on the ETag of the first response
+        refresh(HttpStatus.NOT_MODIFIED_304, null, "\"v1\"");
+        verify(request).header(HttpHeader.IF_NONE_MATCH, "\"v1\"");
+        Assertions.assertEquals(1, received.size());
+        Assertions.assertEquals(1, cache.getNotModifiedCount());
+        Assertions.assertSame(first, cache.get().get());
+
+        refresh(HttpStatus.OK_200, "{\"power\":2}", "\"v2\"");
+        Assertions.assertEquals(2, received.size());
+        Assertions.assertEquals("{\"power\":2}", received.get(1).getAsString());
+    }
+
+    @Test
+    public void notModifiedWithoutCachedContentIsIgnored() {
+        refresh(HttpStatus.NOT_MODIFIED_304, null, null);
+        Assertions.assertEquals(0, received.size());
+        Assertions.assertFalse(cache.get().isPresent());
+    }
+
+    @Test
+    public void identicalContentSkipped() {
+        refresh(HttpStatus.OK_200, "{\"power\":1}", null);
+        refresh(HttpStatus.OK_200, "{\"power\":1}", null);
+        Assertions.assertEquals(1, received.size());
+        Assertions.assertEquals(1, cache.getUnchangedCount());
+        verify(request, never()).header(eq(HttpHeader.IF_NONE_MATCH), any());
+
+        refresh(HttpStatus.OK_200, "{\"power\":2}", null);
+        Assertions.assertEquals(2, received.size());
+        Assertions.assertEquals(1, cache.getUnchangedCount());
+    }
+
+    @Test
+    public void invalidateDispatchesNextResponse() {
+        refresh(HttpStatus.OK_200, "{\"power\":1}", "\"v1\"");
+        cache.invalidate();
+        refresh(HttpStatus.NOT_MODIFIED_304, null, "\"v1\"");
+        Assertions.assertEquals(2, received.size());
+        Assertions.assertSame(received.get(0), received.get(1));
+
+        // only once
+        refresh(HttpStatus.NOT_MODIFIED_304, null, "\"v1\"");
+        Assertions.assertEquals(2, received.size());
+    }
+
+    @Test
+    public void newConsumerReceivesUnchangedContent() {
+        refresh(HttpStatus.OK_200, "{\"power\":1}", null);
+
+        List<Content> receivedByNewConsumer = new ArrayList<>();
+        cache.addConsumer(mock(RateLimitedHttpClient.class), 30, receivedByNewConsumer::add);
+        refresh(HttpStatus.OK_200, "{\"power\":1}", null);
+        Assertions.assertEquals(2, received.size());
+        Assertions.assertEquals(1, receivedByNewConsumer.size());
+        Assertions.assertEquals(0, cache.getUnchangedCount());
+    }
+}
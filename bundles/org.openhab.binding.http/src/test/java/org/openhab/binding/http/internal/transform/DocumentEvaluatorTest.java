@@ -0,0 +1,145 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.http.internal.transform;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.openhab.binding.http.internal.http.Content;
+import org.openhab.core.transform.TransformationException;
+import org.openhab.core.transform.TransformationService;
+
+/**
+ * The {@link DocumentEvaluatorTest} is a test class for evaluating transformations against the parsed document of a
+ * response
+ *
+ * @author openHAB Contributors - Initial contribution
+ */
+@NonNullByDefault
+public class DocumentEvaluatorTest {
+    private static final String JSON = "{\"device\":{\"name\":\"inverter\",\"online\":true,\"power\":1250,"
+            + "\"temperature\":41.50,\"energy\":1.2e3,\"error\":null,\"phases\":[{\"voltage\":230.1},{\"voltage\":229}],"
+            + "\"odd key\":\"x\"}}";
+    private static final String XML = "<device><name>inverter</name><power unit=\"W\">1250</power></device>";
+
+    private final TransformationService service = mock(TransformationService.class);
+
+    private ValueTransformation transformation(String pattern) {
+        return new CascadedValueTransformationImpl(pattern, name -> service);
+    }
+
+    private static Content content(String body) {
+        return new Content(body.getBytes(StandardCharsets.UTF_8), "UTF-8", null);
+    }
+
+    @Test
+    public void jsonPathEvaluated() {
+        Content content = content(JSON);
+
+        Assertions.assertEquals(Optional.of("inverter"), transformation("JSONPATH:$.device.name").apply(content));
+        Assertions.assertEquals(Optional.of("true"), transformation("JSONPATH:$.device.online").apply(content));
+        Assertions.assertEquals(Optional.of("1250"), transformation("JSONPATH:$.device.power").apply(content));
+        Assertions.assertEquals(Optional.of("41.5"), transformation("JSONPATH:$.device.temperature").apply(content));
+        Assertions.assertEquals(Optional.of("1200.0"), transformation("JSONPATH:$.device.energy").apply(content));
+        Assertions.assertEquals(Optional.of("229"),
+                transformation("JSONPATH:$.device.phases[1].voltage").apply(content));
+        Assertions.assertEquals(Optional.of("x"), transformation("JSONPATH:$['device']['odd key']").apply(content));
+        verifyNoInteractions(service);
+    }
+
+    @Test
+    public void jsonPathFallsBackToService() throws TransformationException {
+        Content content = content(JSON);
+        doReturn("fallback").when(service).transform(anyString(), anyString());
+
+        Assertions.assertEquals(Optional.of("fallback"), transformation("JSONPATH:$..voltage").apply(content));
+        Assertions.assertEquals(Optional.of("fallback"), transformation("JSONPATH:$.device.phases").apply(content));
+        Assertions.assertEquals(Optional.of("fallback"), transformation("JSONPATH:$.device.error").apply(content));
+        Assertions.assertEquals(Optional.of("fallback"), transformation("JSONPATH:$.device.missing").apply(content));
+        Assertions.assertEquals(Optional.of("fallback"), transformation("JSONPATH:$.device.name").apply(content("<")));
+        verify(service, times(5)).transform(anyString(), anyString());
+    }
+
+    @Test
+    public void xPathEvaluated() {
+        Content content = content(XML);
+
+        Assertions.assertEquals(Optional.of("inverter"), transformation("XPATH:/device/name").apply(content));
+        Assertions.assertEquals(Optional.of("W"), transformation("XPATH:/device/power/@unit").apply(content));
+        Assertions.assertEquals(Optional.of(""), transformation("XPATH:/device/missing").apply(content));
+        verifyNoInteractions(service);
+    }
+
+    @Test
+    public void cascadedTransformationsApplyToResult() throws TransformationException {
+        doReturn("ON").when(service).transform("switch.map", "true");
+
+        Assertions.assertEquals(Optional.of("ON"),
+                transformation("JSONPATH:$.device.online∩MAP:switch.map").apply(content(JSON)));
+    }
+
+    @Test
+    public void missingServiceNotWorkedAround() {
+        ValueTransformation transformation = new CascadedValueTransformationImpl("JSONPATH:$.device.name",
+                name -> null);
+
+        Assertions.assertEquals(Optional.empty(), transformation.apply(content(JSON)));
+    }
+
+    @Test
+    public void parsedOncePerResponse() {
+        // stands in for a benchmark: the cost per refresh is one parse regardless of the number of channels
+        for (int channels : new int[] { 1, 10, 100 }) {
+            StringBuilder json = new StringBuilder("{\"values\":[");
+            List<ValueTransformation> transformations = new ArrayList<>();
+            for (int i = 0; i < channels; i++) {
+                json.append(i == 0 ? "" : ",").append(i);
+                transformations.add(transformation("JSONPATH:$.values[" + i + "]"));
+            }
+            CountingContent content = new CountingContent(json.append("]}").toString());
+
+            for (int i = 0; i < channels; i++) {
+                Assertions.assertEquals(Optional.of(String.valueOf(i)), transformations.get(i).apply(content));
+            }
+            Assertions.assertEquals(1, content.parseCount.get());
+        }
+        verifyNoInteractions(service);
+    }
+
+    private static class CountingContent extends Content {
+        private final AtomicInteger parseCount = new AtomicInteger();
+
+        public CountingContent(String body) {
+            super(body.getBytes(StandardCharsets.UTF_8), "UTF-8", null);
+        }
+
+        @Override
+        public <T> Optional<T> getDocument(String type, Function<String, @Nullable T> parser) {
+            return super.getDocument(type, content -> {
+                parseCount.incrementAndGet();
+                return parser.apply(content);
+            });
+        }
+    }
+}
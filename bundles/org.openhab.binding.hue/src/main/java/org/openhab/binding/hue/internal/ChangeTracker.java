@@ -0,0 +1,122 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.hue.internal;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonParser;
+import com.google.gson.stream.JsonReader;
+
+/**
+ * Remembers the JSON representation of the hue objects of one type last processed by the binding, so that polling
+ * only deserializes and dispatches the objects which changed since.
+ * <p>
+ * An object counts as processed once {@link #accept(String)} is called for it. Changed objects which are not
+ * accepted, e.g. because their handler ignored the update, are returned again by the next poll.
+ *
+ * @author openHAB Contributors - Initial contribution
+ */
+@NonNullByDefault
+public class ChangeTracker<T extends HueObject> {
+
+    private final Class<T> type;
+
+    // all guarded by this
+    private final Map<String, JsonElement> accepted = new HashMap<>();
+    private final Map<String, JsonElement> pending = new HashMap<>();
+    private Set<String> ids = Set.of();
+
+    public ChangeTracker(Class<T> type) {
+        this.type = type;
+    }
+
+    /**
+     * Read a JSON object mapping ids to hue objects, deserializing only the objects which changed.
+     *
+     * @param reader the reader positioned at the JSON object
+     * @param gson the Gson instance to deserialize changed objects with
+     * @return the changed objects
+     */
+    synchronized List<T> read(JsonReader reader, Gson gson) throws IOException {
+        Set<String> ids = new HashSet<>();
+        List<T> changed = new ArrayList<>();
+        pending.clear();
+        reader.beginObject();
+        while (reader.hasNext()) {
+            String id = reader.nextName();
+            JsonElement json = JsonParser.parseReader(reader);
+            ids.add(id);
+            if (!json.equals(accepted.get(id))) {
+                T object = gson.fromJson(json, type);
+                if (object != null) {
+                    object.setId(id);
+                    changed.add(object);
+                    pending.put(id, json);
+                }
+            }
+        }
+        reader.endObject();
+        accepted.keySet().retainAll(ids);
+        this.ids = ids;
+        return changed;
+    }
+
+    /**
+     * Returns the ids of all objects returned by the bridge in the last poll, changed or not.
+     *
+     * @return the ids
+     */
+    public synchronized Set<String> getIds() {
+        return ids;
+    }
+
+    /**
+     * Mark a changed object of the last poll as processed, it is not returned again until it changes.
+     *
+     * @param id the id of the object
+     */
+    public synchronized void accept(String id) {
+        JsonElement json = pending.remove(id);
+        if (json != null) {
+            accepted.put(id, json);
+        }
+    }
+
+    /**
+     * Make the next poll return the object, whether it changed or not.
+     *
+     * @param id the id of the object
+     */
+    public synchronized void invalidate(String id) {
+        accepted.remove(id);
+        pending.remove(id);
+    }
+
+    /**
+     * Make the next poll return all objects.
+     */
+    public synchronized void clear() {
+        accepted.clear();
+        pending.clear();
+    }
+}
@@ -0,0 +1,245 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.hue.internal;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.binding.hue.internal.HttpClient.Result;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonParser;
+
+/**
+ * Sends queued PUT requests to a bridge, paced by the rate limits recommended by Philips.
+ * Regarding to this article: https://developers.meethue.com/documentation/hue-system-performance
+ * <p>
+ * Requests to groups and to other resources (lights, sensors) are limited by separate token buckets, so a group
+ * command waiting for its turn does not hold back light commands. An update of a resource which is still waiting in
+ * the queue replaces the pending request if it sets all of its values again. Requests triggering an action (alert,
+ * scene, effect) are never replaced, so the action is not lost or combined with a later state change.
+ *
+ * @author openHAB Contributors - Initial contribution
+ */
+@NonNullByDefault
+class CommandPipeline {
+
+    /** Light (and sensor) commands per second */
+    static final int LIGHT_RATE = 10;
+    /** Light commands sent in a row after a pause */
+    static final int LIGHT_BURST = 3;
+    /** Group commands per second */
+    static final int GROUP_RATE = 1;
+    /** Group commands sent in a row after a pause */
+    static final int GROUP_BURST = 1;
+
+    /** Keys which trigger an action on the bridge instead of setting a state */
+    private static final Set<String> ACTION_KEYS = Set.of("alert", "scene", "effect");
+
+    @FunctionalInterface
+    interface Sender {
+        Result put(String address, String body) throws IOException;
+    }
+
+    private final Logger logger = LoggerFactory.getLogger(CommandPipeline.class);
+
+    private final Sender sender;
+    private final ScheduledExecutorService scheduler;
+
+    // all guarded by this
+    private final List<PendingPut> queue = new LinkedList<>();
+    private final Map<String, PendingPut> pendingByAddress = new HashMap<>();
+    private final TokenBucket lightBucket = new TokenBucket(LIGHT_RATE, LIGHT_BURST);
+    private final TokenBucket groupBucket = new TokenBucket(GROUP_RATE, GROUP_BURST);
+    private boolean running;
+
+    CommandPipeline(Sender sender, ScheduledExecutorService scheduler) {
+        this.sender = sender;
+        this.scheduler = scheduler;
+    }
+
+    /**
+     * Queue a PUT request.
+     *
+     * @param address the address
+     * @param body the JSON body
+     * @return the future result, shared with the requests merged into the same PUT request
+     */
+    synchronized CompletableFuture<Result> put(String address, String body) {
+        PendingPut pending = pendingByAddress.get(address);
+        if (pending != null && pending.merge(body)) {
+            logger.trace("Merged update {} into pending request to {}", body, address);
+            return pending.future;
+        }
+        // if it could not be merged, it is sent after the pending request
+        PendingPut put = new PendingPut(address, body);
+        queue.add(put);
+        pendingByAddress.put(address, put);
+        if (!running) {
+            running = true;
+            scheduler.submit(this::drain);
+        }
+        return put.future;
+    }
+
+    /**
+     * @return the number of queued requests
+     */
+    synchronized int size() {
+        return queue.size();
+    }
+
+    /**
+     * Returns the current time in nanoseconds. Only used to measure elapsed time.
+     */
+    protected long now() {
+        return System.nanoTime();
+    }
+
+    void drain() {
+        while (true) {
+            PendingPut next = null;
+            synchronized (this) {
+                long now = now();
+                long wait = Long.MAX_VALUE;
+                for (Iterator<PendingPut> iterator = queue.iterator(); iterator.hasNext();) {
+                    PendingPut put = iterator.next();
+                    long nanos = bucketFor(put).nanosUntilAvailable(now);
+                    if (nanos <= 0) {
+                        next = put;
+                        iterator.remove();
+                        pendingByAddress.remove(put.address, put);
+                        break;
+                    }
+                    wait = Math.min(wait, nanos);
+                }
+                if (next == null) {
+                    if (queue.isEmpty()) {
+                        running = false;
+                    } else {
+                        scheduler.schedule(this::drain, wait, TimeUnit.NANOSECONDS);
+                    }
+                    return;
+                }
+                bucketFor(next).take(now);
+            }
+            send(next);
+        }
+    }
+
+    private void send(PendingPut put) {
+        String body = put.getBody();
+        logger.debug("Async sending put to address: {} body: {}", put.address, body);
+        try {
+            put.future.complete(sender.put(put.address, body));
+        } catch (IOException | RuntimeException e) {
+            put.future.completeExceptionally(e);
+        }
+    }
+
+    private TokenBucket bucketFor(PendingPut put) {
+        return put.address.contains("/groups/") ? groupBucket : lightBucket;
+    }
+
+    /**
+     * A queued request, possibly replaced by later updates
+     */
+    private static class PendingPut {
+        private final String address;
+        private final CompletableFuture<Result> future = new CompletableFuture<>();
+        private String body;
+        private @Nullable JsonObject parsed;
+
+        PendingPut(String address, String body) {
+            this.address = address;
+            this.body = body;
+        }
+
+        /**
+         * Merge another update into this request. The update replaces this request if it sets all of its values, and
+         * neither of them triggers an action.
+         *
+         * @return false if the update must be sent separately after this request
+         */
+        boolean merge(String body) {
+            try {
+                JsonObject pending = this.parsed;
+                if (pending == null) {
+                    pending = parseObject(this.body);
+                }
+                JsonObject update = parseObject(body);
+                if (pending == null || update == null || isAction(pending) || isAction(update)
+                        || !update.keySet().containsAll(pending.keySet())) {
+                    return false;
+                }
+                this.body = body;
+                this.parsed = update;
+                return true;
+            } catch (JsonParseException e) {
+                return false;
+            }
+        }
+
+        String getBody() {
+            return body;
+        }
+
+        private static boolean isAction(JsonObject object) {
+            return ACTION_KEYS.stream().anyMatch(object::has);
+        }
+
+        private static @Nullable JsonObject parseObject(String body) {
+            JsonElement element = JsonParser.parseString(body);
+            return element.isJsonObject() ? element.getAsJsonObject() : null;
+        }
+    }
+
+    /**
+     * Token bucket allowing short bursts, refilled at a constant rate. Tracks the time at which the bucket would be
+     * full again, which keeps the arithmetic exact.
+     */
+    private static class TokenBucket {
+        private final long interval;
+        private final long tolerance;
+        private long full;
+        private boolean started;
+
+        TokenBucket(int perSecond, int capacity) {
+            this.interval = TimeUnit.SECONDS.toNanos(1) / perSecond;
+            this.tolerance = (capacity - 1) * interval;
+        }
+
+        long nanosUntilAvailable(long now) {
+            return started ? Math.max(0, full - tolerance - now) : 0;
+        }
+
+        void take(long now) {
+            full = (started ? Math.max(full, now) : now) + interval;
+            started = true;
+        }
+    }
+}
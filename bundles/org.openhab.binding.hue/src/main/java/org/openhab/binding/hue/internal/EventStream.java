@@ -0,0 +1,245 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.hue.internal;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.core.common.NamedThreadFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonParser;
+
+/**
+ * Client of the server-sent event stream of a bridge, which notifies changes of lights, groups, sensors and scenes.
+ * <p>
+ * The events are reduced to the changed resources, identified by their API v1 path like <code>/lights/1</code>. The
+ * connection is re-established with an increasing delay when it is lost.
+ *
+ * @author openHAB Contributors - Initial contribution
+ */
+@NonNullByDefault
+public class EventStream {
+
+    /**
+     * Listener notified on the thread of the event stream.
+     */
+    public interface Listener {
+
+        /**
+         * Called when the stream is (re)connected. Changes may have been missed before.
+         */
+        void onConnected();
+
+        /**
+         * Called for each received message.
+         *
+         * @param resources the API v1 paths of the changed resources
+         */
+        void onResourcesChanged(Set<String> resources);
+
+        /**
+         * Called when a connected stream is lost.
+         *
+         * @param reason the reason
+         */
+        void onDisconnected(String reason);
+    }
+
+    public static final String PATH = "/eventstream/clip/v2";
+
+    private static final int CONNECT_TIMEOUT = (int) TimeUnit.SECONDS.toMillis(5);
+    // the bridge keeps quiet streams open, reconnecting now and then does not hurt
+    private static final int READ_TIMEOUT = (int) TimeUnit.MINUTES.toMillis(5);
+    private static final long MIN_RETRY_DELAY = TimeUnit.SECONDS.toMillis(1);
+    private static final long MAX_RETRY_DELAY = TimeUnit.MINUTES.toMillis(1);
+
+    private final Logger logger = LoggerFactory.getLogger(EventStream.class);
+
+    private final String url;
+    private final String applicationKey;
+    private final Listener listener;
+
+    private volatile boolean running;
+    private volatile boolean connected;
+    private volatile @Nullable HttpURLConnection connection;
+    private @Nullable Thread thread;
+
+    /**
+     * @param url the URL of the event stream
+     * @param applicationKey the user name registered on the bridge
+     * @param listener the listener
+     */
+    public EventStream(String url, String applicationKey, Listener listener) {
+        this.url = url;
+        this.applicationKey = applicationKey;
+        this.listener = listener;
+    }
+
+    /**
+     * Start receiving events on a thread of its own.
+     *
+     * @param threadName the name of the thread
+     */
+    public synchronized void start(String threadName) {
+        if (thread == null) {
+            running = true;
+            Thread newThread = new NamedThreadFactory(threadName, true).newThread(this::run);
+            thread = newThread;
+            newThread.start();
+        }
+    }
+
+    public synchronized void stop() {
+        running = false;
+        HttpURLConnection conn = connection;
+        if (conn != null) {
+            conn.disconnect();
+        }
+        Thread oldThread = thread;
+        if (oldThread != null) {
+            oldThread.interrupt();
+        }
+        thread = null;
+    }
+
+    /**
+     * @return true while changes are received
+     */
+    public boolean isConnected() {
+        return connected;
+    }
+
+    private void run() {
+        long retryDelay = MIN_RETRY_DELAY;
+        while (running) {
+            String reason;
+            try {
+                read();
+                reason = "stream closed by the bridge";
+            } catch (IOException e) {
+                reason = String.valueOf(e.getMessage());
+            }
+            if (!running) {
+                connected = false;
+                return;
+            }
+            if (connected) {
+                connected = false;
+                retryDelay = MIN_RETRY_DELAY;
+                listener.onDisconnected(reason);
+            } else {
+                logger.debug("Connecting to the event stream {} failed: {}", url, reason);
+            }
+            try {
+                Thread.sleep(retryDelay);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            retryDelay = Math.min(retryDelay * 2, MAX_RETRY_DELAY);
+        }
+    }
+
+    private void read() throws IOException {
+        HttpURLConnection conn = (HttpURLConnection) new URL(url).openConnection();
+        connection = conn;
+        try {
+            conn.setRequestProperty("Accept", "text/event-stream");
+            conn.setRequestProperty("hue-application-key", applicationKey);
+            conn.setConnectTimeout(CONNECT_TIMEOUT);
+            conn.setReadTimeout(READ_TIMEOUT);
+
+            int responseCode = conn.getResponseCode();
+            if (responseCode != HttpURLConnection.HTTP_OK) {
+                throw new IOException("HTTP status " + responseCode);
+            }
+            try (BufferedReader reader = new BufferedReader(
+                    new InputStreamReader(conn.getInputStream(), StandardCharsets.UTF_8))) {
+                connected = true;
+                listener.onConnected();
+
+                StringBuilder data = new StringBuilder();
+                String line;
+                while (running && (line = reader.readLine()) != null) {
+                    if (line.isEmpty()) {
+                        // end of a message
+                        if (data.length() > 0) {
+                            Set<String> resources = parseResources(data.toString());
+                            data.setLength(0);
+                            if (!resources.isEmpty()) {
+                                listener.onResourcesChanged(resources);
+                            }
+                        }
+                    } else if (line.startsWith("data:")) {
+                        if (data.length() > 0) {
+                            data.append('\n');
+                        }
+                        data.append(line.substring(5).trim());
+                    }
+                    // comments, ids and event types are not needed
+                }
+            }
+        } finally {
+            connection = null;
+            conn.disconnect();
+        }
+    }
+
+    /**
+     * Returns the API v1 paths of the resources an event message refers to.
+     *
+     * @param data the data of a message, a JSON array of events
+     * @return the paths, empty if there are none or the message cannot be parsed
+     */
+    Set<String> parseResources(String data) {
+        Set<String> resources = new HashSet<>();
+        try {
+            JsonElement root = JsonParser.parseString(data);
+            if (!root.isJsonArray()) {
+                return resources;
+            }
+            for (JsonElement event : root.getAsJsonArray()) {
+                JsonElement eventData = event.isJsonObject() ? event.getAsJsonObject().get("data") : null;
+                if (eventData == null || !eventData.isJsonArray()) {
+                    continue;
+                }
+                for (JsonElement resource : eventData.getAsJsonArray()) {
+                    if (resource.isJsonObject()) {
+                        JsonObject object = resource.getAsJsonObject();
+                        JsonElement path = object.get("id_v1");
+                        if (path != null && path.isJsonPrimitive()) {
+                            resources.add(path.getAsString());
+                        }
+                    }
+                }
+            }
+        } catch (JsonParseException | IllegalStateException e) {
+            logger.debug("Ignoring unexpected event: {}", data);
+        }
+        return resources;
+    }
+}
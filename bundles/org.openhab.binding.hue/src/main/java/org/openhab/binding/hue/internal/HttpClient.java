@@ -20,15 +20,11 @@ import java.io.Writer;
 import java.net.HttpURLConnection;
 import java.net.URL;
 import java.nio.charset.StandardCharsets;
-import java.util.LinkedList;
 import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.Future;
 import java.util.concurrent.ScheduledExecutorService;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
 
 /**
  *
@@ -38,37 +34,7 @@ import org.slf4j.LoggerFactory;
 @NonNullByDefault
 public class HttpClient {
     private int timeout = 1000;
-    private final Logger logger = LoggerFactory.getLogger(HttpClient.class);
-    private final LinkedList<AsyncPutParameters> commandsQueue = new LinkedList<>();
-    private @Nullable Future<?> job;
-
-    @SuppressWarnings({ "null", "unused" })
-    private void executeCommands() {
-        while (true) {
-            try {
-                long delayTime = 0;
-                synchronized (commandsQueue) {
-                    AsyncPutParameters payloadCallbackPair = commandsQueue.poll();
-                    if (payloadCallbackPair != null) {
-                        logger.debug("Async sending put to address: {} delay: {} body: {}", payloadCallbackPair.address,
-                                payloadCallbackPair.delay, payloadCallbackPair.body);
-                        try {
-                            Result result = put(payloadCallbackPair.address, payloadCallbackPair.body);
-                            payloadCallbackPair.future.complete(result);
-                        } catch (IOException e) {
-                            payloadCallbackPair.future.completeExceptionally(e);
-                        }
-                        delayTime = payloadCallbackPair.delay;
-                    } else {
-                        return;
-                    }
-                }
-                Thread.sleep(delayTime);
-            } catch (InterruptedException e) {
-                logger.debug("commandExecutorThread was interrupted", e);
-            }
-        }
-    }
+    private @Nullable CommandPipeline pipeline;
 
     public void setTimeout(int timeout) {
         this.timeout = timeout;
@@ -86,23 +52,21 @@ public class HttpClient {
         return doNetwork(address, "PUT", body);
     }
 
-    public CompletableFuture<Result> putAsync(String address, String body, long delay,
-            ScheduledExecutorService scheduler) {
-        AsyncPutParameters asyncPutParameters = new AsyncPutParameters(address, body, delay);
-
-        synchronized (commandsQueue) {
-            if (commandsQueue.isEmpty()) {
-                commandsQueue.offer(asyncPutParameters);
-                Future<?> localJob = job;
-                if (localJob == null || localJob.isDone()) {
-                    job = scheduler.submit(this::executeCommands);
-                }
-            } else {
-                commandsQueue.offer(asyncPutParameters);
+    /**
+     * Queues a PUT request, which is sent paced by the rate limits of the bridge.
+     *
+     * A request to the same address which is still queued is merged with this one.
+     */
+    public CompletableFuture<Result> putAsync(String address, String body, ScheduledExecutorService scheduler) {
+        CommandPipeline localPipeline;
+        synchronized (this) {
+            localPipeline = pipeline;
+            if (localPipeline == null) {
+                localPipeline = new CommandPipeline(this::put, scheduler);
+                pipeline = localPipeline;
             }
         }
-
-        return asyncPutParameters.future;
+        return localPipeline.put(address, body);
     }
 
     public Result delete(String address) throws IOException {
@@ -114,6 +78,7 @@ public class HttpClient {
     }
 
     protected Result doNetwork(String address, String requestMethod, @Nullable String body) throws IOException {
+        // The connection is not disconnected after a complete response, so it is kept alive for the next request
         HttpURLConnection conn = (HttpURLConnection) new URL(address).openConnection();
         try {
             conn.setRequestMethod(requestMethod);
@@ -136,8 +101,9 @@ public class HttpClient {
                 }
                 return new Result(result.toString(StandardCharsets.UTF_8.name()), conn.getResponseCode());
             }
-        } finally {
+        } catch (IOException e) {
             conn.disconnect();
+            throw e;
         }
     }
 
@@ -158,18 +124,4 @@ public class HttpClient {
             return responseCode;
         }
     }
-
-    public final class AsyncPutParameters {
-        public final String address;
-        public final String body;
-        public final CompletableFuture<Result> future;
-        public final long delay;
-
-        public AsyncPutParameters(String address, String body, long delay) {
-            this.address = address;
-            this.body = body;
-            this.future = new CompletableFuture<>();
-            this.delay = delay;
-        }
-    }
 }
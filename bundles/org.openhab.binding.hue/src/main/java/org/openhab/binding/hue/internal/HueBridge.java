@@ -14,6 +14,7 @@ package org.openhab.binding.hue.internal;
 
 import java.io.FileNotFoundException;
 import java.io.IOException;
+import java.io.StringReader;
 import java.io.UnsupportedEncodingException;
 import java.lang.reflect.Type;
 import java.net.URI;
@@ -50,6 +51,7 @@ import com.google.gson.GsonBuilder;
 import com.google.gson.JsonElement;
 import com.google.gson.JsonParseException;
 import com.google.gson.JsonParser;
+import com.google.gson.stream.JsonReader;
 
 /**
  * Representation of a connection with a Hue bridge.
@@ -146,6 +148,16 @@ public class HueBridge {
         return ip;
     }
 
+    /**
+     * Returns the URL of the server-sent event stream of the bridge.
+     *
+     * @return URL of the event stream
+     */
+    public String getEventStreamURL() {
+        String rootUrl = baseUrl.endsWith("/api") ? baseUrl.substring(0, baseUrl.length() - 4) : baseUrl;
+        return rootUrl + EventStream.PATH;
+    }
+
     public ApiVersion getVersion() throws IOException, ApiException {
         Config c = getCachedConfig();
         return ApiVersion.of(c.getApiVersion());
@@ -258,6 +270,64 @@ public class HueBridge {
         return sensorList;
     }
 
+    /**
+     * Returns the lights whose state changed since they were last accepted by the given tracker.
+     *
+     * @param tracker the tracker of the light states
+     * @return list of changed lights as {@link FullLight}s
+     * @throws UnauthorizedException thrown if the user no longer exists
+     */
+    public List<FullLight> getChangedLights(ChangeTracker<FullLight> tracker) throws IOException, ApiException {
+        requireAuthentication();
+
+        if (ApiVersionUtils.supportsFullLights(getVersion())) {
+            Result result = http.get(getRelativeURL("lights"));
+
+            handleErrors(result);
+
+            return readChanged(result.getBody(), null, tracker);
+        } else {
+            Result result = http.get(getRelativeURL(""));
+
+            handleErrors(result);
+
+            return readChanged(result.getBody(), "lights", tracker);
+        }
+    }
+
+    /**
+     * Returns the sensors whose state changed since they were last accepted by the given tracker.
+     *
+     * @param tracker the tracker of the sensor states
+     * @return list of changed sensors
+     * @throws UnauthorizedException thrown if the user no longer exists
+     */
+    public List<FullSensor> getChangedSensors(ChangeTracker<FullSensor> tracker) throws IOException, ApiException {
+        requireAuthentication();
+
+        Result result = http.get(getRelativeURL("sensors"));
+
+        handleErrors(result);
+
+        return readChanged(result.getBody(), null, tracker);
+    }
+
+    // Streams over the response, only the changed objects are deserialized
+    private <T extends HueObject> List<T> readChanged(String json, @Nullable String member, ChangeTracker<T> tracker)
+            throws ApiException {
+        try (JsonReader reader = new JsonReader(new StringReader(json))) {
+            if (member != null) {
+                reader.beginObject();
+                while (!member.equals(reader.nextName())) {
+                    reader.skipValue();
+                }
+            }
+            return tracker.read(reader, gson);
+        } catch (IOException | IllegalStateException | JsonParseException e) {
+            throw new ApiException("API returned unexpected result: " + e.getMessage());
+        }
+    }
+
     /**
      * Returns the last time a search for new lights was started.
      * If a search is currently running, the current time will be
@@ -381,8 +451,7 @@ public class HueBridge {
         requireAuthentication();
 
         String body = update.toJson();
-        return http.putAsync(getRelativeURL("lights/" + enc(light.getId()) + "/state"), body, update.getMessageDelay(),
-                scheduler);
+        return http.putAsync(getRelativeURL("lights/" + enc(light.getId()) + "/state"), body, scheduler);
     }
 
     /**
@@ -399,8 +468,7 @@ public class HueBridge {
         requireAuthentication();
 
         String body = update.toJson();
-        return http.putAsync(getRelativeURL("sensors/" + enc(sensor.getId()) + "/state"), body,
-                update.getMessageDelay(), scheduler);
+        return http.putAsync(getRelativeURL("sensors/" + enc(sensor.getId()) + "/state"), body, scheduler);
     }
 
     /**
@@ -416,8 +484,7 @@ public class HueBridge {
         requireAuthentication();
 
         String body = update.toJson();
-        return http.putAsync(getRelativeURL("sensors/" + enc(sensor.getId()) + "/config"), body,
-                update.getMessageDelay(), scheduler);
+        return http.putAsync(getRelativeURL("sensors/" + enc(sensor.getId()) + "/config"), body, scheduler);
     }
 
     /**
@@ -643,8 +710,7 @@ public class HueBridge {
         requireAuthentication();
 
         String body = update.toJson();
-        return http.putAsync(getRelativeURL("groups/" + enc(group.getId()) + "/action"), body, update.getMessageDelay(),
-                scheduler);
+        return http.putAsync(getRelativeURL("groups/" + enc(group.getId()) + "/action"), body, scheduler);
     }
 
     /**
@@ -28,14 +28,16 @@ import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.Future;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.locks.ReentrantLock;
 import java.util.stream.Collectors;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
-import org.openhab.binding.hue.internal.ApiVersionUtils;
+import org.openhab.binding.hue.internal.ChangeTracker;
 import org.openhab.binding.hue.internal.Config;
 import org.openhab.binding.hue.internal.ConfigUpdate;
+import org.openhab.binding.hue.internal.EventStream;
 import org.openhab.binding.hue.internal.FullConfig;
 import org.openhab.binding.hue.internal.FullGroup;
 import org.openhab.binding.hue.internal.FullLight;
@@ -96,12 +98,16 @@ public class HueBridgeHandler extends ConfigStatusBridgeHandler implements HueCl
 
     private static final long SCENE_POLLING_INTERVAL = TimeUnit.SECONDS.convert(10, TimeUnit.MINUTES);
 
+    private static final long RESYNC_INTERVAL = TimeUnit.MINUTES.toMillis(1);
+
     private final Logger logger = LoggerFactory.getLogger(HueBridgeHandler.class);
     private final HueStateDescriptionOptionProvider stateDescriptionOptionProvider;
 
     private final Map<String, FullLight> lastLightStates = new ConcurrentHashMap<>();
     private final Map<String, FullSensor> lastSensorStates = new ConcurrentHashMap<>();
     private final Map<String, FullGroup> lastGroupStates = new ConcurrentHashMap<>();
+    private final ChangeTracker<FullLight> lightChanges = new ChangeTracker<>(FullLight.class);
+    private final ChangeTracker<FullSensor> sensorChanges = new ChangeTracker<>(FullSensor.class);
 
     private @Nullable HueDeviceDiscoveryService discoveryService;
     private final Map<String, LightStatusListener> lightStatusListeners = new ConcurrentHashMap<>();
@@ -125,14 +131,14 @@ public class HueBridgeHandler extends ConfigStatusBridgeHandler implements HueCl
                 if (lastBridgeConnectionState) {
                     doConnectedRun();
                     if (thing.getStatus() != ThingStatus.ONLINE) {
-                        updateStatus(ThingStatus.ONLINE);
+                        updateStatusOnline();
                     }
                 }
             } catch (UnauthorizedException | IllegalStateException e) {
                 if (isReachable(hueBridge.getIPAddress())) {
                     lastBridgeConnectionState = false;
                     if (onNotAuthenticated()) {
-                        updateStatus(ThingStatus.ONLINE);
+                        updateStatusOnline();
                     }
                 } else if (lastBridgeConnectionState || thing.getStatus() == ThingStatus.INITIALIZING) {
                     lastBridgeConnectionState = false;
@@ -186,7 +192,7 @@ public class HueBridgeHandler extends ConfigStatusBridgeHandler implements HueCl
 
             final HueDeviceDiscoveryService discovery = discoveryService;
 
-            for (final FullSensor sensor : hueBridge.getSensors()) {
+            for (final FullSensor sensor : hueBridge.getChangedSensors(sensorChanges)) {
                 String sensorId = sensor.getId();
 
                 final SensorStatusListener sensorStatusListener = sensorStatusListeners.get(sensorId);
@@ -198,13 +204,16 @@ public class HueBridgeHandler extends ConfigStatusBridgeHandler implements HueCl
                     }
 
                     lastSensorStates.put(sensorId, sensor);
+                    sensorChanges.accept(sensorId);
                 } else {
                     if (sensorStatusListener.onSensorStateChanged(sensor)) {
                         lastSensorStates.put(sensorId, sensor);
+                        sensorChanges.accept(sensorId);
                     }
                 }
-                lastSensorStateCopy.remove(sensorId);
             }
+            // unchanged sensors are not returned, but still present
+            lastSensorStateCopy.keySet().removeAll(sensorChanges.getIds());
 
             // Check for removed sensors
             lastSensorStateCopy.forEach((sensorId, sensor) -> {
@@ -233,12 +242,7 @@ public class HueBridgeHandler extends ConfigStatusBridgeHandler implements HueCl
         private void updateLights() throws IOException, ApiException {
             Map<String, FullLight> lastLightStateCopy = new HashMap<>(lastLightStates);
 
-            List<FullLight> lights;
-            if (ApiVersionUtils.supportsFullLights(hueBridge.getVersion())) {
-                lights = hueBridge.getFullLights();
-            } else {
-                lights = hueBridge.getFullConfig().getLights();
-            }
+            List<FullLight> lights = hueBridge.getChangedLights(lightChanges);
 
             final HueDeviceDiscoveryService discovery = discoveryService;
 
@@ -254,13 +258,16 @@ public class HueBridgeHandler extends ConfigStatusBridgeHandler implements HueCl
                     }
 
                     lastLightStates.put(lightId, fullLight);
+                    lightChanges.accept(lightId);
                 } else {
                     if (lightStatusListener.onLightStateChanged(fullLight)) {
                         lastLightStates.put(lightId, fullLight);
+                        lightChanges.accept(lightId);
                     }
                 }
-                lastLightStateCopy.remove(lightId);
             }
+            // unchanged lights are not returned, but still present
+            lastLightStateCopy.keySet().removeAll(lightChanges.getIds());
 
             // Check for removed lights
             lastLightStateCopy.forEach((lightId, light) -> {
@@ -391,6 +398,90 @@ public class HueBridgeHandler extends ConfigStatusBridgeHandler implements HueCl
         }
     };
 
+    /**
+     * Runs a polling task periodically or on request. While the event stream is connected, changes are polled when
+     * they are notified, and the periodic runs are only needed to resynchronize once per {@link #RESYNC_INTERVAL}.
+     */
+    private class PollingJob {
+        private final Runnable polling;
+        private final AtomicBoolean requested = new AtomicBoolean();
+        private volatile long lastRun;
+
+        PollingJob(Runnable polling) {
+            this.polling = polling;
+        }
+
+        void runPeriodically() {
+            final EventStream stream = eventStream;
+            if (stream != null && stream.isConnected() && System.currentTimeMillis() - lastRun < RESYNC_INTERVAL) {
+                return;
+            }
+            run();
+        }
+
+        void request() {
+            // requests arriving while a poll is pending are served by it
+            if (requested.compareAndSet(false, true)) {
+                scheduler.execute(() -> {
+                    requested.set(false);
+                    run();
+                });
+            }
+        }
+
+        private void run() {
+            lastRun = System.currentTimeMillis();
+            polling.run();
+        }
+    }
+
+    private final PollingJob lightPolling = new PollingJob(lightPollingRunnable);
+    private final PollingJob sensorPolling = new PollingJob(sensorPollingRunnable);
+    private final PollingJob scenePolling = new PollingJob(scenePollingRunnable);
+
+    private final EventStream.Listener eventStreamListener = new EventStream.Listener() {
+        @Override
+        public void onConnected() {
+            logger.debug("Event stream of Hue Bridge {} connected.", getThing().getUID());
+            // changes may have been missed while disconnected
+            lightPolling.request();
+            sensorPolling.request();
+        }
+
+        @Override
+        public void onResourcesChanged(Set<String> resources) {
+            logger.trace("Hue resources changed: {}", resources);
+            boolean lights = false;
+            boolean sensors = false;
+            boolean scenes = false;
+            for (String resource : resources) {
+                // group states are derived from the light states
+                if (resource.startsWith("/lights/") || resource.startsWith("/groups/")) {
+                    lights = true;
+                } else if (resource.startsWith("/sensors/")) {
+                    sensors = true;
+                } else if (resource.startsWith("/scenes/")) {
+                    scenes = true;
+                }
+            }
+            if (lights) {
+                lightPolling.request();
+            }
+            if (sensors) {
+                sensorPolling.request();
+            }
+            if (scenes) {
+                scenePolling.request();
+            }
+        }
+
+        @Override
+        public void onDisconnected(String reason) {
+            logger.debug("Event stream of Hue Bridge {} lost: {}. Polling until reconnected.", getThing().getUID(),
+                    reason);
+        }
+    };
+
     private boolean lastBridgeConnectionState = false;
 
     private boolean propertiesInitializedSuccessfully = false;
@@ -399,6 +490,7 @@ public class HueBridgeHandler extends ConfigStatusBridgeHandler implements HueCl
     private @Nullable ScheduledFuture<?> lightPollingJob;
     private @Nullable ScheduledFuture<?> sensorPollingJob;
     private @Nullable ScheduledFuture<?> scenePollingJob;
+    private volatile @Nullable EventStream eventStream;
 
     private @NonNullByDefault({}) HueBridge hueBridge = null;
     private @NonNullByDefault({}) HueBridgeConfig hueBridgeConfig = null;
@@ -427,6 +519,8 @@ public class HueBridgeHandler extends ConfigStatusBridgeHandler implements HueCl
             long fadeTime) {
         if (hueBridge != null) {
             listener.setPollBypass(BYPASS_MIN_DURATION_BEFORE_CMD);
+            // the state polled after the bypass is to be dispatched even if it did not change
+            lightChanges.invalidate(light.getId());
             hueBridge.setLightState(light, stateUpdate).thenAccept(result -> {
                 try {
                     hueBridge.handleErrors(result);
@@ -509,6 +603,7 @@ public class HueBridgeHandler extends ConfigStatusBridgeHandler implements HueCl
             if (listener != null) {
                 listener.setPollBypass(bypassTime);
             }
+            lightChanges.invalidate(lightId);
         });
     }
 
@@ -587,6 +682,37 @@ public class HueBridgeHandler extends ConfigStatusBridgeHandler implements HueCl
         }
     }
 
+    private void updateStatusOnline() {
+        updateStatus(ThingStatus.ONLINE);
+        // the things go online with the bridge, let the next polls update all of them
+        lightChanges.clear();
+        sensorChanges.clear();
+        startEventStream();
+    }
+
+    private void startEventStream() {
+        final String userName = hueBridgeConfig.getUserName();
+        if (eventStream == null && hueBridgeConfig.isEventStream() && hueBridge != null && userName != null) {
+            if (!HueBridgeConfig.HTTPS.equals(hueBridgeConfig.getProtocol())) {
+                logger.info(
+                        "The event stream of Hue Bridge {} is only available with the https protocol, polling instead.",
+                        hueBridge.getIPAddress());
+                return;
+            }
+            EventStream stream = new EventStream(hueBridge.getEventStreamURL(), userName, eventStreamListener);
+            eventStream = stream;
+            stream.start(getThing().getUID().getAsString() + "-events");
+        }
+    }
+
+    private void stopEventStream() {
+        final EventStream stream = eventStream;
+        if (stream != null) {
+            stream.stop();
+        }
+        eventStream = null;
+    }
+
     private void startLightPolling() {
         ScheduledFuture<?> job = lightPollingJob;
         if (job == null || job.isCancelled()) {
@@ -600,8 +726,8 @@ public class HueBridgeHandler extends ConfigStatusBridgeHandler implements HueCl
                 lightPollingInterval = configPollingInterval;
             }
             // Delay the first execution to give a chance to have all light and group things registered
-            lightPollingJob = scheduler.scheduleWithFixedDelay(lightPollingRunnable, 3, lightPollingInterval,
-                    TimeUnit.SECONDS);
+            lightPollingJob = scheduler.scheduleWithFixedDelay(lightPolling::runPeriodically, 3,
+                    lightPollingInterval, TimeUnit.SECONDS);
         }
     }
 
@@ -627,8 +753,8 @@ public class HueBridgeHandler extends ConfigStatusBridgeHandler implements HueCl
                     sensorPollingInterval = configSensorPollingInterval;
                 }
                 // Delay the first execution to give a chance to have all sensor things registered
-                sensorPollingJob = scheduler.scheduleWithFixedDelay(sensorPollingRunnable, 4000, sensorPollingInterval,
-                        TimeUnit.MILLISECONDS);
+                sensorPollingJob = scheduler.scheduleWithFixedDelay(sensorPolling::runPeriodically, 4000,
+                        sensorPollingInterval, TimeUnit.MILLISECONDS);
             }
         }
     }
@@ -645,8 +771,8 @@ public class HueBridgeHandler extends ConfigStatusBridgeHandler implements HueCl
         ScheduledFuture<?> job = scenePollingJob;
         if (job == null || job.isCancelled()) {
             // Delay the first execution to give a chance to have all group things registered
-            scenePollingJob = scheduler.scheduleWithFixedDelay(scenePollingRunnable, 5, SCENE_POLLING_INTERVAL,
-                    TimeUnit.SECONDS);
+            scenePollingJob = scheduler.scheduleWithFixedDelay(scenePolling::runPeriodically, 5,
+                    SCENE_POLLING_INTERVAL, TimeUnit.SECONDS);
         }
     }
 
@@ -668,6 +794,7 @@ public class HueBridgeHandler extends ConfigStatusBridgeHandler implements HueCl
         stopLightPolling();
         stopSensorPolling();
         stopScenePolling();
+        stopEventStream();
         if (hueBridge != null) {
             hueBridge = null;
         }
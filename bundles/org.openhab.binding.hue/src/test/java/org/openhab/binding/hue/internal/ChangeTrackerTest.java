@@ -0,0 +1,87 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.hue.internal;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+
+import com.google.gson.Gson;
+import com.google.gson.stream.JsonReader;
+
+/**
+ * @author openHAB Contributors - Initial contribution
+ */
+public class ChangeTrackerTest {
+
+    private final Gson gson = new Gson();
+    private final ChangeTracker<FullLight> tracker = new ChangeTracker<>(FullLight.class);
+
+    private List<String> poll(String json) throws IOException {
+        List<FullLight> lights = tracker.read(new JsonReader(new StringReader(json)), gson);
+        return lights.stream().map(FullLight::getId).collect(Collectors.toList());
+    }
+
+    private static String light(boolean on, int bri) {
+        return "{\"state\":{\"on\":" + on + ",\"bri\":" + bri + ",\"reachable\":true},\"name\":\"Light\"}";
+    }
+
+    private void acceptAll(List<String> ids) {
+        ids.forEach(tracker::accept);
+    }
+
+    @Test
+    public void testOnlyChangedLightsReturned() throws IOException {
+        List<String> changed = poll("{\"1\":" + light(true, 100) + ",\"2\":" + light(false, 0) + "}");
+        assertThat(changed, contains("1", "2"));
+        acceptAll(changed);
+
+        assertThat(poll("{\"1\":" + light(true, 100) + ",\"2\":" + light(false, 0) + "}"), is(empty()));
+        assertThat(tracker.getIds(), containsInAnyOrder("1", "2"));
+
+        changed = poll("{\"1\":" + light(true, 100) + ",\"2\":" + light(true, 50) + "}");
+        assertThat(changed, contains("2"));
+    }
+
+    @Test
+    public void testNotAcceptedLightsReturnedAgain() throws IOException {
+        assertThat(poll("{\"1\":" + light(true, 100) + "}"), contains("1"));
+        assertThat(poll("{\"1\":" + light(true, 100) + "}"), contains("1"));
+        tracker.accept("1");
+        assertThat(poll("{\"1\":" + light(true, 100) + "}"), is(empty()));
+
+        tracker.invalidate("1");
+        assertThat(poll("{\"1\":" + light(true, 100) + "}"), contains("1"));
+        tracker.accept("1");
+
+        tracker.clear();
+        assertThat(poll("{\"1\":" + light(true, 100) + "}"), contains("1"));
+    }
+
+    @Test
+    public void testRemovedLightReturnedWhenAddedAgain() throws IOException {
+        acceptAll(poll("{\"1\":" + light(true, 100) + ",\"2\":" + light(false, 0) + "}"));
+
+        assertThat(poll("{\"1\":" + light(true, 100) + "}"), is(empty()));
+        assertThat(tracker.getIds(), contains("1"));
+
+        assertThat(poll("{\"1\":" + light(true, 100) + ",\"2\":" + light(false, 0) + "}"), contains("2"));
+    }
+}
@@ -0,0 +1,154 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.hue.internal;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.openhab.binding.hue.internal.HttpClient.Result;
+
+import com.google.gson.JsonParser;
+
+/**
+ * @author openHAB Contributors - Initial contribution
+ */
+public class CommandPipelineTest {
+
+    private final List<String> sent = new ArrayList<>();
+    private ScheduledExecutorService scheduler;
+    private CommandPipeline pipeline;
+    private long now;
+
+    @BeforeEach
+    public void setUp() {
+        scheduler = mock(ScheduledExecutorService.class);
+        pipeline = new CommandPipeline(this::send, scheduler) {
+            @Override
+            protected long now() {
+                return now;
+            }
+        };
+    }
+
+    private Result send(String address, String body) throws IOException {
+        sent.add(address + " " + body);
+        return new Result("[]", 200);
+    }
+
+    private static String light(int id) {
+        return "http://bridge/api/user/lights/" + id + "/state";
+    }
+
+    private static String group(int id) {
+        return "http://bridge/api/user/groups/" + id + "/action";
+    }
+
+    @Test
+    public void testSupersededUpdatesAreMerged() {
+        CompletableFuture<Result> first = pipeline.put(light(1), "{\"on\":true,\"bri\":10}");
+        CompletableFuture<Result> second = pipeline.put(light(1), "{\"on\":true,\"bri\":20}");
+        CompletableFuture<Result> third = pipeline.put(light(1), "{\"bri\":30,\"on\":true,\"transitiontime\":4}");
+        pipeline.put(light(2), "{\"on\":true}");
+        verify(scheduler, times(1)).submit(any(Runnable.class));
+        assertThat(pipeline.size(), is(2));
+        assertThat(second, is(sameInstance(first)));
+        assertThat(third, is(sameInstance(first)));
+
+        pipeline.drain();
+
+        assertThat(sent.size(), is(2));
+        String[] merged = sent.get(0).split(" ", 2);
+        assertThat(merged[0], is(light(1)));
+        assertThat(JsonParser.parseString(merged[1]),
+                is(JsonParser.parseString("{\"on\":true,\"bri\":30,\"transitiontime\":4}")));
+        assertThat(first.isDone(), is(true));
+    }
+
+    @Test
+    public void testPartialUpdatesAreNotMerged() {
+        // bri must not be sent together with switching the light off
+        CompletableFuture<Result> bri = pipeline.put(light(1), "{\"bri\":100}");
+        CompletableFuture<Result> off = pipeline.put(light(1), "{\"on\":false}");
+        assertThat(off, is(not(sameInstance(bri))));
+        assertThat(pipeline.size(), is(2));
+
+        // replaces the pending update only
+        CompletableFuture<Result> on = pipeline.put(light(1), "{\"on\":true}");
+        assertThat(on, is(sameInstance(off)));
+
+        pipeline.drain();
+
+        assertThat(sent, is(List.of(light(1) + " {\"bri\":100}", light(1) + " {\"on\":true}")));
+    }
+
+    @Test
+    public void testActionsAreNotMerged() {
+        pipeline.put(light(1), "{\"alert\":\"select\"}");
+        pipeline.put(light(1), "{\"alert\":\"select\"}");
+        pipeline.put(group(1), "{\"scene\":\"abc\"}");
+        pipeline.put(group(1), "{\"scene\":\"abc\",\"on\":false}");
+        pipeline.put(light(2), "{\"on\":true}");
+        pipeline.put(light(2), "{\"on\":true,\"effect\":\"colorloop\"}");
+        pipeline.put(light(2), "{\"on\":true,\"effect\":\"none\"}");
+        assertThat(pipeline.size(), is(7));
+    }
+
+    @Test
+    public void testRateLimits() {
+        for (int i = 1; i <= 5; i++) {
+            pipeline.put(light(i), "{\"on\":true}");
+        }
+        pipeline.put(group(1), "{\"on\":true}");
+        pipeline.put(group(2), "{\"on\":true}");
+
+        pipeline.drain();
+        // a burst of lights and one group, the next light after 1/10 s
+        assertThat(sent.size(), is(CommandPipeline.LIGHT_BURST + 1));
+        assertThat(sent.get(sent.size() - 1), startsWith(group(1)));
+        verify(scheduler).schedule(any(Runnable.class), eq(TimeUnit.MILLISECONDS.toNanos(100)),
+                eq(TimeUnit.NANOSECONDS));
+
+        now += TimeUnit.MILLISECONDS.toNanos(100);
+        pipeline.drain();
+        assertThat(sent.size(), is(CommandPipeline.LIGHT_BURST + 2));
+
+        now += TimeUnit.MILLISECONDS.toNanos(100);
+        pipeline.drain();
+        assertThat(sent.size(), is(CommandPipeline.LIGHT_BURST + 3));
+        // the second group waits for the rest of the second
+        assertThat(pipeline.size(), is(1));
+        verify(scheduler).schedule(any(Runnable.class), eq(TimeUnit.MILLISECONDS.toNanos(800)),
+                eq(TimeUnit.NANOSECONDS));
+
+        now += TimeUnit.MILLISECONDS.toNanos(800);
+        pipeline.drain();
+        assertThat(sent.get(sent.size() - 1), startsWith(group(2)));
+        assertThat(pipeline.size(), is(0));
+
+        // idle again, the next update starts the pipeline
+        pipeline.put(light(1), "{\"on\":false}");
+        verify(scheduler, times(2)).submit(any(Runnable.class));
+    }
+}
@@ -0,0 +1,142 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.hue.internal;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * Tests the {@link EventStream} against a local server replaying recorded events.
+ *
+ * @author openHAB Contributors - Initial contribution
+ */
+public class EventStreamTest {
+
+    private static final String APPLICATION_KEY = "testuser";
+
+    // recorded from a bridge, one light switched on, a motion sensor and a button
+    private static final String EVENTS = ": hi\n\n" //
+            + "id: 1634576695:0\n"
+            + "data: [{\"creationtime\":\"2021-10-18T17:04:55Z\",\"data\":[{\"id\":\"e706416a-8c92-46ef-8589-3453f3235b13\","
+            + "\"id_v1\":\"/lights/3\",\"on\":{\"on\":true},\"owner\":{\"rid\":\"3f4ac4e9-d67a-4dbd-8a16-5ea7e373f281\","
+            + "\"rtype\":\"device\"},\"type\":\"light\"}],\"id\":\"9de116fc-5fd2-4b74-8414-0f30cb2cf7ae\",\"type\":\"update\"}]\n"
+            + "\n" //
+            + "id: 1634576696:0\n"
+            + "data: [{\"creationtime\":\"2021-10-18T17:04:56Z\",\"data\":[{\"id\":\"b6896534-016d-4052-8cb4-ef04454df62c\","
+            + "\"id_v1\":\"/sensors/5\",\"motion\":{\"motion\":true,\"motion_valid\":true},\"type\":\"motion\"}],"
+            + "\"id\":\"a3c2d6d2-17a5-4b4e-a0b3-4e3d6a6b3f21\",\"type\":\"update\"},\n"
+            + "data: {\"creationtime\":\"2021-10-18T17:04:56Z\",\"data\":[{\"button\":{\"last_event\":\"short_release\"},"
+            + "\"id\":\"7f1ab9f6-4c2d-4bd2-a1ae-2f5d2c3c6f8e\",\"id_v1\":\"/sensors/7\",\"type\":\"button\"},"
+            + "{\"id\":\"0dd9ba0b-1a6e-4d1a-9d0e-8a8d3a2a1f1c\",\"type\":\"entertainment\"}],"
+            + "\"id\":\"c1e9a4b5-8d3b-4e8a-9a0e-2c6f5b7d1e3a\",\"type\":\"update\"}]\n" //
+            + "\n";
+
+    private final BlockingQueue<Object> received = new LinkedBlockingQueue<>();
+    private HttpServer server;
+    private EventStream eventStream;
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.createContext(EventStream.PATH, exchange -> {
+            if (!APPLICATION_KEY.equals(exchange.getRequestHeaders().getFirst("hue-application-key"))) {
+                exchange.sendResponseHeaders(403, -1);
+                exchange.close();
+                return;
+            }
+            exchange.getResponseHeaders().add("Content-Type", "text/event-stream");
+            exchange.sendResponseHeaders(200, 0);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(EVENTS.getBytes(StandardCharsets.UTF_8));
+            }
+        });
+        server.start();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        if (eventStream != null) {
+            eventStream.stop();
+        }
+        server.stop(0);
+    }
+
+    private EventStream createEventStream(String applicationKey) {
+        String url = "http://127.0.0.1:" + server.getAddress().getPort() + EventStream.PATH;
+        return new EventStream(url, applicationKey, new EventStream.Listener() {
+            @Override
+            public void onConnected() {
+                received.add("connected");
+            }
+
+            @Override
+            public void onResourcesChanged(Set<String> resources) {
+                received.add(resources);
+            }
+
+            @Override
+            public void onDisconnected(String reason) {
+                received.add("disconnected");
+            }
+        });
+    }
+
+    @Test
+    public void testRecordedEvents() throws InterruptedException {
+        eventStream = createEventStream(APPLICATION_KEY);
+        eventStream.start("hue-eventstream-test");
+
+        assertThat(received.poll(5, TimeUnit.SECONDS), is("connected"));
+        assertThat(received.poll(5, TimeUnit.SECONDS), is(Set.of("/lights/3")));
+        assertThat(received.poll(5, TimeUnit.SECONDS), is(Set.of("/sensors/5", "/sensors/7")));
+        // the stub closes the stream, it is connected again
+        assertThat(received.poll(5, TimeUnit.SECONDS), is("disconnected"));
+        assertThat(received.poll(5, TimeUnit.SECONDS), is("connected"));
+    }
+
+    @Test
+    public void testNotConnectedWhenRejected() throws InterruptedException {
+        eventStream = createEventStream("invalid");
+        eventStream.start("hue-eventstream-test");
+
+        assertThat(received.poll(2, TimeUnit.SECONDS), is(nullValue()));
+        assertThat(eventStream.isConnected(), is(false));
+    }
+
+    @Test
+    public void testUnexpectedMessagesIgnored() {
+        eventStream = createEventStream(APPLICATION_KEY);
+
+        assertThat(eventStream.parseResources("{\"error\":1}"), is(empty()));
+        assertThat(eventStream.parseResources("[{\"data\":\"none\"},{\"data\":[{\"id_v1\":\"/groups/1\"}]}]"),
+                contains("/groups/1"));
+        assertThat(eventStream.parseResources("[{\"data\":["), is(empty()));
+    }
+}
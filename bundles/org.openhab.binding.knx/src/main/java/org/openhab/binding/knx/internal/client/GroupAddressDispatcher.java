@@ -0,0 +1,170 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.knx.internal.client;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.openhab.binding.knx.internal.handler.GroupAddressListener;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import tuwien.auto.calimero.GroupAddress;
+
+/**
+ * Dispatches bus messages to the {@link GroupAddressListener}s of their destination group address.
+ * <p>
+ * Listeners are indexed by the group addresses they listen to when they are registered, so a telegram is only handed
+ * to the interested listeners without asking every listener. Notifications for the same group address are delivered
+ * in the order they were received, by a single task that drains all notifications which arrived in the meantime.
+ *
+ * @author openHAB Contributors - Initial contribution
+ */
+@NonNullByDefault
+class GroupAddressDispatcher {
+
+    private static final GroupAddressListener[] NO_LISTENERS = new GroupAddressListener[0];
+
+    private final Logger logger = LoggerFactory.getLogger(GroupAddressDispatcher.class);
+
+    private final Executor executor;
+    private final Map<GroupAddress, Destination> destinations = new ConcurrentHashMap<>();
+    // guarded by this
+    private final Map<GroupAddressListener, Set<GroupAddress>> registrations = new HashMap<>();
+
+    GroupAddressDispatcher(Executor executor) {
+        this.executor = executor;
+    }
+
+    /**
+     * Register a listener for the group addresses it currently listens to.
+     *
+     * Registering an already registered listener updates its group addresses.
+     *
+     * @param listener the listener
+     * @return true if the listener was not registered before
+     */
+    synchronized boolean register(GroupAddressListener listener) {
+        Set<GroupAddress> addresses = new HashSet<>(listener.getGroupAddresses());
+        Set<GroupAddress> previous = registrations.put(listener, addresses);
+        if (previous != null) {
+            for (GroupAddress address : previous) {
+                if (!addresses.contains(address)) {
+                    removeListener(address, listener);
+                }
+            }
+        }
+        for (GroupAddress address : addresses) {
+            if (previous == null || !previous.contains(address)) {
+                destinations.computeIfAbsent(address, a -> new Destination()).add(listener);
+            }
+        }
+        return previous == null;
+    }
+
+    /**
+     * Unregister a listener from all group addresses it was registered for.
+     *
+     * @param listener the listener
+     * @return true if the listener was registered
+     */
+    synchronized boolean unregister(GroupAddressListener listener) {
+        Set<GroupAddress> previous = registrations.remove(listener);
+        if (previous == null) {
+            return false;
+        }
+        for (GroupAddress address : previous) {
+            removeListener(address, listener);
+        }
+        return true;
+    }
+
+    private void removeListener(GroupAddress address, GroupAddressListener listener) {
+        Destination destination = destinations.get(address);
+        if (destination != null && destination.remove(listener)) {
+            destinations.remove(address);
+        }
+    }
+
+    /**
+     * Notify the listeners of the given group address asynchronously.
+     *
+     * @param address destination group address of the telegram
+     * @param notification notification to apply to each listener
+     * @return true if there was at least one listener for the group address
+     */
+    boolean dispatch(GroupAddress address, Consumer<BusMessageListener> notification) {
+        Destination destination = destinations.get(address);
+        if (destination == null) {
+            return false;
+        }
+        destination.pending.add(notification);
+        if (destination.scheduled.compareAndSet(false, true)) {
+            executor.execute(destination::drain);
+        }
+        return true;
+    }
+
+    /**
+     * Listeners and pending notifications of a single group address
+     */
+    private class Destination {
+        // copy-on-write, modified while holding the dispatcher lock
+        private volatile GroupAddressListener[] listeners = NO_LISTENERS;
+        private final Queue<Consumer<BusMessageListener>> pending = new ConcurrentLinkedQueue<>();
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+
+        private void add(GroupAddressListener listener) {
+            GroupAddressListener[] current = listeners;
+            GroupAddressListener[] updated = Arrays.copyOf(current, current.length + 1);
+            updated[current.length] = listener;
+            listeners = updated;
+        }
+
+        /**
+         * @return true if no listeners are left
+         */
+        private boolean remove(GroupAddressListener listener) {
+            listeners = Arrays.stream(listeners).filter(l -> l != listener).toArray(GroupAddressListener[]::new);
+            return listeners.length == 0;
+        }
+
+        private void drain() {
+            do {
+                Consumer<BusMessageListener> notification;
+                while ((notification = pending.poll()) != null) {
+                    for (GroupAddressListener listener : listeners) {
+                        try {
+                            notification.accept(listener);
+                        } catch (RuntimeException e) {
+                            logger.warn("Listener {} failed to process a bus message: {}", listener, e.getMessage(),
+                                    e);
+                        }
+                    }
+                }
+                scheduled.set(false);
+                // A notification might have been added after polling the queue, but before clearing the flag
+            } while (!pending.isEmpty() && scheduled.compareAndSet(false, true));
+        }
+    }
+}
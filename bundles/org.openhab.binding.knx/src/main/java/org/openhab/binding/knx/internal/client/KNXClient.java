@@ -61,7 +61,9 @@ public interface KNXClient {
     void restartNetworkDevice(@Nullable IndividualAddress address);
 
     /**
-     * Register the given listener to be informed on KNX bus traffic.
+     * Register the given listener to be informed on KNX bus traffic to its group addresses.
+     *
+     * Registering a listener again updates the group addresses it is informed about.
      *
      * @param listener the listener
      * @return {@code true} if it wasn't registered before
@@ -79,9 +81,12 @@ public interface KNXClient {
     /**
      * Schedule the given data point for asynchronous reading.
      *
+     * If a read of the same group address is pending already, only its priority is raised if needed.
+     *
      * @param datapoint the datapoint
+     * @param priority the priority of the read
      */
-    void readDatapoint(Datapoint datapoint);
+    void readDatapoint(Datapoint datapoint, ReadPriority priority);
 
     /**
      * Write a command to the KNX bus.
@@ -0,0 +1,27 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.knx.internal.client;
+
+/**
+ * Priority of a queued read request, in descending order.
+ *
+ * @author openHAB Contributors - Initial contribution
+ */
+public enum ReadPriority {
+    /** Read requested explicitly, e.g. by a REFRESH command */
+    REFRESH,
+    /** Initial read when a channel gets available */
+    INITIAL,
+    /** Periodic read according to the read interval */
+    PERIODIC
+}
@@ -0,0 +1,185 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.knx.internal.client;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+
+import tuwien.auto.calimero.GroupAddress;
+import tuwien.auto.calimero.datapoint.Datapoint;
+
+/**
+ * Queue of pending group reads, taken one per reading slot.
+ * <p>
+ * There is at most one pending read per group address. Scheduling a read for a group address which is already pending
+ * only raises its priority if needed. Reads with higher {@link ReadPriority} are taken first, reads of the same
+ * priority in the order they were scheduled. A pending read is dropped when a value for its group address is received
+ * anyway.
+ * <p>
+ * The pace adapts to the bus: after a failed read, the following slots are skipped with an exponential backoff, and a
+ * slot is skipped as well if the bus was busy with other telegrams since the last one.
+ *
+ * @author openHAB Contributors - Initial contribution
+ */
+@NonNullByDefault
+class ReadScheduler {
+
+    /** Maximum number of slots skipped in a row, either after failures or due to bus load */
+    static final int MAX_BACKOFF = 16;
+    /** Number of telegrams received within a slot, from which on the bus is considered busy */
+    static final int BUSY_TELEGRAMS_PER_SLOT = 2;
+
+    private final int retriesLimit;
+
+    // all guarded by this
+    private final Map<GroupAddress, ReadDatapoint> pending = new HashMap<>();
+    private final Deque<ReadDatapoint>[] queues;
+    private int backoff = 1;
+    private int slotsToSkip;
+    private int busySlotsSkipped;
+    private int telegramsInSlot;
+
+    @SuppressWarnings("unchecked")
+    ReadScheduler(int retriesLimit) {
+        this.retriesLimit = retriesLimit;
+        queues = new Deque[ReadPriority.values().length];
+        for (int i = 0; i < queues.length; i++) {
+            queues[i] = new ArrayDeque<>();
+        }
+    }
+
+    /**
+     * Schedule reading the given datapoint.
+     *
+     * @param datapoint the datapoint
+     * @param priority the priority
+     * @return false if a read was pending for the group address already
+     */
+    synchronized boolean schedule(Datapoint datapoint, ReadPriority priority) {
+        ReadDatapoint existing = pending.get(datapoint.getMainAddress());
+        if (existing != null) {
+            if (priority.compareTo(existing.getPriority()) < 0) {
+                // the entry left behind in the queue of the lower priority is skipped when taken
+                existing.setPriority(priority);
+                queues[priority.ordinal()].add(existing);
+            }
+            return false;
+        }
+        ReadDatapoint readDatapoint = new ReadDatapoint(datapoint, retriesLimit, priority);
+        pending.put(datapoint.getMainAddress(), readDatapoint);
+        queues[priority.ordinal()].add(readDatapoint);
+        return true;
+    }
+
+    /**
+     * Take the datapoint to be read in the current slot.
+     *
+     * The read is not pending anymore afterwards, until it is retried after a failure.
+     *
+     * @return the datapoint to read, or null if there is none or the slot is to be skipped
+     */
+    synchronized @Nullable ReadDatapoint next() {
+        int telegrams = telegramsInSlot;
+        telegramsInSlot = 0;
+        if (slotsToSkip > 0) {
+            slotsToSkip--;
+            return null;
+        }
+        if (pending.isEmpty()) {
+            return null;
+        }
+        if (telegrams >= BUSY_TELEGRAMS_PER_SLOT && busySlotsSkipped < MAX_BACKOFF) {
+            busySlotsSkipped++;
+            return null;
+        }
+        busySlotsSkipped = 0;
+        for (int i = 0; i < queues.length; i++) {
+            Deque<ReadDatapoint> queue = queues[i];
+            ReadDatapoint readDatapoint;
+            while ((readDatapoint = queue.poll()) != null) {
+                GroupAddress address = readDatapoint.getDatapoint().getMainAddress();
+                if (pending.get(address) == readDatapoint && readDatapoint.getPriority().ordinal() == i) {
+                    pending.remove(address);
+                    readDatapoint.incrementRetries();
+                    return readDatapoint;
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Report that reading a datapoint taken by {@link #next()} succeeded.
+     */
+    synchronized void onSuccess() {
+        backoff = 1;
+    }
+
+    /**
+     * Report that reading a datapoint taken by {@link #next()} failed.
+     *
+     * The read is retried later unless the limit of retries is reached, or it was scheduled again meanwhile.
+     *
+     * @param readDatapoint the datapoint
+     * @return false if the read is given up
+     */
+    synchronized boolean onFailure(ReadDatapoint readDatapoint) {
+        slotsToSkip = backoff;
+        backoff = Math.min(backoff * 2, MAX_BACKOFF);
+        if (readDatapoint.getRetries() >= readDatapoint.getLimit()) {
+            return false;
+        }
+        GroupAddress address = readDatapoint.getDatapoint().getMainAddress();
+        if (!pending.containsKey(address)) {
+            pending.put(address, readDatapoint);
+            queues[readDatapoint.getPriority().ordinal()].add(readDatapoint);
+        }
+        return true;
+    }
+
+    /**
+     * Report a telegram seen on the bus.
+     *
+     * @param address the destination group address
+     * @param value whether the telegram carries a value for the group address, which satisfies a pending read
+     */
+    synchronized void onTelegram(GroupAddress address, boolean value) {
+        telegramsInSlot++;
+        if (value) {
+            pending.remove(address);
+        }
+    }
+
+    /**
+     * @return the number of pending reads
+     */
+    synchronized int size() {
+        return pending.size();
+    }
+
+    synchronized void clear() {
+        pending.clear();
+        for (Deque<ReadDatapoint> queue : queues) {
+            queue.clear();
+        }
+        backoff = 1;
+        slotsToSkip = 0;
+        busySlotsSkipped = 0;
+        telegramsInSlot = 0;
+    }
+}
@@ -25,6 +25,7 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.openhab.binding.knx.internal.KNXTypeMapper;
 import org.openhab.core.library.types.DateTimeType;
@@ -108,6 +109,9 @@ public class KNXCoreTypeMapper implements KNXTypeMapper {
     /** stores the default KNX DPT to use for each openHAB type */
     private final Map<Class<? extends Type>, String> defaultDptMap;
 
+    /** stores a translator for each KNX datapoint type id used so far */
+    private final Map<String, TranslatorEntry> translators = new ConcurrentHashMap<>();
+
     public KNXCoreTypeMapper() {
         @SuppressWarnings("unused")
         final List<Class<?>> xlators = Arrays.<Class<?>> asList(DPTXlator1BitControlled.class,
@@ -573,24 +577,23 @@ public class KNXCoreTypeMapper implements KNXTypeMapper {
 
     @Override
     public String toDPTValue(Type type, String dptID) {
-        DPT dpt;
-        int mainNumber = getMainNumber(dptID);
+        TranslatorEntry entry;
+        try {
+            entry = getTranslatorEntry(0, dptID);
+        } catch (KNXException e) {
+            return null;
+        }
+        int mainNumber = entry.mainNumber;
         if (mainNumber == -1) {
             logger.error("toDPTValue couldn't identify mainnumber in dptID: {}", dptID);
             return null;
         }
-        int subNumber = getSubNumber(dptID);
+        int subNumber = entry.subNumber;
         if (subNumber == -1) {
             logger.debug("toType: couldn't identify sub number in dptID: {}.", dptID);
             return null;
         }
-
-        try {
-            DPTXlator translator = TranslatorTypes.createTranslator(mainNumber, dptID);
-            dpt = translator.getType();
-        } catch (KNXException e) {
-            return null;
-        }
+        DPT dpt = entry.dpt;
 
         try {
             // check for HSBType first, because it extends PercentType as well
@@ -674,192 +677,226 @@ public class KNXCoreTypeMapper implements KNXTypeMapper {
     @Override
     public Type toType(Datapoint datapoint, byte[] data) {
         try {
-            DPTXlator translator = TranslatorTypes.createTranslator(datapoint.getMainNumber(), datapoint.getDPT());
-            translator.setData(data);
-            String value = translator.getValue();
-
-            String id = translator.getType().getID();
+            TranslatorEntry entry = getTranslatorEntry(datapoint.getMainNumber(), datapoint.getDPT());
             logger.trace("toType datapoint DPT = {}", datapoint.getDPT());
 
-            int mainNumber = getMainNumber(id);
-            if (mainNumber == -1) {
-                logger.debug("toType: couldn't identify mainnumber in dptID: {}.", id);
+            if (entry.mainNumber == -1) {
+                logger.debug("toType: couldn't identify mainnumber in dptID: {}.", entry.dpt.getID());
                 return null;
             }
-            int subNumber = getSubNumber(id);
-            if (subNumber == -1) {
-                logger.debug("toType: couldn't identify sub number in dptID: {}.", id);
+            if (entry.subNumber == -1) {
+                logger.debug("toType: couldn't identify sub number in dptID: {}.", entry.dpt.getID());
                 return null;
             }
-            /*
-             * Following code section deals with specific mapping of values from KNX to openHAB types were the String
-             * received from the DPTXlator is not sufficient to set the openHAB type or has bugs
-             */
-            switch (mainNumber) {
-                case 1:
-                    DPTXlatorBoolean translatorBoolean = (DPTXlatorBoolean) translator;
-                    switch (subNumber) {
-                        case 8:
-                            return translatorBoolean.getValueBoolean() ? UpDownType.DOWN : UpDownType.UP;
-                        case 9:
-                            return translatorBoolean.getValueBoolean() ? OpenClosedType.OPEN : OpenClosedType.CLOSED;
-                        case 10:
-                            return translatorBoolean.getValueBoolean() ? StopMoveType.MOVE : StopMoveType.STOP;
-                        case 19:
-                            return translatorBoolean.getValueBoolean() ? OpenClosedType.OPEN : OpenClosedType.CLOSED;
-                        case 22:
-                            return DecimalType.valueOf(translatorBoolean.getValueBoolean() ? "1" : "0");
-                        default:
-                            return translatorBoolean.getValueBoolean() ? OnOffType.ON : OnOffType.OFF;
-                    }
-                case 2:
-                    DPTXlator1BitControlled translator1BitControlled = (DPTXlator1BitControlled) translator;
-                    int decValue = (translator1BitControlled.getControlBit() ? 2 : 0)
-                            + (translator1BitControlled.getValueBit() ? 1 : 0);
-                    return new DecimalType(decValue);
-                case 3:
-                    DPTXlator3BitControlled translator3BitControlled = (DPTXlator3BitControlled) translator;
-                    if (translator3BitControlled.getStepCode() == 0) {
-                        logger.debug("toType: KNX DPT_Control_Dimming: break received.");
-                        return UnDefType.UNDEF;
-                    }
-                    switch (subNumber) {
-                        case 7:
-                            return translator3BitControlled.getControlBit() ? IncreaseDecreaseType.INCREASE
-                                    : IncreaseDecreaseType.DECREASE;
-                        case 8:
-                            return translator3BitControlled.getControlBit() ? UpDownType.DOWN : UpDownType.UP;
-                    }
-                case 14:
-                    /*
-                     * FIXME: Workaround for a bug in Calimero / Openhab DPTXlator4ByteFloat.makeString(): is using a
-                     * locale when
-                     * translating a Float to String. It could happen the a ',' is used as separator, such as
-                     * 3,14159E20.
-                     * Openhab's DecimalType expects this to be in US format and expects '.': 3.14159E20.
-                     * There is no issue with DPTXlator2ByteFloat since calimero is using a non-localized translation
-                     * there.
-                     */
-                    DPTXlator4ByteFloat translator4ByteFloat = (DPTXlator4ByteFloat) translator;
-                    Float f = translator4ByteFloat.getValueFloat();
-                    if (Math.abs(f) < 100000) {
-                        value = String.valueOf(f);
-                    } else {
-                        NumberFormat dcf = NumberFormat.getInstance(Locale.US);
-                        if (dcf instanceof DecimalFormat) {
-                            ((DecimalFormat) dcf).applyPattern("0.#####E0");
-                        }
-                        value = dcf.format(f);
-                    }
-                    break;
-                case 18:
-                    DPTXlatorSceneControl translatorSceneControl = (DPTXlatorSceneControl) translator;
-                    int decimalValue = translatorSceneControl.getSceneNumber();
-                    if (value.startsWith("learn")) {
-                        decimalValue += 0x80;
-                    }
-                    value = String.valueOf(decimalValue);
+            // translators are not thread-safe, but reused for all telegrams of the same datapoint type
+            synchronized (entry.translator) {
+                entry.translator.setData(data);
+                return toType(datapoint, entry);
+            }
+        } catch (KNXFormatException kfe) {
+            logger.info("Translator couldn't parse data for datapoint type '{}' (KNXFormatException).",
+                    datapoint.getDPT());
+        } catch (KNXIllegalArgumentException kiae) {
+            logger.info("Translator couldn't parse data for datapoint type '{}' (KNXIllegalArgumentException).",
+                    datapoint.getDPT());
+        } catch (KNXException e) {
+            logger.warn("Failed creating a translator for datapoint type '{}'.", datapoint.getDPT(), e);
+        }
+
+        return null;
+    }
 
+    private Type toType(Datapoint datapoint, TranslatorEntry entry) throws KNXFormatException {
+        DPTXlator translator = entry.translator;
+        int mainNumber = entry.mainNumber;
+        int subNumber = entry.subNumber;
+        // the string representation is only created when needed
+        String value = null;
+        /*
+         * Following code section deals with specific mapping of values from KNX to openHAB types were the String
+         * received from the DPTXlator is not sufficient to set the openHAB type or has bugs
+         */
+        switch (mainNumber) {
+            case 1:
+                DPTXlatorBoolean translatorBoolean = (DPTXlatorBoolean) translator;
+                switch (subNumber) {
+                    case 8:
+                        return translatorBoolean.getValueBoolean() ? UpDownType.DOWN : UpDownType.UP;
+                    case 9:
+                        return translatorBoolean.getValueBoolean() ? OpenClosedType.OPEN : OpenClosedType.CLOSED;
+                    case 10:
+                        return translatorBoolean.getValueBoolean() ? StopMoveType.MOVE : StopMoveType.STOP;
+                    case 19:
+                        return translatorBoolean.getValueBoolean() ? OpenClosedType.OPEN : OpenClosedType.CLOSED;
+                    case 22:
+                        return DecimalType.valueOf(translatorBoolean.getValueBoolean() ? "1" : "0");
+                    default:
+                        return translatorBoolean.getValueBoolean() ? OnOffType.ON : OnOffType.OFF;
+                }
+            case 2:
+                DPTXlator1BitControlled translator1BitControlled = (DPTXlator1BitControlled) translator;
+                int decValue = (translator1BitControlled.getControlBit() ? 2 : 0)
+                        + (translator1BitControlled.getValueBit() ? 1 : 0);
+                return new DecimalType(decValue);
+            case 3:
+                DPTXlator3BitControlled translator3BitControlled = (DPTXlator3BitControlled) translator;
+                if (translator3BitControlled.getStepCode() == 0) {
+                    logger.debug("toType: KNX DPT_Control_Dimming: break received.");
+                    return UnDefType.UNDEF;
+                }
+                switch (subNumber) {
+                    case 7:
+                        return translator3BitControlled.getControlBit() ? IncreaseDecreaseType.INCREASE
+                                : IncreaseDecreaseType.DECREASE;
+                    case 8:
+                        return translator3BitControlled.getControlBit() ? UpDownType.DOWN : UpDownType.UP;
+                }
+            case 14:
+                /*
+                 * FIXME: Workaround for a bug in Calimero / Openhab DPTXlator4ByteFloat.makeString(): is using a
+                 * locale when
+                 * translating a Float to String. It could happen the a ',' is used as separator, such as
+                 * 3,14159E20.
+                 * Openhab's DecimalType expects this to be in US format and expects '.': 3.14159E20.
+                 * There is no issue with DPTXlator2ByteFloat since calimero is using a non-localized translation
+                 * there.
+                 */
+                if (!StringType.class.equals(entry.typeClass)) {
+                    // the value is only used for string items
                     break;
-                case 19:
-                    DPTXlatorDateTime translatorDateTime = (DPTXlatorDateTime) translator;
-                    if (translatorDateTime.isFaultyClock()) {
-                        // Not supported: faulty clock
-                        logger.debug("toType: KNX clock msg ignored: clock faulty bit set, which is not supported");
-                        return null;
-                    } else if (!translatorDateTime.isValidField(DPTXlatorDateTime.YEAR)
-                            && translatorDateTime.isValidField(DPTXlatorDateTime.DATE)) {
-                        // Not supported: "/1/1" (month and day without year)
-                        logger.debug(
-                                "toType: KNX clock msg ignored: no year, but day and month, which is not supported");
-                        return null;
-                    } else if (translatorDateTime.isValidField(DPTXlatorDateTime.YEAR)
-                            && !translatorDateTime.isValidField(DPTXlatorDateTime.DATE)) {
-                        // Not supported: "1900" (year without month and day)
-                        logger.debug(
-                                "toType: KNX clock msg ignored: no day and month, but year, which is not supported");
-                        return null;
-                    } else if (!translatorDateTime.isValidField(DPTXlatorDateTime.YEAR)
-                            && !translatorDateTime.isValidField(DPTXlatorDateTime.DATE)
-                            && !translatorDateTime.isValidField(DPTXlatorDateTime.TIME)) {
-                        // Not supported: No year, no date and no time
-                        logger.debug("toType: KNX clock msg ignored: no day and month or year, which is not supported");
-                        return null;
+                }
+                DPTXlator4ByteFloat translator4ByteFloat = (DPTXlator4ByteFloat) translator;
+                Float f = translator4ByteFloat.getValueFloat();
+                if (Math.abs(f) < 100000) {
+                    value = String.valueOf(f);
+                } else {
+                    NumberFormat dcf = NumberFormat.getInstance(Locale.US);
+                    if (dcf instanceof DecimalFormat) {
+                        ((DecimalFormat) dcf).applyPattern("0.#####E0");
                     }
+                    value = dcf.format(f);
+                }
+                break;
+            case 18:
+                DPTXlatorSceneControl translatorSceneControl = (DPTXlatorSceneControl) translator;
+                int decimalValue = translatorSceneControl.getSceneNumber();
+                if (translator.getValue().startsWith("learn")) {
+                    decimalValue += 0x80;
+                }
+                value = String.valueOf(decimalValue);
+
+                break;
+            case 19:
+                DPTXlatorDateTime translatorDateTime = (DPTXlatorDateTime) translator;
+                if (translatorDateTime.isFaultyClock()) {
+                    // Not supported: faulty clock
+                    logger.debug("toType: KNX clock msg ignored: clock faulty bit set, which is not supported");
+                    return null;
+                } else if (!translatorDateTime.isValidField(DPTXlatorDateTime.YEAR)
+                        && translatorDateTime.isValidField(DPTXlatorDateTime.DATE)) {
+                    // Not supported: "/1/1" (month and day without year)
+                    logger.debug(
+                            "toType: KNX clock msg ignored: no year, but day and month, which is not supported");
+                    return null;
+                } else if (translatorDateTime.isValidField(DPTXlatorDateTime.YEAR)
+                        && !translatorDateTime.isValidField(DPTXlatorDateTime.DATE)) {
+                    // Not supported: "1900" (year without month and day)
+                    logger.debug(
+                            "toType: KNX clock msg ignored: no day and month, but year, which is not supported");
+                    return null;
+                } else if (!translatorDateTime.isValidField(DPTXlatorDateTime.YEAR)
+                        && !translatorDateTime.isValidField(DPTXlatorDateTime.DATE)
+                        && !translatorDateTime.isValidField(DPTXlatorDateTime.TIME)) {
+                    // Not supported: No year, no date and no time
+                    logger.debug("toType: KNX clock msg ignored: no day and month or year, which is not supported");
+                    return null;
+                }
 
-                    Calendar cal = Calendar.getInstance();
-                    if (translatorDateTime.isValidField(DPTXlatorDateTime.YEAR)
-                            && !translatorDateTime.isValidField(DPTXlatorDateTime.TIME)) {
-                        // Pure date format, no time information
-                        cal.setTimeInMillis(translatorDateTime.getValueMilliseconds());
-                        value = new SimpleDateFormat(DateTimeType.DATE_PATTERN).format(cal.getTime());
-                        return DateTimeType.valueOf(value);
-                    } else if (!translatorDateTime.isValidField(DPTXlatorDateTime.YEAR)
-                            && translatorDateTime.isValidField(DPTXlatorDateTime.TIME)) {
-                        // Pure time format, no date information
-                        cal.clear();
-                        cal.set(Calendar.HOUR_OF_DAY, translatorDateTime.getHour());
-                        cal.set(Calendar.MINUTE, translatorDateTime.getMinute());
-                        cal.set(Calendar.SECOND, translatorDateTime.getSecond());
-                        value = new SimpleDateFormat(DateTimeType.DATE_PATTERN).format(cal.getTime());
-                        return DateTimeType.valueOf(value);
-                    } else if (translatorDateTime.isValidField(DPTXlatorDateTime.YEAR)
-                            && translatorDateTime.isValidField(DPTXlatorDateTime.TIME)) {
-                        // Date format and time information
-                        cal.setTimeInMillis(translatorDateTime.getValueMilliseconds());
-                        value = new SimpleDateFormat(DateTimeType.DATE_PATTERN).format(cal.getTime());
-                        return DateTimeType.valueOf(value);
-                    }
-                    break;
-            }
+                Calendar cal = Calendar.getInstance();
+                if (translatorDateTime.isValidField(DPTXlatorDateTime.YEAR)
+                        && !translatorDateTime.isValidField(DPTXlatorDateTime.TIME)) {
+                    // Pure date format, no time information
+                    cal.setTimeInMillis(translatorDateTime.getValueMilliseconds());
+                    value = new SimpleDateFormat(DateTimeType.DATE_PATTERN).format(cal.getTime());
+                    return DateTimeType.valueOf(value);
+                } else if (!translatorDateTime.isValidField(DPTXlatorDateTime.YEAR)
+                        && translatorDateTime.isValidField(DPTXlatorDateTime.TIME)) {
+                    // Pure time format, no date information
+                    cal.clear();
+                    cal.set(Calendar.HOUR_OF_DAY, translatorDateTime.getHour());
+                    cal.set(Calendar.MINUTE, translatorDateTime.getMinute());
+                    cal.set(Calendar.SECOND, translatorDateTime.getSecond());
+                    value = new SimpleDateFormat(DateTimeType.DATE_PATTERN).format(cal.getTime());
+                    return DateTimeType.valueOf(value);
+                } else if (translatorDateTime.isValidField(DPTXlatorDateTime.YEAR)
+                        && translatorDateTime.isValidField(DPTXlatorDateTime.TIME)) {
+                    // Date format and time information
+                    cal.setTimeInMillis(translatorDateTime.getValueMilliseconds());
+                    value = new SimpleDateFormat(DateTimeType.DATE_PATTERN).format(cal.getTime());
+                    return DateTimeType.valueOf(value);
+                }
+                break;
+        }
 
-            Class<? extends Type> typeClass = toTypeClass(id);
-            if (typeClass == null) {
-                return null;
-            }
+        Class<? extends Type> typeClass = entry.typeClass;
+        if (typeClass == null) {
+            return null;
+        }
 
-            if (typeClass.equals(PercentType.class)) {
-                return new PercentType(BigDecimal.valueOf(Math.round(translator.getNumericValue())));
-            }
-            if (typeClass.equals(DecimalType.class)) {
-                return new DecimalType(translator.getNumericValue());
-            }
-            if (typeClass.equals(StringType.class)) {
-                return StringType.valueOf(value);
-            }
+        if (typeClass.equals(PercentType.class)) {
+            return new PercentType(BigDecimal.valueOf(Math.round(translator.getNumericValue())));
+        }
+        if (typeClass.equals(DecimalType.class)) {
+            return new DecimalType(translator.getNumericValue());
+        }
+        if (value == null) {
+            value = translator.getValue();
+        }
+        if (typeClass.equals(StringType.class)) {
+            return StringType.valueOf(value);
+        }
 
-            if (typeClass.equals(DateTimeType.class)) {
-                String date = formatDateTime(value, datapoint.getDPT());
-                if ((date == null) || (date.isEmpty())) {
-                    logger.debug("toType: KNX clock msg ignored: date object null or empty {}.", date);
-                    return null;
-                } else {
-                    return DateTimeType.valueOf(date);
-                }
+        if (typeClass.equals(DateTimeType.class)) {
+            String date = formatDateTime(value, datapoint.getDPT());
+            if ((date == null) || (date.isEmpty())) {
+                logger.debug("toType: KNX clock msg ignored: date object null or empty {}.", date);
+                return null;
+            } else {
+                return DateTimeType.valueOf(date);
             }
+        }
 
-            if (typeClass.equals(HSBType.class)) {
-                // value has format of "r:<red value> g:<green value> b:<blue value>"
-                int r = Integer.parseInt(value.split(" ")[0].split(":")[1]);
-                int g = Integer.parseInt(value.split(" ")[1].split(":")[1]);
-                int b = Integer.parseInt(value.split(" ")[2].split(":")[1]);
-
-                return HSBType.fromRGB(r, g, b);
-            }
+        if (typeClass.equals(HSBType.class)) {
+            // value has format of "r:<red value> g:<green value> b:<blue value>"
+            int r = Integer.parseInt(value.split(" ")[0].split(":")[1]);
+            int g = Integer.parseInt(value.split(" ")[1].split(":")[1]);
+            int b = Integer.parseInt(value.split(" ")[2].split(":")[1]);
 
-        } catch (KNXFormatException kfe) {
-            logger.info("Translator couldn't parse data for datapoint type '{}' (KNXFormatException).",
-                    datapoint.getDPT());
-        } catch (KNXIllegalArgumentException kiae) {
-            logger.info("Translator couldn't parse data for datapoint type '{}' (KNXIllegalArgumentException).",
-                    datapoint.getDPT());
-        } catch (KNXException e) {
-            logger.warn("Failed creating a translator for datapoint type '{}'.", datapoint.getDPT(), e);
+            return HSBType.fromRGB(r, g, b);
         }
 
         return null;
     }
 
+    /**
+     * Returns the cached translator for the given datapoint type, creating it on first use.
+     *
+     * @param mainNumber main number of the datapoint type, or 0 to derive it from the datapoint type id
+     * @param dptID the datapoint type id
+     * @return the translator together with everything derived from the datapoint type id
+     * @throws KNXException if no translator is available for the datapoint type
+     */
+    private TranslatorEntry getTranslatorEntry(int mainNumber, String dptID) throws KNXException {
+        TranslatorEntry entry = translators.get(dptID);
+        if (entry == null || (mainNumber != 0 && mainNumber != entry.mainNumber)) {
+            DPTXlator translator = TranslatorTypes.createTranslator(mainNumber, dptID);
+            String id = translator.getType().getID();
+            entry = new TranslatorEntry(translator, getMainNumber(id), getSubNumber(id), toTypeClass(id));
+            translators.put(dptID, entry);
+        }
+        return entry;
+    }
+
     /**
      * Converts a datapoint type id into an openHAB type class
      *
@@ -1020,4 +1057,25 @@ public class KNXCoreTypeMapper implements KNXTypeMapper {
         return percent.toBigDecimal().multiply(BigDecimal.valueOf(255))
                 .divide(BigDecimal.valueOf(100), 2, RoundingMode.HALF_UP).intValue();
     }
+
+    /**
+     * A translator for a datapoint type, along with the parsed datapoint type id.
+     * The translator keeps the last translated data, access needs to be synchronized on it.
+     */
+    private static class TranslatorEntry {
+        private final DPTXlator translator;
+        private final DPT dpt;
+        private final int mainNumber;
+        private final int subNumber;
+        private final Class<? extends Type> typeClass;
+
+        private TranslatorEntry(DPTXlator translator, int mainNumber, int subNumber,
+                Class<? extends Type> typeClass) {
+            this.translator = translator;
+            this.dpt = translator.getType();
+            this.mainNumber = mainNumber;
+            this.subNumber = subNumber;
+            this.typeClass = typeClass;
+        }
+    }
 }
@@ -0,0 +1,129 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.knx.internal.client;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.openhab.binding.knx.internal.handler.GroupAddressListener;
+
+import tuwien.auto.calimero.GroupAddress;
+import tuwien.auto.calimero.IndividualAddress;
+
+/**
+ *
+ * @author openHAB Contributors - Initial contribution
+ *
+ */
+public class GroupAddressDispatcherTest {
+
+    private static final IndividualAddress SOURCE = new IndividualAddress(1, 1, 1);
+    private static final GroupAddress GA1 = new GroupAddress(1, 2, 3);
+    private static final GroupAddress GA2 = new GroupAddress(1, 2, 4);
+    private static final GroupAddress GA3 = new GroupAddress(1, 2, 5);
+
+    private final List<Runnable> tasks = new ArrayList<>();
+    private GroupAddressDispatcher dispatcher;
+
+    @BeforeEach
+    public void setup() {
+        dispatcher = new GroupAddressDispatcher(tasks::add);
+    }
+
+    private GroupAddressListener listener(GroupAddress... addresses) {
+        GroupAddressListener listener = mock(GroupAddressListener.class);
+        doReturn(new HashSet<>(Arrays.asList(addresses))).when(listener).getGroupAddresses();
+        return listener;
+    }
+
+    private boolean write(GroupAddress destination, byte value) {
+        return dispatcher.dispatch(destination,
+                listener -> listener.onGroupWrite(null, SOURCE, destination, new byte[] { value }));
+    }
+
+    private void runTasks() {
+        List<Runnable> current = new ArrayList<>(tasks);
+        tasks.clear();
+        current.forEach(Runnable::run);
+    }
+
+    @Test
+    public void testDispatchToListenersOfDestinationOnly() {
+        GroupAddressListener first = listener(GA1, GA2);
+        GroupAddressListener second = listener(GA2);
+        assertTrue(dispatcher.register(first));
+        assertTrue(dispatcher.register(second));
+
+        assertTrue(write(GA1, (byte) 1));
+        assertTrue(write(GA2, (byte) 2));
+        assertFalse(write(GA3, (byte) 3));
+        runTasks();
+
+        verify(first).onGroupWrite(null, SOURCE, GA1, new byte[] { 1 });
+        verify(first).onGroupWrite(null, SOURCE, GA2, new byte[] { 2 });
+        verify(second).onGroupWrite(null, SOURCE, GA2, new byte[] { 2 });
+        verify(second, never()).onGroupWrite(any(), any(), eq(GA1), any());
+        verify(first, never()).listensTo(any());
+    }
+
+    @Test
+    public void testSingleTaskPerDestinationInOrder() {
+        GroupAddressListener listener = listener(GA1);
+        dispatcher.register(listener);
+
+        for (byte i = 0; i < 10; i++) {
+            write(GA1, i);
+        }
+        // telegrams arriving while a task is pending are processed by the same task
+        assertEquals(1, tasks.size());
+        runTasks();
+
+        InOrder inOrder = inOrder(listener);
+        for (byte i = 0; i < 10; i++) {
+            inOrder.verify(listener).onGroupWrite(null, SOURCE, GA1, new byte[] { i });
+        }
+
+        write(GA1, (byte) 10);
+        assertEquals(1, tasks.size());
+    }
+
+    @Test
+    public void testRegisterAgainAndUnregister() {
+        GroupAddressListener listener = mock(GroupAddressListener.class);
+        doReturn(Set.of(GA1)).when(listener).getGroupAddresses();
+        assertTrue(dispatcher.register(listener));
+
+        doReturn(Set.of(GA2)).when(listener).getGroupAddresses();
+        assertFalse(dispatcher.register(listener));
+        assertFalse(write(GA1, (byte) 1));
+        assertTrue(write(GA2, (byte) 2));
+
+        assertTrue(dispatcher.unregister(listener));
+        assertFalse(dispatcher.unregister(listener));
+        assertFalse(write(GA2, (byte) 3));
+        runTasks();
+
+        verify(listener, never()).onGroupWrite(any(), any(), eq(GA1), any());
+        verify(listener, never()).onGroupWrite(any(), any(), any(), eq(new byte[] { 3 }));
+    }
+}
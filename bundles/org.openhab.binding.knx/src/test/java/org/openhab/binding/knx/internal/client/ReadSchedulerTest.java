@@ -0,0 +1,127 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.knx.internal.client;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import tuwien.auto.calimero.GroupAddress;
+import tuwien.auto.calimero.datapoint.CommandDP;
+import tuwien.auto.calimero.datapoint.Datapoint;
+
+/**
+ *
+ * @author openHAB Contributors - Initial contribution
+ *
+ */
+public class ReadSchedulerTest {
+
+    private ReadScheduler scheduler;
+
+    @BeforeEach
+    public void setup() {
+        scheduler = new ReadScheduler(2);
+    }
+
+    private static Datapoint datapoint(int sub) {
+        return new CommandDP(new GroupAddress(1, 1, sub), "test", 0, "1.001");
+    }
+
+    private int nextSub() {
+        ReadDatapoint next = scheduler.next();
+        assertNotNull(next);
+        return next.getDatapoint().getMainAddress().getSubGroup8();
+    }
+
+    @Test
+    public void testDeduplication() {
+        for (int i = 0; i < 1000; i++) {
+            scheduler.schedule(datapoint(i % 10), ReadPriority.PERIODIC);
+        }
+        assertEquals(10, scheduler.size());
+        for (int i = 0; i < 10; i++) {
+            assertEquals(i, nextSub());
+        }
+        assertNull(scheduler.next());
+    }
+
+    @Test
+    public void testPriorities() {
+        assertTrue(scheduler.schedule(datapoint(1), ReadPriority.PERIODIC));
+        assertTrue(scheduler.schedule(datapoint(2), ReadPriority.INITIAL));
+        assertTrue(scheduler.schedule(datapoint(3), ReadPriority.PERIODIC));
+        assertTrue(scheduler.schedule(datapoint(4), ReadPriority.REFRESH));
+        // raises the priority of the pending read
+        assertFalse(scheduler.schedule(datapoint(3), ReadPriority.REFRESH));
+        // does not lower it
+        assertFalse(scheduler.schedule(datapoint(4), ReadPriority.PERIODIC));
+
+        assertEquals(4, nextSub());
+        assertEquals(3, nextSub());
+        assertEquals(2, nextSub());
+        assertEquals(1, nextSub());
+        assertNull(scheduler.next());
+        assertEquals(0, scheduler.size());
+    }
+
+    @Test
+    public void testCancelledByReceivedValue() {
+        scheduler.schedule(datapoint(1), ReadPriority.INITIAL);
+        scheduler.schedule(datapoint(2), ReadPriority.INITIAL);
+        scheduler.onTelegram(new GroupAddress(1, 1, 1), true);
+        // read requests of other devices carry no value
+        scheduler.onTelegram(new GroupAddress(1, 1, 2), false);
+
+        assertEquals(2, nextSub());
+        assertNull(scheduler.next());
+    }
+
+    @Test
+    public void testRetryWithBackoff() {
+        scheduler.schedule(datapoint(1), ReadPriority.INITIAL);
+        ReadDatapoint first = scheduler.next();
+        assertNotNull(first);
+        assertTrue(scheduler.onFailure(first));
+        // one slot skipped after the first failure
+        assertNull(scheduler.next());
+        assertEquals(1, nextSub());
+        assertFalse(scheduler.onFailure(first));
+        // two slots skipped after the second failure, then given up
+        assertNull(scheduler.next());
+        assertNull(scheduler.next());
+        assertEquals(0, scheduler.size());
+
+        scheduler.schedule(datapoint(2), ReadPriority.INITIAL);
+        assertEquals(2, nextSub());
+        scheduler.onSuccess();
+        scheduler.schedule(datapoint(3), ReadPriority.INITIAL);
+        assertEquals(3, nextSub());
+    }
+
+    @Test
+    public void testBusySlotsSkipped() {
+        scheduler.schedule(datapoint(1), ReadPriority.INITIAL);
+        for (int i = 0; i < ReadScheduler.MAX_BACKOFF; i++) {
+            for (int j = 0; j < ReadScheduler.BUSY_TELEGRAMS_PER_SLOT; j++) {
+                scheduler.onTelegram(new GroupAddress(2, 2, j), true);
+            }
+            assertNull(scheduler.next());
+        }
+        // the read is not starved by a busy bus
+        scheduler.onTelegram(new GroupAddress(2, 2, 0), true);
+        scheduler.onTelegram(new GroupAddress(2, 2, 1), true);
+        assertEquals(1, nextSub());
+    }
+}
@@ -14,8 +14,19 @@ package org.openhab.binding.knx.internal.dpt;
 
 import static org.junit.jupiter.api.Assertions.*;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
 import org.junit.jupiter.api.Test;
 import org.openhab.core.library.types.DecimalType;
+import org.openhab.core.library.types.OnOffType;
+import org.openhab.core.library.types.PercentType;
+import org.openhab.core.types.Type;
+
+import tuwien.auto.calimero.GroupAddress;
+import tuwien.auto.calimero.datapoint.CommandDP;
+import tuwien.auto.calimero.datapoint.Datapoint;
 
 /**
  *
@@ -29,4 +40,50 @@ public class KNXCoreTypeMapperTest {
         assertEquals("3", new KNXCoreTypeMapper().toDPTValue(new DecimalType("3"), "17.001"));
         assertEquals("3", new KNXCoreTypeMapper().toDPTValue(new DecimalType("3.0"), "17.001"));
     }
+
+    @Test
+    public void testToType_translatorReused() {
+        KNXCoreTypeMapper mapper = new KNXCoreTypeMapper();
+        Datapoint switchDP = new CommandDP(new GroupAddress(1, 0, 1), "switch", 0, "1.001");
+        Datapoint scalingDP = new CommandDP(new GroupAddress(1, 0, 2), "scaling", 0, "5.001");
+        Datapoint temperatureDP = new CommandDP(new GroupAddress(1, 0, 3), "temperature", 0, "9.001");
+
+        for (int i = 0; i < 3; i++) {
+            assertEquals(OnOffType.ON, mapper.toType(switchDP, new byte[] { 1 }));
+            assertEquals(OnOffType.OFF, mapper.toType(switchDP, new byte[] { 0 }));
+            assertEquals(PercentType.HUNDRED, mapper.toType(scalingDP, new byte[] { (byte) 0xFF }));
+            assertEquals(PercentType.ZERO, mapper.toType(scalingDP, new byte[] { 0 }));
+            Type temperature = mapper.toType(temperatureDP, new byte[] { 0x07, (byte) 0xD0 });
+            assertTrue(temperature instanceof DecimalType);
+            assertEquals(20.0, ((DecimalType) temperature).doubleValue(), 0.001);
+        }
+        // the datapoint type is resolved once as well
+        assertEquals("on", mapper.toDPTValue(OnOffType.ON, "1.001"));
+        assertEquals("off", mapper.toDPTValue(OnOffType.OFF, "1.001"));
+    }
+
+    @Test
+    public void testToType_concurrent() throws InterruptedException {
+        KNXCoreTypeMapper mapper = new KNXCoreTypeMapper();
+        Datapoint switchDP = new CommandDP(new GroupAddress(1, 0, 1), "switch", 0, "1.001");
+        AtomicInteger errors = new AtomicInteger();
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            byte value = (byte) (t % 2);
+            OnOffType expected = value == 0 ? OnOffType.OFF : OnOffType.ON;
+            Thread thread = new Thread(() -> {
+                for (int i = 0; i < 10000; i++) {
+                    if (!expected.equals(mapper.toType(switchDP, new byte[] { value }))) {
+                        errors.incrementAndGet();
+                    }
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertEquals(0, errors.get());
+    }
 }
@@ -12,16 +12,18 @@
  */
 package org.openhab.binding.modbus.handler;
 
+import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
-import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.stream.Collectors;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
 import org.openhab.binding.modbus.internal.AtomicStampedValue;
 import org.openhab.binding.modbus.internal.ModbusBindingConstantsInternal;
+import org.openhab.binding.modbus.internal.ModbusReadCoalescer;
 import org.openhab.binding.modbus.internal.config.ModbusPollerConfiguration;
+import org.openhab.binding.modbus.internal.handler.AbstractModbusEndpointThingHandler;
 import org.openhab.binding.modbus.internal.handler.ModbusDataThingHandler;
 import org.openhab.core.io.transport.modbus.AsyncModbusFailure;
 import org.openhab.core.io.transport.modbus.AsyncModbusReadResult;
@@ -133,13 +135,17 @@ public class ModbusPollerThingHandler extends BaseBridgeHandler {
             AsyncModbusReadResult result = pollResult.result;
             @Nullable
             AsyncModbusFailure<ModbusReadRequestBlueprint> failure = pollResult.failure;
-            childCallbacks.forEach(handler -> {
-                if (result != null) {
-                    handler.onReadResult(result);
-                } else if (failure != null) {
-                    handler.handleReadError(failure);
+            // Plain loops over the array snapshot, no allocations per child
+            ModbusDataThingHandler[] children = childCallbacks;
+            if (result != null) {
+                for (ModbusDataThingHandler child : children) {
+                    child.onReadResult(result);
                 }
-            });
+            } else if (failure != null) {
+                for (ModbusDataThingHandler child : children) {
+                    child.handleReadError(failure);
+                }
+            }
         }
 
         /**
@@ -183,9 +189,14 @@ public class ModbusPollerThingHandler extends BaseBridgeHandler {
     private @NonNullByDefault({}) ModbusPollerConfiguration config;
     private long cacheMillis;
     private volatile @Nullable PollTask pollTask;
+    private volatile @Nullable ModbusReadCoalescer readCoalescer;
     private volatile @Nullable ModbusReadRequestBlueprint request;
     private volatile boolean disposed;
-    private volatile List<ModbusDataThingHandler> childCallbacks = new CopyOnWriteArrayList<>();
+    private final Object childCallbacksLock = new Object();
+    /**
+     * Child data thing handlers. Copied on write, so that results can be delivered without locking.
+     */
+    private volatile ModbusDataThingHandler[] childCallbacks = new ModbusDataThingHandler[0];
     private @NonNullByDefault({}) ModbusCommunicationInterface comms;
 
     private ReadCallbackDelegator callbackDelegator = new ReadCallbackDelegator();
@@ -305,7 +316,13 @@ public class ModbusPollerThingHandler extends BaseBridgeHandler {
             logger.debug("Unregistering polling from ModbusManager");
             comms.unregisterRegularPoll(localPollTask);
         }
+        ModbusReadCoalescer localReadCoalescer = this.readCoalescer;
+        if (localReadCoalescer != null) {
+            logger.debug("Unregistering polling from read coalescer");
+            localReadCoalescer.unregisterRegularPoll(this);
+        }
         this.pollTask = null;
+        this.readCoalescer = null;
         request = null;
         comms = null;
         updateStatus(ThingStatus.OFFLINE);
@@ -320,7 +337,7 @@ public class ModbusPollerThingHandler extends BaseBridgeHandler {
     @SuppressWarnings("null")
     private synchronized void registerPollTask() throws EndpointNotInitializedException {
         logger.trace("registerPollTask()");
-        if (pollTask != null) {
+        if (pollTask != null || readCoalescer != null) {
             updateStatus(ThingStatus.OFFLINE, ThingStatusDetail.CONFIGURATION_ERROR);
             logger.debug("pollTask should be unregistered before registering a new one!");
             return;
@@ -350,9 +367,19 @@ public class ModbusPollerThingHandler extends BaseBridgeHandler {
                 localFunctionCode, config.getStart(), config.getLength(), config.getMaxTries());
         this.request = localRequest;
 
+        ModbusReadCoalescer localReadCoalescer = slaveEndpointThingHandler instanceof AbstractModbusEndpointThingHandler
+                ? ((AbstractModbusEndpointThingHandler<?, ?>) slaveEndpointThingHandler).getReadCoalescer()
+                : null;
         if (config.getRefresh() <= 0L) {
             logger.debug("Not registering polling with ModbusManager since refresh disabled");
             updateStatus(ThingStatus.ONLINE, ThingStatusDetail.NONE, "Not polling");
+        } else if (localReadCoalescer != null) {
+            // Polls of all pollers of the endpoint are merged into as few requests as possible
+            logger.debug("Registering polling with read coalescer");
+            localReadCoalescer.registerRegularPoll(this, localRequest, config.getRefresh(), callbackDelegator,
+                    callbackDelegator);
+            readCoalescer = localReadCoalescer;
+            updateStatus(ThingStatus.ONLINE);
         } else {
             logger.debug("Registering polling with ModbusManager");
             pollTask = localComms.registerRegularPoll(localRequest, config.getRefresh(), 0, callbackDelegator,
@@ -378,15 +405,22 @@ public class ModbusPollerThingHandler extends BaseBridgeHandler {
     @Override
     public void childHandlerInitialized(ThingHandler childHandler, Thing childThing) {
         if (childHandler instanceof ModbusDataThingHandler) {
-            this.childCallbacks.add((ModbusDataThingHandler) childHandler);
+            synchronized (childCallbacksLock) {
+                ModbusDataThingHandler[] children = childCallbacks;
+                ModbusDataThingHandler[] newChildren = Arrays.copyOf(children, children.length + 1);
+                newChildren[children.length] = (ModbusDataThingHandler) childHandler;
+                childCallbacks = newChildren;
+            }
         }
     }
 
-    @SuppressWarnings("unlikely-arg-type")
     @Override
     public void childHandlerDisposed(ThingHandler childHandler, Thing childThing) {
         if (childHandler instanceof ModbusDataThingHandler) {
-            this.childCallbacks.remove(childHandler);
+            synchronized (childCallbacksLock) {
+                childCallbacks = Arrays.stream(childCallbacks).filter(child -> child != childHandler)
+                        .toArray(ModbusDataThingHandler[]::new);
+            }
         }
     }
 
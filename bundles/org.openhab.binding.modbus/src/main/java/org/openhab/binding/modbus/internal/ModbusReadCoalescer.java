@@ -0,0 +1,379 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.modbus.internal;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.core.io.transport.modbus.AsyncModbusFailure;
+import org.openhab.core.io.transport.modbus.AsyncModbusReadResult;
+import org.openhab.core.io.transport.modbus.BitArray;
+import org.openhab.core.io.transport.modbus.ModbusCommunicationInterface;
+import org.openhab.core.io.transport.modbus.ModbusConstants;
+import org.openhab.core.io.transport.modbus.ModbusFailureCallback;
+import org.openhab.core.io.transport.modbus.ModbusReadCallback;
+import org.openhab.core.io.transport.modbus.ModbusReadFunctionCode;
+import org.openhab.core.io.transport.modbus.ModbusReadRequestBlueprint;
+import org.openhab.core.io.transport.modbus.ModbusRegisterArray;
+import org.openhab.core.io.transport.modbus.PollTask;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Merges the regular polls of several pollers of one endpoint into as few Modbus requests as possible.
+ *
+ * Polls are grouped by slave id, function code and poll period. Within a group, overlapping and adjacent ranges are
+ * merged as long as the merged request stays within the protocol limits. Only ranges that were polled before are
+ * read, gaps between pollers are never bridged. The result of a merged request is split up again and delivered to the
+ * callbacks of the original polls, with the original request, so that the pollers do not notice the merging.
+ *
+ * Registration changes are applied with a short delay, so that pollers initializing at the same time are planned
+ * together. Unregistered polls are not called back anymore, even before the requests are re-planned.
+ *
+ * @author openHAB Contributors - Initial contribution
+ */
+@NonNullByDefault
+public class ModbusReadCoalescer {
+
+    /**
+     * Delay before (re-)planning the requests after a registration change, in milliseconds
+     */
+    static final long PLAN_DELAY_MILLIS = 100;
+
+    private final Logger logger = LoggerFactory.getLogger(ModbusReadCoalescer.class);
+
+    private final ModbusCommunicationInterface comms;
+    private final ScheduledExecutorService scheduler;
+
+    private final Map<Object, Poll> polls = new LinkedHashMap<>();
+    private final Map<GroupKey, List<PollTask>> pollTasks = new HashMap<>();
+    private final Set<GroupKey> dirtyGroups = new HashSet<>();
+    private @Nullable ScheduledFuture<?> planJob;
+    private boolean closed;
+
+    /**
+     * Construct new coalescer
+     *
+     * @param comms communication interface the merged polls are registered with
+     * @param scheduler scheduler used to apply registration changes
+     */
+    public ModbusReadCoalescer(ModbusCommunicationInterface comms, ScheduledExecutorService scheduler) {
+        this.comms = comms;
+        this.scheduler = scheduler;
+    }
+
+    /**
+     * Register regular poll. Any previous registration of the same owner is replaced.
+     *
+     * @param owner object identifying the registration, used to unregister it again
+     * @param request request to poll
+     * @param pollPeriodMillis poll period in milliseconds
+     * @param resultCallback callback receiving the results for <code>request</code>
+     * @param failureCallback callback receiving the failures for <code>request</code>
+     */
+    public synchronized void registerRegularPoll(Object owner, ModbusReadRequestBlueprint request,
+            long pollPeriodMillis, ModbusReadCallback resultCallback,
+            ModbusFailureCallback<ModbusReadRequestBlueprint> failureCallback) {
+        if (closed) {
+            return;
+        }
+        Poll poll = new Poll(request, pollPeriodMillis, resultCallback, failureCallback);
+        Poll previous = polls.put(owner, poll);
+        if (previous != null) {
+            previous.active = false;
+            dirtyGroups.add(previous.key);
+        }
+        dirtyGroups.add(poll.key);
+        schedulePlan();
+    }
+
+    /**
+     * Unregister regular poll. The callbacks of the poll are not called anymore after this method returns.
+     *
+     * @param owner object identifying the registration
+     */
+    public synchronized void unregisterRegularPoll(Object owner) {
+        Poll poll = polls.remove(owner);
+        if (poll != null) {
+            poll.active = false;
+            dirtyGroups.add(poll.key);
+            schedulePlan();
+        }
+    }
+
+    /**
+     * Unregister all polls
+     */
+    public synchronized void close() {
+        closed = true;
+        ScheduledFuture<?> localPlanJob = planJob;
+        if (localPlanJob != null) {
+            localPlanJob.cancel(false);
+            planJob = null;
+        }
+        polls.values().forEach(poll -> poll.active = false);
+        polls.clear();
+        dirtyGroups.clear();
+        pollTasks.values().forEach(tasks -> tasks.forEach(comms::unregisterRegularPoll));
+        pollTasks.clear();
+    }
+
+    /**
+     * Return number of requests currently registered with the communication interface
+     */
+    public synchronized int getRequestCount() {
+        return pollTasks.values().stream().mapToInt(List::size).sum();
+    }
+
+    private void schedulePlan() {
+        if (planJob == null) {
+            planJob = scheduler.schedule(this::plan, PLAN_DELAY_MILLIS, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Re-plan the requests of all groups whose registrations changed
+     */
+    synchronized void plan() {
+        planJob = null;
+        if (closed) {
+            return;
+        }
+        for (GroupKey key : dirtyGroups) {
+            List<PollTask> oldTasks = pollTasks.remove(key);
+            if (oldTasks != null) {
+                oldTasks.forEach(comms::unregisterRegularPoll);
+            }
+            List<Poll> group = new ArrayList<>();
+            for (Poll poll : polls.values()) {
+                if (poll.key.equals(key)) {
+                    group.add(poll);
+                }
+            }
+            if (group.isEmpty()) {
+                continue;
+            }
+            List<PollTask> tasks = new ArrayList<>();
+            for (List<Poll> block : merge(group, maxLength(key.functionCode))) {
+                tasks.add(register(key, block));
+            }
+            pollTasks.put(key, tasks);
+            logger.debug("Coalesced {} polls of {} into {} requests", group.size(), key, tasks.size());
+        }
+        dirtyGroups.clear();
+    }
+
+    private PollTask register(GroupKey key, List<Poll> block) {
+        ModbusReadRequestBlueprint request;
+        if (block.size() == 1) {
+            // Nothing to merge, poll the original request
+            request = block.get(0).request;
+        } else {
+            int start = block.get(0).getStart();
+            int end = start;
+            int maxTries = 1;
+            for (Poll poll : block) {
+                end = Math.max(end, poll.getEnd());
+                maxTries = Math.max(maxTries, poll.request.getMaxTries());
+            }
+            request = new ModbusReadRequestBlueprint(key.slaveId, key.functionCode, start, end - start, maxTries);
+            logger.trace("Merged {} polls into request {}", block.size(), request);
+        }
+        BlockCallback callback = new BlockCallback(request, block);
+        return comms.registerRegularPoll(request, key.pollPeriodMillis, 0, callback, callback);
+    }
+
+    /**
+     * Merge overlapping and adjacent polls into blocks not exceeding the maximum length
+     *
+     * @param polls polls of one group
+     * @param maxLength maximum length of a single request
+     * @return blocks of polls, ordered by start address
+     */
+    static List<List<Poll>> merge(List<Poll> polls, int maxLength) {
+        List<Poll> sorted = new ArrayList<>(polls);
+        sorted.sort(Comparator.comparingInt(Poll::getStart).thenComparingInt(Poll::getEnd));
+        List<List<Poll>> blocks = new ArrayList<>();
+        @Nullable
+        List<Poll> block = null;
+        int blockStart = 0;
+        int blockEnd = 0;
+        for (Poll poll : sorted) {
+            if (block != null && poll.getStart() <= blockEnd
+                    && Math.max(blockEnd, poll.getEnd()) - blockStart <= maxLength) {
+                block.add(poll);
+                blockEnd = Math.max(blockEnd, poll.getEnd());
+            } else {
+                block = new ArrayList<>();
+                block.add(poll);
+                blocks.add(block);
+                blockStart = poll.getStart();
+                blockEnd = poll.getEnd();
+            }
+        }
+        return blocks;
+    }
+
+    private static int maxLength(ModbusReadFunctionCode functionCode) {
+        switch (functionCode) {
+            case READ_COILS:
+            case READ_INPUT_DISCRETES:
+                return ModbusConstants.MAX_BITS_READ_COUNT;
+            default:
+                return ModbusConstants.MAX_REGISTERS_READ_COUNT;
+        }
+    }
+
+    /**
+     * Callback of a merged request, delivering slices of the result to the original polls
+     */
+    private class BlockCallback implements ModbusReadCallback, ModbusFailureCallback<ModbusReadRequestBlueprint> {
+
+        private final ModbusReadRequestBlueprint request;
+        private final List<Poll> polls;
+
+        BlockCallback(ModbusReadRequestBlueprint request, List<Poll> polls) {
+            this.request = request;
+            this.polls = polls;
+        }
+
+        @Override
+        public void handle(AsyncModbusReadResult result) {
+            for (Poll poll : polls) {
+                if (!poll.active) {
+                    continue;
+                }
+                if (poll.request == request) {
+                    poll.resultCallback.handle(result);
+                    continue;
+                }
+                int offset = poll.getStart() - request.getReference();
+                int length = poll.request.getDataLength();
+                AsyncModbusReadResult slice;
+                @Nullable
+                ModbusRegisterArray registers = result.getRegisters().orElse(null);
+                @Nullable
+                BitArray bits = result.getBits().orElse(null);
+                if (registers != null && offset + length <= registers.size()) {
+                    int[] values = new int[length];
+                    for (int i = 0; i < length; i++) {
+                        values[i] = registers.getRegister(offset + i);
+                    }
+                    slice = new AsyncModbusReadResult(poll.request, new ModbusRegisterArray(values));
+                } else if (bits != null && offset + length <= bits.size()) {
+                    BitArray values = new BitArray(length);
+                    for (int i = 0; i < length; i++) {
+                        values.setBit(i, bits.getBit(offset + i));
+                    }
+                    slice = new AsyncModbusReadResult(poll.request, values);
+                } else {
+                    logger.debug("Response {} to merged request {} does not cover request {}", result, request,
+                            poll.request);
+                    continue;
+                }
+                poll.resultCallback.handle(slice);
+            }
+        }
+
+        @Override
+        public void handle(AsyncModbusFailure<ModbusReadRequestBlueprint> failure) {
+            for (Poll poll : polls) {
+                if (!poll.active) {
+                    continue;
+                }
+                if (poll.request == request) {
+                    poll.failureCallback.handle(failure);
+                } else {
+                    poll.failureCallback.handle(new AsyncModbusFailure<>(poll.request, failure.getCause()));
+                }
+            }
+        }
+    }
+
+    /**
+     * Identifies polls that can be merged
+     */
+    private static class GroupKey {
+        private final int slaveId;
+        private final ModbusReadFunctionCode functionCode;
+        private final long pollPeriodMillis;
+
+        GroupKey(ModbusReadRequestBlueprint request, long pollPeriodMillis) {
+            this.slaveId = request.getUnitID();
+            this.functionCode = request.getFunctionCode();
+            this.pollPeriodMillis = pollPeriodMillis;
+        }
+
+        @Override
+        public boolean equals(@Nullable Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (obj == null || getClass() != obj.getClass()) {
+                return false;
+            }
+            GroupKey other = (GroupKey) obj;
+            return slaveId == other.slaveId && functionCode == other.functionCode
+                    && pollPeriodMillis == other.pollPeriodMillis;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(slaveId, functionCode, pollPeriodMillis);
+        }
+
+        @Override
+        public String toString() {
+            return String.format("slave %d, %s every %d ms", slaveId, functionCode, pollPeriodMillis);
+        }
+    }
+
+    /**
+     * Registered regular poll
+     */
+    static class Poll {
+        private final GroupKey key;
+        private final ModbusReadRequestBlueprint request;
+        private final ModbusReadCallback resultCallback;
+        private final ModbusFailureCallback<ModbusReadRequestBlueprint> failureCallback;
+        private volatile boolean active = true;
+
+        Poll(ModbusReadRequestBlueprint request, long pollPeriodMillis, ModbusReadCallback resultCallback,
+                ModbusFailureCallback<ModbusReadRequestBlueprint> failureCallback) {
+            this.key = new GroupKey(request, pollPeriodMillis);
+            this.request = request;
+            this.resultCallback = resultCallback;
+            this.failureCallback = failureCallback;
+        }
+
+        int getStart() {
+            return request.getReference();
+        }
+
+        int getEnd() {
+            return request.getReference() + request.getDataLength();
+        }
+    }
+}
@@ -13,6 +13,7 @@
 package org.openhab.binding.modbus.internal;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.regex.Matcher;
@@ -24,11 +25,12 @@ import org.openhab.core.library.types.DecimalType;
 import org.openhab.core.library.types.OnOffType;
 import org.openhab.core.library.types.OpenClosedType;
 import org.openhab.core.transform.TransformationException;
-import org.openhab.core.transform.TransformationHelper;
 import org.openhab.core.transform.TransformationService;
 import org.openhab.core.types.Command;
 import org.openhab.core.types.TypeParser;
 import org.osgi.framework.BundleContext;
+import org.osgi.framework.InvalidSyntaxException;
+import org.osgi.framework.ServiceReference;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -67,6 +69,12 @@ public class SingleValueTransformation implements ValueTransformation {
     final @Nullable String transformationServiceName;
     final @Nullable String transformationServiceParam;
 
+    /**
+     * The transformation service resolved on first use, together with its reference and the context used for the
+     * lookup. It is resolved again once the service has been unregistered.
+     */
+    private volatile @Nullable ResolvedService resolvedService;
+
     /**
      *
      * @param transformation either FUN(VAL) (standard transformation syntax), default (identity transformation
@@ -134,7 +142,7 @@ public class SingleValueTransformation implements ValueTransformation {
                             "transformation service parameter is missing! Invalid transform?");
                 }
                 @Nullable
-                TransformationService transformationService = TransformationHelper.getTransformationService(context,
+                TransformationService transformationService = getTransformationService(context,
                         transformationServiceName);
                 if (transformationService != null) {
                     transformedResponse = transformationService.transform(transformationServiceParam, value);
@@ -162,6 +170,38 @@ public class SingleValueTransformation implements ValueTransformation {
         return transformedResponse == null ? "" : transformedResponse;
     }
 
+    /**
+     * Get the transformation service with the given name, reusing the service resolved on previous calls as long as it
+     * is registered
+     *
+     * @param context bundle context to use for the lookup
+     * @param serviceName name of the transformation service
+     * @return transformation service, or null if no such service is available
+     */
+    private @Nullable TransformationService getTransformationService(BundleContext context, String serviceName) {
+        ResolvedService localResolvedService = resolvedService;
+        if (localResolvedService != null && localResolvedService.context == context
+                && localResolvedService.reference.getBundle() != null) {
+            return localResolvedService.service;
+        }
+        String filter = "(" + TransformationService.SERVICE_PROPERTY_NAME + "=" + serviceName + ")";
+        try {
+            Collection<ServiceReference<TransformationService>> references = context
+                    .getServiceReferences(TransformationService.class, filter);
+            for (ServiceReference<TransformationService> reference : references) {
+                @Nullable
+                TransformationService service = context.getService(reference);
+                if (service != null) {
+                    resolvedService = new ResolvedService(context, reference, service);
+                    return service;
+                }
+            }
+        } catch (InvalidSyntaxException e) {
+            logger.warn("Cannot get service reference for transformation service of type '{}'", serviceName, e);
+        }
+        return null;
+    }
+
     @Override
     public boolean isIdentityTransform() {
         return TRANSFORM_DEFAULT.equalsIgnoreCase(this.transformation);
@@ -177,4 +217,17 @@ public class SingleValueTransformation implements ValueTransformation {
         return "SingleValueTransformation [transformation=" + transformation + ", transformationServiceName="
                 + transformationServiceName + ", transformationServiceParam=" + transformationServiceParam + "]";
     }
+
+    private static class ResolvedService {
+        private final BundleContext context;
+        private final ServiceReference<TransformationService> reference;
+        private final TransformationService service;
+
+        ResolvedService(BundleContext context, ServiceReference<TransformationService> reference,
+                TransformationService service) {
+            this.context = context;
+            this.reference = reference;
+            this.service = service;
+        }
+    }
 }
@@ -12,6 +12,8 @@
  */
 package org.openhab.binding.modbus.internal.config;
 
+import java.math.BigDecimal;
+
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
 
@@ -34,6 +36,7 @@ public class ModbusDataConfiguration {
     private boolean writeMultipleEvenWithSingleRegisterOrCoil;
     private int writeMaxTries = 3; // backwards compatibility and tests
     private long updateUnchangedValuesEveryMillis = 1000L;
+    private BigDecimal updateDeadband = BigDecimal.ZERO;
 
     public @Nullable String getReadStart() {
         return readStart;
@@ -114,4 +117,12 @@ public class ModbusDataConfiguration {
     public void setUpdateUnchangedValuesEveryMillis(long updateUnchangedValuesEveryMillis) {
         this.updateUnchangedValuesEveryMillis = updateUnchangedValuesEveryMillis;
     }
+
+    public BigDecimal getUpdateDeadband() {
+        return updateDeadband;
+    }
+
+    public void setUpdateDeadband(BigDecimal updateDeadband) {
+        this.updateDeadband = updateDeadband;
+    }
 }
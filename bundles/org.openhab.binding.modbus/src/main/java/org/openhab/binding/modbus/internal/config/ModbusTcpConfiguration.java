@@ -32,6 +32,7 @@ public class ModbusTcpConfiguration {
     private int reconnectAfterMillis;
     private int connectTimeoutMillis = 10_000;
     private boolean enableDiscovery;
+    private boolean enableReadCoalescing;
     private boolean rtuEncoded;
 
     public boolean getRtuEncoded() {
@@ -109,4 +110,12 @@ public class ModbusTcpConfiguration {
     public void setDiscoveryEnabled(boolean enableDiscovery) {
         this.enableDiscovery = enableDiscovery;
     }
+
+    public boolean isReadCoalescingEnabled() {
+        return enableReadCoalescing;
+    }
+
+    public void setReadCoalescingEnabled(boolean enableReadCoalescing) {
+        this.enableReadCoalescing = enableReadCoalescing;
+    }
 }
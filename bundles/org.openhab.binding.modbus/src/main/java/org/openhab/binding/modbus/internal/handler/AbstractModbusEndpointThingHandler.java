@@ -17,6 +17,7 @@ import org.eclipse.jdt.annotation.Nullable;
 import org.openhab.binding.modbus.handler.EndpointNotInitializedException;
 import org.openhab.binding.modbus.handler.ModbusEndpointThingHandler;
 import org.openhab.binding.modbus.internal.ModbusConfigurationException;
+import org.openhab.binding.modbus.internal.ModbusReadCoalescer;
 import org.openhab.core.io.transport.modbus.ModbusCommunicationInterface;
 import org.openhab.core.io.transport.modbus.ModbusManager;
 import org.openhab.core.io.transport.modbus.endpoint.EndpointPoolConfiguration;
@@ -48,6 +49,7 @@ public abstract class AbstractModbusEndpointThingHandler<E extends ModbusSlaveEn
     protected volatile @NonNullByDefault({}) EndpointPoolConfiguration poolConfiguration;
     private final Logger logger = LoggerFactory.getLogger(AbstractModbusEndpointThingHandler.class);
     private @NonNullByDefault({}) ModbusCommunicationInterface comms;
+    private volatile @Nullable ModbusReadCoalescer readCoalescer;
 
     public AbstractModbusEndpointThingHandler(Bridge bridge, ModbusManager modbusManager) {
         super(bridge);
@@ -76,6 +78,7 @@ public abstract class AbstractModbusEndpointThingHandler<E extends ModbusSlaveEn
                 }
                 try {
                     comms = modbusManager.newModbusCommunicationInterface(endpoint, poolConfiguration);
+                    readCoalescer = isReadCoalescingEnabled() ? new ModbusReadCoalescer(comms, scheduler) : null;
                     updateStatus(ThingStatus.ONLINE);
                 } catch (IllegalArgumentException e) {
                     updateStatus(ThingStatus.OFFLINE, ThingStatusDetail.CONFIGURATION_ERROR,
@@ -93,6 +96,11 @@ public abstract class AbstractModbusEndpointThingHandler<E extends ModbusSlaveEn
 
     @Override
     public void dispose() {
+        ModbusReadCoalescer localReadCoalescer = readCoalescer;
+        if (localReadCoalescer != null) {
+            localReadCoalescer.close();
+            readCoalescer = null;
+        }
         try {
             ModbusCommunicationInterface localComms = comms;
             if (localComms != null) {
@@ -110,6 +118,15 @@ public abstract class AbstractModbusEndpointThingHandler<E extends ModbusSlaveEn
         return comms;
     }
 
+    /**
+     * Get the coalescer merging the regular polls of the pollers of this endpoint
+     *
+     * @return read coalescer, or <code>null</code> if read coalescing is disabled or initialization is incomplete
+     */
+    public @Nullable ModbusReadCoalescer getReadCoalescer() {
+        return readCoalescer;
+    }
+
     @Nullable
     public E getEndpoint() {
         return endpoint;
@@ -118,6 +135,11 @@ public abstract class AbstractModbusEndpointThingHandler<E extends ModbusSlaveEn
     @Override
     public abstract int getSlaveId() throws EndpointNotInitializedException;
 
+    /**
+     * Return true if the regular polls of the pollers of this endpoint should be merged
+     */
+    protected abstract boolean isReadCoalescingEnabled();
+
     /**
      * Must be overriden by subclasses to initialize config, endpoint, and poolConfiguration
      */
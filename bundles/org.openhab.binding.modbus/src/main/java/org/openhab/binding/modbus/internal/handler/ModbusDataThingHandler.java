@@ -17,13 +17,14 @@ import static org.openhab.binding.modbus.internal.ModbusBindingConstantsInternal
 import java.math.BigDecimal;
 import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Collection;
-import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
@@ -65,6 +66,7 @@ import org.openhab.core.library.types.DateTimeType;
 import org.openhab.core.library.types.DecimalType;
 import org.openhab.core.library.types.OnOffType;
 import org.openhab.core.library.types.OpenClosedType;
+import org.openhab.core.library.types.QuantityType;
 import org.openhab.core.thing.Bridge;
 import org.openhab.core.thing.ChannelUID;
 import org.openhab.core.thing.Thing;
@@ -88,9 +90,10 @@ import org.slf4j.LoggerFactory;
  * commands
  *
  * Thing can be re-initialized by the bridge in case of configuration changes (bridgeStatusChanged).
- * Because of this, initialize, dispose and all callback methods (onRegisters, onBits, onError, onWriteResponse) are
+ * Because of this, initialize, dispose and the error and write callbacks (onError, onWriteResponse) are
  * synchronized
- * to avoid data race conditions.
+ * to avoid data race conditions. Read results are processed without locking, using the immutable {@link ReadPlan}
+ * prepared on initialization.
  *
  * @author Sami Salonen - Initial contribution
  */
@@ -139,6 +142,7 @@ public class ModbusDataThingHandler extends BaseThingHandler {
     private volatile @Nullable ModbusReadFunctionCode functionCode;
     private volatile @Nullable ModbusReadRequestBlueprint readRequest;
     private volatile long updateUnchangedValuesEveryMillis;
+    private volatile BigDecimal updateDeadband = BigDecimal.ZERO;
     private volatile @NonNullByDefault({}) ModbusCommunicationInterface comms;
     private volatile boolean isWriteEnabled;
     private volatile boolean isReadEnabled;
@@ -146,8 +150,9 @@ public class ModbusDataThingHandler extends BaseThingHandler {
     private volatile boolean childOfEndpoint;
     private volatile @Nullable ModbusPollerThingHandler pollerHandler;
     private volatile Map<String, ChannelUID> channelCache = new HashMap<>();
-    private volatile Map<ChannelUID, Long> channelLastUpdated = new HashMap<>(NUMER_OF_CHANNELS_HINT);
-    private volatile Map<ChannelUID, State> channelLastState = new HashMap<>(NUMER_OF_CHANNELS_HINT);
+    private volatile @Nullable ReadPlan readPlan;
+    private volatile Map<ChannelUID, Long> channelLastUpdated = new ConcurrentHashMap<>(NUMER_OF_CHANNELS_HINT);
+    private volatile Map<ChannelUID, State> channelLastState = new ConcurrentHashMap<>(NUMER_OF_CHANNELS_HINT);
 
     private volatile LocalDateTime lastStatusInfoUpdate = LocalDateTime.MIN;
     private volatile ThingStatusInfo statusInfo = new ThingStatusInfo(ThingStatus.UNKNOWN, ThingStatusDetail.NONE,
@@ -334,6 +339,7 @@ public class ModbusDataThingHandler extends BaseThingHandler {
             logger.trace("initialize() of thing {} '{}' starting", thing.getUID(), thing.getLabel());
             ModbusDataConfiguration localConfig = config = getConfigAs(ModbusDataConfiguration.class);
             updateUnchangedValuesEveryMillis = localConfig.getUpdateUnchangedValuesEveryMillis();
+            updateDeadband = localConfig.getUpdateDeadband().abs();
             Bridge bridge = getBridge();
             if (bridge == null || !bridge.getStatus().equals(ThingStatus.ONLINE)) {
                 logger.debug("Thing {} '{}' has no bridge or it is not online", getThing().getUID(),
@@ -378,6 +384,7 @@ public class ModbusDataThingHandler extends BaseThingHandler {
             validateAndParseReadParameters(localConfig);
             validateAndParseWriteParameters(localConfig);
             validateMustReadOrWrite();
+            readPlan = isReadEnabled ? createReadPlan() : null;
 
             updateStatusIfChanged(ThingStatus.ONLINE);
         } catch (ModbusConfigurationException | EndpointNotInitializedException e) {
@@ -404,6 +411,7 @@ public class ModbusDataThingHandler extends BaseThingHandler {
         comms = null;
         functionCode = null;
         readRequest = null;
+        updateDeadband = BigDecimal.ZERO;
         isWriteEnabled = false;
         isReadEnabled = false;
         writeParametersHavingTransformationOnly = false;
@@ -412,8 +420,16 @@ public class ModbusDataThingHandler extends BaseThingHandler {
         channelCache = new HashMap<>();
         lastStatusInfoUpdate = LocalDateTime.MIN;
         statusInfo = new ThingStatusInfo(ThingStatus.UNKNOWN, ThingStatusDetail.NONE, null);
-        channelLastUpdated = new HashMap<>(NUMER_OF_CHANNELS_HINT);
-        channelLastState = new HashMap<>(NUMER_OF_CHANNELS_HINT);
+        readPlan = null;
+        channelLastUpdated = new ConcurrentHashMap<>(NUMER_OF_CHANNELS_HINT);
+        channelLastState = new ConcurrentHashMap<>(NUMER_OF_CHANNELS_HINT);
+    }
+
+    @Override
+    public void channelUnlinked(ChannelUID channelUID) {
+        // Forget the last state, so that the channel is updated right away when linked again
+        channelLastUpdated.remove(channelUID);
+        channelLastState.remove(channelUID);
     }
 
     @Override
@@ -646,6 +662,56 @@ public class ModbusDataThingHandler extends BaseThingHandler {
         }
     }
 
+    /**
+     * Prepare everything needed to process read results, so that this is not repeated for every poll
+     */
+    private ReadPlan createReadPlan() {
+        ValueType localReadValueType = Objects.requireNonNull(readValueType);
+        // index of the first polled element read by this thing, i.e. register or bit
+        int elementIndex = readIndex.get() - pollStart;
+        // extractIndex:
+        // e.g. with bit, extractIndex=4 means 5th bit (from right) ("10.4" -> 5th bit of register 10, "10.4" -> 5th bit
+        // of register 10)
+        // bit of second register)
+        // e.g. with 8bit integer, extractIndex=3 means high byte of second register
+        //
+        // with <16 bit types, this is the index of the N'th 1-bit/8-bit item. Each register has 16/2 items,
+        // respectively.
+        // with >=16 bit types, this is index of first register
+        int extractIndex;
+        if (localReadValueType.getBits() >= 16) {
+            // Invariant, checked in initialize
+            assert readSubIndex.orElse(0) == 0;
+            extractIndex = elementIndex;
+        } else {
+            int subIndex = readSubIndex.orElse(0);
+            int itemsPerRegister = 16 / localReadValueType.getBits();
+            extractIndex = elementIndex * itemsPerRegister + subIndex;
+        }
+        List<ChannelTarget> channels = new ArrayList<>(CHANNEL_ID_TO_ACCEPTED_TYPES.size());
+        CHANNEL_ID_TO_ACCEPTED_TYPES.forEach((channelId, acceptedDataTypes) -> {
+            if (acceptedDataTypes.isEmpty()) {
+                return;
+            }
+            @Nullable
+            State trueState = null;
+            @Nullable
+            State falseState = null;
+            if (containsOnOff(acceptedDataTypes)) {
+                trueState = OnOffType.ON;
+                falseState = OnOffType.OFF;
+            } else if (containsOpenClosed(acceptedDataTypes)) {
+                trueState = OpenClosedType.OPEN;
+                falseState = OpenClosedType.CLOSED;
+            }
+            channels.add(new ChannelTarget(channelId, getChannelUID(channelId), acceptedDataTypes, trueState,
+                    falseState));
+        });
+        return new ReadPlan(localReadValueType, elementIndex, extractIndex,
+                Objects.requireNonNull(readTransformation), channels.toArray(new ChannelTarget[0]),
+                getChannelUID(ModbusBindingConstantsInternal.CHANNEL_LAST_READ_SUCCESS));
+    }
+
     private boolean containsOnOff(List<Class<? extends State>> channelAcceptedDataTypes) {
         return channelAcceptedDataTypes.stream().anyMatch(clz -> {
             return clz.equals(OnOffType.class);
@@ -658,9 +724,19 @@ public class ModbusDataThingHandler extends BaseThingHandler {
         });
     }
 
-    public synchronized void onReadResult(AsyncModbusReadResult result) {
-        result.getRegisters().ifPresent(registers -> onRegisters(result.getRequest(), registers));
-        result.getBits().ifPresent(bits -> onBits(result.getRequest(), bits));
+    public void onReadResult(AsyncModbusReadResult result) {
+        ReadPlan plan = readPlan;
+        if (plan == null || hasConfigurationError()) {
+            return;
+        }
+        Optional<ModbusRegisterArray> registers = result.getRegisters();
+        if (registers.isPresent()) {
+            onRegisters(plan, result.getRequest(), registers.get());
+        }
+        Optional<BitArray> bits = result.getBits();
+        if (bits.isPresent()) {
+            onBits(plan, result.getRequest(), bits.get());
+        }
     }
 
     public synchronized void handleReadError(AsyncModbusFailure<ModbusReadRequestBlueprint> failure) {
@@ -671,59 +747,29 @@ public class ModbusDataThingHandler extends BaseThingHandler {
         onError(failure.getRequest(), failure.getCause());
     }
 
-    private synchronized void onRegisters(ModbusReadRequestBlueprint request, ModbusRegisterArray registers) {
-        if (hasConfigurationError()) {
-            return;
-        } else if (!isReadEnabled) {
-            return;
-        }
-        ValueType readValueType = this.readValueType;
-        if (readValueType == null) {
-            return;
-        }
-        State numericState;
-
-        // extractIndex:
-        // e.g. with bit, extractIndex=4 means 5th bit (from right) ("10.4" -> 5th bit of register 10, "10.4" -> 5th bit
-        // of register 10)
-        // bit of second register)
-        // e.g. with 8bit integer, extractIndex=3 means high byte of second register
-        //
-        // with <16 bit types, this is the index of the N'th 1-bit/8-bit item. Each register has 16/2 items,
-        // respectively.
-        // with >=16 bit types, this is index of first register
-        int extractIndex;
-        if (readValueType.getBits() >= 16) {
-            // Invariant, checked in initialize
-            assert readSubIndex.orElse(0) == 0;
-            extractIndex = readIndex.get() - pollStart;
-        } else {
-            int subIndex = readSubIndex.orElse(0);
-            int itemsPerRegister = 16 / readValueType.getBits();
-            extractIndex = (readIndex.get() - pollStart) * itemsPerRegister + subIndex;
-        }
-        numericState = ModbusBitUtilities.extractStateFromRegisters(registers, extractIndex, readValueType)
-                .map(state -> (State) state).orElse(UnDefType.UNDEF);
+    private void onRegisters(ReadPlan plan, ModbusReadRequestBlueprint request, ModbusRegisterArray registers) {
+        Optional<DecimalType> extractedState = ModbusBitUtilities.extractStateFromRegisters(registers,
+                plan.extractIndex, plan.valueType);
+        State numericState = extractedState.isPresent() ? extractedState.get() : UnDefType.UNDEF;
         boolean boolValue = !numericState.equals(DecimalType.ZERO);
-        Map<ChannelUID, State> values = processUpdatedValue(numericState, boolValue);
-        logger.debug(
-                "Thing {} channels updated: {}. readValueType={}, readIndex={}, readSubIndex(or 0)={}, extractIndex={} -> numeric value {} and boolValue={}. Registers {} for request {}",
-                thing.getUID(), values, readValueType, readIndex, readSubIndex.orElse(0), extractIndex, numericState,
-                boolValue, registers, request);
+        processUpdatedValue(plan, numericState, boolValue);
+        if (logger.isDebugEnabled()) {
+            logger.debug(
+                    "Thing {} channels updated. readValueType={}, readIndex={}, readSubIndex(or 0)={}, extractIndex={} -> numeric value {} and boolValue={}. Registers {} for request {}",
+                    thing.getUID(), plan.valueType, readIndex, readSubIndex.orElse(0), plan.extractIndex,
+                    numericState, boolValue, registers, request);
+        }
     }
 
-    private synchronized void onBits(ModbusReadRequestBlueprint request, BitArray bits) {
-        if (hasConfigurationError()) {
-            return;
-        } else if (!isReadEnabled) {
-            return;
-        }
-        boolean boolValue = bits.getBit(readIndex.get() - pollStart);
+    private void onBits(ReadPlan plan, ModbusReadRequestBlueprint request, BitArray bits) {
+        boolean boolValue = bits.getBit(plan.elementIndex);
         DecimalType numericState = boolValue ? new DecimalType(BigDecimal.ONE) : DecimalType.ZERO;
-        Map<ChannelUID, State> values = processUpdatedValue(numericState, boolValue);
-        logger.debug(
-                "Thing {} channels updated: {}. readValueType={}, readIndex={} -> numeric value {} and boolValue={}. Bits {} for request {}",
-                thing.getUID(), values, readValueType, readIndex, numericState, boolValue, bits, request);
+        processUpdatedValue(plan, numericState, boolValue);
+        if (logger.isDebugEnabled()) {
+            logger.debug(
+                    "Thing {} channels updated. readValueType={}, readIndex={} -> numeric value {} and boolValue={}. Bits {} for request {}",
+                    thing.getUID(), plan.valueType, readIndex, numericState, boolValue, bits, request);
+        }
     }
 
     private synchronized void onError(ModbusReadRequestBlueprint request, Exception error) {
@@ -815,103 +861,103 @@ public class ModbusDataThingHandler extends BaseThingHandler {
     /**
      * Update linked channels
      *
+     * @param plan read plan of this thing
      * @param numericState numeric state corresponding to polled data (or UNDEF with floating point NaN or infinity)
      * @param boolValue boolean value corresponding to polled data
-     * @return updated channel data
      */
-    private Map<ChannelUID, State> processUpdatedValue(State numericState, boolean boolValue) {
-        ValueTransformation localReadTransformation = readTransformation;
-        if (localReadTransformation == null) {
-            // We should always have transformation available if thing is initalized properly
-            logger.trace("No transformation available, aborting processUpdatedValue");
-            return Collections.emptyMap();
-        }
-        Map<ChannelUID, State> states = new HashMap<>();
-        CHANNEL_ID_TO_ACCEPTED_TYPES.keySet().stream().forEach(channelId -> {
-            ChannelUID channelUID = getChannelUID(channelId);
-            if (!isLinked(channelUID)) {
-                return;
-            }
-            List<Class<? extends State>> acceptedDataTypes = CHANNEL_ID_TO_ACCEPTED_TYPES.get(channelId);
-            if (acceptedDataTypes.isEmpty()) {
-                return;
-            }
-
-            State boolLikeState;
-            if (containsOnOff(acceptedDataTypes)) {
-                boolLikeState = boolValue ? OnOffType.ON : OnOffType.OFF;
-            } else if (containsOpenClosed(acceptedDataTypes)) {
-                boolLikeState = boolValue ? OpenClosedType.OPEN : OpenClosedType.CLOSED;
-            } else {
-                boolLikeState = null;
+    private void processUpdatedValue(ReadPlan plan, State numericState, boolean boolValue) {
+        updateStatusIfChanged(ThingStatus.ONLINE);
+        long now = System.currentTimeMillis();
+        CascadedValueTransformationImpl transformation = plan.transformation;
+        for (ChannelTarget channel : plan.channels) {
+            if (!isLinked(channel.uid)) {
+                continue;
             }
-
+            State boolLikeState = boolValue ? channel.trueState : channel.falseState;
             State transformedState;
-            if (localReadTransformation.isIdentityTransform()) {
-                if (boolLikeState != null) {
-                    // A bit of smartness for ON/OFF and OPEN/CLOSED with boolean like items
-                    transformedState = boolLikeState;
-                } else {
-                    // Numeric states always go through transformation. This allows value of 17.5 to be
-                    // converted to
-                    // 17.5% with percent types (instead of raising error)
-                    transformedState = localReadTransformation.transformState(bundleContext, acceptedDataTypes,
-                            numericState);
-                }
+            if (plan.identityTransform && boolLikeState != null) {
+                // A bit of smartness for ON/OFF and OPEN/CLOSED with boolean like items
+                transformedState = boolLikeState;
             } else {
-                transformedState = localReadTransformation.transformState(bundleContext, acceptedDataTypes,
+                // Numeric states always go through transformation. This allows value of 17.5 to be
+                // converted to
+                // 17.5% with percent types (instead of raising error)
+                transformedState = transformation.transformState(bundleContext, channel.acceptedDataTypes,
                         numericState);
             }
 
             if (transformedState != null) {
-                logger.trace(
-                        "Channel {} will be updated to '{}' (type {}). Input data: number value {} (value type '{}' taken into account) and bool value {}. Transformation: {}",
-                        channelId, transformedState, transformedState.getClass().getSimpleName(), numericState,
-                        readValueType, boolValue,
-                        localReadTransformation.isIdentityTransform() ? "<identity>" : localReadTransformation);
-                states.put(channelUID, transformedState);
+                if (logger.isTraceEnabled()) {
+                    logger.trace(
+                            "Channel {} will be updated to '{}' (type {}). Input data: number value {} (value type '{}' taken into account) and bool value {}. Transformation: {}",
+                            channel.channelId, transformedState, transformedState.getClass().getSimpleName(),
+                            numericState, plan.valueType, boolValue,
+                            plan.identityTransform ? "<identity>" : transformation);
+                }
+                updateExpiredChannel(now, channel.uid, transformedState);
             } else {
                 String types = String.join(", ",
-                        acceptedDataTypes.stream().map(cls -> cls.getSimpleName()).toArray(String[]::new));
+                        channel.acceptedDataTypes.stream().map(cls -> cls.getSimpleName()).toArray(String[]::new));
                 logger.warn(
                         "Channel {} will not be updated since transformation was unsuccessful. Channel is expecting the following data types [{}]. Input data: number value {} (value type '{}' taken into account) and bool value {}. Transformation: {}",
-                        channelId, types, numericState, readValueType, boolValue,
-                        localReadTransformation.isIdentityTransform() ? "<identity>" : localReadTransformation);
+                        channel.channelId, types, numericState, plan.valueType, boolValue,
+                        plan.identityTransform ? "<identity>" : transformation);
             }
-        });
-
-        ChannelUID lastReadSuccessUID = getChannelUID(ModbusBindingConstantsInternal.CHANNEL_LAST_READ_SUCCESS);
-        if (isLinked(lastReadSuccessUID)) {
-            states.put(lastReadSuccessUID, new DateTimeType());
         }
-        updateExpiredChannels(states);
-        return states;
-    }
 
-    private void updateExpiredChannels(Map<ChannelUID, State> states) {
-        synchronized (this) {
-            updateStatusIfChanged(ThingStatus.ONLINE);
-            long now = System.currentTimeMillis();
-            // Update channels that have not been updated in a while, or when their values has changed
-            states.forEach((uid, state) -> updateExpiredChannel(now, uid, state));
-            channelLastState = states;
+        if (isLinked(plan.lastReadSuccessUID)) {
+            updateExpiredChannel(now, plan.lastReadSuccessUID, new DateTimeType());
         }
     }
 
-    // since lastState can be null, and "lastState == null" in conditional is not useless
-    @SuppressWarnings("null")
     private void updateExpiredChannel(long now, ChannelUID uid, State state) {
+        // Update channels that have not been updated in a while, or when their values has changed. The last updated
+        // state is remembered (not the last received one), so that slow drift is eventually reported with deadband.
         @Nullable
         State lastState = channelLastState.get(uid);
         long lastUpdatedMillis = channelLastUpdated.getOrDefault(uid, 0L);
         long millisSinceLastUpdate = now - lastUpdatedMillis;
         if (lastUpdatedMillis <= 0L || lastState == null || updateUnchangedValuesEveryMillis <= 0L
-                || millisSinceLastUpdate > updateUnchangedValuesEveryMillis || !lastState.equals(state)) {
+                || millisSinceLastUpdate > updateUnchangedValuesEveryMillis || isChanged(lastState, state)) {
             tryUpdateState(uid, state);
+            channelLastState.put(uid, state);
             channelLastUpdated.put(uid, now);
         }
     }
 
+    /**
+     * Check whether state has changed from the last updated state
+     *
+     * Numbers of the same unit are considered unchanged when they differ less than the configured deadband.
+     *
+     * @param lastState last updated state
+     * @param state new state
+     * @return whether the channel should be updated with the new state
+     */
+    private boolean isChanged(State lastState, State state) {
+        if (lastState.equals(state)) {
+            return false;
+        }
+        BigDecimal deadband = updateDeadband;
+        if (deadband.signum() == 0 || !lastState.getClass().equals(state.getClass())) {
+            return true;
+        }
+        if (lastState instanceof DecimalType) {
+            return isOutsideDeadband(((DecimalType) lastState).toBigDecimal(), ((DecimalType) state).toBigDecimal(),
+                    deadband);
+        } else if (lastState instanceof QuantityType<?>) {
+            QuantityType<?> lastQuantity = (QuantityType<?>) lastState;
+            QuantityType<?> quantity = (QuantityType<?>) state;
+            return !lastQuantity.getUnit().equals(quantity.getUnit())
+                    || isOutsideDeadband(lastQuantity.toBigDecimal(), quantity.toBigDecimal(), deadband);
+        }
+        return true;
+    }
+
+    private static boolean isOutsideDeadband(BigDecimal lastValue, BigDecimal value, BigDecimal deadband) {
+        return lastValue.subtract(value).abs().compareTo(deadband) >= 0;
+    }
+
     private void tryUpdateState(ChannelUID uid, State state) {
         try {
             updateState(uid, state);
@@ -961,4 +1007,51 @@ public class ModbusDataThingHandler extends BaseThingHandler {
             }
         }
     }
+
+    /**
+     * Data channel updated from read results, with everything that can be determined on initialization
+     */
+    private static class ChannelTarget {
+        private final String channelId;
+        private final ChannelUID uid;
+        private final List<Class<? extends State>> acceptedDataTypes;
+        private final @Nullable State trueState;
+        private final @Nullable State falseState;
+
+        ChannelTarget(String channelId, ChannelUID uid, List<Class<? extends State>> acceptedDataTypes,
+                @Nullable State trueState, @Nullable State falseState) {
+            this.channelId = channelId;
+            this.uid = uid;
+            this.acceptedDataTypes = acceptedDataTypes;
+            this.trueState = trueState;
+            this.falseState = falseState;
+        }
+    }
+
+    /**
+     * Immutable plan to extract the value of this thing from read results, prepared on initialization
+     */
+    private static class ReadPlan {
+        private final ValueType valueType;
+        // index of the polled register or bit read by this thing
+        private final int elementIndex;
+        // index passed to ModbusBitUtilities.extractStateFromRegisters
+        private final int extractIndex;
+        private final CascadedValueTransformationImpl transformation;
+        private final boolean identityTransform;
+        private final ChannelTarget[] channels;
+        private final ChannelUID lastReadSuccessUID;
+
+        ReadPlan(ValueType valueType, int elementIndex, int extractIndex,
+                CascadedValueTransformationImpl transformation, ChannelTarget[] channels,
+                ChannelUID lastReadSuccessUID) {
+            this.valueType = valueType;
+            this.elementIndex = elementIndex;
+            this.extractIndex = extractIndex;
+            this.transformation = transformation;
+            this.identityTransform = transformation.isIdentityTransform();
+            this.channels = channels;
+            this.lastReadSuccessUID = lastReadSuccessUID;
+        }
+    }
 }
@@ -108,6 +108,15 @@ public class ModbusSerialThingHandler
         return getThing().getUID();
     }
 
+    /**
+     * Returns true if read coalescing is enabled
+     */
+    @Override
+    protected boolean isReadCoalescingEnabled() {
+        ModbusSerialConfiguration localConfig = config;
+        return localConfig != null && localConfig.isReadCoalescingEnabled();
+    }
+
     @Override
     public Collection<Class<? extends ThingHandlerService>> getServices() {
         return Collections.singleton(ModbusEndpointDiscoveryService.class);
@@ -98,6 +98,15 @@ public class ModbusTcpThingHandler
         }
     }
 
+    /**
+     * Returns true if read coalescing is enabled
+     */
+    @Override
+    protected boolean isReadCoalescingEnabled() {
+        ModbusTcpConfiguration localConfig = config;
+        return localConfig != null && localConfig.isReadCoalescingEnabled();
+    }
+
     @Override
     public Collection<Class<? extends ThingHandlerService>> getServices() {
         return Collections.singleton(ModbusEndpointDiscoveryService.class);
@@ -0,0 +1,228 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.modbus.internal;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.openhab.core.io.transport.modbus.AsyncModbusFailure;
+import org.openhab.core.io.transport.modbus.AsyncModbusReadResult;
+import org.openhab.core.io.transport.modbus.BitArray;
+import org.openhab.core.io.transport.modbus.ModbusCommunicationInterface;
+import org.openhab.core.io.transport.modbus.ModbusFailureCallback;
+import org.openhab.core.io.transport.modbus.ModbusReadCallback;
+import org.openhab.core.io.transport.modbus.ModbusReadFunctionCode;
+import org.openhab.core.io.transport.modbus.ModbusReadRequestBlueprint;
+import org.openhab.core.io.transport.modbus.ModbusRegisterArray;
+import org.openhab.core.io.transport.modbus.PollTask;
+
+/**
+ * @author openHAB Contributors - Initial contribution
+ */
+@NonNullByDefault
+public class ModbusReadCoalescerTest {
+
+    private static class RecordingCallback
+            implements ModbusReadCallback, ModbusFailureCallback<ModbusReadRequestBlueprint> {
+        private final List<AsyncModbusReadResult> results = new ArrayList<>();
+        private final List<AsyncModbusFailure<ModbusReadRequestBlueprint>> failures = new ArrayList<>();
+
+        @Override
+        public void handle(AsyncModbusReadResult result) {
+            results.add(result);
+        }
+
+        @Override
+        public void handle(AsyncModbusFailure<ModbusReadRequestBlueprint> failure) {
+            failures.add(failure);
+        }
+    }
+
+    private @NonNullByDefault({}) ModbusCommunicationInterface comms;
+    private @NonNullByDefault({}) ScheduledExecutorService scheduler;
+    private @NonNullByDefault({}) ModbusReadCoalescer coalescer;
+
+    @BeforeEach
+    public void setUp() {
+        comms = mock(ModbusCommunicationInterface.class);
+        scheduler = mock(ScheduledExecutorService.class);
+        doReturn(mock(ScheduledFuture.class)).when(scheduler).schedule(any(Runnable.class), anyLong(), any());
+        doAnswer(invocation -> mock(PollTask.class)).when(comms).registerRegularPoll(any(), anyLong(), anyLong(),
+                any(), any());
+        coalescer = new ModbusReadCoalescer(comms, scheduler);
+    }
+
+    private static ModbusReadRequestBlueprint request(ModbusReadFunctionCode functionCode, int start, int length) {
+        return new ModbusReadRequestBlueprint(1, functionCode, start, length, 3);
+    }
+
+    private RecordingCallback register(ModbusReadRequestBlueprint request, long period) {
+        RecordingCallback callback = new RecordingCallback();
+        coalescer.registerRegularPoll(callback, request, period, callback, callback);
+        return callback;
+    }
+
+    private static void assertRegisters(AsyncModbusReadResult result, int... expected) {
+        ModbusRegisterArray registers = result.getRegisters().get();
+        assertEquals(expected.length, registers.size());
+        for (int i = 0; i < expected.length; i++) {
+            assertEquals(expected[i], registers.getRegister(i));
+        }
+    }
+
+    private static void assertBits(AsyncModbusReadResult result, boolean... expected) {
+        BitArray bits = result.getBits().get();
+        assertEquals(expected.length, bits.size());
+        for (int i = 0; i < expected.length; i++) {
+            assertEquals(expected[i], bits.getBit(i));
+        }
+    }
+
+    private ModbusReadCallback registeredCallback(ModbusReadRequestBlueprint request) {
+        ArgumentCaptor<ModbusReadCallback> captor = ArgumentCaptor.forClass(ModbusReadCallback.class);
+        verify(comms).registerRegularPoll(eq(request), anyLong(), eq(0L), captor.capture(), any());
+        return captor.getValue();
+    }
+
+    @Test
+    public void testRequestsPerCycle() {
+        // ten small adjacent pollers and one overlapping poller, as generated for many devices
+        for (int i = 0; i < 10; i++) {
+            register(request(ModbusReadFunctionCode.READ_MULTIPLE_REGISTERS, i * 10, 10), 1000);
+        }
+        register(request(ModbusReadFunctionCode.READ_MULTIPLE_REGISTERS, 5, 20), 1000);
+        // gaps are not bridged
+        register(request(ModbusReadFunctionCode.READ_MULTIPLE_REGISTERS, 200, 10), 1000);
+        // different poll period and function code are not merged
+        register(request(ModbusReadFunctionCode.READ_MULTIPLE_REGISTERS, 100, 10), 5000);
+        register(request(ModbusReadFunctionCode.READ_INPUT_REGISTERS, 100, 10), 1000);
+
+        verify(scheduler).schedule(any(Runnable.class), eq(ModbusReadCoalescer.PLAN_DELAY_MILLIS),
+                eq(TimeUnit.MILLISECONDS));
+        verifyNoInteractions(comms);
+
+        coalescer.plan();
+
+        assertEquals(4, coalescer.getRequestCount());
+        verify(comms, times(4)).registerRegularPoll(any(), anyLong(), anyLong(), any(), any());
+        verify(comms).registerRegularPoll(eq(request(ModbusReadFunctionCode.READ_MULTIPLE_REGISTERS, 0, 100)),
+                eq(1000L), eq(0L), any(), any());
+    }
+
+    @Test
+    public void testProtocolLimit() {
+        register(request(ModbusReadFunctionCode.READ_MULTIPLE_REGISTERS, 0, 100), 1000);
+        register(request(ModbusReadFunctionCode.READ_MULTIPLE_REGISTERS, 100, 100), 1000);
+        register(request(ModbusReadFunctionCode.READ_COILS, 0, 1000), 1000);
+        register(request(ModbusReadFunctionCode.READ_COILS, 1000, 1000), 1000);
+        coalescer.plan();
+
+        // 200 registers exceed the protocol limit, 2000 coils do not
+        assertEquals(3, coalescer.getRequestCount());
+        verify(comms).registerRegularPoll(eq(request(ModbusReadFunctionCode.READ_COILS, 0, 2000)), eq(1000L),
+                eq(0L), any(), any());
+    }
+
+    @Test
+    public void testRegistersFanOut() {
+        RecordingCallback first = register(request(ModbusReadFunctionCode.READ_MULTIPLE_REGISTERS, 10, 4), 1000);
+        RecordingCallback second = register(request(ModbusReadFunctionCode.READ_MULTIPLE_REGISTERS, 12, 4), 1000);
+        coalescer.plan();
+
+        ModbusReadRequestBlueprint merged = request(ModbusReadFunctionCode.READ_MULTIPLE_REGISTERS, 10, 6);
+        registeredCallback(merged)
+                .handle(new AsyncModbusReadResult(merged, new ModbusRegisterArray(0, 1, 2, 3, 4, 5)));
+
+        assertEquals(1, first.results.size());
+        AsyncModbusReadResult firstResult = first.results.get(0);
+        assertEquals(request(ModbusReadFunctionCode.READ_MULTIPLE_REGISTERS, 10, 4), firstResult.getRequest());
+        assertRegisters(firstResult, 0, 1, 2, 3);
+
+        assertEquals(1, second.results.size());
+        AsyncModbusReadResult secondResult = second.results.get(0);
+        assertEquals(request(ModbusReadFunctionCode.READ_MULTIPLE_REGISTERS, 12, 4), secondResult.getRequest());
+        assertRegisters(secondResult, 2, 3, 4, 5);
+    }
+
+    @Test
+    public void testBitsFanOut() {
+        RecordingCallback first = register(request(ModbusReadFunctionCode.READ_COILS, 0, 2), 1000);
+        RecordingCallback second = register(request(ModbusReadFunctionCode.READ_COILS, 2, 2), 1000);
+        coalescer.plan();
+
+        ModbusReadRequestBlueprint merged = request(ModbusReadFunctionCode.READ_COILS, 0, 4);
+        registeredCallback(merged)
+                .handle(new AsyncModbusReadResult(merged, new BitArray(true, false, false, true)));
+
+        assertBits(first.results.get(0), true, false);
+        assertBits(second.results.get(0), false, true);
+    }
+
+    @Test
+    public void testFailureFanOut() {
+        ModbusReadRequestBlueprint firstRequest = request(ModbusReadFunctionCode.READ_MULTIPLE_REGISTERS, 0, 4);
+        RecordingCallback first = register(firstRequest, 1000);
+        RecordingCallback second = register(request(ModbusReadFunctionCode.READ_MULTIPLE_REGISTERS, 4, 4), 1000);
+        coalescer.plan();
+
+        ModbusReadRequestBlueprint merged = request(ModbusReadFunctionCode.READ_MULTIPLE_REGISTERS, 0, 8);
+        IOException error = new IOException("timeout");
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<ModbusFailureCallback<ModbusReadRequestBlueprint>> captor = ArgumentCaptor
+                .forClass(ModbusFailureCallback.class);
+        verify(comms).registerRegularPoll(eq(merged), anyLong(), anyLong(), any(), captor.capture());
+        captor.getValue().handle(new AsyncModbusFailure<>(merged, error));
+
+        assertEquals(1, first.failures.size());
+        assertEquals(firstRequest, first.failures.get(0).getRequest());
+        assertSame(error, first.failures.get(0).getCause());
+        assertEquals(1, second.failures.size());
+    }
+
+    @Test
+    public void testUnregister() {
+        RecordingCallback first = register(request(ModbusReadFunctionCode.READ_MULTIPLE_REGISTERS, 0, 4), 1000);
+        RecordingCallback second = register(request(ModbusReadFunctionCode.READ_MULTIPLE_REGISTERS, 4, 4), 1000);
+        coalescer.plan();
+        ModbusReadRequestBlueprint merged = request(ModbusReadFunctionCode.READ_MULTIPLE_REGISTERS, 0, 8);
+        ModbusReadCallback callback = registeredCallback(merged);
+
+        coalescer.unregisterRegularPoll(second);
+        // Not called back anymore, even before re-planning
+        callback.handle(new AsyncModbusReadResult(merged, new ModbusRegisterArray(0, 1, 2, 3, 4, 5, 6, 7)));
+        assertEquals(1, first.results.size());
+        assertEquals(0, second.results.size());
+
+        coalescer.plan();
+        verify(comms).unregisterRegularPoll(any());
+        verify(comms).registerRegularPoll(eq(request(ModbusReadFunctionCode.READ_MULTIPLE_REGISTERS, 0, 4)),
+                anyLong(), anyLong(), any(), any());
+        assertEquals(1, coalescer.getRequestCount());
+
+        coalescer.close();
+        verify(comms, times(2)).unregisterRegularPoll(any());
+        assertEquals(0, coalescer.getRequestCount());
+    }
+}
@@ -13,10 +13,19 @@
 package org.openhab.binding.modbus.internal;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.util.Collections;
 
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
+import org.openhab.core.transform.TransformationException;
+import org.openhab.core.transform.TransformationService;
+import org.osgi.framework.Bundle;
 import org.osgi.framework.BundleContext;
+import org.osgi.framework.InvalidSyntaxException;
+import org.osgi.framework.ServiceReference;
 
 /**
  * @author Sami Salonen - Initial contribution
@@ -78,4 +87,33 @@ public class SingleValueTransformationTest {
         assertFalse(transformation.isIdentityTransform());
         assertEquals("static", transformation.transform(Mockito.mock(BundleContext.class), "xx"));
     }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    public void testTransformationServiceResolvedOnce() throws InvalidSyntaxException, TransformationException {
+        BundleContext context = mock(BundleContext.class);
+        ServiceReference<TransformationService> reference = mock(ServiceReference.class);
+        TransformationService service = mock(TransformationService.class);
+        doReturn(Collections.singletonList(reference)).when(context).getServiceReferences(TransformationService.class,
+                "(openhab.transform=MULTIPLY)");
+        doReturn(service).when(context).getService(reference);
+        doReturn(mock(Bundle.class)).when(reference).getBundle();
+        doReturn("20").when(service).transform("2", "10");
+
+        SingleValueTransformation transformation = new SingleValueTransformation("MULTIPLY(2)");
+        assertEquals("20", transformation.transform(context, "10"));
+        assertEquals("20", transformation.transform(context, "10"));
+        verify(context, times(1)).getServiceReferences(eq(TransformationService.class), anyString());
+
+        // service unregistered, resolved again
+        doReturn(null).when(reference).getBundle();
+        assertEquals("20", transformation.transform(context, "10"));
+        verify(context, times(2)).getServiceReferences(eq(TransformationService.class), anyString());
+    }
+
+    @Test
+    public void testTransformationServiceUnavailable() {
+        SingleValueTransformation transformation = new SingleValueTransformation("MULTIPLY(2)");
+        assertEquals("10", transformation.transform(Mockito.mock(BundleContext.class), "10"));
+    }
 }
@@ -37,6 +37,14 @@ public class ChannelConfig {
      * Instead a postCommand() call is performed.
      */
     public boolean postCommand = false;
+    /** If true, a received value is only propagated if it differs from the last propagated value. */
+    public boolean changeOnly = false;
+    /** Numeric values are only propagated if they differ by at least this amount from the last propagated value. */
+    public @Nullable BigDecimal deadband;
+    /** Numeric values are only propagated if they differ by at least this percentage from the last propagated value. */
+    public @Nullable BigDecimal deadbandPercent;
+    /** Minimum time in milliseconds between two propagated values. The latest value is delivered afterwards. */
+    public int minInterval = 0;
     public @Nullable Integer qos;
     public boolean retained = false;
     /** If true, the state topic will not update a state, but trigger a channel instead. */
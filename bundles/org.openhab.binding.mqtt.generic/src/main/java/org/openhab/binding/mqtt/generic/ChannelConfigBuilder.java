@@ -12,6 +12,8 @@
  */
 package org.openhab.binding.mqtt.generic;
 
+import java.math.BigDecimal;
+
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
 
@@ -73,4 +75,20 @@ public class ChannelConfigBuilder {
         config.trigger = trigger;
         return this;
     }
+
+    public ChannelConfigBuilder withChangeOnly(boolean changeOnly) {
+        config.changeOnly = changeOnly;
+        return this;
+    }
+
+    public ChannelConfigBuilder withDeadband(@Nullable BigDecimal deadband, @Nullable BigDecimal deadbandPercent) {
+        config.deadband = deadband;
+        config.deadbandPercent = deadbandPercent;
+        return this;
+    }
+
+    public ChannelConfigBuilder withMinInterval(int minInterval) {
+        config.minInterval = minInterval;
+        return this;
+    }
 }
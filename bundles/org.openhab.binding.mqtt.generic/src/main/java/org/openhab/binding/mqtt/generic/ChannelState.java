@@ -12,6 +12,7 @@
  */
 package org.openhab.binding.mqtt.generic;
 
+import java.math.BigDecimal;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.IllegalFormatException;
@@ -27,9 +28,12 @@ import org.openhab.binding.mqtt.generic.values.TextValue;
 import org.openhab.binding.mqtt.generic.values.Value;
 import org.openhab.core.io.transport.mqtt.MqttBrokerConnection;
 import org.openhab.core.io.transport.mqtt.MqttMessageSubscriber;
+import org.openhab.core.library.types.DecimalType;
+import org.openhab.core.library.types.HSBType;
 import org.openhab.core.library.types.StringType;
 import org.openhab.core.thing.ChannelUID;
 import org.openhab.core.types.Command;
+import org.openhab.core.types.State;
 import org.openhab.core.types.TypeParser;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -61,6 +65,14 @@ public class ChannelState implements MqttMessageSubscriber {
     private @Nullable ScheduledFuture<?> scheduledFuture;
     private CompletableFuture<@Nullable Void> future = CompletableFuture.completedFuture(null);
     private final Object futureLock = new Object();
+    private @Nullable ScheduledExecutorService scheduler;
+
+    // Propagation filter state (change-only, deadband and minimum interval)
+    private final Object propagationLock = new Object();
+    private @Nullable State lastPropagatedState;
+    private long lastPropagationTime;
+    private @Nullable State pendingState;
+    private @Nullable ScheduledFuture<?> pendingFuture;
 
     /**
      * Creates a new channel state.
@@ -152,32 +164,41 @@ public class ChannelState implements MqttMessageSubscriber {
             return;
         }
 
-        // String value: Apply transformations
-        String strValue = new String(payload, StandardCharsets.UTF_8);
-        for (ChannelStateTransformation t : transformationsIn) {
-            String transformedValue = t.processValue(strValue);
-            if (transformedValue != null) {
-                strValue = transformedValue;
-            } else {
-                logger.debug("Transformation '{}' returned null on '{}', discarding message", strValue, t.serviceName);
+        // Fast path: Without transformations the value may parse the payload directly
+        Command command = null;
+        if (transformationsIn.isEmpty() && !config.trigger) {
+            command = cachedValue.parseCommand(payload);
+        }
+
+        if (command == null) {
+            // String value: Apply transformations
+            String strValue = new String(payload, StandardCharsets.UTF_8);
+            for (ChannelStateTransformation t : transformationsIn) {
+                String transformedValue = t.processValue(strValue);
+                if (transformedValue != null) {
+                    strValue = transformedValue;
+                } else {
+                    logger.debug("Transformation '{}' returned null on '{}', discarding message", strValue,
+                            t.serviceName);
+                    receivedOrTimeout();
+                    return;
+                }
+            }
+
+            // Is trigger?: Special handling
+            if (config.trigger) {
+                channelStateUpdateListener.triggerChannel(channelUID, strValue);
                 receivedOrTimeout();
                 return;
             }
-        }
 
-        // Is trigger?: Special handling
-        if (config.trigger) {
-            channelStateUpdateListener.triggerChannel(channelUID, strValue);
-            receivedOrTimeout();
-            return;
-        }
-
-        Command command = TypeParser.parseCommand(cachedValue.getSupportedCommandTypes(), strValue);
-        if (command == null) {
-            logger.warn("Incoming payload '{}' not supported by type '{}'", strValue,
-                    cachedValue.getClass().getSimpleName());
-            receivedOrTimeout();
-            return;
+            command = TypeParser.parseCommand(cachedValue.getSupportedCommandTypes(), strValue);
+            if (command == null) {
+                logger.warn("Incoming payload '{}' not supported by type '{}'", strValue,
+                        cachedValue.getClass().getSimpleName());
+                receivedOrTimeout();
+                return;
+            }
         }
 
         Command postOnlyCommand = cachedValue.isPostOnly(command);
@@ -191,18 +212,104 @@ public class ChannelState implements MqttMessageSubscriber {
         try {
             cachedValue.update(command);
         } catch (IllegalArgumentException | IllegalStateException e) {
-            logger.warn("Command '{}' not supported by type '{}': {}", strValue, cachedValue.getClass().getSimpleName(),
+            logger.warn("Command '{}' not supported by type '{}': {}", command, cachedValue.getClass().getSimpleName(),
                     e.getMessage());
             receivedOrTimeout();
             return;
         }
 
+        propagateState(channelStateUpdateListener, cachedValue.getChannelState());
+        receivedOrTimeout();
+    }
+
+    /**
+     * Propagates a received state to the framework, unless it is filtered by the change-only or deadband
+     * configuration. If a minimum interval is configured, states arriving too early are held back and only the
+     * latest one is delivered once the interval has passed.
+     */
+    private void propagateState(ChannelStateUpdateListener listener, State state) {
+        final ScheduledExecutorService scheduler = this.scheduler;
+        synchronized (propagationLock) {
+            if (!isPropagationRequired(state)) {
+                // The latest value equals the propagated one: a pending delayed update is obsolete
+                cancelPendingState();
+                return;
+            }
+            if (config.minInterval > 0 && scheduler != null) {
+                long now = System.currentTimeMillis();
+                long wait = lastPropagationTime + config.minInterval - now;
+                if (wait > 0) {
+                    pendingState = state;
+                    if (pendingFuture == null) {
+                        pendingFuture = scheduler.schedule(this::propagatePendingState, wait, TimeUnit.MILLISECONDS);
+                    }
+                    return;
+                }
+                lastPropagationTime = now;
+            }
+            cancelPendingState();
+            lastPropagatedState = state;
+            sendState(listener, state);
+        }
+    }
+
+    private void propagatePendingState() {
+        final ChannelStateUpdateListener listener = this.channelStateUpdateListener;
+        synchronized (propagationLock) {
+            final State state = pendingState;
+            pendingState = null;
+            pendingFuture = null;
+            if (state == null || listener == null) {
+                return;
+            }
+            lastPropagationTime = System.currentTimeMillis();
+            lastPropagatedState = state;
+            sendState(listener, state);
+        }
+    }
+
+    private void cancelPendingState() {
+        final ScheduledFuture<?> pendingFuture = this.pendingFuture;
+        if (pendingFuture != null) {
+            pendingFuture.cancel(false);
+            this.pendingFuture = null;
+        }
+        pendingState = null;
+    }
+
+    private void sendState(ChannelStateUpdateListener listener, State state) {
         if (config.postCommand) {
-            channelStateUpdateListener.postChannelCommand(channelUID, (Command) cachedValue.getChannelState());
+            listener.postChannelCommand(channelUID, (Command) state);
         } else {
-            channelStateUpdateListener.updateChannelState(channelUID, cachedValue.getChannelState());
+            listener.updateChannelState(channelUID, state);
         }
-        receivedOrTimeout();
+    }
+
+    /**
+     * Returns true if the state passes the change-only and deadband filters compared to the last propagated state.
+     */
+    private boolean isPropagationRequired(State state) {
+        final State last = lastPropagatedState;
+        if (last == null) {
+            return true;
+        }
+        if (config.changeOnly && state.equals(last)) {
+            return false;
+        }
+        if (state instanceof DecimalType && last instanceof DecimalType && !(state instanceof HSBType)) {
+            final BigDecimal lastValue = ((DecimalType) last).toBigDecimal();
+            final BigDecimal difference = ((DecimalType) state).toBigDecimal().subtract(lastValue).abs();
+            final BigDecimal deadband = config.deadband;
+            if (deadband != null && difference.compareTo(deadband) < 0) {
+                return false;
+            }
+            final BigDecimal deadbandPercent = config.deadbandPercent;
+            if (deadbandPercent != null && lastValue.signum() != 0 && difference.scaleByPowerOfTen(2)
+                    .compareTo(deadbandPercent.multiply(lastValue.abs())) < 0) {
+                return false;
+            }
+        }
+        return true;
     }
 
     /**
@@ -255,6 +362,17 @@ public class ChannelState implements MqttMessageSubscriber {
         this.channelStateUpdateListener = null;
         hasSubscribed = false;
         cachedValue.resetState();
+        resetPropagationFilter();
+    }
+
+    /**
+     * Forgets the last propagated state, so that the next received state is propagated in any case.
+     */
+    private void resetPropagationFilter() {
+        synchronized (propagationLock) {
+            cancelPendingState();
+            lastPropagatedState = null;
+        }
     }
 
     private void receivedOrTimeout() {
@@ -295,6 +413,7 @@ public class ChannelState implements MqttMessageSubscriber {
             hasSubscribed = false;
 
             this.connection = connection;
+            this.scheduler = scheduler;
 
             if (config.stateTopic.isBlank()) {
                 return CompletableFuture.completedFuture(null);
@@ -332,6 +451,8 @@ public class ChannelState implements MqttMessageSubscriber {
      */
     public CompletableFuture<Boolean> publishValue(Command command) {
         cachedValue.update(command);
+        // The item follows the command, the device may still reject it and report the previous state again
+        resetPropagationFilter();
 
         Value mqttCommandValue = cachedValue;
 
@@ -13,8 +13,9 @@
 package org.openhab.binding.mqtt.generic.tools;
 
 import java.util.ArrayList;
-import java.util.Collections;
 import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
@@ -25,8 +26,14 @@ import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
 
 /**
- * Collects objects over time until a specified delay passed by.
+ * Collects objects over time until a specified delay passed by without a new object being received, or the maximum
+ * delay since the first object of the batch passed by.
  * Then call the user back with a list of accumulated objects and start over again.
+ * <p>
+ * Objects are collected in a lock-free queue and only a single timer is armed per batch. Instead of rescheduling the
+ * timer on every new object, the timer checks on expiry whether objects were received in the meantime and re-arms
+ * itself for the remaining time. Only arming and disarming take a lock; every armed batch has its own generation, so a
+ * timer of an earlier batch that is already running when the batch is joined does nothing.
  *
  * @author David Graeff - Initial contribution
  *
@@ -34,38 +41,82 @@ import org.eclipse.jdt.annotation.Nullable;
  */
 @NonNullByDefault
 public class DelayedBatchProcessing<T> implements Consumer<T> {
+    /** The maximum delay used if none is given, as a multiple of the delay */
+    private static final int DEFAULT_MAX_DELAY_FACTOR = 10;
+
     private final int delay;
+    private final long delayNanos;
+    private final long maxDelayNanos;
     private final Consumer<List<T>> consumer;
-    private final List<T> queue = Collections.synchronizedList(new ArrayList<>());
+    private final Queue<T> queue = new ConcurrentLinkedQueue<>();
     private final ScheduledExecutorService executor;
+    private volatile long lastReceived;
     protected final AtomicReference<@Nullable ScheduledFuture<?>> futureRef = new AtomicReference<>();
 
+    // all written guarded by lock
+    private final Object lock = new Object();
+    private volatile boolean armed;
+    private long batchStart;
+    private long generation;
+
     /**
-     * Creates a {@link DelayedBatchProcessing}.
+     * Creates a {@link DelayedBatchProcessing} with a maximum delay of ten times the delay.
      *
      * @param delay A delay in milliseconds
      * @param consumer A consumer of the list of collected objects
      * @param executor A scheduled executor service
      */
     public DelayedBatchProcessing(int delay, Consumer<List<T>> consumer, ScheduledExecutorService executor) {
+        this(delay, (int) Math.min(Integer.MAX_VALUE, (long) delay * DEFAULT_MAX_DELAY_FACTOR), consumer, executor);
+    }
+
+    /**
+     * Creates a {@link DelayedBatchProcessing}.
+     *
+     * @param delay A delay in milliseconds
+     * @param maxDelay The maximum time in milliseconds objects are collected before they are delivered, even if new
+     *            objects keep arriving. Must not be less than the delay.
+     * @param consumer A consumer of the list of collected objects
+     * @param executor A scheduled executor service
+     */
+    public DelayedBatchProcessing(int delay, int maxDelay, Consumer<List<T>> consumer,
+            ScheduledExecutorService executor) {
         this.delay = delay;
+        this.delayNanos = TimeUnit.MILLISECONDS.toNanos(delay);
+        this.maxDelayNanos = TimeUnit.MILLISECONDS.toNanos(maxDelay);
         this.consumer = consumer;
         this.executor = executor;
         if (delay <= 0) {
             throw new IllegalArgumentException("Delay need to be greater than 0!");
         }
+        if (maxDelay < delay) {
+            throw new IllegalArgumentException("Maximum delay need to be greater or equal to the delay!");
+        }
     }
 
     /**
      * Add new object to the batch process list. Every time a new object is received,
-     * the delay timer is rescheduled.
+     * the delivery is postponed by the delay, but not beyond the maximum delay.
      *
      * @param t An object
      */
     @Override
     public void accept(T t) {
         queue.add(t);
-        cancel(futureRef.getAndSet(executor.schedule(this::run, delay, TimeUnit.MILLISECONDS)));
+        final long now = now();
+        lastReceived = now;
+        if (armed) {
+            // the armed timer delivers this object
+            return;
+        }
+        synchronized (lock) {
+            if (!armed) {
+                armed = true;
+                batchStart = now;
+                final long batch = ++generation;
+                futureRef.set(executor.schedule(() -> timerExpired(batch), delay, TimeUnit.MILLISECONDS));
+            }
+        }
     }
 
     /**
@@ -74,38 +125,72 @@ public class DelayedBatchProcessing<T> implements Consumer<T> {
      * @return A list of accumulated objects
      */
     public List<T> join() {
-        cancel(futureRef.getAndSet(null));
-        List<T> lqueue = new ArrayList<>();
-        synchronized (queue) {
-            lqueue.addAll(queue);
-            queue.clear();
-        }
-        return lqueue;
+        disarm();
+        return drain();
     }
 
     /**
      * Return true if there is a delayed processing going on.
      */
     public boolean isArmed() {
-        ScheduledFuture<?> scheduledFuture = this.futureRef.get();
-        return scheduledFuture != null && !scheduledFuture.isDone();
+        return armed;
     }
 
     /**
      * Deliver queued items now to the target consumer.
      */
     public void forceProcessNow() {
-        cancel(futureRef.getAndSet(null));
+        disarm();
         run();
     }
 
-    private void run() {
+    /**
+     * Returns the current time in nanoseconds. Only used to measure elapsed time.
+     */
+    protected long now() {
+        return System.nanoTime();
+    }
+
+    private void timerExpired(long batch) {
+        synchronized (lock) {
+            if (!armed || batch != generation) {
+                // Joined or processed in the meantime
+                return;
+            }
+            final long now = now();
+            final long remaining = Math.min(lastReceived + delayNanos, batchStart + maxDelayNanos) - now;
+            if (remaining > 0) {
+                futureRef.set(executor.schedule(() -> timerExpired(batch), remaining, TimeUnit.NANOSECONDS));
+                return;
+            }
+            // Disarm before draining: an object added from now on either ends up in this batch or arms a new timer
+            armed = false;
+            futureRef.set(null);
+        }
+        run();
+    }
+
+    private void disarm() {
+        final @Nullable ScheduledFuture<?> future;
+        synchronized (lock) {
+            armed = false;
+            generation++;
+            future = futureRef.getAndSet(null);
+        }
+        cancel(future);
+    }
+
+    private List<T> drain() {
         List<T> lqueue = new ArrayList<>();
-        synchronized (queue) {
-            lqueue.addAll(queue);
-            queue.clear();
+        @Nullable T t;
+        while ((t = queue.poll()) != null) {
+            lqueue.add(t);
         }
+        return lqueue;
+    }
 
+    private void run() {
+        List<T> lqueue = drain();
         if (!lqueue.isEmpty()) {
             consumer.accept(lqueue);
         }
@@ -88,6 +88,16 @@ public class NumberValue extends Value {
         return state.format(formatPattern);
     }
 
+    /**
+     * Plain numbers are parsed directly; the generic parser would create a dimensionless {@link QuantityType}, which
+     * {@link #update(Command)} treats like a {@link DecimalType}.
+     */
+    @Override
+    public @Nullable Command parseCommand(byte[] payload) {
+        BigDecimal value = parseDecimal(payload);
+        return value == null ? null : new DecimalType(value);
+    }
+
     @Override
     public void update(Command command) throws IllegalArgumentException {
         DecimalType oldvalue = (state == UnDefType.UNDEF) ? new DecimalType() : (DecimalType) state;
@@ -12,6 +12,7 @@
  */
 package org.openhab.binding.mqtt.generic.values;
 
+import java.util.Arrays;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -35,6 +36,11 @@ public class OnOffValue extends Value {
     private final String offState;
     private final String onCommand;
     private final String offCommand;
+    private final byte[] onStatePayload;
+    private final byte[] offStatePayload;
+
+    private static final byte[] ON_PAYLOAD = encode(OnOffType.ON.name());
+    private static final byte[] OFF_PAYLOAD = encode(OnOffType.OFF.name());
 
     /**
      * Creates a switch On/Off type, that accepts "ON", "1" for on and "OFF","0" for off.
@@ -70,6 +76,26 @@ public class OnOffValue extends Value {
         this.offState = offState == null ? OnOffType.OFF.name() : offState;
         this.onCommand = onCommand == null ? OnOffType.ON.name() : onCommand;
         this.offCommand = offCommand == null ? OnOffType.OFF.name() : offCommand;
+        this.onStatePayload = encode(this.onState);
+        this.offStatePayload = encode(this.offState);
+    }
+
+    /**
+     * Matches the payload against the pre-encoded values. "ON" and "OFF" take precedence over custom states, as
+     * they do for the generic parser.
+     */
+    @Override
+    public @Nullable Command parseCommand(byte[] payload) {
+        if (Arrays.equals(payload, ON_PAYLOAD)) {
+            return OnOffType.ON;
+        } else if (Arrays.equals(payload, OFF_PAYLOAD)) {
+            return OnOffType.OFF;
+        } else if (Arrays.equals(payload, onStatePayload)) {
+            return OnOffType.ON;
+        } else if (Arrays.equals(payload, offStatePayload)) {
+            return OnOffType.OFF;
+        }
+        return null;
     }
 
     @Override
@@ -12,6 +12,7 @@
  */
 package org.openhab.binding.mqtt.generic.values;
 
+import java.util.Arrays;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -31,6 +32,11 @@ import org.openhab.core.types.Command;
 public class OpenCloseValue extends Value {
     private final String openString;
     private final String closeString;
+    private final byte[] openPayload;
+    private final byte[] closePayload;
+
+    private static final byte[] OPEN_PAYLOAD = encode(OpenClosedType.OPEN.name());
+    private static final byte[] CLOSED_PAYLOAD = encode(OpenClosedType.CLOSED.name());
 
     /**
      * Creates a contact Open/Close type.
@@ -39,6 +45,8 @@ public class OpenCloseValue extends Value {
         super(CoreItemFactory.CONTACT, Stream.of(OpenClosedType.class, StringType.class).collect(Collectors.toList()));
         this.openString = OpenClosedType.OPEN.name();
         this.closeString = OpenClosedType.CLOSED.name();
+        this.openPayload = OPEN_PAYLOAD;
+        this.closePayload = CLOSED_PAYLOAD;
     }
 
     /**
@@ -51,6 +59,26 @@ public class OpenCloseValue extends Value {
         super(CoreItemFactory.CONTACT, Stream.of(OpenClosedType.class, StringType.class).collect(Collectors.toList()));
         this.openString = openValue == null ? OpenClosedType.OPEN.name() : openValue;
         this.closeString = closeValue == null ? OpenClosedType.CLOSED.name() : closeValue;
+        this.openPayload = encode(this.openString);
+        this.closePayload = encode(this.closeString);
+    }
+
+    /**
+     * Matches the payload against the pre-encoded values. "OPEN" and "CLOSED" take precedence over custom values, as
+     * they do for the generic parser.
+     */
+    @Override
+    public @Nullable Command parseCommand(byte[] payload) {
+        if (Arrays.equals(payload, OPEN_PAYLOAD)) {
+            return OpenClosedType.OPEN;
+        } else if (Arrays.equals(payload, CLOSED_PAYLOAD)) {
+            return OpenClosedType.CLOSED;
+        } else if (Arrays.equals(payload, openPayload)) {
+            return OpenClosedType.OPEN;
+        } else if (Arrays.equals(payload, closePayload)) {
+            return OpenClosedType.CLOSED;
+        }
+        return null;
     }
 
     @Override
@@ -72,6 +72,12 @@ public class PercentageValue extends Value {
         this.stepPercent = this.step.multiply(HUNDRED).divide(this.span, MathContext.DECIMAL128);
     }
 
+    @Override
+    public @Nullable Command parseCommand(byte[] payload) {
+        BigDecimal value = parseDecimal(payload);
+        return value == null ? null : new DecimalType(value);
+    }
+
     @Override
     public void update(Command command) throws IllegalArgumentException {
         PercentType oldvalue = (state == UnDefType.UNDEF) ? new PercentType() : (PercentType) state;
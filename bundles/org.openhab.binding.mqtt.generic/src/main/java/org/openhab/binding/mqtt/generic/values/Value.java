@@ -14,7 +14,9 @@ package org.openhab.binding.mqtt.generic.values;
 
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.math.BigDecimal;
 import java.net.URLConnection;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
@@ -136,6 +138,67 @@ public abstract class Value {
         return null;
     }
 
+    /**
+     * Parses an untransformed MQTT payload directly into a command, without going through
+     * {@link org.openhab.core.types.TypeParser}. Implementations must return the same command the
+     * {@link org.openhab.core.types.TypeParser} would return for the {@link #getSupportedCommandTypes()}, or null
+     * if the payload is not handled by this fast path. The caller falls back to the generic parser in that case.
+     *
+     * @param payload The MQTT payload
+     * @return The parsed command or null
+     */
+    public @Nullable Command parseCommand(byte[] payload) {
+        return null;
+    }
+
+    /**
+     * Encodes a string for {@link #parseCommand(byte[])} payload comparisons.
+     */
+    protected static byte[] encode(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Parses a plain decimal number like "-12.50" from the payload. Payloads with signs other than a leading "-",
+     * exponents, whitespace, a missing integer or fraction part or more than 18 digits are not handled and return
+     * null.
+     *
+     * @param payload The MQTT payload
+     * @return The number or null
+     */
+    protected static @Nullable BigDecimal parseDecimal(byte[] payload) {
+        int length = payload.length;
+        if (length == 0 || length > 20) {
+            return null;
+        }
+        int i = 0;
+        boolean negative = payload[0] == '-';
+        if (negative) {
+            i++;
+        }
+        long unscaled = 0;
+        int digits = 0;
+        int scale = -1;
+        for (; i < length; i++) {
+            byte b = payload[i];
+            if (b >= '0' && b <= '9') {
+                unscaled = unscaled * 10 + (b - '0');
+                digits++;
+                if (scale >= 0) {
+                    scale++;
+                }
+            } else if (b == '.' && scale < 0 && digits > 0) {
+                scale = 0;
+            } else {
+                return null;
+            }
+        }
+        if (digits == 0 || digits > 18 || scale == 0) {
+            return null;
+        }
+        return BigDecimal.valueOf(negative ? -unscaled : unscaled, Math.max(0, scale));
+    }
+
     /**
      * Updates the internal value state with the given binary payload.
      *
@@ -46,10 +46,13 @@ import org.openhab.binding.mqtt.generic.values.DateTimeValue;
 import org.openhab.binding.mqtt.generic.values.ImageValue;
 import org.openhab.binding.mqtt.generic.values.LocationValue;
 import org.openhab.binding.mqtt.generic.values.NumberValue;
+import org.openhab.binding.mqtt.generic.values.OnOffValue;
 import org.openhab.binding.mqtt.generic.values.PercentageValue;
 import org.openhab.binding.mqtt.generic.values.TextValue;
 import org.openhab.core.io.transport.mqtt.MqttBrokerConnection;
+import org.openhab.core.library.types.DecimalType;
 import org.openhab.core.library.types.HSBType;
+import org.openhab.core.library.types.OnOffType;
 import org.openhab.core.library.types.RawType;
 import org.openhab.core.library.types.StringType;
 import org.openhab.core.thing.ChannelUID;
@@ -172,6 +175,77 @@ public class ChannelStateTests {
         verify(channelStateUpdateListener, times(3)).updateChannelState(eq(channelUID), any());
     }
 
+    @Test
+    public void receiveChangeOnlyTest() {
+        ChannelConfig config = ChannelConfigBuilder.create("state", "command").withChangeOnly(true).build();
+        NumberValue value = new NumberValue(null, null, null, null);
+        ChannelState c = spy(new ChannelState(config, channelUID, value, channelStateUpdateListener));
+        c.start(connection, mock(ScheduledExecutorService.class), 100);
+
+        c.processMessage("state", "15".getBytes());
+        c.processMessage("state", "15".getBytes());
+        c.processMessage("state", "16".getBytes());
+        c.processMessage("state", "16".getBytes());
+
+        verify(channelStateUpdateListener, times(2)).updateChannelState(eq(channelUID), any());
+    }
+
+    @Test
+    public void receiveChangeOnlyAfterRejectedCommandTest() throws InterruptedException, ExecutionException {
+        ChannelConfig config = ChannelConfigBuilder.create("state", "command").withChangeOnly(true).build();
+        OnOffValue value = new OnOffValue("ON", "OFF");
+        ChannelState c = spy(new ChannelState(config, channelUID, value, channelStateUpdateListener));
+        c.start(connection, mock(ScheduledExecutorService.class), 100);
+
+        c.processMessage("state", "ON".getBytes());
+        verify(channelStateUpdateListener).updateChannelState(eq(channelUID), eq(OnOffType.ON));
+
+        // The item is auto-updated to OFF, but the device rejects the command and reports ON again
+        c.publishValue(OnOffType.OFF).get();
+        c.processMessage("state", "ON".getBytes());
+        verify(channelStateUpdateListener, times(2)).updateChannelState(eq(channelUID), eq(OnOffType.ON));
+
+        // Unchanged states are filtered again afterwards
+        c.processMessage("state", "ON".getBytes());
+        verify(channelStateUpdateListener, times(2)).updateChannelState(eq(channelUID), eq(OnOffType.ON));
+    }
+
+    @Test
+    public void receiveDeadbandTest() {
+        ChannelConfig config = ChannelConfigBuilder.create("state", "command")
+                .withDeadband(new BigDecimal("0.5"), new BigDecimal(10)).build();
+        NumberValue value = new NumberValue(null, null, null, null);
+        ChannelState c = spy(new ChannelState(config, channelUID, value, channelStateUpdateListener));
+        c.start(connection, mock(ScheduledExecutorService.class), 100);
+
+        c.processMessage("state", "20".getBytes()); // First value is always propagated
+        c.processMessage("state", "20.4".getBytes()); // Below absolute deadband
+        c.processMessage("state", "21".getBytes()); // Below relative deadband (10% of 20)
+        c.processMessage("state", "22".getBytes()); // Exactly 10%
+        c.processMessage("state", "21.5".getBytes()); // Below relative deadband (10% of 22)
+
+        verify(channelStateUpdateListener, times(2)).updateChannelState(eq(channelUID), any());
+        assertThat(value.getChannelState().toString(), is("21.5"));
+    }
+
+    @Test
+    public void receiveMinIntervalTest() throws InterruptedException {
+        ChannelConfig config = ChannelConfigBuilder.create("state", "command").withMinInterval(200).build();
+        NumberValue value = new NumberValue(null, null, null, null);
+        ChannelState c = spy(new ChannelState(config, channelUID, value, channelStateUpdateListener));
+        c.start(connection, scheduler, 0);
+
+        c.processMessage("state", "1".getBytes());
+        c.processMessage("state", "2".getBytes());
+        c.processMessage("state", "3".getBytes());
+        verify(channelStateUpdateListener, times(1)).updateChannelState(eq(channelUID), any());
+
+        // The latest value is delivered after the interval
+        verify(channelStateUpdateListener, timeout(1000).times(2)).updateChannelState(eq(channelUID), any());
+        verify(channelStateUpdateListener).updateChannelState(eq(channelUID), eq(new DecimalType(3)));
+        verify(channelStateUpdateListener, never()).updateChannelState(eq(channelUID), eq(new DecimalType(2)));
+    }
+
     @Test
     public void receiveDecimalFractionalTest() {
         NumberValue value = new NumberValue(null, null, new BigDecimal(10.5), null);
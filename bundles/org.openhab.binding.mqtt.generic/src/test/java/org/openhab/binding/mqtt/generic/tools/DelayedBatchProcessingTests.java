@@ -0,0 +1,228 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.mqtt.generic.tools;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+
+/**
+ * Tests the {@link DelayedBatchProcessing} class.
+ *
+ * @author openHAB Contributors - Initial contribution
+ */
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.WARN)
+public class DelayedBatchProcessingTests {
+
+    private @Mock ScheduledExecutorService scheduler;
+    private @Mock ScheduledFuture<?> future;
+
+    private final List<List<Integer>> batches = new ArrayList<>();
+    private long now;
+
+    private DelayedBatchProcessing<Integer> processing;
+
+    @BeforeEach
+    public void setUp() {
+        doReturn(future).when(scheduler).schedule(any(Runnable.class), anyLong(), any(TimeUnit.class));
+        processing = new DelayedBatchProcessing<>(100, 500, batches::add, scheduler) {
+            @Override
+            protected long now() {
+                return now;
+            }
+        };
+    }
+
+    private Runnable lastScheduled(int times) {
+        ArgumentCaptor<Runnable> captor = ArgumentCaptor.forClass(Runnable.class);
+        verify(scheduler, times(times)).schedule(captor.capture(), anyLong(), any(TimeUnit.class));
+        return captor.getValue();
+    }
+
+    private void advance(long millis) {
+        now += TimeUnit.MILLISECONDS.toNanos(millis);
+    }
+
+    @Test
+    public void singleTimerPerBatch() {
+        processing.accept(1);
+        advance(50);
+        processing.accept(2);
+        processing.accept(3);
+
+        assertTrue(processing.isArmed());
+        verify(scheduler, times(1)).schedule(any(Runnable.class), eq(100L), eq(TimeUnit.MILLISECONDS));
+
+        // The timer expires 100ms after the first object, but the last one was received 50ms ago
+        advance(50);
+        lastScheduled(1).run();
+        assertThat(batches.size(), is(0));
+        verify(scheduler).schedule(any(Runnable.class), eq(TimeUnit.MILLISECONDS.toNanos(50)),
+                eq(TimeUnit.NANOSECONDS));
+
+        advance(50);
+        lastScheduled(2).run();
+        assertThat(batches, is(Arrays.asList(Arrays.asList(1, 2, 3))));
+        assertFalse(processing.isArmed());
+        verify(future, never()).cancel(anyBoolean());
+
+        // The next object starts a new batch
+        processing.accept(4);
+        assertTrue(processing.isArmed());
+        advance(100);
+        lastScheduled(3).run();
+        assertThat(batches.size(), is(2));
+        assertThat(batches.get(1), is(Arrays.asList(4)));
+    }
+
+    @Test
+    public void maxDelayBound() {
+        processing.accept(0);
+        int scheduled = 1;
+        for (int i = 1; i <= 5; i++) {
+            // Keep the batch busy, the delay alone would postpone delivery forever
+            advance(90);
+            processing.accept(i);
+            advance(10);
+            lastScheduled(scheduled++).run();
+        }
+        assertThat(batches.size(), is(1));
+        assertThat(batches.get(0), is(Arrays.asList(0, 1, 2, 3, 4, 5)));
+    }
+
+    @Test
+    public void joinAndForceProcessNow() {
+        processing.accept(1);
+        processing.accept(2);
+        assertThat(processing.join(), is(Arrays.asList(1, 2)));
+        assertFalse(processing.isArmed());
+        verify(future).cancel(false);
+
+        // A timer that was already running when joining must not deliver anything
+        lastScheduled(1).run();
+        assertThat(batches.size(), is(0));
+
+        processing.accept(3);
+        processing.forceProcessNow();
+        assertThat(batches, is(Arrays.asList(Arrays.asList(3))));
+        assertFalse(processing.isArmed());
+    }
+
+    @Test
+    public void concurrentProducers() throws InterruptedException {
+        ScheduledExecutorService executor = new ScheduledThreadPoolExecutor(1);
+        try {
+            final List<Integer> received = new ArrayList<>();
+            final CountDownLatch done = new CountDownLatch(1);
+            final int producers = 4;
+            final int perProducer = 10000;
+            DelayedBatchProcessing<Integer> realProcessing = new DelayedBatchProcessing<>(20, batch -> {
+                synchronized (received) {
+                    received.addAll(batch);
+                    if (received.size() == producers * perProducer) {
+                        done.countDown();
+                    }
+                }
+            }, executor);
+
+            List<Thread> threads = new ArrayList<>();
+            for (int p = 0; p < producers; p++) {
+                Thread thread = new Thread(() -> {
+                    for (int i = 0; i < perProducer; i++) {
+                        realProcessing.accept(i);
+                    }
+                });
+                threads.add(thread);
+                thread.start();
+            }
+            for (Thread thread : threads) {
+                thread.join();
+            }
+
+            assertTrue(done.await(5, TimeUnit.SECONDS));
+            assertThat(received.size(), is(producers * perProducer));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void concurrentJoinAndAccept() throws InterruptedException {
+        ScheduledExecutorService executor = new ScheduledThreadPoolExecutor(1);
+        try {
+            final List<Integer> received = new ArrayList<>();
+            final int count = 20000;
+            DelayedBatchProcessing<Integer> realProcessing = new DelayedBatchProcessing<>(1, batch -> {
+                synchronized (received) {
+                    received.addAll(batch);
+                }
+            }, executor);
+
+            Thread producer = new Thread(() -> {
+                for (int i = 0; i < count; i++) {
+                    realProcessing.accept(i);
+                }
+            });
+            Thread joiner = new Thread(() -> {
+                while (producer.isAlive()) {
+                    List<Integer> joined = realProcessing.join();
+                    synchronized (received) {
+                        received.addAll(joined);
+                    }
+                }
+            });
+            producer.start();
+            joiner.start();
+            producer.join();
+            joiner.join();
+
+            // Whatever is left must still be delivered, the processing must not be stuck in the armed state
+            realProcessing.accept(count);
+            long deadline = System.currentTimeMillis() + 5000;
+            while (System.currentTimeMillis() < deadline) {
+                synchronized (received) {
+                    if (received.size() == count + 1) {
+                        break;
+                    }
+                }
+                Thread.sleep(10);
+            }
+            synchronized (received) {
+                assertThat(received.size(), is(count + 1));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
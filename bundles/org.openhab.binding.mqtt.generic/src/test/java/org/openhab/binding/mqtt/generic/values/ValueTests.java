@@ -17,6 +17,7 @@ import static org.hamcrest.MatcherAssert.assertThat;
 import static org.junit.jupiter.api.Assertions.*;
 
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
 
 import org.junit.jupiter.api.Test;
 import org.openhab.binding.mqtt.generic.mapping.ColorMode;
@@ -316,4 +317,47 @@ public class ValueTests {
                 null);
         assertThrows(IllegalArgumentException.class, () -> v.update(new DecimalType(9.0)));
     }
+
+    private void assertFastPathEquals(Value fast, Value generic, String payload) {
+        Command command = fast.parseCommand(payload.getBytes(StandardCharsets.UTF_8));
+        assertNotNull(command, payload);
+        fast.update(command);
+        generic.update(p(generic, payload));
+        assertThat(payload, fast.getChannelState(), is(generic.getChannelState()));
+    }
+
+    @Test
+    public void parseCommandFastPath() {
+        for (String payload : new String[] { "0", "15", "-3", "21.50", "007", "123456789012345678" }) {
+            assertFastPathEquals(new NumberValue(null, null, null, null), new NumberValue(null, null, null, null),
+                    payload);
+        }
+        for (String payload : new String[] { "-100", "0", "12.5", "100" }) {
+            assertFastPathEquals(new PercentageValue(BigDecimal.valueOf(-100), null, null, null, null),
+                    new PercentageValue(BigDecimal.valueOf(-100), null, null, null, null), payload);
+        }
+        for (String payload : new String[] { "ON", "OFF", "fancyON", "fancyOff" }) {
+            assertFastPathEquals(new OnOffValue("fancyON", "fancyOff"), new OnOffValue("fancyON", "fancyOff"),
+                    payload);
+        }
+        for (String payload : new String[] { "OPEN", "CLOSED", "fancyON", "fancyOff" }) {
+            assertFastPathEquals(new OpenCloseValue("fancyON", "fancyOff"), new OpenCloseValue("fancyON", "fancyOff"),
+                    payload);
+        }
+        assertFastPathEquals(new TextValue(), new TextValue(), "A TEST");
+
+        // Inverted custom states: ON/OFF still take precedence like for the TypeParser
+        assertFastPathEquals(new OnOffValue("OFF", "ON"), new OnOffValue("OFF", "ON"), "ON");
+    }
+
+    @Test
+    public void parseCommandFallback() {
+        NumberValue number = new NumberValue(null, null, null, null);
+        for (String payload : new String[] { "", "-", ".5", "1.", "1e3", "+1", " 1", "1.2.3", "INCREASE",
+                "1234567890123456789", "21 °C" }) {
+            assertNull(number.parseCommand(payload.getBytes(StandardCharsets.UTF_8)), payload);
+        }
+        assertNull(new OnOffValue().parseCommand("on".getBytes(StandardCharsets.UTF_8)));
+        assertNull(new OpenCloseValue().parseCommand("1".getBytes(StandardCharsets.UTF_8)));
+    }
 }
@@ -14,16 +14,19 @@ package org.openhab.binding.mqtt.homeassistant.internal.discovery;
 
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
-import java.util.Collection;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.TreeMap;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Collectors;
 
 import org.eclipse.jdt.annotation.NonNull;
@@ -51,6 +54,7 @@ import org.slf4j.LoggerFactory;
 
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
+import com.google.gson.JsonParseException;
 
 /**
  * The {@link HomeAssistantDiscovery} is responsible for discovering device nodes that follow the
@@ -61,13 +65,23 @@ import com.google.gson.GsonBuilder;
 @Component(service = DiscoveryService.class, configurationPid = "discovery.mqttha")
 @NonNullByDefault
 public class HomeAssistantDiscovery extends AbstractMQTTDiscovery {
-    @SuppressWarnings("unused")
     private final Logger logger = LoggerFactory.getLogger(HomeAssistantDiscovery.class);
-    protected final Map<String, Set<HaID>> componentsPerThingID = new TreeMap<>();
-    protected final Map<String, ThingUID> thingIDPerTopic = new TreeMap<>();
-    protected final Map<String, DiscoveryResult> results = new ConcurrentHashMap<>();
+    protected final Map<String, Set<HaID>> componentsPerThingID = new ConcurrentHashMap<>();
+    protected final Map<String, ThingUID> thingIDPerTopic = new ConcurrentHashMap<>();
+    private final Map<String, DiscoveredThing> discoveredThings = new ConcurrentHashMap<>();
+    private final Map<String, byte[]> configPerTopic = new ConcurrentHashMap<>();
+
+    // Messages waiting to be processed, only the latest one per topic. A topic is processed by one task at a time.
+    private final Map<String, PendingMessage> pendingMessages = new HashMap<>(); // guarded by pendingMessages
+    private final Set<String> processingTopics = new HashSet<>(); // guarded by pendingMessages
+
+    // Discovery metrics
+    private final AtomicLong receivedMessages = new AtomicLong();
+    private final AtomicLong unchangedMessages = new AtomicLong();
+    private final AtomicLong parseNanos = new AtomicLong();
 
     private @Nullable ScheduledFuture<?> future;
+    private final ScheduledExecutorService executor;
     private final Gson gson;
 
     public static final Map<String, String> HA_COMP_TO_NAME = new TreeMap<>();
@@ -93,7 +107,15 @@ public class HomeAssistantDiscovery extends AbstractMQTTDiscovery {
     protected MQTTTopicDiscoveryService mqttTopicDiscovery;
 
     public HomeAssistantDiscovery() {
+        this(null);
+    }
+
+    /**
+     * @param executor Executor for processing configurations and publishing results, the discovery scheduler if null
+     */
+    HomeAssistantDiscovery(@Nullable ScheduledExecutorService executor) {
         super(null, 3, true, BASE_TOPIC + "/#");
+        this.executor = executor != null ? executor : scheduler;
         this.gson = new GsonBuilder().registerTypeAdapterFactory(new ChannelConfigurationTypeAdapterFactory()).create();
     }
 
@@ -135,20 +157,70 @@ public class HomeAssistantDiscovery extends AbstractMQTTDiscovery {
         // homeassistant/<component>/<node_id>/<object_id>/config OR
         // homeassistant/<component>/<object_id>/config.
         // We check for the last part to filter all non-config topics out.
-        if (!topic.endsWith("/config")) {
+        if (!topic.endsWith("/config") || payload.length == 0) {
             return;
         }
+        receivedMessages.incrementAndGet();
 
-        // Reset the found-component timer.
-        // We will collect components for the thing label description for another 2 seconds.
-        final ScheduledFuture<?> future = this.future;
-        if (future != null) {
-            future.cancel(false);
+        // Retained configurations are sent again on every reconnect. Skip those we have already processed.
+        final byte[] previousPayload = configPerTopic.put(topic, payload);
+        if (previousPayload != null && Arrays.equals(previousPayload, payload)) {
+            unchangedMessages.incrementAndGet();
+            return;
+        }
+
+        enqueue(topic, new PendingMessage(connectionBridge, payload));
+    }
+
+    /**
+     * Parse the configurations in parallel, the MQTT client thread must not be blocked by a discovery storm.
+     * Messages of the same topic are still processed in order: a topic is handled by at most one task, which
+     * continues with the latest message that arrived in the meantime.
+     */
+    private void enqueue(String topic, PendingMessage message) {
+        synchronized (pendingMessages) {
+            pendingMessages.put(topic, message);
+            if (!processingTopics.add(topic)) {
+                return;
+            }
         }
-        this.future = scheduler.schedule(this::publishResults, 2, TimeUnit.SECONDS);
+        executor.execute(() -> processTopic(topic));
+    }
 
-        BaseChannelConfiguration config = BaseChannelConfiguration
-                .fromString(new String(payload, StandardCharsets.UTF_8), gson);
+    private void processTopic(String topic) {
+        while (true) {
+            final PendingMessage message;
+            synchronized (pendingMessages) {
+                message = pendingMessages.remove(topic);
+                if (message == null) {
+                    processingTopics.remove(topic);
+                    return;
+                }
+            }
+            try {
+                if (message.payload.length == 0) {
+                    processVanished(topic);
+                } else {
+                    processConfig(message.bridgeUID, topic, message.payload);
+                }
+            } catch (RuntimeException e) {
+                logger.warn("Failed to process HomeAssistant configuration on topic {}", topic, e);
+            }
+        }
+    }
+
+    private void processConfig(ThingUID connectionBridge, String topic, byte[] payload) {
+        final long start = System.nanoTime();
+        final BaseChannelConfiguration config;
+        try {
+            config = BaseChannelConfiguration.fromString(new String(payload, StandardCharsets.UTF_8), gson);
+        } catch (JsonParseException e) {
+            logger.debug("Invalid HomeAssistant configuration on topic {}: {}", topic, e.getMessage());
+            configPerTopic.remove(topic);
+            return;
+        } finally {
+            parseNanos.addAndGet(System.nanoTime() - start);
+        }
 
         // We will of course find multiple of the same unique Thing IDs, for each different component another one.
         // Therefore the components are assembled into a list and given to the DiscoveryResult label for the user to
@@ -168,30 +240,49 @@ public class HomeAssistantDiscovery extends AbstractMQTTDiscovery {
         Set<HaID> components = componentsPerThingID.computeIfAbsent(thingID, key -> ConcurrentHashMap.newKeySet());
         components.add(haID);
 
-        final String componentNames = components.stream().map(id -> id.component)
-                .map(c -> HA_COMP_TO_NAME.getOrDefault(c, c)).collect(Collectors.joining(", "));
-
-        final List<String> topics = components.stream().map(HaID::toShortTopic).collect(Collectors.toList());
-
-        Map<String, Object> properties = new HashMap<>();
-        HandlerConfiguration handlerConfig = new HandlerConfiguration(haID.baseTopic, topics);
-        properties = handlerConfig.appendToProperties(properties);
-        properties = config.appendToProperties(properties);
-        properties.put("deviceId", thingID);
+        // The discovery result is assembled when publishing, with all components found until then
+        discoveredThings.put(thingID, new DiscoveredThing(thingUID, connectionBridge, haID.baseTopic, config));
+        schedulePublish();
+    }
 
-        // Because we need the new properties map with the updated "components" list
-        results.put(thingUID.getAsString(),
-                DiscoveryResultBuilder.create(thingUID).withProperties(properties)
-                        .withRepresentationProperty("deviceId").withBridge(connectionBridge)
-                        .withLabel(config.getThingName() + " (" + componentNames + ")").build());
+    /**
+     * Publishes the collected results in batches. The first change starts the collection window, later changes are
+     * included in the same batch, so a discovery storm does not delay the results indefinitely.
+     */
+    private synchronized void schedulePublish() {
+        final ScheduledFuture<?> future = this.future;
+        if (future == null || future.isDone()) {
+            // We will collect components for the thing label description for another 2 seconds.
+            this.future = executor.schedule(this::publishResults, 2, TimeUnit.SECONDS);
+        }
     }
 
     protected void publishResults() {
-        Collection<DiscoveryResult> localResults;
+        final long start = System.nanoTime();
+        final List<DiscoveryResult> localResults = new ArrayList<>();
+        for (String thingID : new ArrayList<>(discoveredThings.keySet())) {
+            final DiscoveredThing thing = discoveredThings.remove(thingID);
+            final Set<HaID> components = componentsPerThingID.get(thingID);
+            if (thing == null || components == null || components.isEmpty()) {
+                continue;
+            }
+
+            final String componentNames = components.stream().map(id -> id.component)
+                    .map(c -> HA_COMP_TO_NAME.getOrDefault(c, c)).collect(Collectors.joining(", "));
+
+            final List<String> topics = components.stream().map(HaID::toShortTopic).collect(Collectors.toList());
+
+            Map<String, Object> properties = new HashMap<>();
+            HandlerConfiguration handlerConfig = new HandlerConfiguration(thing.baseTopic, topics);
+            properties = handlerConfig.appendToProperties(properties);
+            properties = thing.config.appendToProperties(properties);
+            properties.put("deviceId", thingID);
+
+            localResults.add(DiscoveryResultBuilder.create(thing.thingUID).withProperties(properties)
+                    .withRepresentationProperty("deviceId").withBridge(thing.bridgeUID)
+                    .withLabel(thing.config.getThingName() + " (" + componentNames + ")").build());
+        }
 
-        localResults = new ArrayList<>(results.values());
-        results.clear();
-        componentsPerThingID.clear();
         for (DiscoveryResult result : localResults) {
             final ThingTypeUID typeID = result.getThingTypeUID();
             ThingType type = typeProvider.derive(typeID, MqttBindingConstants.HOMEASSISTANT_MQTT_THING).build();
@@ -199,6 +290,11 @@ public class HomeAssistantDiscovery extends AbstractMQTTDiscovery {
 
             thingDiscovered(result);
         }
+
+        logger.debug(
+                "Published {} discovery results in {} ms. Config messages: {} received, {} unchanged, {} ms parsing",
+                localResults.size(), TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start), receivedMessages.get(),
+                unchangedMessages.get(), TimeUnit.NANOSECONDS.toMillis(parseNanos.get()));
     }
 
     @Override
@@ -206,8 +302,14 @@ public class HomeAssistantDiscovery extends AbstractMQTTDiscovery {
         if (!topic.endsWith("/config")) {
             return;
         }
-        if (thingIDPerTopic.containsKey(topic)) {
-            ThingUID thingUID = thingIDPerTopic.remove(topic);
+        configPerTopic.remove(topic);
+        // Queued behind pending configurations of this topic, so a late config does not bring the thing back
+        enqueue(topic, new PendingMessage(connectionBridge, new byte[0]));
+    }
+
+    private void processVanished(String topic) {
+        ThingUID thingUID = thingIDPerTopic.remove(topic);
+        if (thingUID != null) {
             final String thingID = thingUID.getId();
 
             HaID haID = new HaID(topic);
@@ -215,8 +317,47 @@ public class HomeAssistantDiscovery extends AbstractMQTTDiscovery {
             Set<HaID> components = componentsPerThingID.getOrDefault(thingID, Collections.emptySet());
             components.remove(haID);
             if (components.isEmpty()) {
+                componentsPerThingID.remove(thingID);
+                discoveredThings.remove(thingID);
                 thingRemoved(thingUID);
             }
         }
     }
+
+    @Override
+    protected void startScan() {
+        // An explicit scan discovers all things again, even if their configuration did not change
+        configPerTopic.clear();
+        super.startScan();
+    }
+
+    /**
+     * A received configuration message. An empty payload stands for a vanished topic.
+     */
+    private static class PendingMessage {
+        final ThingUID bridgeUID;
+        final byte[] payload;
+
+        PendingMessage(ThingUID bridgeUID, byte[] payload) {
+            this.bridgeUID = bridgeUID;
+            this.payload = payload;
+        }
+    }
+
+    /**
+     * The latest configuration of a discovered thing, until it is published.
+     */
+    private static class DiscoveredThing {
+        final ThingUID thingUID;
+        final ThingUID bridgeUID;
+        final String baseTopic;
+        final BaseChannelConfiguration config;
+
+        DiscoveredThing(ThingUID thingUID, ThingUID bridgeUID, String baseTopic, BaseChannelConfiguration config) {
+            this.thingUID = thingUID;
+            this.bridgeUID = bridgeUID;
+            this.baseTopic = baseTopic;
+            this.config = config;
+        }
+    }
 }
@@ -0,0 +1,234 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.mqtt.homeassistant.internal.discovery;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.collection.IsIterableContainingInAnyOrder.containsInAnyOrder;
+import static org.hamcrest.collection.IsIterableContainingInOrder.contains;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.openhab.binding.mqtt.discovery.MQTTTopicDiscoveryService;
+import org.openhab.binding.mqtt.generic.MqttChannelTypeProvider;
+import org.openhab.core.config.discovery.DiscoveryListener;
+import org.openhab.core.config.discovery.DiscoveryResult;
+import org.openhab.core.io.transport.mqtt.MqttBrokerConnection;
+import org.openhab.core.thing.ThingTypeUID;
+import org.openhab.core.thing.ThingUID;
+import org.openhab.core.thing.type.ThingTypeBuilder;
+
+/**
+ * Tests the processing of configuration messages and the batched publishing of the {@link HomeAssistantDiscovery}.
+ * The executor runs the queued tasks only when the test says so.
+ *
+ * @author openHAB Contributors - Initial contribution
+ */
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.WARN)
+public class HomeAssistantDiscoveryTests {
+    private static final ThingUID BRIDGE_UID = new ThingUID("mqtt:broker:test");
+    private static final String TOPIC_A = "homeassistant/switch/node/a/config";
+    private static final String TOPIC_B = "homeassistant/switch/node/b/config";
+
+    private @Mock ScheduledExecutorService executor;
+    private @Mock MqttChannelTypeProvider typeProvider;
+    private @Mock MQTTTopicDiscoveryService topicDiscoveryService;
+    private @Mock MqttBrokerConnection connection;
+    private @Mock DiscoveryListener listener;
+
+    private final List<Runnable> tasks = new ArrayList<>();
+    private final List<Runnable> scheduled = new ArrayList<>();
+    private final List<DiscoveryResult> results = new ArrayList<>();
+    private Runnable onSchedule = () -> {
+    };
+
+    private HomeAssistantDiscovery discovery;
+
+    @BeforeEach
+    public void setUp() {
+        doAnswer(i -> tasks.add(i.getArgument(0))).when(executor).execute(any());
+        doAnswer(i -> {
+            onSchedule.run();
+            AtomicBoolean done = new AtomicBoolean();
+            Runnable task = i.getArgument(0);
+            scheduled.add(() -> {
+                task.run();
+                done.set(true);
+            });
+            ScheduledFuture<?> future = mock(ScheduledFuture.class);
+            when(future.isDone()).thenAnswer(j -> done.get());
+            return future;
+        }).when(executor).schedule(any(Runnable.class), anyLong(), any(TimeUnit.class));
+        when(typeProvider.derive(any(), any()))
+                .thenAnswer(i -> ThingTypeBuilder.instance((ThingTypeUID) i.getArgument(0), "HomeAssistant"));
+        doAnswer(i -> results.add(i.getArgument(1))).when(listener).thingDiscovered(any(), any());
+
+        discovery = new HomeAssistantDiscovery(executor);
+        discovery.setTypeProvider(typeProvider);
+        discovery.setMQTTTopicDiscoveryService(topicDiscoveryService);
+        discovery.addDiscoveryListener(listener);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        discovery.abortScan();
+    }
+
+    private static byte[] config(String name, String deviceId) {
+        return ("{\"name\":\"" + name + "\",\"state_topic\":\"state\",\"command_topic\":\"set\","
+                + "\"device\":{\"identifiers\":[\"" + deviceId + "\"],\"name\":\"" + name + "\"}}")
+                        .getBytes(StandardCharsets.UTF_8);
+    }
+
+    private void receive(String topic, byte[] payload) {
+        discovery.receivedMessage(BRIDGE_UID, connection, topic, payload);
+    }
+
+    private void runTasks() {
+        while (!tasks.isEmpty()) {
+            tasks.remove(0).run();
+        }
+    }
+
+    private void publish() {
+        runTasks();
+        while (!scheduled.isEmpty()) {
+            scheduled.remove(0).run();
+        }
+    }
+
+    private List<String> discoveredIds() {
+        return results.stream().map(result -> result.getThingUID().getId()).collect(Collectors.toList());
+    }
+
+    @Test
+    public void repeatedPayloadIsDeduplicated() {
+        receive(TOPIC_A, config("Lamp", "dev1"));
+        publish();
+        assertThat(discoveredIds(), contains("dev1"));
+
+        // a retained configuration sent again after a reconnect
+        receive(TOPIC_A, config("Lamp", "dev1"));
+        assertThat(tasks.size(), is(0));
+        publish();
+        assertThat(results.size(), is(1));
+
+        // a changed configuration is processed
+        receive(TOPIC_A, config("Renamed lamp", "dev1"));
+        assertThat(tasks.size(), is(1));
+        publish();
+        assertThat(discoveredIds(), contains("dev1", "dev1"));
+        assertThat(results.get(1).getLabel(), startsWith("Renamed lamp"));
+    }
+
+    @Test
+    public void vanishedTopicIsProcessedAfterConfig() {
+        // vanished right after the config, before the config was processed
+        receive(TOPIC_A, config("Lamp", "dev1"));
+        discovery.topicVanished(BRIDGE_UID, connection, TOPIC_A);
+        assertThat(tasks.size(), is(1));
+        publish();
+        assertThat(results.size(), is(0));
+
+        // discovered, then changed and vanished while waiting to be processed
+        receive(TOPIC_A, config("Lamp", "dev1"));
+        publish();
+        assertThat(discoveredIds(), contains("dev1"));
+        receive(TOPIC_A, config("Renamed lamp", "dev1"));
+        discovery.topicVanished(BRIDGE_UID, connection, TOPIC_A);
+        assertThat(tasks.size(), is(1));
+        publish();
+        assertThat(results.size(), is(1));
+        verify(listener).thingRemoved(any(), eq(results.get(0).getThingUID()));
+
+        // a config after the topic vanished brings the thing back
+        discovery.topicVanished(BRIDGE_UID, connection, TOPIC_B);
+        receive(TOPIC_A, config("Lamp", "dev1"));
+        publish();
+        assertThat(discoveredIds(), contains("dev1", "dev1"));
+    }
+
+    @Test
+    public void messagesArrivingWhileProcessingAreHandledByTheSameTask() {
+        receive(TOPIC_A, config("Lamp", "dev1"));
+        assertThat(tasks.size(), is(1));
+        Runnable task = tasks.remove(0);
+
+        // the topic is still being processed when the result is scheduled for publishing
+        onSchedule = () -> {
+            onSchedule = () -> {
+            };
+            receive(TOPIC_A, config("Renamed lamp", "dev1"));
+            discovery.topicVanished(BRIDGE_UID, connection, TOPIC_A);
+            receive(TOPIC_A, config("Final lamp", "dev1"));
+        };
+        task.run();
+        assertThat(tasks.size(), is(0));
+
+        publish();
+        assertThat(results.size(), is(1));
+        assertThat(results.get(0).getLabel(), startsWith("Final lamp"));
+    }
+
+    @Test
+    public void resultsWithinBatchWindowArePublishedTogether() {
+        receive(TOPIC_A, config("Lamp", "dev1"));
+        receive(TOPIC_B, config("Plug", "dev2"));
+        runTasks();
+        verify(executor, times(1)).schedule(any(Runnable.class), anyLong(), any(TimeUnit.class));
+        assertThat(results.size(), is(0));
+
+        publish();
+        assertThat(discoveredIds(), containsInAnyOrder("dev1", "dev2"));
+
+        // the next change starts a new batch
+        receive(TOPIC_B, config("Renamed plug", "dev2"));
+        runTasks();
+        verify(executor, times(2)).schedule(any(Runnable.class), anyLong(), any(TimeUnit.class));
+        publish();
+        assertThat(results.size(), is(3));
+    }
+
+    @Test
+    public void startScanDiscoversRetainedConfigsAgain() {
+        receive(TOPIC_A, config("Lamp", "dev1"));
+        publish();
+        receive(TOPIC_A, config("Lamp", "dev1"));
+        assertThat(tasks.size(), is(0));
+
+        discovery.startScan();
+        receive(TOPIC_A, config("Lamp", "dev1"));
+        assertThat(tasks.size(), is(1));
+        publish();
+        assertThat(discoveredIds(), contains("dev1", "dev1"));
+    }
+}
@@ -19,8 +19,8 @@ import java.net.SocketException;
 import java.net.UnknownHostException;
 import java.util.HashSet;
 import java.util.Set;
+import java.util.concurrent.Executor;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
@@ -78,15 +78,23 @@ public class PresenceDetection implements IPRequestReceivedCallback {
     /// State variables (cannot be final because of test dependency injections)
     ExpiringCacheAsync<PresenceDetectionValue> cache;
     private final PresenceDetectionListener updateListener;
+    private final Executor checkExecutor;
     private @Nullable ScheduledFuture<?> refreshJob;
     protected @Nullable ExecutorService executorService;
     private String dhcpState = "off";
     Integer currentCheck = 0;
     int detectionChecks;
 
-    public PresenceDetection(final PresenceDetectionListener updateListener, int cacheDeviceStateTimeInMS)
-            throws IllegalArgumentException {
+    /**
+     * @param updateListener The listener for the detection results
+     * @param cacheDeviceStateTimeInMS How long a detection result is valid
+     * @param checkExecutor The executor for the checks, shared by all detections. The checks block until the device
+     *            answers or times out, so it must be able to run all checks of all detections at once.
+     */
+    public PresenceDetection(final PresenceDetectionListener updateListener, int cacheDeviceStateTimeInMS,
+            Executor checkExecutor) throws IllegalArgumentException {
         this.updateListener = updateListener;
+        this.checkExecutor = checkExecutor;
         cache = new ExpiringCacheAsync<>(cacheDeviceStateTimeInMS, () -> {
             performPresenceDetection(false);
         });
@@ -157,7 +165,8 @@ public class PresenceDetection implements IPRequestReceivedCallback {
     }
 
     /**
-     * Sets the ping method. This method will perform a feature test. If SYSTEM_PING
+     * Sets the ping method. This method will perform a feature test. If the JVM may send ICMP
+     * echo requests itself, JAVA_ICMP_PING is used instead of SYSTEM_PING. If SYSTEM_PING
      * does not work on this system, JAVA_PING will be used instead.
      *
      * @param useSystemPing Set to true to use a system ping method, false to use java ping and null to disable ICMP
@@ -170,8 +179,13 @@ public class PresenceDetection implements IPRequestReceivedCallback {
         } else if (useSystemPing) {
             final IpPingMethodEnum pingMethod = networkUtils.determinePingMethod();
             this.pingMethod = pingMethod;
-            ipPingState = pingMethod == IpPingMethodEnum.JAVA_PING ? "System ping feature test failed. Using Java ping"
-                    : pingMethod.name();
+            if (pingMethod == IpPingMethodEnum.JAVA_PING) {
+                ipPingState = "System ping feature test failed. Using Java ping";
+            } else if (pingMethod == IpPingMethodEnum.JAVA_ICMP_PING) {
+                ipPingState = "Java ICMP ping";
+            } else {
+                ipPingState = pingMethod.name();
+            }
         } else {
             pingMethod = IpPingMethodEnum.JAVA_PING;
             ipPingState = "Java ping";
@@ -279,14 +293,18 @@ public class PresenceDetection implements IPRequestReceivedCallback {
         cache.getValue(callback);
     }
 
-    public ExecutorService getThreadsFor(int threadCount) {
-        return Executors.newFixedThreadPool(threadCount);
+    /**
+     * Create the executor for the checks of a detection. The checks run on the threads shared by all detections,
+     * which are reused instead of creating a thread pool per detection.
+     */
+    public ExecutorService createDetectionExecutor() {
+        return new PresenceDetectionExecutor(checkExecutor);
     }
 
     /**
      * Perform a presence detection with ICMP-, ARP ping and
-     * TCP connection attempts simultaneously. A fixed thread pool will be created with as many
-     * thread as necessary to perform all tests at once.
+     * TCP connection attempts simultaneously. All checks run at once on a thread pool shared by all
+     * detections.
      *
      * This is a NO-OP, if there is already an ongoing detection or if the cached value
      * is not expired yet.
@@ -319,7 +337,7 @@ public class PresenceDetection implements IPRequestReceivedCallback {
             detectionChecks += 1;
         }
         if (arpPingMethod != ArpPingUtilEnum.UNKNOWN_TOOL) {
-            interfaceNames = networkUtils.getInterfaceNames();
+            interfaceNames = getArpInterfaceNames();
             detectionChecks += interfaceNames.size();
         }
 
@@ -327,7 +345,7 @@ public class PresenceDetection implements IPRequestReceivedCallback {
             return false;
         }
 
-        final ExecutorService executorService = getThreadsFor(detectionChecks);
+        final ExecutorService executorService = createDetectionExecutor();
         this.executorService = executorService;
 
         for (Integer tcpPort : tcpPorts) {
@@ -360,7 +378,7 @@ public class PresenceDetection implements IPRequestReceivedCallback {
         // ICMP ping
         if (pingMethod != null) {
             executorService.execute(() -> {
-                if (pingMethod != IpPingMethodEnum.JAVA_PING) {
+                if (pingMethod != IpPingMethodEnum.JAVA_PING && pingMethod != IpPingMethodEnum.JAVA_ICMP_PING) {
                     Thread.currentThread().setName("presenceDetectionICMP_" + hostname);
                     performSystemPing();
                 } else {
@@ -377,6 +395,21 @@ public class PresenceDetection implements IPRequestReceivedCallback {
         return true;
     }
 
+    /**
+     * Get the interfaces to send ARP requests on. Only interfaces on the network of the destination can get an answer,
+     * all interfaces are used if there is none (or the destination is not resolved yet).
+     */
+    private Set<String> getArpInterfaceNames() {
+        InetAddress destinationAddress = destination.getValue();
+        if (destinationAddress != null) {
+            Set<String> interfaceNames = networkUtils.getInterfaceNames(destinationAddress);
+            if (!interfaceNames.isEmpty()) {
+                return interfaceNames;
+            }
+        }
+        return networkUtils.getInterfaceNames();
+    }
+
     /**
      * Calls updateListener.finalDetectionResult() with a final result value.
      * Safe to be called from different threads. After a call to this method,
@@ -0,0 +1,154 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.network.internal;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+
+/**
+ * The {@link PresenceDetectionExecutor} runs the checks of a single presence detection on a shared thread pool.
+ * It behaves like an own thread pool for the detection: {@link #shutdownNow()} interrupts the checks of this
+ * detection only, and {@link #awaitTermination(long, TimeUnit)} waits until they have returned.
+ *
+ * @author openHAB Contributors - Initial contribution
+ */
+@NonNullByDefault
+class PresenceDetectionExecutor extends AbstractExecutorService {
+    private final Executor executor;
+
+    // all guarded by this
+    private final Set<Task> tasks = new HashSet<>();
+    private boolean shutdown;
+
+    PresenceDetectionExecutor(Executor executor) {
+        this.executor = executor;
+    }
+
+    @Override
+    public void execute(Runnable command) {
+        Task task = new Task(command);
+        synchronized (this) {
+            if (shutdown) {
+                throw new RejectedExecutionException("Presence detection already finished");
+            }
+            tasks.add(task);
+        }
+        try {
+            executor.execute(task);
+        } catch (RejectedExecutionException e) {
+            finished(task);
+            throw e;
+        }
+    }
+
+    @Override
+    public synchronized void shutdown() {
+        shutdown = true;
+        notifyAll();
+    }
+
+    @Override
+    public List<Runnable> shutdownNow() {
+        List<Task> running = new ArrayList<>();
+        List<Runnable> notStarted = new ArrayList<>();
+        synchronized (this) {
+            shutdown();
+            for (Iterator<Task> iterator = tasks.iterator(); iterator.hasNext();) {
+                Task task = iterator.next();
+                if (task.started) {
+                    running.add(task);
+                } else {
+                    // it will not run when the shared pool gets to it
+                    iterator.remove();
+                    task.cancel(false);
+                    notStarted.add(task.command);
+                }
+            }
+        }
+        for (Task task : running) {
+            task.cancel(true);
+        }
+        return notStarted;
+    }
+
+    @Override
+    public synchronized boolean isShutdown() {
+        return shutdown;
+    }
+
+    @Override
+    public synchronized boolean isTerminated() {
+        return shutdown && tasks.isEmpty();
+    }
+
+    @Override
+    public synchronized boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        while (!isTerminated()) {
+            long remaining = deadline - System.nanoTime();
+            if (remaining <= 0) {
+                return false;
+            }
+            TimeUnit.NANOSECONDS.timedWait(this, remaining);
+        }
+        return true;
+    }
+
+    private synchronized void finished(Task task) {
+        tasks.remove(task);
+        notifyAll();
+    }
+
+    /**
+     * A check, which is only removed from the running tasks once it has returned, even if it has been cancelled
+     */
+    private class Task extends FutureTask<Void> {
+        private final Runnable command;
+        private boolean started; // guarded by the executor
+
+        Task(Runnable command) {
+            super(command, null);
+            this.command = command;
+        }
+
+        @Override
+        public void run() {
+            synchronized (PresenceDetectionExecutor.this) {
+                if (!tasks.contains(this)) {
+                    // dropped by shutdownNow() before it started
+                    return;
+                }
+                started = true;
+            }
+            // the checks name the pooled thread after the device
+            Thread thread = Thread.currentThread();
+            String name = thread.getName();
+            try {
+                super.run();
+            } finally {
+                thread.setName(name);
+                finished(this);
+            }
+        }
+    }
+}
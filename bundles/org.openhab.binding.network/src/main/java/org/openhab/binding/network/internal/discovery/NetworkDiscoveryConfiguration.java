@@ -0,0 +1,32 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.network.internal.discovery;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+
+/**
+ * Contains the configuration of the discovery. The field names represent the configuration
+ * names.
+ *
+ * @author openHAB Contributors - Initial contribution
+ */
+@NonNullByDefault
+public class NetworkDiscoveryConfiguration {
+    // the maximum number of connects in flight
+    public int tcpScanWindow = 256;
+    public int tcpScanTimeoutInMS = NetworkDiscoveryService.PING_TIMEOUT_IN_MS;
+    // the maximum number of addresses per interface, 0 for all. The default covers a /20 network
+    public int tcpScanMaxAddresses = NetworkDiscoveryService.MAXIMUM_TCP_IPS_PER_INTERFACE;
+    // the maximum number of addresses per interface that are pinged, 0 for all. The default covers a /24 network
+    public int pingScanMaxAddresses = NetworkDiscoveryService.MAXIMUM_PING_IPS_PER_INTERFACE;
+}
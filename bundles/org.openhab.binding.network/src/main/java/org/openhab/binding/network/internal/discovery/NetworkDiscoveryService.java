@@ -14,8 +14,14 @@ package org.openhab.binding.network.internal.discovery;
 
 import static org.openhab.binding.network.internal.NetworkBindingConstants.*;
 
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -33,6 +39,7 @@ import org.openhab.binding.network.internal.PresenceDetection;
 import org.openhab.binding.network.internal.PresenceDetectionListener;
 import org.openhab.binding.network.internal.PresenceDetectionValue;
 import org.openhab.binding.network.internal.utils.NetworkUtils;
+import org.openhab.core.common.NamedThreadFactory;
 import org.openhab.core.config.core.Configuration;
 import org.openhab.core.config.discovery.AbstractDiscoveryService;
 import org.openhab.core.config.discovery.DiscoveryResultBuilder;
@@ -49,6 +56,13 @@ import org.slf4j.LoggerFactory;
  * The {@link NetworkDiscoveryService} is responsible for discovering devices on
  * the current Network. It uses every Network Interface which is connected to a network.
  * It tries common TCP ports to connect to, ICMP pings and ARP pings.
+ * <p>
+ * The TCP ports of all addresses are scanned by a single {@link TcpPortScanner} with non-blocking connects, the
+ * pings are performed per address on a thread pool. The port scan is cheap and therefore covers a larger part of
+ * bigger networks than the pings, see {@link NetworkDiscoveryConfiguration}.
+ * <p>
+ * Service devices are reported as soon as a port is found open. A device that answers pings is only reported as
+ * ping device: its service devices are removed again once the ping succeeds.
  *
  * @author Marc Mettke - Initial contribution
  * @author David Graeff - Rewritten
@@ -57,7 +71,8 @@ import org.slf4j.LoggerFactory;
 @Component(service = DiscoveryService.class, configurationPid = "discovery.network")
 public class NetworkDiscoveryService extends AbstractDiscoveryService implements PresenceDetectionListener {
     static final int PING_TIMEOUT_IN_MS = 500;
-    static final int MAXIMUM_IPS_PER_INTERFACE = 255;
+    static final int MAXIMUM_PING_IPS_PER_INTERFACE = 255;
+    static final int MAXIMUM_TCP_IPS_PER_INTERFACE = 4094;
     private static final long DISCOVERY_RESULT_TTL = TimeUnit.MINUTES.toSeconds(10);
     private final Logger logger = LoggerFactory.getLogger(NetworkDiscoveryService.class);
 
@@ -66,15 +81,22 @@ public class NetworkDiscoveryService extends AbstractDiscoveryService implements
     // TCP port 1025 (Xbox / MS-RPC)
     private Set<Integer> tcpServicePorts = Collections
             .unmodifiableSet(Stream.of(80, 548, 554, 1025).collect(Collectors.toSet()));
-    private AtomicInteger scannedIPcount = new AtomicInteger(0);
+    private AtomicInteger pendingScans = new AtomicInteger(0);
+    // all guarded by reachableServices
+    private final Map<String, Set<Integer>> reachableServices = new HashMap<>();
+    private final Set<String> pingableIPs = new HashSet<>();
     private @Nullable ExecutorService executorService = null;
+    // Runs the checks of the pings, the threads of the cached pool are released while no scan is running
+    private final ExecutorService checkExecutorService = Executors
+            .newCachedThreadPool(new NamedThreadFactory("network-discovery", true));
+    private @Nullable TcpPortScanner tcpPortScanner = null;
     private final NetworkBindingConfiguration configuration = new NetworkBindingConfiguration();
+    private NetworkDiscoveryConfiguration discoveryConfiguration = new NetworkDiscoveryConfiguration();
     private final NetworkUtils networkUtils = new NetworkUtils();
 
     public NetworkDiscoveryService() {
-        super(SUPPORTED_THING_TYPES_UIDS, (int) Math.round(
-                new NetworkUtils().getNetworkIPs(MAXIMUM_IPS_PER_INTERFACE).size() * (PING_TIMEOUT_IN_MS / 1000.0)),
-                false);
+        super(SUPPORTED_THING_TYPES_UIDS, (int) Math.round(new NetworkUtils()
+                .getNetworkIPs(MAXIMUM_PING_IPS_PER_INTERFACE).size() * (PING_TIMEOUT_IN_MS / 1000.0)), false);
     }
 
     @Override
@@ -92,6 +114,7 @@ public class NetworkDiscoveryService extends AbstractDiscoveryService implements
         // configuration, the values are automatically available in all handlers. Because they all
         // share the same instance.
         configuration.update(new Configuration(config).as(NetworkBindingConfiguration.class));
+        discoveryConfiguration = new Configuration(config).as(NetworkDiscoveryConfiguration.class);
     }
 
     @Override
@@ -100,6 +123,11 @@ public class NetworkDiscoveryService extends AbstractDiscoveryService implements
         if (executorService != null) {
             executorService.shutdown();
         }
+        checkExecutorService.shutdownNow();
+        TcpPortScanner scanner = tcpPortScanner;
+        if (scanner != null) {
+            scanner.stop();
+        }
         super.deactivate();
     }
 
@@ -107,13 +135,39 @@ public class NetworkDiscoveryService extends AbstractDiscoveryService implements
     public void partialDetectionResult(PresenceDetectionValue value) {
         final String ip = value.getHostAddress();
         if (value.isPingReachable()) {
-            newPingDevice(ip);
+            pingReachable(ip);
         } else if (value.isTCPServiceReachable()) {
             List<Integer> tcpServices = value.getReachableTCPports();
             for (int port : tcpServices) {
-                newServiceDevice(ip, port);
+                serviceReachable(ip, port);
+            }
+        }
+    }
+
+    private void pingReachable(String ip) {
+        final Set<Integer> ports;
+        synchronized (reachableServices) {
+            if (!pingableIPs.add(ip)) {
+                return;
+            }
+            ports = reachableServices.remove(ip);
+        }
+        newPingDevice(ip);
+        if (ports != null) {
+            for (int port : ports) {
+                thingRemoved(createServiceUID(ip, port));
+            }
+        }
+    }
+
+    private void serviceReachable(String ip, int tcpPort) {
+        synchronized (reachableServices) {
+            if (pingableIPs.contains(ip)) {
+                return;
             }
+            reachableServices.computeIfAbsent(ip, key -> new HashSet<>()).add(tcpPort);
         }
+        newServiceDevice(ip, tcpPort);
     }
 
     @Override
@@ -126,7 +180,8 @@ public class NetworkDiscoveryService extends AbstractDiscoveryService implements
     @Override
     protected void startScan() {
         if (executorService == null) {
-            executorService = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors() * 2);
+            // One more thread for the TCP port scan, so it does not take a thread of the pings
+            executorService = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors() * 2 + 1);
         }
         final ExecutorService service = executorService;
         if (service == null) {
@@ -134,12 +189,45 @@ public class NetworkDiscoveryService extends AbstractDiscoveryService implements
         }
         removeOlderResults(getTimestampOfLastScan(), null);
         logger.trace("Starting Network Device Discovery");
+        synchronized (reachableServices) {
+            reachableServices.clear();
+            pingableIPs.clear();
+        }
+
+        final NetworkDiscoveryConfiguration discoveryConfig = discoveryConfiguration;
+        final Set<String> pingIPs = networkUtils.getNetworkIPs(discoveryConfig.pingScanMaxAddresses);
+        final Set<String> tcpIPs = new LinkedHashSet<>(pingIPs);
+        tcpIPs.addAll(networkUtils.getNetworkIPs(discoveryConfig.tcpScanMaxAddresses));
+        // the TCP scan is counted as one more scan
+        pendingScans.set(pingIPs.size() + 1);
 
-        final Set<String> networkIPs = networkUtils.getNetworkIPs(MAXIMUM_IPS_PER_INTERFACE);
-        scannedIPcount.set(0);
+        final TcpPortScanner scanner = new TcpPortScanner(discoveryConfig.tcpScanWindow,
+                discoveryConfig.tcpScanTimeoutInMS);
+        tcpPortScanner = scanner;
+        service.execute(() -> {
+            Thread.currentThread().setName("Discovery thread TCP");
+            List<InetAddress> addresses = new ArrayList<>();
+            for (String ip : tcpIPs) {
+                try {
+                    addresses.add(InetAddress.getByName(ip));
+                } catch (UnknownHostException e) {
+                    logger.trace("Skipping TCP scan of invalid address {}", ip);
+                }
+            }
+            final long start = System.nanoTime();
+            try {
+                int ports = scanner.scan(addresses, tcpServicePorts,
+                        address -> serviceReachable(address.getAddress().getHostAddress(), address.getPort()));
+                logger.debug("TCP scan of {} IPs finished in {} ms, {} ports scanned", addresses.size(),
+                        TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start), ports);
+            } catch (IOException e) {
+                logger.debug("TCP port scan failed: {}", e.getMessage());
+            }
+            scanFinished(pingIPs.size());
+        });
 
-        for (String ip : networkIPs) {
-            final PresenceDetection s = new PresenceDetection(this, 2000);
+        for (String ip : pingIPs) {
+            final PresenceDetection s = new PresenceDetection(this, 2000, checkExecutorService);
             s.setHostname(ip);
             s.setIOSDevice(true);
             s.setUseDhcpSniffing(false);
@@ -147,24 +235,32 @@ public class NetworkDiscoveryService extends AbstractDiscoveryService implements
             // Ping devices
             s.setUseIcmpPing(true);
             s.setUseArpPing(true, configuration.arpPingToolPath, configuration.arpPingUtilMethod);
-            // TCP devices
-            s.setServicePorts(tcpServicePorts);
+            // TCP devices are found by the port scan
+            s.setServicePorts(Collections.emptySet());
 
             service.execute(() -> {
                 Thread.currentThread().setName("Discovery thread " + ip);
                 s.performPresenceDetection(true);
-                int count = scannedIPcount.incrementAndGet();
-                if (count == networkIPs.size()) {
-                    logger.trace("Scan of {} IPs successful", scannedIPcount);
-                    stopScan();
-                }
+                scanFinished(pingIPs.size());
             });
         }
     }
 
+    private void scanFinished(int pingCount) {
+        if (pendingScans.decrementAndGet() == 0) {
+            logger.trace("Scan of {} IPs successful", pingCount);
+            stopScan();
+        }
+    }
+
     @Override
     protected synchronized void stopScan() {
         super.stopScan();
+        final TcpPortScanner scanner = tcpPortScanner;
+        if (scanner != null) {
+            scanner.stop();
+            tcpPortScanner = null;
+        }
         final ExecutorService service = executorService;
         if (service == null) {
             return;
@@ -0,0 +1,212 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.network.internal.discovery;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.function.Consumer;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+
+/**
+ * The {@link TcpPortScanner} tries to connect to TCP ports of many addresses with non-blocking connects on a single
+ * thread. At most a window of connects is in flight at any time, each of them is abandoned after the timeout.
+ *
+ * @author openHAB Contributors - Initial contribution
+ */
+@NonNullByDefault
+class TcpPortScanner {
+    private final int window;
+    private final int timeoutInMS;
+
+    private volatile boolean stopped;
+    private volatile @Nullable Selector selector;
+
+    /**
+     * @param window the maximum number of connects in flight
+     * @param timeoutInMS the timeout of a connect in ms
+     */
+    TcpPortScanner(int window, int timeoutInMS) {
+        this.window = Math.max(1, window);
+        this.timeoutInMS = Math.max(1, timeoutInMS);
+    }
+
+    /**
+     * Scan the ports of the addresses. Blocks until all ports are scanned or the scan is stopped.
+     *
+     * @param addresses the addresses
+     * @param ports the TCP ports to connect to on every address
+     * @param openPortConsumer called on the scanning thread for every open port as soon as it is found
+     * @return the number of ports scanned
+     * @throws IOException if the selector can't be opened
+     */
+    int scan(Iterable<InetAddress> addresses, Collection<Integer> ports, Consumer<InetSocketAddress> openPortConsumer)
+            throws IOException {
+        Iterator<InetSocketAddress> targets = targets(addresses, ports);
+        // all connects have the same timeout, so the oldest one expires first, finished ones are removed lazily
+        Deque<SelectionKey> inFlight = new ArrayDeque<>();
+        int scanned = 0;
+        int pending = 0;
+
+        try (Selector selector = Selector.open()) {
+            this.selector = selector;
+            while (!stopped) {
+                while (pending < window && targets.hasNext()) {
+                    if (connect(selector, targets.next(), inFlight, openPortConsumer)) {
+                        pending++;
+                    }
+                    scanned++;
+                }
+
+                long now = System.nanoTime();
+                SelectionKey oldest = inFlight.peekFirst();
+                while (oldest != null && (!oldest.isValid() || ((Attempt) oldest.attachment()).deadline - now <= 0)) {
+                    if (close(inFlight.removeFirst())) {
+                        // timed out
+                        pending--;
+                    }
+                    oldest = inFlight.peekFirst();
+                }
+                if (oldest == null) {
+                    if (targets.hasNext()) {
+                        continue;
+                    }
+                    break;
+                }
+
+                long waitInMS = Math.max(1, (((Attempt) oldest.attachment()).deadline - now) / 1000000);
+                selector.select(waitInMS);
+                for (SelectionKey key : selector.selectedKeys()) {
+                    SocketChannel channel = (SocketChannel) key.channel();
+                    try {
+                        if (channel.finishConnect()) {
+                            openPortConsumer.accept(((Attempt) key.attachment()).target);
+                        }
+                    } catch (IOException e) {
+                        // refused or unreachable
+                    }
+                    close(key);
+                    pending--;
+                }
+                selector.selectedKeys().clear();
+            }
+        } finally {
+            this.selector = null;
+            inFlight.forEach(TcpPortScanner::close);
+        }
+        return scanned;
+    }
+
+    /**
+     * Stop a running scan, open connects are abandoned
+     */
+    void stop() {
+        stopped = true;
+        Selector selector = this.selector;
+        if (selector != null) {
+            selector.wakeup();
+        }
+    }
+
+    /**
+     * @return true if the connect is in flight
+     */
+    private boolean connect(Selector selector, InetSocketAddress target, Deque<SelectionKey> inFlight,
+            Consumer<InetSocketAddress> openPortConsumer) {
+        SocketChannel channel = null;
+        try {
+            channel = SocketChannel.open();
+            channel.configureBlocking(false);
+            if (channel.connect(target)) {
+                channel.close();
+                openPortConsumer.accept(target);
+                return false;
+            }
+            long deadline = System.nanoTime() + timeoutInMS * 1000000L;
+            inFlight.addLast(channel.register(selector, SelectionKey.OP_CONNECT, new Attempt(target, deadline)));
+            return true;
+        } catch (IOException e) {
+            // e.g. no route to host, nothing to wait for
+            if (channel != null) {
+                try {
+                    channel.close();
+                } catch (IOException ignored) {
+                }
+            }
+            return false;
+        }
+    }
+
+    /**
+     * @return true if the key was still valid
+     */
+    private static boolean close(SelectionKey key) {
+        boolean valid = key.isValid();
+        key.cancel();
+        try {
+            key.channel().close();
+        } catch (IOException ignored) {
+        }
+        return valid;
+    }
+
+    private static Iterator<InetSocketAddress> targets(Iterable<InetAddress> addresses, Collection<Integer> ports) {
+        Iterator<InetAddress> addressIterator = addresses.iterator();
+        return new Iterator<>() {
+            private @Nullable InetAddress address;
+            private Iterator<Integer> portIterator = ports.iterator();
+
+            @Override
+            public boolean hasNext() {
+                while (address == null || !portIterator.hasNext()) {
+                    if (!addressIterator.hasNext() || ports.isEmpty()) {
+                        return false;
+                    }
+                    address = addressIterator.next();
+                    portIterator = ports.iterator();
+                }
+                return true;
+            }
+
+            @Override
+            public InetSocketAddress next() {
+                hasNext();
+                InetAddress address = this.address;
+                if (address == null) {
+                    throw new NoSuchElementException();
+                }
+                return new InetSocketAddress(address, portIterator.next());
+            }
+        };
+    }
+
+    private static class Attempt {
+        private final InetSocketAddress target;
+        private final long deadline;
+
+        Attempt(InetSocketAddress target, long deadline) {
+            this.target = target;
+            this.deadline = deadline;
+        }
+    }
+}
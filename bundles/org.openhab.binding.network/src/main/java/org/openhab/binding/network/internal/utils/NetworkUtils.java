@@ -21,6 +21,7 @@ import java.net.DatagramSocket;
 import java.net.Inet4Address;
 import java.net.InetAddress;
 import java.net.InetSocketAddress;
+import java.net.InterfaceAddress;
 import java.net.NetworkInterface;
 import java.net.NoRouteToHostException;
 import java.net.PortUnreachableException;
@@ -28,6 +29,9 @@ import java.net.Socket;
 import java.net.SocketAddress;
 import java.net.SocketException;
 import java.net.SocketTimeoutException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.time.Duration;
 import java.util.Enumeration;
 import java.util.HashSet;
@@ -35,6 +39,7 @@ import java.util.LinkedHashSet;
 import java.util.Optional;
 import java.util.Set;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import org.apache.commons.lang3.SystemUtils;
 import org.apache.commons.net.util.SubnetUtils;
@@ -53,6 +58,11 @@ import org.slf4j.LoggerFactory;
  */
 @NonNullByDefault
 public class NetworkUtils {
+    private static final int CAP_NET_RAW = 13;
+
+    // the result of the feature test is the same for all devices
+    private static volatile @Nullable IpPingMethodEnum pingMethod;
+
     private final Logger logger = LoggerFactory.getLogger(NetworkUtils.class);
 
     private LatencyParser latencyParser = new LatencyParser();
@@ -91,6 +101,44 @@ public class NetworkUtils {
         return result;
     }
 
+    /**
+     * Get the names of the interfaces on the IPv4 network of the given address. ARP requests for the address can only
+     * be answered on these interfaces.
+     *
+     * @param address The address
+     * @return Set of interface names, empty if no interface is on the network of the address
+     */
+    public Set<String> getInterfaceNames(InetAddress address) {
+        Set<String> result = new HashSet<>();
+        if (!(address instanceof Inet4Address)) {
+            return result;
+        }
+        int destination = ByteBuffer.wrap(address.getAddress()).getInt();
+
+        try {
+            for (Enumeration<NetworkInterface> en = NetworkInterface.getNetworkInterfaces(); en.hasMoreElements();) {
+                NetworkInterface networkInterface = en.nextElement();
+                if (networkInterface.isLoopback()) {
+                    continue;
+                }
+                for (InterfaceAddress interfaceAddress : networkInterface.getInterfaceAddresses()) {
+                    InetAddress localAddress = interfaceAddress.getAddress();
+                    short prefix = interfaceAddress.getNetworkPrefixLength();
+                    if (localAddress instanceof Inet4Address && prefix > 0 && prefix <= 32) {
+                        int mask = -1 << (32 - prefix);
+                        if ((ByteBuffer.wrap(localAddress.getAddress()).getInt() & mask) == (destination & mask)) {
+                            result.add(networkInterface.getName());
+                        }
+                    }
+                }
+            }
+        } catch (SocketException ignored) {
+            // If we are not allowed to enumerate, we return an empty result set.
+        }
+
+        return result;
+    }
+
     /**
      * Determines every IP which can be assigned on all available interfaces
      *
@@ -169,10 +217,27 @@ public class NetworkUtils {
     }
 
     /**
-     * Return the working method for the native system ping. If no native ping
-     * works JavaPing is returned.
+     * Return the working method for the system ping. If the JVM may send ICMP echo requests itself, no native ping
+     * is needed and JavaIcmpPing is returned. If no native ping works JavaPing is returned.
+     * The feature test is only performed until it succeeds once.
      */
     public IpPingMethodEnum determinePingMethod() {
+        IpPingMethodEnum method = pingMethod;
+        if (method == null) {
+            method = testPingMethod();
+            if (method != IpPingMethodEnum.JAVA_PING) {
+                // a failed test is repeated, the ping utility might just not have worked yet
+                pingMethod = method;
+            }
+        }
+        return method;
+    }
+
+    private IpPingMethodEnum testPingMethod() {
+        if (isJavaIcmpPingPermitted()) {
+            return IpPingMethodEnum.JAVA_ICMP_PING;
+        }
+
         IpPingMethodEnum method;
         if (SystemUtils.IS_OS_WINDOWS) {
             method = IpPingMethodEnum.WINDOWS_PING;
@@ -197,6 +262,24 @@ public class NetworkUtils {
         return IpPingMethodEnum.JAVA_PING;
     }
 
+    /**
+     * Return true if the JVM may open raw sockets. The Java ping ({@link InetAddress#isReachable(int)}) then sends
+     * ICMP echo requests and matches the replies itself, instead of falling back to a TCP connection to the echo
+     * port. This is only known for Linux, where the effective capabilities of the process are checked.
+     */
+    public boolean isJavaIcmpPingPermitted() {
+        if (!SystemUtils.IS_OS_LINUX) {
+            return false;
+        }
+        try (Stream<String> lines = Files.lines(Path.of("/proc/self/status"))) {
+            return lines.filter(line -> line.startsWith("CapEff:")).findFirst()
+                    .map(line -> (Long.parseUnsignedLong(line.substring(7).trim(), 16) & (1L << CAP_NET_RAW)) != 0)
+                    .orElse(false);
+        } catch (IOException | NumberFormatException e) {
+            return false;
+        }
+    }
+
     /**
      * Return true if the external arp ping utility (arping) is available and executable on the given path.
      */
@@ -220,6 +303,7 @@ public class NetworkUtils {
 
     public enum IpPingMethodEnum {
         JAVA_PING,
+        JAVA_ICMP_PING,
         WINDOWS_PING,
         IPUTILS_LINUX_PING,
         MAC_OS_PING
@@ -255,6 +339,7 @@ public class NetworkUtils {
                 proc = new ProcessBuilder("ping", "-w", String.valueOf(timeoutInMS), "-n", "1", hostname).start();
                 break;
             case JAVA_PING:
+            case JAVA_ICMP_PING:
             default:
                 // We cannot estimate the command line for any other operating system and just return false
                 return Optional.empty();
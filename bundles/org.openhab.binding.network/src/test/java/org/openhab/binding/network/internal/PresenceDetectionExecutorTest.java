@@ -0,0 +1,157 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.network.internal;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests cases for {@see PresenceDetectionExecutor}
+ *
+ * @author openHAB Contributors - Initial contribution
+ */
+public class PresenceDetectionExecutorTest {
+    private final ExecutorService shared = Executors.newCachedThreadPool();
+
+    @AfterEach
+    public void shutDown() {
+        shared.shutdownNow();
+    }
+
+    @Test
+    public void terminatedWhenChecksFinished() throws InterruptedException {
+        PresenceDetectionExecutor executor = new PresenceDetectionExecutor(shared);
+        CountDownLatch release = new CountDownLatch(1);
+        executor.execute(() -> {
+            try {
+                release.await();
+            } catch (InterruptedException ignored) {
+            }
+        });
+        executor.shutdown();
+
+        assertFalse(executor.awaitTermination(50, TimeUnit.MILLISECONDS));
+        release.countDown();
+        assertTrue(executor.awaitTermination(1, TimeUnit.SECONDS));
+        assertThrows(RejectedExecutionException.class, () -> executor.execute(() -> {
+        }));
+    }
+
+    @Test
+    public void shutdownNowInterruptsOnlyOwnChecks() throws InterruptedException {
+        PresenceDetectionExecutor executor = new PresenceDetectionExecutor(shared);
+        PresenceDetectionExecutor other = new PresenceDetectionExecutor(shared);
+        CountDownLatch started = new CountDownLatch(2);
+        CountDownLatch interrupted = new CountDownLatch(1);
+        CountDownLatch otherRelease = new CountDownLatch(1);
+
+        executor.execute(() -> {
+            Thread.currentThread().setName("presenceDetectionTCP_test");
+            started.countDown();
+            try {
+                Thread.sleep(10000);
+            } catch (InterruptedException e) {
+                interrupted.countDown();
+            }
+        });
+        other.execute(() -> {
+            started.countDown();
+            try {
+                otherRelease.await();
+            } catch (InterruptedException ignored) {
+            }
+        });
+        assertTrue(started.await(1, TimeUnit.SECONDS));
+
+        assertThat(executor.shutdownNow().size(), is(0));
+        assertTrue(interrupted.await(1, TimeUnit.SECONDS));
+        assertTrue(executor.awaitTermination(1, TimeUnit.SECONDS));
+        assertFalse(other.isShutdown());
+        assertFalse(other.isTerminated());
+
+        otherRelease.countDown();
+        other.shutdown();
+        assertTrue(other.awaitTermination(1, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void awaitTerminationWaitsForInterruptedChecksToReturn() throws InterruptedException {
+        PresenceDetectionExecutor executor = new PresenceDetectionExecutor(shared);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch interrupted = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        // a check which does not stop right away when it is interrupted
+        executor.execute(() -> {
+            started.countDown();
+            try {
+                Thread.sleep(10000);
+            } catch (InterruptedException e) {
+                interrupted.countDown();
+            }
+            try {
+                release.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException ignored) {
+            }
+        });
+        assertTrue(started.await(1, TimeUnit.SECONDS));
+
+        assertThat(executor.shutdownNow().size(), is(0));
+        assertTrue(interrupted.await(1, TimeUnit.SECONDS));
+        assertTrue(executor.isShutdown());
+        assertFalse(executor.isTerminated());
+        assertFalse(executor.awaitTermination(100, TimeUnit.MILLISECONDS));
+
+        release.countDown();
+        assertTrue(executor.awaitTermination(1, TimeUnit.SECONDS));
+        assertTrue(executor.isTerminated());
+    }
+
+    @Test
+    public void shutdownNowReturnsChecksNotStarted() throws InterruptedException {
+        List<Runnable> queued = new ArrayList<>();
+        PresenceDetectionExecutor executor = new PresenceDetectionExecutor(queued::add);
+        Runnable check = () -> fail("dropped check must not run");
+        executor.execute(check);
+
+        assertThat(executor.shutdownNow(), is(List.of(check)));
+        assertTrue(executor.awaitTermination(0, TimeUnit.MILLISECONDS));
+
+        // the shared pool gets to it later
+        queued.forEach(Runnable::run);
+        assertTrue(executor.isTerminated());
+    }
+
+    @Test
+    public void rejectedCheckIsNotWaitedFor() throws InterruptedException {
+        PresenceDetectionExecutor executor = new PresenceDetectionExecutor(command -> {
+            throw new RejectedExecutionException();
+        });
+        assertThrows(RejectedExecutionException.class, () -> executor.execute(() -> {
+        }));
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(0, TimeUnit.MILLISECONDS));
+    }
+}
@@ -23,6 +23,7 @@ import java.net.UnknownHostException;
 import java.util.Collections;
 import java.util.Optional;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Consumer;
 
@@ -59,6 +60,8 @@ public class PresenceDetectionTest {
     private @Mock PresenceDetectionListener listener;
     private @Mock NetworkUtils networkUtils;
 
+    private final ExecutorService checkExecutor = Executors.newCachedThreadPool();
+
     @BeforeEach
     public void setUp() throws UnknownHostException {
         // Mock an interface
@@ -66,7 +69,7 @@ public class PresenceDetectionTest {
         doReturn(ArpPingUtilEnum.IPUTILS_ARPING).when(networkUtils).determineNativeARPpingMethod(anyString());
         doReturn(IpPingMethodEnum.WINDOWS_PING).when(networkUtils).determinePingMethod();
 
-        subject = spy(new PresenceDetection(listener, (int) CACHETIME));
+        subject = spy(new PresenceDetection(listener, (int) CACHETIME, checkExecutor));
         subject.networkUtils = networkUtils;
         subject.cache = spy(new ExpiringCacheAsync<>(CACHETIME, () -> {
             subject.performPresenceDetection(false);
@@ -87,6 +90,7 @@ public class PresenceDetectionTest {
     @AfterEach
     public void shutDown() {
         subject.waitForPresenceDetection();
+        checkExecutor.shutdownNow();
     }
 
     // Depending on the amount of test methods an according amount of threads is spawned.
@@ -142,7 +146,7 @@ public class PresenceDetectionTest {
                 .nativeARPPing(eq(ArpPingUtilEnum.IPUTILS_ARPING), anyString(), anyString(), any(), anyInt());
         doReturn(Optional.of(new PingResult(true, 10))).when(networkUtils).servicePing(anyString(), anyInt(), anyInt());
 
-        doReturn(executorService).when(subject).getThreadsFor(anyInt());
+        doReturn(executorService).when(subject).createDetectionExecutor();
 
         // We expect no valid value
         assertTrue(subject.cache.isExpired());
@@ -14,7 +14,7 @@ package org.openhab.binding.network.internal.discovery;
 
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.MatcherAssert.assertThat;
-import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
 
 import java.util.Collections;
@@ -88,4 +88,30 @@ public class DiscoveryTest {
         assertThat(dresult.getProperties().get(NetworkBindingConstants.PARAMETER_HOSTNAME), is(ip));
         assertThat(dresult.getProperties().get(NetworkBindingConstants.PARAMETER_PORT), is(1010));
     }
+
+    @Test
+    public void pingDeviceReplacesServiceDevice() {
+        NetworkDiscoveryService d = new NetworkDiscoveryService();
+        d.addDiscoveryListener(listener);
+
+        // The port scan finds the device first
+        when(value.isPingReachable()).thenReturn(false);
+        when(value.isTCPServiceReachable()).thenReturn(true);
+        when(value.getReachableTCPports()).thenReturn(Collections.singletonList(1010));
+        d.partialDetectionResult(value);
+
+        // A device answering pings is only reported as ping device
+        when(value.isPingReachable()).thenReturn(true);
+        d.partialDetectionResult(value);
+        verify(listener).thingRemoved(any(), eq(NetworkDiscoveryService.createServiceUID(ip, 1010)));
+
+        ArgumentCaptor<DiscoveryResult> result = ArgumentCaptor.forClass(DiscoveryResult.class);
+        verify(listener, times(2)).thingDiscovered(any(), result.capture());
+        assertThat(result.getValue().getThingUID(), is(NetworkDiscoveryService.createPingUID(ip)));
+
+        // Ports found after the ping are not reported
+        when(value.isPingReachable()).thenReturn(false);
+        d.partialDetectionResult(value);
+        verify(listener, times(2)).thingDiscovered(any(), any());
+    }
 }
@@ -0,0 +1,108 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.network.internal.discovery;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests cases for {@see TcpPortScanner} against listeners on the loopback address
+ *
+ * @author openHAB Contributors - Initial contribution
+ */
+public class TcpPortScannerTest {
+    private final InetAddress loopback = InetAddress.getLoopbackAddress();
+    private final List<ServerSocket> listeners = new ArrayList<>();
+
+    @AfterEach
+    public void shutDown() throws IOException {
+        for (ServerSocket listener : listeners) {
+            listener.close();
+        }
+    }
+
+    private Set<Integer> listen(int count) throws IOException {
+        Set<Integer> ports = new HashSet<>();
+        for (int i = 0; i < count; i++) {
+            ServerSocket listener = new ServerSocket(0, 200, loopback);
+            listeners.add(listener);
+            ports.add(listener.getLocalPort());
+        }
+        return ports;
+    }
+
+    private Set<Integer> closedPorts(int count) throws IOException {
+        Set<Integer> ports = new HashSet<>();
+        for (int i = 0; i < count; i++) {
+            try (ServerSocket socket = new ServerSocket(0, 1, loopback)) {
+                ports.add(socket.getLocalPort());
+            }
+        }
+        return ports;
+    }
+
+    private Set<Integer> scan(int window, Set<Integer> ports) throws IOException {
+        Set<Integer> found = new HashSet<>();
+        int scanned = new TcpPortScanner(window, 2000).scan(List.of(loopback), ports,
+                address -> found.add(address.getPort()));
+        assertThat(scanned, is(ports.size()));
+        return found;
+    }
+
+    @Test
+    public void openPortsFound() throws IOException {
+        Set<Integer> open = listen(10);
+        Set<Integer> ports = new HashSet<>(open);
+        ports.addAll(closedPorts(10));
+
+        assertThat(scan(4, ports), is(open));
+    }
+
+    @Test
+    public void manyPortsScannedWithinWindow() throws IOException {
+        // stands in for a benchmark: 200 connects take a few milliseconds instead of one thread each
+        Set<Integer> open = listen(100);
+        Set<Integer> ports = new HashSet<>(open);
+        ports.addAll(closedPorts(100));
+
+        long start = System.nanoTime();
+        assertThat(scan(16, ports), is(open));
+        assertThat((System.nanoTime() - start) / 1000000 < 2000, is(true));
+    }
+
+    @Test
+    public void noPortsNoScan() throws IOException {
+        assertThat(scan(16, Set.of()), is(Set.of()));
+    }
+
+    @Test
+    public void stoppedScanReturns() throws IOException {
+        TcpPortScanner scanner = new TcpPortScanner(16, 2000);
+        scanner.stop();
+
+        assertThat(scanner.scan(List.of(loopback), listen(1), address -> {
+        }), is(0));
+    }
+}
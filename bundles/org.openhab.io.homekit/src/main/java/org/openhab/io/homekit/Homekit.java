@@ -53,4 +53,14 @@ public interface Homekit {
      * clear all pairings with HomeKit clients
      */
     void clearHomekitPairings();
+
+    /**
+     * returns number of characteristic change notifications sent to HomeKit clients.
+     */
+    long getSentNotifications();
+
+    /**
+     * returns number of characteristic change notifications dropped because they were superseded by a newer change.
+     */
+    long getDroppedNotifications();
 }
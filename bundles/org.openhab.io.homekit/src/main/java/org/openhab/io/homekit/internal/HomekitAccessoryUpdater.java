@@ -16,6 +16,7 @@ import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.openhab.core.common.ThreadPoolManager;
 import org.openhab.core.items.GenericItem;
 import org.openhab.core.items.Item;
 import org.openhab.core.items.StateChangeListener;
@@ -29,13 +30,33 @@ import io.github.hapjava.characteristics.HomekitCharacteristicChangeCallback;
  * Subscribes and unsubscribes from Item changes to enable notification to HomeKit
  * clients. Each item/key pair (key is optional) should be unique, as the underlying
  * HomeKit library takes care of insuring only a single subscription exists for
- * each accessory.
+ * each accessory. Change notifications are passed through a {@link HomekitNotificationCoalescer}
+ * to limit the rate of events sent to HomeKit clients.
  *
  * @author Andy Lintner - Initial contribution
  */
 public class HomekitAccessoryUpdater {
     private final Logger logger = LoggerFactory.getLogger(HomekitAccessoryUpdater.class);
     private final ConcurrentMap<ItemKey, Subscription> subscriptionsByName = new ConcurrentHashMap<>();
+    private final HomekitNotificationCoalescer coalescer = new HomekitNotificationCoalescer(
+            ThreadPoolManager.getScheduledPool(ThreadPoolManager.THREAD_POOL_NAME_COMMON));
+
+    /**
+     * apply the notification related settings.
+     *
+     * @param settings HomeKit settings
+     */
+    public void updateSettings(HomekitSettings settings) {
+        coalescer.configure(settings.notificationWindow, settings.notificationMinInterval);
+    }
+
+    public long getSentNotifications() {
+        return coalescer.getSentNotifications();
+    }
+
+    public long getDroppedNotifications() {
+        return coalescer.getDroppedNotifications();
+    }
 
     public void subscribe(GenericItem item, HomekitCharacteristicChangeCallback callback) {
         subscribe(item, null, callback);
@@ -57,7 +78,7 @@ public class HomekitAccessoryUpdater {
                 unsubscribe(item, key);
             }
             logger.trace("Adding subscription for {} / {}", item, key);
-            Subscription subscription = (changedItem, oldState, newState) -> callback.changed();
+            Subscription subscription = (changedItem, oldState, newState) -> coalescer.notify(k, callback);
             item.addStateChangeListener(subscription);
             return subscription;
         });
@@ -74,6 +95,7 @@ public class HomekitAccessoryUpdater {
         subscriptionsByName.computeIfPresent(new ItemKey(item, key), (k, v) -> {
             logger.trace("Removing existing subscription for {} / {}", item, key);
             item.removeStateChangeListener(v);
+            coalescer.cancel(k);
             return null;
         });
     }
@@ -14,16 +14,24 @@ package org.openhab.io.homekit.internal;
 
 import java.time.Clock;
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.ScheduledExecutorService;
+import java.util.stream.Collectors;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
 import org.openhab.core.common.ThreadPoolManager;
 import org.openhab.core.common.registry.RegistryChangeListener;
 import org.openhab.core.items.GroupItem;
@@ -64,6 +72,19 @@ public class HomekitChangeListener implements ItemRegistryChangeListener {
 
     private final Set<String> pendingUpdates = new HashSet<>();
 
+    /**
+     * Structure of each root accessory item, i.e. everything that defines how the accessory looks for HomeKit
+     * (item names, types, labels, group membership and HomeKit metadata, including the group members). The
+     * configuration revision is only bumped if one of these structures changes.
+     */
+    private final Map<String, List<@Nullable Object>> structures = new HashMap<>();
+
+    /**
+     * The item instances an accessory has been created for, compared by identity. Accessories are recreated if the
+     * item instances have been replaced (e.g. items file reloaded), even if the structure did not change.
+     */
+    private final Map<String, Set<Item>> instances = new HashMap<>();
+
     private final ScheduledExecutorService scheduler = ThreadPoolManager
             .getScheduledPool(ThreadPoolManager.THREAD_POOL_NAME_COMMON);
 
@@ -82,6 +103,7 @@ public class HomekitChangeListener implements ItemRegistryChangeListener {
         this.itemRegistry = itemRegistry;
         this.settings = settings;
         this.metadataRegistry = metadataRegistry;
+        updater.updateSettings(settings);
         storage = storageService.getStorage(HomekitAuthInfoImpl.STORAGE_KEY);
         this.applyUpdatesDebouncer = new Debouncer("update-homekit-devices", scheduler, Duration.ofMillis(1000),
                 Clock.systemUTC(), this::applyUpdates);
@@ -118,7 +140,8 @@ public class HomekitChangeListener implements ItemRegistryChangeListener {
         };
         itemRegistry.addRegistryChangeListener(this);
         metadataRegistry.addRegistryChangeListener(metadataChangeListener);
-        itemRegistry.getItems().forEach(this::createRootAccessories);
+        itemRegistry.getItems().forEach(item -> pendingUpdates.add(item.getName()));
+        applyPendingUpdates();
         initialiseRevision();
         logger.info("Created {} HomeKit items.", accessoryRegistry.getAllAccessories().size());
     }
@@ -153,9 +176,18 @@ public class HomekitChangeListener implements ItemRegistryChangeListener {
         markDirty(item);
     }
 
+    /**
+     * All items of a provider have been replaced (e.g. items file reloaded). Rather than dropping all accessories, all
+     * old and new items are marked dirty, so that only accessories whose structure changed are announced to HomeKit
+     * as a new configuration revision.
+     */
     @Override
-    public void allItemsChanged(Collection<String> oldItemNames) {
-        clearAccessories();
+    public synchronized void allItemsChanged(Collection<String> oldItemNames) {
+        logger.trace("All items changed, mark all items dirty");
+        pendingUpdates.addAll(oldItemNames);
+        pendingUpdates.addAll(accessoryRegistry.getAllAccessories().keySet());
+        itemRegistry.getItems().forEach(item -> pendingUpdates.add(item.getName()));
+        applyUpdatesDebouncer.call();
     }
 
     /**
@@ -199,19 +231,75 @@ public class HomekitChangeListener implements ItemRegistryChangeListener {
         storage.put(ACCESSORY_COUNT, "" + lastAccessoryCount);
     }
 
-    private synchronized void applyUpdates() {
+    synchronized void applyUpdates() {
         logger.trace("apply updates");
-        for (final String name : pendingUpdates) {
-            accessoryRegistry.remove(name);
-            logger.trace(" add items {}", name);
-            getItemOptional(name).ifPresent(this::createRootAccessories);
-        }
-        if (!pendingUpdates.isEmpty()) {
+        if (applyPendingUpdates()) {
             makeNewConfigurationRevision();
-            pendingUpdates.clear();
         }
     }
 
+    /**
+     * Recreates the accessories of all pending items whose structure or item instances changed. Unchanged items are
+     * skipped before any accessory is created.
+     *
+     * @return true if the accessory database visible to HomeKit has changed
+     */
+    private synchronized boolean applyPendingUpdates() {
+        if (pendingUpdates.isEmpty()) {
+            return false;
+        }
+        final List<AccessoryUpdate> updates = pendingUpdates.stream().map(this::prepareUpdate)
+                .filter(Objects::nonNull).collect(Collectors.toList());
+        logger.trace("{} pending items, {} accessories to update", pendingUpdates.size(), updates.size());
+        pendingUpdates.clear();
+        boolean changed = false;
+        for (AccessoryUpdate update : updates) {
+            final boolean existed = accessoryRegistry.getAllAccessories().containsKey(update.name);
+            accessoryRegistry.remove(update.name);
+            structures.remove(update.name);
+            instances.remove(update.name);
+            logger.trace(" add items {}", update.name);
+            update.accessories.forEach(accessory -> accessoryRegistry.addRootAccessory(update.name, accessory));
+            final List<@Nullable Object> structure = update.structure;
+            final Set<Item> instance = update.instance;
+            if (!update.accessories.isEmpty() && structure != null && instance != null) {
+                structures.put(update.name, structure);
+                instances.put(update.name, instance);
+            }
+            final boolean exists = !update.accessories.isEmpty();
+            if (existed && exists) {
+                changed |= update.structureChanged;
+            } else {
+                changed |= existed != exists;
+            }
+        }
+        return changed;
+    }
+
+    /**
+     * Determines whether the accessories of the given item need to be recreated and, if so, creates them.
+     *
+     * @param name name of the changed item
+     * @return the accessory update, or null if nothing changed
+     */
+    private @Nullable AccessoryUpdate prepareUpdate(String name) {
+        final Optional<Item> item = getItemOptional(name).filter(this::isRootAccessory);
+        final boolean exists = accessoryRegistry.getAllAccessories().containsKey(name);
+        final @Nullable List<@Nullable Object> structure = item.map(this::getStructure).orElse(null);
+        final @Nullable Set<Item> instance = item.map(this::getInstances).orElse(null);
+        if (!exists && structure == null) {
+            // neither before nor now a HomeKit accessory
+            return null;
+        }
+        final boolean structureChanged = !Objects.equals(structures.get(name), structure);
+        if (exists && !structureChanged && Objects.equals(instances.get(name), instance)) {
+            logger.trace("Accessory {} has not changed", name);
+            return null;
+        }
+        final List<HomekitAccessory> accessories = item.map(this::createRootAccessories).orElse(List.of());
+        return new AccessoryUpdate(name, accessories, structure, instance, structureChanged);
+    }
+
     @Override
     public void updated(Item oldElement, Item element) {
         markDirty(oldElement);
@@ -237,10 +325,16 @@ public class HomekitChangeListener implements ItemRegistryChangeListener {
 
     public void setUpdater(HomekitAccessoryUpdater updater) {
         this.updater = updater;
+        updater.updateSettings(settings);
     }
 
     public void updateSettings(HomekitSettings settings) {
         this.settings = settings;
+        updater.updateSettings(settings);
+    }
+
+    public HomekitAccessoryUpdater getUpdater() {
+        return updater;
     }
 
     public void stop() {
@@ -281,25 +375,102 @@ public class HomekitChangeListener implements ItemRegistryChangeListener {
      *
      * @param item openHAB item
      */
-    private void createRootAccessories(Item item) {
+    private List<HomekitAccessory> createRootAccessories(Item item) {
         final List<Entry<HomekitAccessoryType, HomekitCharacteristicType>> accessoryTypes = HomekitAccessoryFactory
                 .getAccessoryTypes(item, metadataRegistry);
-        final List<GroupItem> groups = HomekitAccessoryFactory.getAccessoryGroups(item, itemRegistry, metadataRegistry);
-        if (!accessoryTypes.isEmpty()
-                && (groups.isEmpty() || groups.stream().noneMatch(g -> g.getBaseItem() == null))) {
-            logger.trace("Item {} is a HomeKit accessory of types {}", item.getName(), accessoryTypes);
-            final HomekitOHItemProxy itemProxy = new HomekitOHItemProxy(item);
-            accessoryTypes.forEach(rootAccessory -> createRootAccessory(new HomekitTaggedItem(itemProxy,
-                    rootAccessory.getKey(), HomekitAccessoryFactory.getItemConfiguration(item, metadataRegistry))));
-        }
+        final List<HomekitAccessory> accessories = new ArrayList<>();
+        logger.trace("Item {} is a HomeKit accessory of types {}", item.getName(), accessoryTypes);
+        final HomekitOHItemProxy itemProxy = new HomekitOHItemProxy(item);
+        accessoryTypes.forEach(rootAccessory -> createRootAccessory(new HomekitTaggedItem(itemProxy,
+                rootAccessory.getKey(), HomekitAccessoryFactory.getItemConfiguration(item, metadataRegistry)))
+                        .ifPresent(accessories::add));
+        return accessories;
     }
 
-    private void createRootAccessory(HomekitTaggedItem taggedItem) {
+    private Optional<HomekitAccessory> createRootAccessory(HomekitTaggedItem taggedItem) {
         try {
-            accessoryRegistry.addRootAccessory(taggedItem.getName(),
-                    HomekitAccessoryFactory.create(taggedItem, metadataRegistry, updater, settings));
+            return Optional.of(HomekitAccessoryFactory.create(taggedItem, metadataRegistry, updater, settings));
         } catch (HomekitException e) {
             logger.warn("Could not add device {}: {}", taggedItem.getItem().getUID(), e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * check whether the item is a root accessory, i.e. it has HomeKit accessory types and is not only a
+     * characteristic of an accessory group. See {@link #createRootAccessories(Item)} for details.
+     *
+     * @param item openHAB item
+     * @return true if HomeKit root accessories should be created for the item
+     */
+    private boolean isRootAccessory(Item item) {
+        if (HomekitAccessoryFactory.getAccessoryTypes(item, metadataRegistry).isEmpty()) {
+            return false;
+        }
+        final List<GroupItem> groups = HomekitAccessoryFactory.getAccessoryGroups(item, itemRegistry, metadataRegistry);
+        return groups.isEmpty() || groups.stream().noneMatch(g -> g.getBaseItem() == null);
+    }
+
+    /**
+     * returns the structure of a root accessory item, covering the item itself and, for groups, all members.
+     * Members are compared order independent, as group members are not ordered.
+     *
+     * @param item openHAB item
+     * @return structure, to be compared with equals
+     */
+    private List<@Nullable Object> getStructure(Item item) {
+        if (item instanceof GroupItem) {
+            final GroupItem groupItem = (GroupItem) item;
+            final @Nullable Item baseItem = groupItem.getBaseItem();
+            final Set<List<@Nullable Object>> members = new HashSet<>();
+            for (Item member : groupItem.getAllMembers()) {
+                members.add(getItemStructure(member));
+            }
+            return Arrays.asList(getItemStructure(item), baseItem != null ? baseItem.getType() : null, members);
+        }
+        return getItemStructure(item);
+    }
+
+    private List<@Nullable Object> getItemStructure(Item item) {
+        final @Nullable Map<String, Object> configuration = HomekitAccessoryFactory.getItemConfiguration(item,
+                metadataRegistry);
+        return Arrays.asList(item.getName(), item.getType(), item.getLabel(), item.getCategory(),
+                new HashSet<>(item.getGroupNames()), HomekitAccessoryFactory.getAccessoryTypes(item, metadataRegistry),
+                configuration != null ? new HashMap<>(configuration) : null);
+    }
+
+    /**
+     * returns the item instances used by an accessory, compared by identity.
+     *
+     * @param item openHAB item
+     * @return set of item instances
+     */
+    private Set<Item> getInstances(Item item) {
+        final Set<Item> items = Collections.newSetFromMap(new IdentityHashMap<>());
+        items.add(item);
+        if (item instanceof GroupItem) {
+            items.addAll(((GroupItem) item).getAllMembers());
+        }
+        return items;
+    }
+
+    /**
+     * Accessories prepared for an item, to be registered in the accessory registry.
+     */
+    private static class AccessoryUpdate {
+        private final String name;
+        private final List<HomekitAccessory> accessories;
+        private final @Nullable List<@Nullable Object> structure;
+        private final @Nullable Set<Item> instance;
+        private final boolean structureChanged;
+
+        AccessoryUpdate(String name, List<HomekitAccessory> accessories, @Nullable List<@Nullable Object> structure,
+                @Nullable Set<Item> instance, boolean structureChanged) {
+            this.name = name;
+            this.accessories = accessories;
+            this.structure = structure;
+            this.instance = instance;
+            this.structureChanged = structureChanged;
         }
     }
 }
@@ -38,6 +38,7 @@ public class HomekitCommandExtension extends AbstractConsoleCommandExtension {
     private static final String SUBCMD_LIST_ACCESSORIES = "list";
     private static final String SUBCMD_PRINT_ACCESSORY = "show";
     private static final String SUBCMD_ALLOW_UNAUTHENTICATED = "allowUnauthenticated";
+    private static final String SUBCMD_NOTIFICATIONS = "notifications";
 
     private final Logger logger = LoggerFactory.getLogger(HomekitCommandExtension.class);
 
@@ -67,6 +68,9 @@ public class HomekitCommandExtension extends AbstractConsoleCommandExtension {
                 case SUBCMD_LIST_ACCESSORIES:
                     listAccessories(console);
                     break;
+                case SUBCMD_NOTIFICATIONS:
+                    printNotifications(console);
+                    break;
                 case SUBCMD_PRINT_ACCESSORY:
                     if (args.length > 1) {
                         printAccessory(args[1], console);
@@ -90,6 +94,7 @@ public class HomekitCommandExtension extends AbstractConsoleCommandExtension {
                 buildCommandUsage(SUBCMD_PRINT_ACCESSORY + " <accessory id | accessory name>",
                         "print additional details of the accessories which partially match provided ID or name."),
                 buildCommandUsage(SUBCMD_CLEAR_PAIRINGS, "removes all pairings with HomeKit clients."),
+                buildCommandUsage(SUBCMD_NOTIFICATIONS, "print number of sent and dropped change notifications."),
                 buildCommandUsage(SUBCMD_ALLOW_UNAUTHENTICATED + " <boolean>",
                         "enables or disables unauthenticated access to facilitate debugging"));
     }
@@ -109,6 +114,11 @@ public class HomekitCommandExtension extends AbstractConsoleCommandExtension {
         console.println((allow ? "Enabled " : "Disabled ") + "unauthenticated HomeKit access");
     }
 
+    private void printNotifications(Console console) {
+        console.println("Sent notifications: " + homekit.getSentNotifications());
+        console.println("Dropped notifications: " + homekit.getDroppedNotifications());
+    }
+
     private void listAccessories(Console console) {
         homekit.getAccessories().forEach(v -> {
             try {
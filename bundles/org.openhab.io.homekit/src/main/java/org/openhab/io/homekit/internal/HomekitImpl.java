@@ -274,6 +274,16 @@ public class HomekitImpl implements Homekit {
         return new ArrayList<>(this.changeListener.getAccessories().values());
     }
 
+    @Override
+    public long getSentNotifications() {
+        return changeListener.getUpdater().getSentNotifications();
+    }
+
+    @Override
+    public long getDroppedNotifications() {
+        return changeListener.getUpdater().getDroppedNotifications();
+    }
+
     @Override
     public void clearHomekitPairings() {
         try {
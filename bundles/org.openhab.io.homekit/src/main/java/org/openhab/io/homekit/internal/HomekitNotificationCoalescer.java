@@ -0,0 +1,161 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.io.homekit.internal;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import io.github.hapjava.characteristics.HomekitCharacteristicChangeCallback;
+
+/**
+ * Coalesces characteristic change notifications before they are sent to HomeKit clients.
+ *
+ * Notifications are collected for a configurable window and then flushed together. As the HomeKit library reads the
+ * current value of a characteristic when the callback is invoked, a notification that is superseded by a newer one
+ * for the same characteristic within the window is simply dropped. In addition, a minimum interval between two
+ * notifications of the same characteristic can be enforced; notifications arriving earlier are delayed, not lost.
+ * A single flush is scheduled for all characteristics. It is moved forward if a notification needs an earlier flush
+ * than the one scheduled, e.g. while another characteristic is held back by the minimum interval.
+ *
+ * With window and minimum interval set to 0, notifications are sent immediately.
+ *
+ * @author openHAB Contributors - Initial contribution
+ */
+@NonNullByDefault
+class HomekitNotificationCoalescer {
+    private final Logger logger = LoggerFactory.getLogger(HomekitNotificationCoalescer.class);
+
+    private final ScheduledExecutorService scheduler;
+    private final Map<Object, HomekitCharacteristicChangeCallback> pendingNotifications = new ConcurrentHashMap<>();
+    private final Map<Object, Long> lastNotifications = new ConcurrentHashMap<>();
+    // all guarded by this
+    private @Nullable ScheduledFuture<?> flushFuture;
+    private long flushDeadline;
+
+    private final AtomicLong sentNotifications = new AtomicLong();
+    private final AtomicLong droppedNotifications = new AtomicLong();
+
+    private volatile long windowMs;
+    private volatile long minIntervalMs;
+
+    HomekitNotificationCoalescer(ScheduledExecutorService scheduler) {
+        this.scheduler = scheduler;
+    }
+
+    /**
+     * set the coalescing parameters.
+     *
+     * @param windowMs time in milliseconds notifications are collected before they are sent
+     * @param minIntervalMs minimum time in milliseconds between two notifications of the same characteristic
+     */
+    void configure(long windowMs, long minIntervalMs) {
+        this.windowMs = Math.max(0, windowMs);
+        this.minIntervalMs = Math.max(0, minIntervalMs);
+    }
+
+    /**
+     * register a change notification for a characteristic.
+     *
+     * @param key unique key of the characteristic subscription
+     * @param callback HomeKit callback to invoke
+     */
+    void notify(Object key, HomekitCharacteristicChangeCallback callback) {
+        if (windowMs == 0 && minIntervalMs == 0) {
+            send(key, callback);
+            return;
+        }
+        if (pendingNotifications.put(key, callback) != null) {
+            droppedNotifications.incrementAndGet();
+        }
+        scheduleFlush(windowMs);
+    }
+
+    /**
+     * discard pending notifications for a characteristic, e.g. if it has been unsubscribed.
+     *
+     * @param key unique key of the characteristic subscription
+     */
+    void cancel(Object key) {
+        pendingNotifications.remove(key);
+        lastNotifications.remove(key);
+    }
+
+    long getSentNotifications() {
+        return sentNotifications.get();
+    }
+
+    long getDroppedNotifications() {
+        return droppedNotifications.get();
+    }
+
+    private synchronized void scheduleFlush(long delayMs) {
+        final long deadline = System.currentTimeMillis() + delayMs;
+        final ScheduledFuture<?> future = flushFuture;
+        if (future != null) {
+            if (flushDeadline <= deadline) {
+                return;
+            }
+            future.cancel(false);
+        }
+        flushDeadline = deadline;
+        flushFuture = scheduler.schedule(this::flush, delayMs, TimeUnit.MILLISECONDS);
+    }
+
+    private void flush() {
+        synchronized (this) {
+            flushFuture = null;
+        }
+        final long now = System.currentTimeMillis();
+        final long minInterval = minIntervalMs;
+        long nextFlush = Long.MAX_VALUE;
+        int flushed = 0;
+        for (Map.Entry<Object, HomekitCharacteristicChangeCallback> entry : pendingNotifications.entrySet()) {
+            final Object key = entry.getKey();
+            final Long last = lastNotifications.get(key);
+            if (last != null && now - last < minInterval) {
+                nextFlush = Math.min(nextFlush, last + minInterval - now);
+                continue;
+            }
+            if (pendingNotifications.remove(key, entry.getValue())) {
+                send(key, entry.getValue());
+                flushed++;
+            }
+        }
+        logger.trace("Flushed {} notifications, {} sent and {} dropped in total", flushed, sentNotifications.get(),
+                droppedNotifications.get());
+        if (nextFlush != Long.MAX_VALUE) {
+            scheduleFlush(nextFlush);
+        }
+    }
+
+    private void send(Object key, HomekitCharacteristicChangeCallback callback) {
+        if (minIntervalMs > 0) {
+            lastNotifications.put(key, System.currentTimeMillis());
+        }
+        sentNotifications.incrementAndGet();
+        try {
+            callback.changed();
+        } catch (RuntimeException e) {
+            logger.debug("Could not send notification for {}: {}", key, e.getMessage());
+        }
+    }
+}
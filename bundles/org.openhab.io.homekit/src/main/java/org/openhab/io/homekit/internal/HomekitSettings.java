@@ -47,6 +47,8 @@ public class HomekitSettings {
     public String doorTargetStateClosed = "CLOSED";
     public String doorTargetStateOpen = "OPEN";
     public String networkInterface;
+    public int notificationWindow = 0;
+    public int notificationMinInterval = 0;
 
     @Override
     public int hashCode() {
@@ -0,0 +1,284 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.io.homekit.internal;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.openhab.core.items.GroupItem;
+import org.openhab.core.items.Item;
+import org.openhab.core.items.ItemNotFoundException;
+import org.openhab.core.items.ItemRegistry;
+import org.openhab.core.items.Metadata;
+import org.openhab.core.items.MetadataKey;
+import org.openhab.core.items.MetadataRegistry;
+import org.openhab.core.library.items.SwitchItem;
+import org.openhab.core.storage.Storage;
+import org.openhab.core.storage.StorageService;
+import org.openhab.io.homekit.internal.accessories.HomekitAccessoryFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import io.github.hapjava.accessories.HomekitAccessory;
+
+/**
+ * Tests which accessories the {@link HomekitChangeListener} recreates and when it bumps the configuration revision.
+ *
+ * @author openHAB Contributors - Initial contribution
+ */
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.WARN)
+public class HomekitChangeListenerTest {
+    private final Logger logger = LoggerFactory.getLogger(HomekitChangeListenerTest.class);
+
+    private @Mock ItemRegistry itemRegistry;
+    private @Mock MetadataRegistry metadataRegistry;
+    private @Mock StorageService storageService;
+    private @Mock Storage<String> storage;
+
+    private final Map<String, Item> items = new ConcurrentHashMap<>();
+    private final Map<String, Metadata> metadata = new ConcurrentHashMap<>();
+    private final Map<String, String> stored = new HashMap<>();
+
+    private HomekitChangeListener listener;
+
+    @BeforeEach
+    public void setUp() throws ItemNotFoundException {
+        doReturn(storage).when(storageService).getStorage(anyString());
+        when(storage.get(anyString())).thenAnswer(i -> stored.get(i.getArgument(0)));
+        when(storage.put(anyString(), anyString())).thenAnswer(i -> stored.put(i.getArgument(0), i.getArgument(1)));
+
+        when(itemRegistry.getItems()).thenAnswer(i -> new ArrayList<>(items.values()));
+        when(itemRegistry.get(anyString())).thenAnswer(i -> items.get(i.getArgument(0)));
+        when(itemRegistry.getItem(anyString())).thenAnswer(i -> {
+            Item item = items.get(i.getArgument(0));
+            if (item == null) {
+                throw new ItemNotFoundException(i.getArgument(0));
+            }
+            return item;
+        });
+        when(metadataRegistry.get(any(MetadataKey.class)))
+                .thenAnswer(i -> metadata.get(((MetadataKey) i.getArgument(0)).getItemName()));
+    }
+
+    @AfterEach
+    public void tearDown() {
+        HomekitChangeListener listener = this.listener;
+        if (listener != null) {
+            listener.stop();
+            listener.unsetBridge();
+        }
+    }
+
+    private HomekitChangeListener createListener() {
+        listener = new HomekitChangeListener(itemRegistry, new HomekitSettings(), metadataRegistry, storageService);
+        return listener;
+    }
+
+    private SwitchItem addSwitch(String name, String label, String homekitTag) {
+        SwitchItem item = new SwitchItem(name);
+        item.setLabel(label);
+        items.put(name, item);
+        metadata.put(name, new Metadata(new MetadataKey(HomekitAccessoryFactory.METADATA_KEY, name), homekitTag,
+                Map.of()));
+        return item;
+    }
+
+    private GroupItem addSwitchGroup(String name, Item... members) {
+        GroupItem group = new GroupItem(name);
+        group.setLabel(name);
+        for (Item member : members) {
+            group.addMember(member);
+            ((SwitchItem) member).addGroupName(name);
+        }
+        items.put(name, group);
+        metadata.put(name, new Metadata(new MetadataKey(HomekitAccessoryFactory.METADATA_KEY, name), "Switchable",
+                Map.of()));
+        return group;
+    }
+
+    private void replace(Item oldItem, Item newItem) {
+        items.put(newItem.getName(), newItem);
+        listener.updated(oldItem, newItem);
+        listener.applyUpdates();
+    }
+
+    @Test
+    public void unchangedItemIsNotRecreated() {
+        SwitchItem item = addSwitch("switch1", "Switch", "Switchable");
+        createListener();
+        HomekitAccessory accessory = listener.getAccessories().get("switch1");
+        assertNotNull(accessory);
+        int revision = listener.getConfigurationRevision();
+
+        replace(item, item);
+
+        assertSame(accessory, listener.getAccessories().get("switch1"));
+        assertEquals(revision, listener.getConfigurationRevision());
+    }
+
+    @Test
+    public void replacedInstanceIsRecreatedWithoutNewRevision() {
+        SwitchItem item = addSwitch("switch1", "Switch", "Switchable");
+        createListener();
+        HomekitAccessory accessory = listener.getAccessories().get("switch1");
+        int revision = listener.getConfigurationRevision();
+
+        // an equal item, e.g. after reloading the items file
+        SwitchItem newItem = new SwitchItem("switch1");
+        newItem.setLabel("Switch");
+        replace(item, newItem);
+
+        assertNotSame(accessory, listener.getAccessories().get("switch1"));
+        assertEquals(revision, listener.getConfigurationRevision());
+    }
+
+    @Test
+    public void structuralChangeBumpsRevision() {
+        SwitchItem item = addSwitch("switch1", "Switch", "Switchable");
+        createListener();
+        int revision = listener.getConfigurationRevision();
+
+        SwitchItem newItem = new SwitchItem("switch1");
+        newItem.setLabel("Renamed switch");
+        replace(item, newItem);
+
+        assertEquals(revision + 1, listener.getConfigurationRevision());
+    }
+
+    @Test
+    public void groupMemberChangeRecreatesGroup() {
+        SwitchItem member = addSwitch("member1", "Member", "OnState");
+        addSwitchGroup("group1", member);
+        createListener();
+        HomekitAccessory accessory = listener.getAccessories().get("group1");
+        assertNotNull(accessory);
+        assertNull(listener.getAccessories().get("member1"));
+        int revision = listener.getConfigurationRevision();
+
+        // an equal member instance recreates the group, but is no new revision
+        SwitchItem newMember = new SwitchItem("member1");
+        newMember.setLabel("Member");
+        replaceMember("group1", member, newMember);
+        HomekitAccessory recreated = listener.getAccessories().get("group1");
+        assertNotSame(accessory, recreated);
+        assertEquals(revision, listener.getConfigurationRevision());
+
+        // a relabelled member changes the structure of the group
+        SwitchItem relabelledMember = new SwitchItem("member1");
+        relabelledMember.setLabel("Relabelled member");
+        replaceMember("group1", newMember, relabelledMember);
+        assertNotSame(recreated, listener.getAccessories().get("group1"));
+        assertEquals(revision + 1, listener.getConfigurationRevision());
+    }
+
+    private void replaceMember(String groupName, SwitchItem oldMember, SwitchItem newMember) {
+        GroupItem group = (GroupItem) items.get(groupName);
+        group.removeMember(oldMember);
+        group.addMember(newMember);
+        newMember.addGroupName(groupName);
+        replace(oldMember, newMember);
+    }
+
+    @Test
+    public void manyUpdates() {
+        List<SwitchItem> switches = new ArrayList<>();
+        for (int i = 0; i < 250; i++) {
+            switches.add(addSwitch("switch" + i, "Switch " + i, "Switchable"));
+        }
+        createListener();
+        assertEquals(250, listener.getAccessories().size());
+        int revision = listener.getConfigurationRevision();
+        Map<String, HomekitAccessory> accessories = new HashMap<>(listener.getAccessories());
+
+        // relabel every other switch, all are marked dirty
+        for (int i = 0; i < switches.size(); i++) {
+            SwitchItem newItem = new SwitchItem("switch" + i);
+            newItem.setLabel(i % 2 == 0 ? "Switch " + i : "Relabelled " + i);
+            items.put(newItem.getName(), newItem);
+            listener.updated(switches.get(i), newItem);
+        }
+        listener.applyUpdates();
+
+        assertEquals(250, listener.getAccessories().size());
+        for (int i = 0; i < switches.size(); i++) {
+            assertNotSame(accessories.get("switch" + i), listener.getAccessories().get("switch" + i));
+        }
+        // one new revision for all changes
+        assertEquals(revision + 1, listener.getConfigurationRevision());
+
+        // applying again without changes does nothing
+        accessories = new HashMap<>(listener.getAccessories());
+        for (SwitchItem item : switches) {
+            listener.updated(items.get(item.getName()), items.get(item.getName()));
+        }
+        listener.applyUpdates();
+        for (Map.Entry<String, HomekitAccessory> entry : accessories.entrySet()) {
+            assertSame(entry.getValue(), listener.getAccessories().get(entry.getKey()));
+        }
+        assertEquals(revision + 1, listener.getConfigurationRevision());
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = { 10, 100, 1000 })
+    public void applyUpdatesTiming(int count) {
+        List<SwitchItem> switches = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            switches.add(addSwitch("switch" + i, "Switch " + i, "Switchable"));
+        }
+        createListener();
+        int revision = listener.getConfigurationRevision();
+
+        // all items pending, but none changed
+        for (SwitchItem item : switches) {
+            listener.updated(item, item);
+        }
+        long start = System.nanoTime();
+        listener.applyUpdates();
+        long unchangedNanos = System.nanoTime() - start;
+
+        // all items replaced by equal instances, all accessories are recreated
+        for (SwitchItem item : switches) {
+            SwitchItem newItem = new SwitchItem(item.getName());
+            newItem.setLabel(item.getLabel());
+            items.put(newItem.getName(), newItem);
+            listener.updated(item, newItem);
+        }
+        start = System.nanoTime();
+        listener.applyUpdates();
+        long recreatedNanos = System.nanoTime() - start;
+
+        logger.info("applyUpdates with {} pending items: {} ms unchanged, {} ms recreated", count,
+                TimeUnit.NANOSECONDS.toMillis(unchangedNanos), TimeUnit.NANOSECONDS.toMillis(recreatedNanos));
+        assertEquals(count, listener.getAccessories().size());
+        assertEquals(revision, listener.getConfigurationRevision());
+    }
+}
@@ -0,0 +1,73 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.io.homekit.internal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the {@link HomekitNotificationCoalescer}.
+ *
+ * @author openHAB Contributors - Initial contribution
+ */
+@NonNullByDefault
+public class HomekitNotificationCoalescerTest {
+    private final ScheduledExecutorService scheduler = new ScheduledThreadPoolExecutor(1);
+    private final HomekitNotificationCoalescer coalescer = new HomekitNotificationCoalescer(scheduler);
+
+    private final Semaphore notificationsA = new Semaphore(0);
+    private final Semaphore notificationsB = new Semaphore(0);
+
+    @AfterEach
+    public void tearDown() {
+        scheduler.shutdownNow();
+    }
+
+    @Test
+    public void supersededNotificationsDropped() throws InterruptedException {
+        coalescer.configure(50, 0);
+        coalescer.notify("A", notificationsA::release);
+        coalescer.notify("A", notificationsA::release);
+        coalescer.notify("A", notificationsA::release);
+
+        assertTrue(notificationsA.tryAcquire(1, TimeUnit.SECONDS));
+        assertFalse(notificationsA.tryAcquire(200, TimeUnit.MILLISECONDS));
+        assertEquals(1, coalescer.getSentNotifications());
+        assertEquals(2, coalescer.getDroppedNotifications());
+    }
+
+    @Test
+    public void throttledCharacteristicDoesNotDelayOthers() throws InterruptedException {
+        coalescer.configure(10, 2000);
+        coalescer.notify("A", notificationsA::release);
+        assertTrue(notificationsA.tryAcquire(1, TimeUnit.SECONDS));
+
+        // A is held back by the minimum interval, B only waits for the window
+        coalescer.notify("A", notificationsA::release);
+        Thread.sleep(50);
+        coalescer.notify("B", notificationsB::release);
+        assertTrue(notificationsB.tryAcquire(500, TimeUnit.MILLISECONDS));
+        assertFalse(notificationsA.tryAcquire(0, TimeUnit.MILLISECONDS));
+
+        // the delayed notification of A is not lost
+        assertTrue(notificationsA.tryAcquire(3, TimeUnit.SECONDS));
+    }
+}
@@ -14,15 +14,18 @@ package org.openhab.io.hueemulation.internal;
 
 import java.net.InetAddress;
 import java.net.UnknownHostException;
+import java.nio.charset.StandardCharsets;
 import java.util.Collections;
 import java.util.IllegalFormatException;
 import java.util.LinkedHashSet;
 import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -69,6 +72,11 @@ import com.google.gson.GsonBuilder;
  * <p>
  * This is a central component and required by all other components and may not
  * depend on anything in this bundle.
+ * <p>
+ * Hue clients like Amazon Echos or Harmony hubs poll the lights and groups aggressively.
+ * This component therefore keeps pre-serialized {@link JsonSnapshot}s of the lights and groups.
+ * Lights are serialized individually and only re-serialized if they got invalidated via
+ * {@link #invalidateLight(String)}.
  *
  * @author David Graeff - Initial contribution
  */
@@ -120,10 +128,19 @@ public class ConfigStore {
     public Set<String> whiteFilter = Collections.emptySet();
     public Set<String> ignoreItemsFilter = Collections.emptySet();
 
-    private int highestAssignedHueID = 1;
+    private volatile int highestAssignedHueID = 1;
 
     private String hueIDPrefix = "";
 
+    /** Lights and groups snapshots. Snapshots are valid as long as their version matches the current version */
+    private final Object snapshotLock = new Object();
+    private final String snapshotEpoch = Long.toHexString(System.currentTimeMillis());
+    private final AtomicLong lightsVersion = new AtomicLong();
+    private final AtomicLong groupsVersion = new AtomicLong();
+    private final Map<String, String> serializedLights = new ConcurrentHashMap<>();
+    private volatile @Nullable JsonSnapshot lightsSnapshot;
+    private volatile @Nullable JsonSnapshot groupsSnapshot;
+
     public ConfigStore() {
         scheduler = ThreadPoolManager.getScheduledPool(ThreadPoolManager.THREAD_POOL_NAME_COMMON);
     }
@@ -337,14 +354,35 @@ public class ConfigStore {
             }
         }
         if (hueId == 0) {
-            ++highestAssignedHueID;
-            hueId = highestAssignedHueID;
-            metadataRegistry.add(new Metadata(key, String.valueOf(hueId), null));
+            return assignHueID(key);
         }
 
         return String.valueOf(hueId);
     }
 
+    /**
+     * Assigns a new hue ID. Synchronized, because items might be mapped concurrently by registry callbacks and REST
+     * handlers.
+     */
+    private synchronized String assignHueID(MetadataKey key) {
+        // Another thread might have assigned an ID in the meantime
+        Metadata metadata = metadataRegistry.get(key);
+        if (metadata != null) {
+            try {
+                int hueId = Integer.parseInt(metadata.getValue());
+                if (hueId != 0) {
+                    return String.valueOf(hueId);
+                }
+            } catch (NumberFormatException e) {
+                // Reassign below
+            }
+        }
+        ++highestAssignedHueID;
+        int hueId = highestAssignedHueID;
+        metadataRegistry.add(new Metadata(key, String.valueOf(hueId), null));
+        return String.valueOf(hueId);
+    }
+
     /**
      * Get the unique id
      *
@@ -412,6 +450,115 @@ public class ConfigStore {
         }, ds.config.networkopenduration * 1000, TimeUnit.MILLISECONDS);
     }
 
+    /**
+     * Marks a single light as changed. The light will be serialized again on the next request.
+     *
+     * @param hueID The hue ID of the light
+     */
+    public void invalidateLight(String hueID) {
+        synchronized (snapshotLock) {
+            serializedLights.remove(hueID);
+            lightsVersion.incrementAndGet();
+        }
+    }
+
+    /**
+     * Marks all lights and groups as changed, for example if lights got added or removed.
+     */
+    public void invalidateLightsAndGroups() {
+        synchronized (snapshotLock) {
+            serializedLights.clear();
+            lightsVersion.incrementAndGet();
+            groupsVersion.incrementAndGet();
+        }
+    }
+
+    /**
+     * Marks all groups as changed.
+     */
+    public void invalidateGroups() {
+        groupsVersion.incrementAndGet();
+    }
+
+    /**
+     * Returns the serialized lights. Only lights that changed since the last call are serialized again.
+     */
+    public JsonSnapshot getLightsSnapshot() {
+        JsonSnapshot snapshot = lightsSnapshot;
+        if (snapshot != null && snapshot.version == lightsVersion.get()) {
+            return snapshot;
+        }
+        synchronized (snapshotLock) {
+            long version = lightsVersion.get();
+            snapshot = lightsSnapshot;
+            if (snapshot == null || snapshot.version != version) {
+                snapshot = new JsonSnapshot(version, snapshotEpoch + "-l" + version,
+                        getLightsJson().getBytes(StandardCharsets.UTF_8));
+                lightsSnapshot = snapshot;
+            }
+            return snapshot;
+        }
+    }
+
+    /**
+     * Returns the serialized groups.
+     */
+    public JsonSnapshot getGroupsSnapshot() {
+        JsonSnapshot snapshot = groupsSnapshot;
+        if (snapshot != null && snapshot.version == groupsVersion.get()) {
+            return snapshot;
+        }
+        synchronized (snapshotLock) {
+            long version = groupsVersion.get();
+            snapshot = groupsSnapshot;
+            if (snapshot == null || snapshot.version != version) {
+                snapshot = new JsonSnapshot(version, snapshotEpoch + "-g" + version,
+                        gson.toJson(ds.groups).getBytes(StandardCharsets.UTF_8));
+                groupsSnapshot = snapshot;
+            }
+            return snapshot;
+        }
+    }
+
+    /**
+     * Returns the full data store as json. The lights and groups are taken from the snapshots,
+     * only the remaining (small) parts are serialized.
+     */
+    public String getFullStateJson() {
+        String lights = new String(getLightsSnapshot().getBody(), StandardCharsets.UTF_8);
+        String groups = new String(getGroupsSnapshot().getBody(), StandardCharsets.UTF_8);
+        StringBuilder sb = new StringBuilder(lights.length() + groups.length() + 4096);
+        sb.append("{\"config\":").append(gson.toJson(ds.config));
+        sb.append(",\"lights\":").append(lights);
+        sb.append(",\"groups\":").append(groups);
+        sb.append(",\"scenes\":").append(gson.toJson(ds.scenes));
+        sb.append(",\"rules\":").append(gson.toJson(ds.rules));
+        sb.append(",\"sensors\":").append(gson.toJson(ds.sensors));
+        sb.append(",\"schedules\":").append(gson.toJson(ds.schedules));
+        sb.append(",\"resourcelinks\":").append(gson.toJson(ds.resourcelinks));
+        sb.append(",\"capabilities\":").append(gson.toJson(ds.capabilities));
+        return sb.append("}").toString();
+    }
+
+    /**
+     * Must be called with the snapshot lock held.
+     */
+    private String getLightsJson() {
+        StringBuilder sb = new StringBuilder("{");
+        for (Map.Entry<String, HueLightEntry> entry : ds.lights.entrySet()) {
+            String light = serializedLights.get(entry.getKey());
+            if (light == null) {
+                light = gson.toJson(entry.getValue());
+                serializedLights.put(entry.getKey(), light);
+            }
+            if (sb.length() > 1) {
+                sb.append(",");
+            }
+            sb.append(gson.toJson(entry.getKey())).append(":").append(light);
+        }
+        return sb.append("}").toString();
+    }
+
     public Set<InetAddress> getDiscoveryIps() {
         return discoveryIps;
     }
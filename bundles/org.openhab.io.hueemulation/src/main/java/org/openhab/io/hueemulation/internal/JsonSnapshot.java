@@ -0,0 +1,63 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.io.hueemulation.internal;
+
+import javax.ws.rs.core.EntityTag;
+import javax.ws.rs.core.Request;
+import javax.ws.rs.core.Response;
+import javax.ws.rs.core.Response.ResponseBuilder;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+
+/**
+ * An immutable, pre-serialized JSON response body. Snapshots are created by the {@link ConfigStore} and
+ * reused for all requests until the underlying data changes.
+ *
+ * @author openHAB Contributors - Initial contribution
+ */
+@NonNullByDefault
+public class JsonSnapshot {
+    public final long version;
+    public final EntityTag etag;
+    private final byte[] body;
+
+    JsonSnapshot(long version, String etag, byte[] body) {
+        this.version = version;
+        this.etag = new EntityTag(etag);
+        this.body = body;
+    }
+
+    /**
+     * Returns the serialized body. The returned array must not be modified.
+     */
+    public byte[] getBody() {
+        return body;
+    }
+
+    /**
+     * Creates a response for this snapshot. If the client already has this version (If-None-Match), a
+     * "304 Not Modified" response is returned instead of the body.
+     *
+     * @param request The request to evaluate the preconditions against. May be null.
+     */
+    public Response toResponse(@Nullable Request request) {
+        if (request != null) {
+            ResponseBuilder notModified = request.evaluatePreconditions(etag);
+            if (notModified != null) {
+                return notModified.tag(etag).build();
+            }
+        }
+        return Response.ok(body).tag(etag).build();
+    }
+}
@@ -12,15 +12,20 @@
  */
 package org.openhab.io.hueemulation.internal.dto;
 
+import java.util.AbstractList;
 import java.util.Collections;
+import java.util.Iterator;
 import java.util.Map;
-import java.util.TreeMap;
+import java.util.concurrent.ConcurrentSkipListMap;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 
 /**
  * Hue data store object. Contains all lights, configuration, user whitelist etc.
  * Is used as a data store but also as API DTO.
+ * <p>
+ * All maps are concurrent and sorted, because they are modified by registry callbacks
+ * while being read by REST handlers at the same time.
  *
  * @author Dan Cunningham - Initial contribution
  * @author David Graeff - Add groups,scenes,rules,sensors,resourcelinks and config entries
@@ -29,14 +34,14 @@ import org.eclipse.jdt.annotation.NonNullByDefault;
 @NonNullByDefault
 public class HueDataStore {
     public HueAuthorizedConfig config = new HueAuthorizedConfig();
-    public TreeMap<String, HueLightEntry> lights = new TreeMap<>();
-    public TreeMap<String, HueGroupEntry> groups = new TreeMap<>();
-    public Map<String, HueSceneEntry> scenes = new TreeMap<>();
-    public Map<String, HueRuleEntry> rules = new TreeMap<>();
-    public Map<String, HueSensorEntry> sensors = new TreeMap<>();
-    public Map<String, HueScheduleEntry> schedules = new TreeMap<>();
+    public Map<String, HueLightEntry> lights = new ConcurrentSkipListMap<>();
+    public Map<String, HueGroupEntry> groups = new ConcurrentSkipListMap<>();
+    public Map<String, HueSceneEntry> scenes = new ConcurrentSkipListMap<>();
+    public Map<String, HueRuleEntry> rules = new ConcurrentSkipListMap<>();
+    public Map<String, HueSensorEntry> sensors = new ConcurrentSkipListMap<>();
+    public Map<String, HueScheduleEntry> schedules = new ConcurrentSkipListMap<>();
     public Map<Integer, Dummy> resourcelinks = Collections.emptyMap();
-    public Map<String, HueCapability> capabilities = new TreeMap<>();
+    public Map<String, HueCapability> capabilities = new ConcurrentSkipListMap<>();
 
     public HueDataStore() {
         resetGroupsAndLights();
@@ -53,7 +58,9 @@ public class HueDataStore {
         groups.clear();
         lights.clear();
         // There must be a group 0 all the time!
-        groups.put("0", new HueGroupEntry("All lights", null, null));
+        HueGroupEntry allLights = new HueGroupEntry("All lights", null, null);
+        allLights.lights = new AllLightsList(lights);
+        groups.put("0", allLights);
     }
 
     public void resetSensors() {
@@ -63,6 +70,41 @@ public class HueDataStore {
     public static class Dummy {
     }
 
+    /**
+     * A read-only, live list view on the IDs of all lights. The HUE API enforces a group 0 that contains all lights;
+     * with this view the group does not need to be updated if lights are added or removed.
+     */
+    private static class AllLightsList extends AbstractList<String> {
+        private final Map<String, HueLightEntry> lights;
+
+        AllLightsList(Map<String, HueLightEntry> lights) {
+            this.lights = lights;
+        }
+
+        @Override
+        public String get(int index) {
+            if (index >= 0) {
+                int i = 0;
+                for (String id : lights.keySet()) {
+                    if (i++ == index) {
+                        return id;
+                    }
+                }
+            }
+            throw new IndexOutOfBoundsException("Index: " + index);
+        }
+
+        @Override
+        public Iterator<String> iterator() {
+            return Collections.unmodifiableSet(lights.keySet()).iterator();
+        }
+
+        @Override
+        public int size() {
+            return lights.size();
+        }
+    }
+
     /**
      * Return a unique group id.
      */
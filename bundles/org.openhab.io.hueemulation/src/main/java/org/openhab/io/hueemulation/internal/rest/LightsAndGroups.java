@@ -14,7 +14,9 @@ package org.openhab.io.hueemulation.internal.rest;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -27,18 +29,24 @@ import javax.ws.rs.PathParam;
 import javax.ws.rs.Produces;
 import javax.ws.rs.core.Context;
 import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Request;
 import javax.ws.rs.core.Response;
 import javax.ws.rs.core.UriInfo;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
 import org.openhab.core.common.registry.RegistryChangeListener;
+import org.openhab.core.events.Event;
+import org.openhab.core.events.EventFilter;
 import org.openhab.core.events.EventPublisher;
+import org.openhab.core.events.EventSubscriber;
 import org.openhab.core.items.GenericItem;
 import org.openhab.core.items.GroupItem;
 import org.openhab.core.items.Item;
 import org.openhab.core.items.ItemRegistry;
+import org.openhab.core.items.events.GroupItemStateChangedEvent;
 import org.openhab.core.items.events.ItemEventFactory;
+import org.openhab.core.items.events.ItemStateChangedEvent;
 import org.openhab.core.library.CoreItemFactory;
 import org.openhab.core.types.Command;
 import org.openhab.io.hueemulation.internal.ConfigStore;
@@ -91,23 +99,29 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
  * </p>
  *
  * <p>
+ * Item state changes are observed to invalidate the pre-serialized lights snapshot of the {@link ConfigStore}.
  * </p>
  *
  * @author David Graeff - Initial contribution
  * @author Florian Schmidt - Removed base type restriction from Group items
  */
-@Component(immediate = false, service = LightsAndGroups.class)
+@Component(immediate = false, service = { LightsAndGroups.class, EventSubscriber.class })
 @JaxrsResource
 @JaxrsApplicationSelect("(" + JaxrsWhiteboardConstants.JAX_RS_NAME + "=" + HueEmulationService.REST_APP_NAME + ")")
 @NonNullByDefault
 @Path("")
 @Produces(MediaType.APPLICATION_JSON)
-public class LightsAndGroups implements RegistryChangeListener<Item> {
+public class LightsAndGroups implements RegistryChangeListener<Item>, EventSubscriber {
     public static final String EXPOSE_AS_DEVICE_TAG = "huelight";
     private final Logger logger = LoggerFactory.getLogger(LightsAndGroups.class);
     private static final String ITEM_TYPE_GROUP = "Group";
     private static final Set<String> ALLOWED_ITEM_TYPES = Stream.of(CoreItemFactory.COLOR, CoreItemFactory.DIMMER,
             CoreItemFactory.ROLLERSHUTTER, CoreItemFactory.SWITCH, ITEM_TYPE_GROUP).collect(Collectors.toSet());
+    private static final Set<String> SUBSCRIBED_EVENT_TYPES = Set.of(ItemStateChangedEvent.TYPE,
+            GroupItemStateChangedEvent.TYPE);
+
+    /** Maps item names of exposed lights to hue IDs, to invalidate lights on item state changes */
+    private final Map<String, String> lightIDsByItemName = new ConcurrentHashMap<>();
 
     @Reference
     protected @NonNullByDefault({}) ConfigStore cs;
@@ -120,17 +134,20 @@ public class LightsAndGroups implements RegistryChangeListener<Item> {
 
     /**
      * Registers to the {@link ItemRegistry} and enumerates currently existing items.
+     * All existing items are added as one batch, the snapshots are only invalidated once.
      */
     @Activate
     protected void activate() {
         cs.ds.resetGroupsAndLights();
+        lightIDsByItemName.clear();
 
         itemRegistry.removeRegistryChangeListener(this);
         itemRegistry.addRegistryChangeListener(this);
 
         for (Item item : itemRegistry.getItems()) {
-            added(item);
+            addItem(item, false);
         }
+        cs.invalidateLightsAndGroups();
     }
 
     /**
@@ -142,7 +159,17 @@ public class LightsAndGroups implements RegistryChangeListener<Item> {
     }
 
     @Override
-    public synchronized void added(Item newElement) {
+    public void added(Item newElement) {
+        addItem(newElement, true);
+    }
+
+    /**
+     * Adds a light or group for the given item, if it should be exposed.
+     *
+     * @param newElement The item
+     * @param invalidate Invalidate the affected snapshots. Set to false for batch operations.
+     */
+    private void addItem(Item newElement, boolean invalidate) {
         if (!(newElement instanceof GenericItem)) {
             return;
         }
@@ -179,29 +206,31 @@ public class LightsAndGroups implements RegistryChangeListener<Item> {
             }
 
             cs.ds.groups.put(hueID, group);
+            if (invalidate) {
+                cs.invalidateGroups();
+            }
         } else {
             HueLightEntry device = new HueLightEntry(element, cs.getHueUniqueId(hueID), deviceType);
             device.item = element;
             cs.ds.lights.put(hueID, device);
-            updateGroup0();
+            lightIDsByItemName.put(element.getName(), hueID);
+            if (invalidate) {
+                // The group 0 with all lights changed as well
+                cs.invalidateLight(hueID);
+                cs.invalidateGroups();
+            }
         }
     }
 
-    /**
-     * The HUE API enforces a Group 0 that contains all lights.
-     */
-    private void updateGroup0() {
-        cs.ds.groups.get("0").lights = cs.ds.lights.keySet().stream().map(v -> String.valueOf(v))
-                .collect(Collectors.toList());
-    }
-
     @Override
-    public synchronized void removed(Item element) {
+    public void removed(Item element) {
         String hueID = cs.mapItemUIDtoHueID(element);
         logger.debug("Remove item {}", hueID);
         cs.ds.lights.remove(hueID);
         cs.ds.groups.remove(hueID);
-        updateGroup0();
+        lightIDsByItemName.remove(element.getName());
+        cs.invalidateLight(hueID);
+        cs.invalidateGroups();
     }
 
     /**
@@ -209,7 +238,7 @@ public class LightsAndGroups implements RegistryChangeListener<Item> {
      */
     @SuppressWarnings({ "null", "unused" })
     @Override
-    public synchronized void updated(Item oldElement, Item newElement) {
+    public void updated(Item oldElement, Item newElement) {
         if (!(newElement instanceof GenericItem)) {
             return;
         }
@@ -217,6 +246,9 @@ public class LightsAndGroups implements RegistryChangeListener<Item> {
 
         String hueID = cs.mapItemUIDtoHueID(element);
 
+        // Group memberships and labels might have changed
+        cs.invalidateGroups();
+
         HueGroupEntry hueGroup = cs.ds.groups.get(hueID);
         if (hueGroup != null) {
             DeviceType t = StateUtils.determineTargetType(cs, element);
@@ -242,17 +274,39 @@ public class LightsAndGroups implements RegistryChangeListener<Item> {
         }
 
         hueDevice.updateItem(element);
+        lightIDsByItemName.put(element.getName(), hueID);
+        cs.invalidateLight(hueID);
+    }
+
+    @Override
+    public Set<String> getSubscribedEventTypes() {
+        return SUBSCRIBED_EVENT_TYPES;
+    }
+
+    @Override
+    public @Nullable EventFilter getEventFilter() {
+        return null;
+    }
+
+    @Override
+    public void receive(Event event) {
+        if (event instanceof ItemStateChangedEvent) {
+            String hueID = lightIDsByItemName.get(((ItemStateChangedEvent) event).getItemName());
+            if (hueID != null) {
+                cs.invalidateLight(hueID);
+            }
+        }
     }
 
     @GET
     @Path("{username}/lights")
     @Operation(summary = "Return all lights", responses = { @ApiResponse(responseCode = "200", description = "OK") })
-    public Response getAllLightsApi(@Context UriInfo uri,
+    public Response getAllLightsApi(@Context UriInfo uri, @Context Request request,
             @PathParam("username") @Parameter(description = "username") String username) {
         if (!userManagement.authorizeUser(username)) {
             return NetworkUtils.singleError(cs.gson, uri, HueResponse.UNAUTHORIZED, "Not Authorized");
         }
-        return Response.ok(cs.gson.toJson(cs.ds.lights)).build();
+        return cs.getLightsSnapshot().toResponse(request);
     }
 
     @GET
@@ -383,6 +437,7 @@ public class LightsAndGroups implements RegistryChangeListener<Item> {
             }
             hueDevice.lastCommand = command;
             hueDevice.lastHueChange = newState;
+            cs.invalidateLight(id);
         }
 
         return Response.ok(cs.gson.toJson(responses, new TypeToken<List<?>>() {
@@ -418,6 +473,7 @@ public class LightsAndGroups implements RegistryChangeListener<Item> {
         List<HueResponse> responses = new ArrayList<>();
         Command command = StateUtils.computeCommandByState(responses, "/groups/" + id + "/state/", hueDevice.action,
                 state);
+        cs.invalidateGroups();
 
         // If a command could be created, post it to the framework now
         if (command != null) {
@@ -438,12 +494,12 @@ public class LightsAndGroups implements RegistryChangeListener<Item> {
     @GET
     @Path("{username}/groups")
     @Operation(summary = "Return all groups", responses = { @ApiResponse(responseCode = "200", description = "OK") })
-    public Response getAllGroupsApi(@Context UriInfo uri,
+    public Response getAllGroupsApi(@Context UriInfo uri, @Context Request request,
             @PathParam("username") @Parameter(description = "username") String username) {
         if (!userManagement.authorizeUser(username)) {
             return NetworkUtils.singleError(cs.gson, uri, HueResponse.UNAUTHORIZED, "Not Authorized");
         }
-        return Response.ok(cs.gson.toJson(cs.ds.groups)).build();
+        return cs.getGroupsSnapshot().toResponse(request);
     }
 
     @GET
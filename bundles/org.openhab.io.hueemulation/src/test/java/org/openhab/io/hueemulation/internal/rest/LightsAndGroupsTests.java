@@ -21,6 +21,8 @@ import static org.mockito.Mockito.verify;
 import java.io.IOException;
 
 import javax.ws.rs.client.Entity;
+import javax.ws.rs.core.EntityTag;
+import javax.ws.rs.core.HttpHeaders;
 import javax.ws.rs.core.Response;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
@@ -32,6 +34,7 @@ import org.openhab.core.events.Event;
 import org.openhab.core.items.GroupItem;
 import org.openhab.core.items.ItemRegistry;
 import org.openhab.core.items.events.ItemCommandEvent;
+import org.openhab.core.items.events.ItemEventFactory;
 import org.openhab.core.library.items.ColorItem;
 import org.openhab.core.library.items.SwitchItem;
 import org.openhab.core.library.types.HSBType;
@@ -335,6 +338,87 @@ public class LightsAndGroupsTests {
         assertThat(body, containsString("color"));
     }
 
+    @Test
+    public void allLightsGroupContainsAllLights() {
+        SwitchItem item = new SwitchItem("switch1");
+        item.addTag("Switchable");
+        itemRegistry.add(item);
+        String hueID = cs.mapItemUIDtoHueID(item);
+        assertThat(cs.ds.groups.get("0").lights, hasItems("1", "2", "3", hueID));
+
+        itemRegistry.remove(item.getName());
+        assertThat(cs.ds.groups.get("0").lights, not(hasItem(hueID)));
+        assertThat(cs.ds.groups.get("0").lights.size(), is(3));
+    }
+
+    @Test
+    public void allLightsNotModified() {
+        Response response = commonSetup.client.target(commonSetup.basePath + "/testuser/lights").request().get();
+        assertEquals(200, response.getStatus());
+        EntityTag etag = response.getEntityTag();
+        assertThat(etag, is(notNullValue()));
+
+        response = commonSetup.client.target(commonSetup.basePath + "/testuser/lights").request()
+                .header(HttpHeaders.IF_NONE_MATCH, etag.toString()).get();
+        assertEquals(304, response.getStatus());
+
+        // A changed light must result in a new snapshot
+        SwitchItem item = new SwitchItem("switch1");
+        item.setLabel("newlight");
+        item.addTag("Switchable");
+        itemRegistry.add(item);
+
+        response = commonSetup.client.target(commonSetup.basePath + "/testuser/lights").request()
+                .header(HttpHeaders.IF_NONE_MATCH, etag.toString()).get();
+        assertEquals(200, response.getStatus());
+        assertThat(response.getEntityTag(), is(not(etag)));
+        assertThat(response.readEntity(String.class), containsString("newlight"));
+    }
+
+    @Test
+    public void allLightsUpdatedOnStateChange() {
+        SwitchItem item = new SwitchItem("switch1");
+        item.addTag("Switchable");
+        itemRegistry.add(item);
+        String hueID = cs.mapItemUIDtoHueID(item);
+
+        Response response = commonSetup.client.target(commonSetup.basePath + "/testuser/lights").request().get();
+        assertEquals(200, response.getStatus());
+        EntityTag etag = response.getEntityTag();
+        assertThat(((HueStatePlug) cs.ds.lights.get(hueID).state).on, is(false));
+
+        item.setState(OnOffType.ON);
+        subject.receive(ItemEventFactory.createStateChangedEvent(item.getName(), OnOffType.ON, OnOffType.OFF));
+
+        response = commonSetup.client.target(commonSetup.basePath + "/testuser/lights").request().get();
+        assertEquals(200, response.getStatus());
+        assertThat(response.getEntityTag(), is(not(etag)));
+        assertThat(((HueStatePlug) cs.ds.lights.get(hueID).state).on, is(true));
+    }
+
+    @Test
+    public void allLightsUpdatedOnGroupStateChange() {
+        GroupItem item = new GroupItem("group1", new SwitchItem("switch1"));
+        item.addTag("Switchable");
+        item.addTag("Huelight");
+        itemRegistry.add(item);
+        String hueID = cs.mapItemUIDtoHueID(item);
+
+        Response response = commonSetup.client.target(commonSetup.basePath + "/testuser/lights").request().get();
+        assertEquals(200, response.getStatus());
+        EntityTag etag = response.getEntityTag();
+        assertThat(((HueStatePlug) cs.ds.lights.get(hueID).state).on, is(false));
+
+        item.setState(OnOffType.ON);
+        subject.receive(
+                ItemEventFactory.createGroupStateChangedEvent(item.getName(), "switch1", OnOffType.ON, OnOffType.OFF));
+
+        response = commonSetup.client.target(commonSetup.basePath + "/testuser/lights").request().get();
+        assertEquals(200, response.getStatus());
+        assertThat(response.getEntityTag(), is(not(etag)));
+        assertThat(((HueStatePlug) cs.ds.lights.get(hueID).state).on, is(true));
+    }
+
     private boolean assertHueValue(ItemCommandEvent ce, int hueValue) {
         assertThat(((HSBType) ce.getItemCommand()).getHue().intValue(), is(hueValue * 360 / HueStateColorBulb.MAX_HUE));
         return true;
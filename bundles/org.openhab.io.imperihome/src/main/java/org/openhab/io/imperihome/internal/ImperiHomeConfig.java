@@ -25,10 +25,15 @@ import org.slf4j.LoggerFactory;
  */
 public class ImperiHomeConfig {
 
+    private static final int DEFAULT_HISTORY_MAX_POINTS = 500;
+    private static final int DEFAULT_HISTORY_CACHE_TTL = 30;
+
     private final Logger logger = LoggerFactory.getLogger(ImperiHomeConfig.class);
 
     private String systemId;
     private String rootUrl;
+    private int historyMaxPoints = DEFAULT_HISTORY_MAX_POINTS;
+    private int historyCacheTtl = DEFAULT_HISTORY_CACHE_TTL;
 
     public void update(Map<String, Object> config) {
         Object cSystemId = config.get("system.id");
@@ -46,9 +51,27 @@ public class ImperiHomeConfig {
             }
         }
 
+        historyMaxPoints = parseInt(config.get("history.maxPoints"), DEFAULT_HISTORY_MAX_POINTS);
+        if (historyMaxPoints > 0 && historyMaxPoints < 3) {
+            historyMaxPoints = 3;
+        }
+        historyCacheTtl = parseInt(config.get("history.cacheTtl"), DEFAULT_HISTORY_CACHE_TTL);
+
         logger.info("Configuration updated");
     }
 
+    private int parseInt(Object value, int defaultValue) {
+        if (value == null || value.toString().isEmpty()) {
+            return defaultValue;
+        }
+        try {
+            return Math.max(0, Integer.parseInt(value.toString().trim()));
+        } catch (NumberFormatException e) {
+            logger.warn("Invalid numeric configuration value '{}', using default {}", value, defaultValue);
+            return defaultValue;
+        }
+    }
+
     public String getSystemId() {
         return systemId;
     }
@@ -56,4 +79,18 @@ public class ImperiHomeConfig {
     public String getRootUrl() {
         return rootUrl;
     }
+
+    /**
+     * @return Maximum number of values returned for a history request, 0 to return all values.
+     */
+    public int getHistoryMaxPoints() {
+        return historyMaxPoints;
+    }
+
+    /**
+     * @return Time in seconds history responses are cached, 0 to disable the cache.
+     */
+    public int getHistoryCacheTtl() {
+        return historyCacheTtl;
+    }
 }
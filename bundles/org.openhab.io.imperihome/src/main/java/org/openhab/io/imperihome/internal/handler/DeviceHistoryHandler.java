@@ -18,8 +18,11 @@ import java.time.Instant;
 import java.time.ZoneId;
 import java.time.ZonedDateTime;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
 import java.util.regex.Matcher;
 
 import javax.servlet.http.HttpServletRequest;
@@ -31,6 +34,7 @@ import org.openhab.core.persistence.PersistenceService;
 import org.openhab.core.persistence.PersistenceServiceRegistry;
 import org.openhab.core.persistence.QueryablePersistenceService;
 import org.openhab.core.types.State;
+import org.openhab.io.imperihome.internal.ImperiHomeConfig;
 import org.openhab.io.imperihome.internal.model.HistoryItem;
 import org.openhab.io.imperihome.internal.model.HistoryList;
 import org.openhab.io.imperihome.internal.model.device.AbstractDevice;
@@ -39,22 +43,38 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
- * Device history request handler.
+ * Device history request handler. Results are downsampled to the configured maximum number of values and cached for a
+ * short time, keyed by item, range and resolution. The range is rounded to the cache TTL, so repeated requests for a
+ * range ending 'now' hit the cache as well. Expired results are dropped, and the least recently used result is evicted
+ * when the cache is full.
  *
  * @author Pepijn de Geus - Initial contribution
  */
 public class DeviceHistoryHandler {
 
     private static final String CHARSET = "UTF-8";
+    private static final int MAX_CACHE_ENTRIES = 100;
 
     private final Logger logger = LoggerFactory.getLogger(DeviceHistoryHandler.class);
 
     private final DeviceRegistry deviceRegistry;
     private final PersistenceServiceRegistry persistenceServiceRegistry;
+    private final ImperiHomeConfig config;
+    // guarded by itself
+    private final Map<String, CachedHistory> cache = new LinkedHashMap<>(16, 0.75f, true) {
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, CachedHistory> eldest) {
+            return size() > MAX_CACHE_ENTRIES;
+        }
+    };
 
-    public DeviceHistoryHandler(DeviceRegistry deviceRegistry, PersistenceServiceRegistry persistenceServiceRegistry) {
+    public DeviceHistoryHandler(DeviceRegistry deviceRegistry, PersistenceServiceRegistry persistenceServiceRegistry,
+            ImperiHomeConfig config) {
         this.deviceRegistry = deviceRegistry;
         this.persistenceServiceRegistry = persistenceServiceRegistry;
+        this.config = config;
     }
 
     public HistoryList handle(HttpServletRequest req, Matcher urlMatcher) {
@@ -87,11 +107,38 @@ public class DeviceHistoryHandler {
             return null;
         }
 
-        return serveHistory(device, (QueryablePersistenceService) persistence, start, end);
+        return serveCachedHistory(device, (QueryablePersistenceService) persistence, start, end);
     }
 
-    private HistoryList serveHistory(AbstractDevice device, QueryablePersistenceService persistence, long start,
+    private HistoryList serveCachedHistory(AbstractDevice device, QueryablePersistenceService persistence, long start,
             long end) {
+        int maxPoints = config.getHistoryMaxPoints();
+        long ttl = TimeUnit.SECONDS.toMillis(config.getHistoryCacheTtl());
+        if (ttl <= 0) {
+            return serveHistory(device, persistence, start, end, maxPoints);
+        }
+
+        long now = System.currentTimeMillis();
+        String key = device.getItemName() + '|' + persistence.getId() + '|' + start / ttl + '|' + end / ttl + '|'
+                + maxPoints;
+        synchronized (cache) {
+            cache.values().removeIf(entry -> entry.expires <= now);
+            CachedHistory cached = cache.get(key);
+            if (cached != null) {
+                logger.debug("Serving cached history of Item {}", device.getItemName());
+                return cached.history;
+            }
+        }
+
+        HistoryList history = serveHistory(device, persistence, start, end, maxPoints);
+        synchronized (cache) {
+            cache.put(key, new CachedHistory(history, now + ttl));
+        }
+        return history;
+    }
+
+    private HistoryList serveHistory(AbstractDevice device, QueryablePersistenceService persistence, long start,
+            long end, int maxPoints) {
         logger.info("Querying persistence for history of Item {}, from {} to {}", device.getItemName(), start, end);
 
         FilterCriteria criteria = new FilterCriteria().setItemName(device.getItemName())
@@ -99,6 +146,7 @@ public class DeviceHistoryHandler {
                 .setEndDate(ZonedDateTime.ofInstant(Instant.ofEpochMilli(end), ZoneId.systemDefault()));
 
         List<HistoryItem> resultItems = new LinkedList<>();
+        HistoryDownsampler downsampler = maxPoints > 0 ? new HistoryDownsampler(start, end, maxPoints) : null;
         Iterable<HistoricItem> historicItems = persistence.query(criteria);
 
         Iterator<HistoricItem> iterator = historicItems.iterator();
@@ -110,10 +158,20 @@ public class DeviceHistoryHandler {
                 State state = historicItem.getState();
                 if (state instanceof DecimalType) {
                     Number value = ((DecimalType) state).toBigDecimal();
-                    resultItems.add(new HistoryItem(historicItem.getTimestamp().toInstant().toEpochMilli(), value));
+                    long date = historicItem.getTimestamp().toInstant().toEpochMilli();
+                    if (downsampler != null) {
+                        downsampler.add(date, value);
+                    } else {
+                        resultItems.add(new HistoryItem(date, value));
+                    }
                 }
             }
 
+            if (downsampler != null) {
+                resultItems = downsampler.finish();
+                logger.debug("Downsampled {} history values to {}", downsampler.getAdded(), resultItems.size());
+            }
+
             if (resultItems.isEmpty()) {
                 logger.warn(
                         "Persistence returned results for history query, but could not be interpreted as DecimalTypes");
@@ -122,4 +180,14 @@ public class DeviceHistoryHandler {
 
         return new HistoryList(resultItems);
     }
+
+    private static class CachedHistory {
+        private final HistoryList history;
+        private final long expires;
+
+        CachedHistory(HistoryList history, long expires) {
+            this.history = history;
+            this.expires = expires;
+        }
+    }
 }
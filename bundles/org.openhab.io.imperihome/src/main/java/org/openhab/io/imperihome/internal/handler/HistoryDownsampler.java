@@ -0,0 +1,192 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.io.imperihome.internal.handler;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.openhab.io.imperihome.internal.model.HistoryItem;
+
+/**
+ * Streaming Largest-Triangle-Three-Buckets downsampler for history values.
+ * <p>
+ * The requested time range is divided into equally sized buckets, and from every bucket the point forming the largest
+ * triangle with the previously selected point and the average of the next bucket is kept. The first and the last point
+ * are always kept. Points must be added in chronological order; only two buckets are held in memory at any time, so
+ * the persistence results don't have to be collected first. Up to the maximum number of points are returned unchanged.
+ *
+ * @author openHAB Contributors - Initial contribution
+ */
+class HistoryDownsampler {
+
+    private final long start;
+    private final double bucketWidth;
+    private final int bucketCount;
+    private final int maxPoints;
+
+    private final List<HistoryItem> result = new ArrayList<>();
+
+    // all points, until there are more than maxPoints
+    private List<Point> unsampled = new ArrayList<>();
+
+    private List<Point> currentBucket = new ArrayList<>();
+    private long currentBucketIndex;
+    private List<Point> nextBucket = new ArrayList<>();
+    private long nextBucketIndex;
+
+    private Point selected;
+    private Point last;
+    private int added;
+
+    /**
+     * @param start Start of the requested range, in epoch milliseconds.
+     * @param end End of the requested range, in epoch milliseconds.
+     * @param maxPoints Maximum number of points to return, at least 3.
+     */
+    HistoryDownsampler(long start, long end, int maxPoints) {
+        this.start = start;
+        this.maxPoints = maxPoints;
+        this.bucketCount = Math.max(1, maxPoints - 2);
+        this.bucketWidth = Math.max(1, end - start) / (double) bucketCount;
+    }
+
+    /**
+     * Adds the next value. Timestamps must not decrease.
+     */
+    void add(long date, Number value) {
+        added++;
+        Point point = new Point(date, value);
+        List<Point> unsampled = this.unsampled;
+        if (unsampled != null) {
+            if (unsampled.size() < maxPoints) {
+                unsampled.add(point);
+                return;
+            }
+            this.unsampled = null;
+            for (Point earlier : unsampled) {
+                sample(earlier);
+            }
+        }
+        sample(point);
+    }
+
+    private void sample(Point point) {
+        if (selected == null) {
+            selected = point;
+            result.add(point.toHistoryItem());
+            return;
+        }
+        // The last point is always kept; it's only bucketed once a newer point arrives
+        if (last != null) {
+            addToBucket(last);
+        }
+        last = point;
+    }
+
+    /**
+     * @return the number of values added so far.
+     */
+    int getAdded() {
+        return added;
+    }
+
+    /**
+     * Finishes downsampling and returns the selected values in chronological order.
+     */
+    List<HistoryItem> finish() {
+        List<Point> unsampled = this.unsampled;
+        if (unsampled != null) {
+            this.unsampled = new ArrayList<>();
+            for (Point point : unsampled) {
+                result.add(point.toHistoryItem());
+            }
+            return result;
+        }
+        if (!currentBucket.isEmpty()) {
+            selectFrom(currentBucket, nextBucket.isEmpty() ? last : average(nextBucket));
+        }
+        if (!nextBucket.isEmpty()) {
+            selectFrom(nextBucket, last);
+        }
+        if (last != null) {
+            result.add(last.toHistoryItem());
+        }
+        currentBucket = new ArrayList<>();
+        nextBucket = new ArrayList<>();
+        return result;
+    }
+
+    private void addToBucket(Point point) {
+        long index = Math.min(bucketCount - 1, Math.max(0, (long) ((point.date - start) / bucketWidth)));
+        if (currentBucket.isEmpty()) {
+            currentBucketIndex = index;
+            currentBucket.add(point);
+        } else if (index <= currentBucketIndex) {
+            currentBucket.add(point);
+        } else if (nextBucket.isEmpty()) {
+            nextBucketIndex = index;
+            nextBucket.add(point);
+        } else if (index <= nextBucketIndex) {
+            nextBucket.add(point);
+        } else {
+            // The next bucket is complete, so the current one can be reduced to a single point
+            selectFrom(currentBucket, average(nextBucket));
+            currentBucket = nextBucket;
+            currentBucketIndex = nextBucketIndex;
+            nextBucket = new ArrayList<>();
+            nextBucketIndex = index;
+            nextBucket.add(point);
+        }
+    }
+
+    private void selectFrom(List<Point> bucket, Point next) {
+        Point best = bucket.get(0);
+        double maxArea = -1;
+        for (Point candidate : bucket) {
+            double area = Math.abs((selected.date - next.date) * (candidate.y - selected.y)
+                    - (selected.date - candidate.date) * (next.y - selected.y));
+            if (area > maxArea) {
+                maxArea = area;
+                best = candidate;
+            }
+        }
+        selected = best;
+        result.add(best.toHistoryItem());
+    }
+
+    private static Point average(List<Point> bucket) {
+        double date = 0;
+        double y = 0;
+        for (Point point : bucket) {
+            date += point.date;
+            y += point.y;
+        }
+        return new Point((long) (date / bucket.size()), y / bucket.size());
+    }
+
+    private static class Point {
+        private final long date;
+        private final double y;
+        private final Number value;
+
+        Point(long date, Number value) {
+            this.date = date;
+            this.y = value.doubleValue();
+            this.value = value;
+        }
+
+        HistoryItem toHistoryItem() {
+            return new HistoryItem(date, value);
+        }
+    }
+}
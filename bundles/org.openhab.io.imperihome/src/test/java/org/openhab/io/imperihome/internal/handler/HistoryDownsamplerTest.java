@@ -0,0 +1,131 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.io.imperihome.internal.handler;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+import org.openhab.io.imperihome.internal.model.HistoryItem;
+
+/**
+ * Tests for the {@link HistoryDownsampler}.
+ *
+ * @author openHAB Contributors - Initial contribution
+ */
+public class HistoryDownsamplerTest {
+
+    private static List<Long> dates(List<HistoryItem> items) {
+        return items.stream().map(HistoryItem::getDate).collect(Collectors.toList());
+    }
+
+    @Test
+    public void noValues() {
+        HistoryDownsampler downsampler = new HistoryDownsampler(0, 100, 10);
+        assertTrue(downsampler.finish().isEmpty());
+        assertEquals(0, downsampler.getAdded());
+    }
+
+    @Test
+    public void singleValue() {
+        HistoryDownsampler downsampler = new HistoryDownsampler(0, 100, 10);
+        downsampler.add(50, 1);
+        assertEquals(List.of(50L), dates(downsampler.finish()));
+    }
+
+    @Test
+    public void upToMaxPointsAreReturnedUnchanged() {
+        // all in the first bucket, but no more than requested
+        HistoryDownsampler downsampler = new HistoryDownsampler(0, 1000, 5);
+        for (int i = 0; i < 5; i++) {
+            downsampler.add(i, i * 10);
+        }
+        List<HistoryItem> result = downsampler.finish();
+        assertEquals(List.of(0L, 1L, 2L, 3L, 4L), dates(result));
+        assertEquals(40, result.get(4).getValue().intValue());
+        assertEquals(5, downsampler.getAdded());
+    }
+
+    @Test
+    public void firstAndLastValuesAreKept() {
+        HistoryDownsampler downsampler = new HistoryDownsampler(0, 1000, 12);
+        for (int i = 0; i < 1000; i++) {
+            downsampler.add(i, Math.sin(i / 10.0));
+        }
+        List<Long> dates = dates(downsampler.finish());
+        assertTrue(dates.size() <= 12, "too many values: " + dates.size());
+        assertEquals(0L, dates.get(0));
+        assertEquals(999L, dates.get(dates.size() - 1));
+        assertEquals(1000, downsampler.getAdded());
+        for (int i = 1; i < dates.size(); i++) {
+            assertTrue(dates.get(i) > dates.get(i - 1), "not in chronological order: " + dates);
+        }
+    }
+
+    @Test
+    public void oneValueAboveMaxPointsIsDownsampled() {
+        HistoryDownsampler downsampler = new HistoryDownsampler(0, 100, 10);
+        for (int i = 0; i <= 10; i++) {
+            downsampler.add(i * 10, i);
+        }
+        List<Long> dates = dates(downsampler.finish());
+        assertTrue(dates.size() <= 10, "too many values: " + dates.size());
+        assertEquals(0L, dates.get(0));
+        assertEquals(100L, dates.get(dates.size() - 1));
+    }
+
+    @Test
+    public void largestTriangleIsSelected() {
+        // two buckets of 50ms between the first and the last value
+        HistoryDownsampler downsampler = new HistoryDownsampler(0, 100, 4);
+        downsampler.add(0, 0);
+        downsampler.add(10, 0);
+        downsampler.add(20, 10);
+        downsampler.add(30, 0);
+        downsampler.add(50, 0);
+        downsampler.add(60, 0);
+        downsampler.add(70, -10);
+        downsampler.add(100, 0);
+        assertEquals(List.of(0L, 20L, 70L, 100L), dates(downsampler.finish()));
+    }
+
+    @Test
+    public void bucketBoundaryBelongsToNextBucket() {
+        HistoryDownsampler downsampler = new HistoryDownsampler(0, 100, 4);
+        downsampler.add(0, 0);
+        downsampler.add(49, 5);
+        downsampler.add(50, 20);
+        downsampler.add(51, 0);
+        downsampler.add(100, 0);
+        // 49 is the only value of the first bucket, 50 wins over 51 in the second one
+        assertEquals(List.of(0L, 49L, 50L, 100L), dates(downsampler.finish()));
+    }
+
+    @Test
+    public void valuesOutsideRangeAreClamped() {
+        HistoryDownsampler downsampler = new HistoryDownsampler(100, 200, 4);
+        downsampler.add(0, 0);
+        downsampler.add(50, 10);
+        downsampler.add(60, 0);
+        downsampler.add(150, 0);
+        downsampler.add(250, 0);
+        downsampler.add(300, 0);
+        List<Long> dates = dates(downsampler.finish());
+        assertEquals(4, dates.size());
+        assertEquals(0L, dates.get(0));
+        assertEquals(50L, dates.get(1));
+        assertEquals(300L, dates.get(3));
+    }
+}
@@ -243,6 +243,7 @@ public class NeeoService implements EventSubscriber, NetworkAddressChangeListene
         final ServiceContext localContext = context;
         if (localContext != null) {
             localContext.getDefinitions().save();
+            localContext.close();
 
             final HttpService service = localContext.getHttpService();
             for (NeeoBrainServlet servlet : servlets) {
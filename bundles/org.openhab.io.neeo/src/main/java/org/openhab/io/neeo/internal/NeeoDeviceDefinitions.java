@@ -147,6 +147,7 @@ public class NeeoDeviceDefinitions {
         Objects.requireNonNull(device, "device cannot be null");
 
         uidToDevice.put(device.getUid(), device);
+        context.getSearchIndex().invalidate(device.getUid());
         save();
     }
 
@@ -161,6 +162,7 @@ public class NeeoDeviceDefinitions {
 
         final boolean found = uidToDevice.remove(uid) != null;
         if (found) {
+            context.getSearchIndex().invalidate(uid);
             save();
         }
         return found;
@@ -174,8 +176,7 @@ public class NeeoDeviceDefinitions {
     public List<NeeoDevice> getExposed() {
         final List<NeeoDevice> devices = new ArrayList<>();
         for (NeeoDevice device : exposeAll || exposeNeeoBinding ? getAllDevices() : uidToDevice.values()) {
-            if (device.getExposedChannels().length > 0 && !NeeoDeviceType.EXCLUDE.equals(device.getType())
-                    && !device.getType().toString().isEmpty()) {
+            if (isExposed(device)) {
                 devices.add(device);
             }
         }
@@ -183,6 +184,40 @@ public class NeeoDeviceDefinitions {
         return devices;
     }
 
+    /**
+     * Returns the {@link NeeoDevice} for the given {@link NeeoThingUID} if it is part of {@link #getExposed()}
+     *
+     * @param uid the non-null uid
+     * @return the exposed device or null if the device is unknown or not exposed
+     */
+    public @Nullable NeeoDevice getExposedDevice(NeeoThingUID uid) {
+        Objects.requireNonNull(uid, "uid cannot be null");
+
+        final NeeoDevice definition = uidToDevice.get(uid);
+        NeeoDevice device = definition;
+        if (exposeAll || exposeNeeoBinding) {
+            if (definition == null) {
+                final Thing thing = context.getThingRegistry().get(uid.asThingUID());
+                device = thing == null ? null : converter.convert(thing);
+            } else if (!NeeoConstants.NEEOIO_BINDING_ID.equalsIgnoreCase(uid.getBindingId())) {
+                device = context.getThingRegistry().get(uid.asThingUID()) == null ? null : definition.merge(context);
+            }
+        }
+
+        return device != null && isExposed(device) ? device : null;
+    }
+
+    /**
+     * Checks whether the device has exposed channels and a type that isn't {@link NeeoDeviceType#EXCLUDE}
+     *
+     * @param device the non-null device
+     * @return true if exposed, false otherwise
+     */
+    private boolean isExposed(NeeoDevice device) {
+        return device.getExposedChannels().length > 0 && !NeeoDeviceType.EXCLUDE.equals(device.getType())
+                && !device.getType().toString().isEmpty();
+    }
+
     /**
      *
      * Checks to see if the specified itemName is bound given the {@link NeeoDeviceKeys}. This method will find any
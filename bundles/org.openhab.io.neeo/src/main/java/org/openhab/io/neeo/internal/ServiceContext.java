@@ -74,6 +74,9 @@ public class ServiceContext {
     /** The network address service. */
     private final NetworkAddressService networkAddressService;
 
+    /** The search index. */
+    private final TokenSearchIndex searchIndex;
+
     /**
      * Creates teh service context from the variable services
      *
@@ -117,6 +120,14 @@ public class ServiceContext {
         this.eventPublisher = eventPublisher;
         this.networkAddressService = networkAddressService;
         this.definitions = new NeeoDeviceDefinitions(this);
+        this.searchIndex = new TokenSearchIndex(this);
+    }
+
+    /**
+     * Releases the resources held by this context
+     */
+    public void close() {
+        searchIndex.close();
     }
 
     /**
@@ -128,6 +139,15 @@ public class ServiceContext {
         return definitions;
     }
 
+    /**
+     * Gets the search index.
+     *
+     * @return the search index
+     */
+    public TokenSearchIndex getSearchIndex() {
+        return searchIndex;
+    }
+
     /**
      * Gets the component context.
      *
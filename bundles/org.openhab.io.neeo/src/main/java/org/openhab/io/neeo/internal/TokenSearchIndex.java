@@ -0,0 +1,361 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.io.neeo.internal;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+
+import org.apache.commons.lang3.StringUtils;
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.core.binding.BindingInfo;
+import org.openhab.core.common.registry.RegistryChangeListener;
+import org.openhab.core.items.Item;
+import org.openhab.core.thing.Thing;
+import org.openhab.core.thing.link.ItemChannelLink;
+import org.openhab.core.thing.type.ThingType;
+import org.openhab.io.neeo.internal.models.NeeoDevice;
+import org.openhab.io.neeo.internal.models.NeeoThingUID;
+import org.openhab.io.neeo.internal.models.TokenScore;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * An inverted index of the search tokens (name, binding, location, vendor, thing type and binding name) of all exposed
+ * {@link NeeoDevice}. The index is maintained incrementally: registry and definition changes only mark the affected
+ * devices as dirty and those are re-indexed on the next search, so a search itself does not need any registry lookups.
+ * <p>
+ * A needle matches every token containing it, so all suffixes of the tokens are kept sorted as well. The tokens
+ * containing a needle are those with a suffix starting with the needle, which is a range lookup in the sorted suffixes
+ * instead of a scan of all tokens.
+ *
+ * @author openHAB Contributors - Initial contribution
+ */
+@NonNullByDefault
+public class TokenSearchIndex {
+
+    /** The logger */
+    private final Logger logger = LoggerFactory.getLogger(TokenSearchIndex.class);
+
+    /** The delimiter used to split search terms */
+    private static final char DELIMITER = ' ';
+
+    /** The service context */
+    private final ServiceContext context;
+
+    /** The indexed devices with their token counts */
+    private final Map<NeeoThingUID, IndexedDevice> devices = new HashMap<>();
+
+    /** The posting lists: lower case token to the devices (and number of occurrences) containing it */
+    private final Map<String, Map<NeeoThingUID, Integer>> postings = new HashMap<>();
+
+    /** All suffixes of the tokens, to the tokens ending with them */
+    private final NavigableMap<String, Set<String>> suffixes = new TreeMap<>();
+
+    /** The devices that need to be re-indexed */
+    private final Set<NeeoThingUID> dirty = new HashSet<>();
+
+    /** Whether the whole index needs to be rebuilt */
+    private boolean rebuild = true;
+
+    /** Invalidates a device whenever its thing changes */
+    private final RegistryChangeListener<Thing> thingListener = new RegistryChangeListener<Thing>() {
+        @Override
+        public void added(Thing element) {
+            invalidate(new NeeoThingUID(element.getUID()));
+        }
+
+        @Override
+        public void removed(Thing element) {
+            invalidate(new NeeoThingUID(element.getUID()));
+        }
+
+        @Override
+        public void updated(Thing oldElement, Thing element) {
+            invalidate(new NeeoThingUID(element.getUID()));
+        }
+    };
+
+    /** Invalidates a device whenever one of its channels is linked or unlinked */
+    private final RegistryChangeListener<ItemChannelLink> linkListener = new RegistryChangeListener<ItemChannelLink>() {
+        @Override
+        public void added(ItemChannelLink element) {
+            invalidate(new NeeoThingUID(element.getLinkedUID().getThingUID()));
+        }
+
+        @Override
+        public void removed(ItemChannelLink element) {
+            invalidate(new NeeoThingUID(element.getLinkedUID().getThingUID()));
+        }
+
+        @Override
+        public void updated(ItemChannelLink oldElement, ItemChannelLink element) {
+            invalidate(new NeeoThingUID(oldElement.getLinkedUID().getThingUID()));
+            invalidate(new NeeoThingUID(element.getLinkedUID().getThingUID()));
+        }
+    };
+
+    /** Items can be referenced by any device, so item changes invalidate the whole index */
+    private final RegistryChangeListener<Item> itemListener = new RegistryChangeListener<Item>() {
+        @Override
+        public void added(Item element) {
+            invalidateAll();
+        }
+
+        @Override
+        public void removed(Item element) {
+            invalidateAll();
+        }
+
+        @Override
+        public void updated(Item oldElement, Item element) {
+            invalidateAll();
+        }
+    };
+
+    /**
+     * Creates the index for the given {@link ServiceContext}. The index is built lazily on the first search.
+     *
+     * @param context the non-null service context
+     */
+    TokenSearchIndex(ServiceContext context) {
+        Objects.requireNonNull(context, "context cannot be null");
+        this.context = context;
+
+        context.getThingRegistry().addRegistryChangeListener(thingListener);
+        context.getItemChannelLinkRegistry().addRegistryChangeListener(linkListener);
+        context.getItemRegistry().addRegistryChangeListener(itemListener);
+    }
+
+    /**
+     * Stops listening to registry changes
+     */
+    void close() {
+        context.getThingRegistry().removeRegistryChangeListener(thingListener);
+        context.getItemChannelLinkRegistry().removeRegistryChangeListener(linkListener);
+        context.getItemRegistry().removeRegistryChangeListener(itemListener);
+    }
+
+    /**
+     * Marks the device with the given uid as dirty, it will be re-indexed on the next search
+     *
+     * @param uid the non-null uid
+     */
+    public synchronized void invalidate(NeeoThingUID uid) {
+        Objects.requireNonNull(uid, "uid cannot be null");
+        dirty.add(uid);
+    }
+
+    /**
+     * Marks the whole index as dirty, it will be rebuilt on the next search
+     */
+    public synchronized void invalidateAll() {
+        rebuild = true;
+        dirty.clear();
+    }
+
+    /**
+     * Scores all exposed devices against the needles using the tokensearch.js algorithm. Only the tokens matching a
+     * needle are looked at, devices without any matching token get the base score.
+     *
+     * @param needles the non-null needles to search for
+     * @param baseScore the score every device starts with
+     * @return a non-null, possibly empty list of all exposed devices with their (unnormalized) score
+     */
+    public synchronized List<TokenScore<NeeoDevice>> score(String[] needles, int baseScore) {
+        Objects.requireNonNull(needles, "needles cannot be null");
+        update();
+
+        final Map<NeeoThingUID, Integer> scores = new HashMap<>();
+        for (String needle : needles) {
+            final String lowerNeedle = needle.toLowerCase();
+            for (String token : getTokensContaining(lowerNeedle)) {
+                final int tokenScore = score(token, lowerNeedle);
+                final Map<NeeoThingUID, Integer> posting = postings.get(token);
+                if (tokenScore > 0 && posting != null) {
+                    posting.forEach((uid, count) -> scores.merge(uid, tokenScore * count, Integer::sum));
+                }
+            }
+        }
+
+        final List<TokenScore<NeeoDevice>> results = new ArrayList<>(devices.size());
+        for (IndexedDevice indexed : devices.values()) {
+            final Integer score = scores.get(indexed.device.getUid());
+            results.add(new TokenScore<>(baseScore + (score == null ? 0 : score), indexed.device));
+        }
+        return results;
+    }
+
+    /**
+     * Returns the indexed tokens containing the needle
+     *
+     * @param needle the non-null lower case needle
+     * @return a non-null, possibly empty set of tokens
+     */
+    private Set<String> getTokensContaining(String needle) {
+        final Set<String> tokens = new HashSet<>();
+        for (Set<String> suffixTokens : suffixes.subMap(needle, true, needle + Character.MAX_VALUE, false).values()) {
+            tokens.addAll(suffixTokens);
+        }
+        return tokens;
+    }
+
+    /**
+     * Returns the number of indexed tokens
+     *
+     * @return the number of distinct tokens of all indexed devices
+     */
+    synchronized int getTokenCount() {
+        update();
+        return postings.size();
+    }
+
+    /**
+     * The search algorithm (lifted from tokensearch.js) for a single lower case token and needle
+     *
+     * @param token the lower case token
+     * @param needle the lower case needle
+     * @return the score of the match
+     */
+    static int score(String token, String needle) {
+        final int stringPos = token.indexOf(needle);
+        if (stringPos == -1) {
+            return 0;
+        } else if (needle.length() < 2) {
+            return 1;
+        } else if (token.equals(needle)) {
+            return 6;
+        } else if (stringPos == 0) {
+            return 2;
+        } else {
+            return 1;
+        }
+    }
+
+    /**
+     * Brings the index up to date by rebuilding it or re-indexing the dirty devices
+     */
+    private void update() {
+        if (rebuild) {
+            devices.clear();
+            postings.clear();
+            suffixes.clear();
+            dirty.clear();
+            for (NeeoDevice device : context.getDefinitions().getExposed()) {
+                add(device);
+            }
+            rebuild = false;
+            logger.debug("Built search index for {} devices with {} tokens", devices.size(), postings.size());
+        } else if (!dirty.isEmpty()) {
+            for (NeeoThingUID uid : dirty) {
+                remove(uid);
+                final NeeoDevice device = context.getDefinitions().getExposedDevice(uid);
+                if (device != null) {
+                    add(device);
+                }
+            }
+            logger.debug("Re-indexed {} devices", dirty.size());
+            dirty.clear();
+        }
+    }
+
+    private void add(NeeoDevice device) {
+        final Map<String, Integer> tokens = new HashMap<>();
+        addTokens(tokens, device.getName());
+        addTokens(tokens, device.getUid().getBindingId());
+
+        final Thing thing = context.getThingRegistry().get(device.getUid().asThingUID());
+        if (thing != null) {
+            addTokens(tokens, thing.getLocation());
+            addTokens(tokens, thing.getProperties().get(Thing.PROPERTY_VENDOR));
+
+            final ThingType tt = context.getThingTypeRegistry().getThingType(thing.getThingTypeUID());
+            if (tt != null) {
+                addTokens(tokens, tt.getLabel());
+
+                final BindingInfo bi = context.getBindingInfoRegistry().getBindingInfo(tt.getBindingId());
+                if (bi != null) {
+                    addTokens(tokens, bi.getName());
+                }
+            }
+        }
+
+        final NeeoThingUID uid = device.getUid();
+        remove(uid);
+        devices.put(uid, new IndexedDevice(device, tokens));
+        tokens.forEach((token, count) -> postings.computeIfAbsent(token, k -> {
+            for (int i = 0; i < k.length(); i++) {
+                suffixes.computeIfAbsent(k.substring(i), s -> new HashSet<>()).add(k);
+            }
+            return new HashMap<>();
+        }).put(uid, count));
+    }
+
+    private void remove(NeeoThingUID uid) {
+        final IndexedDevice indexed = devices.remove(uid);
+        if (indexed != null) {
+            for (String token : indexed.tokens.keySet()) {
+                final Map<NeeoThingUID, Integer> posting = postings.get(token);
+                if (posting != null) {
+                    posting.remove(uid);
+                    if (posting.isEmpty()) {
+                        postings.remove(token);
+                        removeSuffixes(token);
+                    }
+                }
+            }
+        }
+    }
+
+    private void removeSuffixes(String token) {
+        for (int i = 0; i < token.length(); i++) {
+            final String suffix = token.substring(i);
+            final Set<String> suffixTokens = suffixes.get(suffix);
+            if (suffixTokens != null) {
+                suffixTokens.remove(token);
+                if (suffixTokens.isEmpty()) {
+                    suffixes.remove(suffix);
+                }
+            }
+        }
+    }
+
+    private static void addTokens(Map<String, Integer> tokens, @Nullable String text) {
+        if (text == null || text.isEmpty()) {
+            return;
+        }
+        for (String token : StringUtils.split(text, DELIMITER)) {
+            tokens.merge(token.toLowerCase(), 1, Integer::sum);
+        }
+    }
+
+    /**
+     * A device in the index together with its token counts
+     */
+    private static class IndexedDevice {
+        private final NeeoDevice device;
+        private final Map<String, Integer> tokens;
+
+        private IndexedDevice(NeeoDevice device, Map<String, Integer> tokens) {
+            this.device = device;
+            this.tokens = tokens;
+        }
+    }
+}
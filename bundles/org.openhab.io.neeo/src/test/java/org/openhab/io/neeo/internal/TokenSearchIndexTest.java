@@ -0,0 +1,194 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.io.neeo.internal;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.openhab.core.common.registry.RegistryChangeListener;
+import org.openhab.core.items.ItemRegistry;
+import org.openhab.core.thing.Thing;
+import org.openhab.core.thing.ThingRegistry;
+import org.openhab.core.thing.ThingUID;
+import org.openhab.core.thing.link.ItemChannelLinkRegistry;
+import org.openhab.io.neeo.internal.models.NeeoDevice;
+import org.openhab.io.neeo.internal.models.NeeoDeviceType;
+import org.openhab.io.neeo.internal.models.NeeoThingUID;
+import org.openhab.io.neeo.internal.models.TokenScore;
+
+/**
+ * Tests for the {@link TokenSearchIndex}
+ *
+ * @author openHAB Contributors - Initial contribution
+ */
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.WARN)
+public class TokenSearchIndexTest {
+
+    private @Mock ServiceContext context;
+    private @Mock NeeoDeviceDefinitions definitions;
+    private @Mock ThingRegistry thingRegistry;
+    private @Mock ItemChannelLinkRegistry linkRegistry;
+    private @Mock ItemRegistry itemRegistry;
+
+    private final Map<NeeoThingUID, NeeoDevice> exposed = new LinkedHashMap<>();
+
+    private TokenSearchIndex index;
+    private RegistryChangeListener<Thing> thingListener;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    public void setUp() {
+        when(context.getDefinitions()).thenReturn(definitions);
+        when(context.getThingRegistry()).thenReturn(thingRegistry);
+        when(context.getItemChannelLinkRegistry()).thenReturn(linkRegistry);
+        when(context.getItemRegistry()).thenReturn(itemRegistry);
+        when(definitions.getExposed()).thenAnswer(i -> new ArrayList<>(exposed.values()));
+        when(definitions.getExposedDevice(any())).thenAnswer(i -> exposed.get(i.getArgument(0)));
+
+        index = new TokenSearchIndex(context);
+
+        ArgumentCaptor<RegistryChangeListener<Thing>> captor = ArgumentCaptor.forClass(RegistryChangeListener.class);
+        verify(thingRegistry).addRegistryChangeListener(captor.capture());
+        thingListener = captor.getValue();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        index.close();
+        verify(thingRegistry).removeRegistryChangeListener(thingListener);
+    }
+
+    private NeeoDevice expose(String uid, String name) {
+        NeeoDevice device = new NeeoDevice(new NeeoThingUID(uid), 0, NeeoDeviceType.ACCESSOIRE, "openHAB", name,
+                List.of(), null, null, null, null);
+        exposed.put(device.getUid(), device);
+        return device;
+    }
+
+    private Thing thing(String uid) {
+        Thing thing = mock(Thing.class);
+        when(thing.getUID()).thenReturn(new ThingUID(uid));
+        return thing;
+    }
+
+    private Map<String, Integer> score(String... needles) {
+        Map<String, Integer> scores = new HashMap<>();
+        for (TokenScore<NeeoDevice> score : index.score(needles, 0)) {
+            scores.put(score.getItem().getName(), (int) score.getScore());
+        }
+        return scores;
+    }
+
+    /**
+     * Scores the tokens of the device name and binding the way a scan of all tokens would
+     */
+    private static int scanScore(NeeoDevice device, String... needles) {
+        int score = 0;
+        for (String needle : needles) {
+            for (String token : (device.getName() + ' ' + device.getUid().getBindingId()).split(" ")) {
+                score += TokenSearchIndex.score(token.toLowerCase(), needle.toLowerCase());
+            }
+        }
+        return score;
+    }
+
+    @Test
+    public void scoresLikeScanningAllTokens() {
+        List<NeeoDevice> devices = List.of(expose("hue:0210:bridge:living", "Living Room Lamp"),
+                expose("hue:0210:bridge:lamp", "Lamp Lamp"), expose("sonos:one:kitchen", "Kitchen Speaker"),
+                expose("zwave:device:stick:node4", "Lampshade Dimmer"));
+        String[][] queries = { { "lamp" }, { "Lamp" }, { "amp" }, { "la" }, { "l" }, { "room", "kitchen" },
+                { "hue" }, { "e" }, { "shade" }, { "speakers" }, { "zzz" } };
+
+        for (String[] needles : queries) {
+            Map<String, Integer> scores = score(needles);
+            assertEquals(devices.size(), scores.size());
+            for (NeeoDevice device : devices) {
+                assertEquals(scanScore(device, needles), scores.get(device.getName()),
+                        device.getName() + " for " + String.join(" ", needles));
+            }
+        }
+
+        // exact, prefix and infix matches of tokensearch.js
+        assertEquals(6, score("lamp").get("Living Room Lamp"));
+        assertEquals(12, score("lamp").get("Lamp Lamp"));
+        assertEquals(2, score("lamp").get("Lampshade Dimmer"));
+        assertEquals(1, score("amp").get("Living Room Lamp"));
+        assertEquals(0, score("lamp").get("Kitchen Speaker"));
+    }
+
+    @Test
+    public void baseScoreIsAdded() {
+        expose("hue:0210:bridge:living", "Living Room Lamp");
+        List<TokenScore<NeeoDevice>> scores = index.score(new String[] { "lamp" }, 3);
+        assertEquals(1, scores.size());
+        assertEquals(9, (int) scores.get(0).getScore());
+    }
+
+    @Test
+    public void registryChangesUpdateIndex() {
+        expose("hue:0210:bridge:living", "Living Room Lamp");
+        assertEquals(Map.of("Living Room Lamp", 6), score("lamp"));
+        int tokens = index.getTokenCount();
+
+        // added
+        expose("sonos:one:kitchen", "Kitchen Speaker");
+        assertEquals(1, score("speaker").size(), "not re-indexed before the change is reported");
+        thingListener.added(thing("sonos:one:kitchen"));
+        assertEquals(6, score("speaker").get("Kitchen Speaker"));
+        assertEquals(tokens + 3, index.getTokenCount());
+
+        // updated
+        expose("sonos:one:kitchen", "Kitchen Radio");
+        thingListener.updated(thing("sonos:one:kitchen"), thing("sonos:one:kitchen"));
+        assertEquals(0, score("speaker").get("Kitchen Radio"));
+        assertEquals(0, score("peak").get("Kitchen Radio"));
+        assertEquals(6, score("radio").get("Kitchen Radio"));
+        assertEquals(tokens + 3, index.getTokenCount());
+
+        // removed, its tokens are dropped
+        exposed.remove(new NeeoThingUID("sonos:one:kitchen"));
+        thingListener.removed(thing("sonos:one:kitchen"));
+        assertEquals(Map.of("Living Room Lamp", 0), score("kitchen"));
+        assertEquals(tokens, index.getTokenCount());
+        assertEquals(Map.of("Living Room Lamp", 1), score("adi", "o"));
+    }
+
+    @Test
+    public void invalidateAllRebuildsIndex() {
+        expose("hue:0210:bridge:living", "Living Room Lamp");
+        assertEquals(6, score("lamp").get("Living Room Lamp"));
+
+        expose("hue:0210:bridge:living", "Living Room Light");
+        index.invalidateAll();
+        assertEquals(0, score("lamp").get("Living Room Light"));
+        assertEquals(6, score("light").get("Living Room Light"));
+    }
+}
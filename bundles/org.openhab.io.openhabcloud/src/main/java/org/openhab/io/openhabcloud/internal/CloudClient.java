@@ -18,6 +18,7 @@ import java.net.URI;
 import java.net.URISyntaxException;
 import java.net.URL;
 import java.net.URLEncoder;
+import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
 import java.util.Iterator;
 import java.util.List;
@@ -33,12 +34,13 @@ import java.util.concurrent.atomic.AtomicReference;
 import org.eclipse.jdt.annotation.Nullable;
 import org.eclipse.jetty.client.HttpClient;
 import org.eclipse.jetty.client.api.Request;
+import org.eclipse.jetty.client.api.Response;
 import org.eclipse.jetty.client.util.BytesContentProvider;
 import org.eclipse.jetty.http.HttpField;
 import org.eclipse.jetty.http.HttpFields;
+import org.eclipse.jetty.http.HttpHeader;
 import org.eclipse.jetty.http.HttpMethod;
 import org.eclipse.jetty.http.HttpStatus;
-import org.eclipse.jetty.util.BufferUtil;
 import org.eclipse.jetty.util.URIUtil;
 import org.json.JSONException;
 import org.json.JSONObject;
@@ -81,6 +83,11 @@ public class CloudClient {
 
     private static final long READ_TIMEOUT = 60_0000;
 
+    /*
+     * Maximum time in milliseconds response content is held back to aggregate it into larger frames
+     */
+    private static final long FRAME_FLUSH_DELAY = 50;
+
     /*
      * Logger for this class
      */
@@ -116,6 +123,16 @@ public class CloudClient {
      */
     private final Map<Integer, Request> runningRequests = new ConcurrentHashMap<>();
 
+    /*
+     * This variable holds the queue of HTTP requests to local openHAB which are waiting for a free slot
+     */
+    private final ProxyRequestQueue requestQueue;
+
+    /*
+     * This variable holds the size in bytes up to which response content is aggregated into one frame
+     */
+    private final int frameSize;
+
     /*
      * This variable indicates if connection to the openHAB Cloud is currently in an established state
      */
@@ -163,9 +180,13 @@ public class CloudClient {
      * @param secret openHAB's Secret to connect to the openHAB Cloud
      * @param remoteAccessEnabled Allow the openHAB Cloud to be used as a remote proxy
      * @param exposedItems Items that are made available to apps connected to the openHAB Cloud
+     * @param maxConcurrentRequests Maximum number of concurrently proxied requests, further requests are queued.
+     *            Streaming requests are not counted. 0 for no limit
+     * @param frameSize Size in bytes up to which response content is aggregated before it is sent to the openHAB
+     *            Cloud. 0 to send every content chunk directly
      */
     public CloudClient(HttpClient httpClient, String uuid, String secret, String baseURL, String localBaseUrl,
-            boolean remoteAccessEnabled, Set<String> exposedItems) {
+            boolean remoteAccessEnabled, Set<String> exposedItems, int maxConcurrentRequests, int frameSize) {
         this.uuid = uuid;
         this.secret = secret;
         this.baseURL = baseURL;
@@ -173,6 +194,8 @@ public class CloudClient {
         this.remoteAccessEnabled = remoteAccessEnabled;
         this.exposedItems = exposedItems;
         this.jettyClient = httpClient;
+        this.requestQueue = new ProxyRequestQueue(maxConcurrentRequests);
+        this.frameSize = frameSize;
         reconnectBackoff.setMin(RECONNECT_MIN);
         reconnectBackoff.setMax(RECONNECT_MAX);
         reconnectBackoff.setJitter(RECONNECT_JITTER);
@@ -381,7 +404,8 @@ public class CloudClient {
         logger.info("Disconnected from the openHAB Cloud service (UUID = {}, base URL = {})", censored(this.uuid),
                 this.localBaseUrl);
         isConnected = false;
-        // And clean up the list of running requests
+        // And clean up the list of running and queued requests
+        requestQueue.clear();
         runningRequests.clear();
     }
 
@@ -462,9 +486,14 @@ public class CloudClient {
             if (!requestBody.isEmpty()) {
                 request.content(new BytesContentProvider(requestBody.getBytes()));
             }
+            ProxiedRequest proxiedRequest = new ProxiedRequest(requestId, request);
 
             request.onResponseHeaders(response -> {
                 logger.debug("onHeaders {}", requestId);
+                if (isEventStream(response.getHeaders().get(HttpHeader.CONTENT_TYPE))) {
+                    // An event stream stays open, it must not hold a slot of the concurrent requests
+                    requestQueue.release(requestId);
+                }
                 JSONObject responseJson = new JSONObject();
                 try {
                     responseJson.put("id", requestId);
@@ -479,18 +508,7 @@ public class CloudClient {
                 }
             }).onResponseContent((theResponse, content) -> {
                 logger.debug("onResponseContent: {}, content size {}", requestId, String.valueOf(content.remaining()));
-                JSONObject responseJson = new JSONObject();
-                try {
-                    responseJson.put("id", requestId);
-                    responseJson.put("body", BufferUtil.toArray(content));
-                    if (logger.isTraceEnabled()) {
-                        logger.trace("{}", StandardCharsets.UTF_8.decode(content).toString());
-                    }
-                    socket.emit("responseContentBinary", responseJson);
-                    logger.trace("Sent content to request {}", requestId);
-                } catch (JSONException e) {
-                    logger.debug("{}", e.getMessage());
-                }
+                proxiedRequest.append(content);
             }).onRequestFailure((origRequest, failure) -> {
                 logger.debug("onRequestFailure: {},  {}", requestId, failure.getMessage());
                 JSONObject responseJson = new JSONObject();
@@ -501,10 +519,11 @@ public class CloudClient {
                 } catch (JSONException e) {
                     logger.debug("{}", e.getMessage());
                 }
-            }).send(result -> {
+            });
+            proxiedRequest.completeListener = result -> {
                 logger.debug("onComplete: {}", requestId);
-                // Remove this request from list of running requests
-                runningRequests.remove(requestId);
+                // Send the remaining aggregated content before finishing the response
+                proxiedRequest.flush();
                 if ((result != null && result.isFailed())
                         && (result.getResponse() != null && result.getResponse().getStatus() != HttpStatus.OK_200)) {
                     if (result.getFailure() != null) {
@@ -525,16 +544,36 @@ public class CloudClient {
                 } catch (JSONException e) {
                     logger.debug("{}", e.getMessage());
                 }
-            });
+                proxiedRequest.logMetrics();
+                // Remove this request from list of running requests and start the next queued one
+                runningRequests.remove(requestId);
+                requestQueue.release(requestId);
+            };
 
-            // If successfully submitted request to http client, add it to the list of currently
-            // running requests to be able to cancel it if needed
+            // Requests are added to the list of currently running requests to be able to cancel them if needed
             runningRequests.put(requestId, request);
+            if (!requestQueue.submit(requestId, proxiedRequest::send, isStreaming(request))) {
+                logger.debug("Queued request {}, {} requests running and {} queued", requestId,
+                        requestQueue.getRunningCount(), requestQueue.getQueuedCount());
+            }
         } catch (JSONException | IOException | URISyntaxException e) {
             logger.debug("{}", e.getMessage());
         }
     }
 
+    /**
+     * Server-sent events and long polling requests stay open until an event occurs, they are not limited by the
+     * maximum number of concurrent requests.
+     */
+    private boolean isStreaming(Request request) {
+        HttpFields headers = request.getHeaders();
+        return isEventStream(headers.get(HttpHeader.ACCEPT)) || headers.containsKey("X-Atmosphere-Transport");
+    }
+
+    private boolean isEventStream(@Nullable String mimeType) {
+        return mimeType != null && mimeType.contains("text/event-stream");
+    }
+
     private void setRequestHeaders(Request request, JSONObject requestHeadersJson) {
         Iterator<String> headersIterator = requestHeadersJson.keys();
         // Convert JSONObject of headers into Header ArrayList
@@ -557,11 +596,17 @@ public class CloudClient {
         try {
             int requestId = data.getInt("id");
             logger.debug("Received cancel for request {}", requestId);
+            // Drop the request if it has not been started yet
+            if (requestQueue.cancelQueued(requestId)) {
+                runningRequests.remove(requestId);
+                return;
+            }
             // Find and abort running request
             Request request = runningRequests.get(requestId);
             if (request != null) {
                 request.abort(new InterruptedException());
                 runningRequests.remove(requestId);
+                requestQueue.release(requestId);
             }
         } catch (JSONException e) {
             logger.debug("{}", e.getMessage());
@@ -725,4 +770,63 @@ public class CloudClient {
         }
         return secret.substring(0, 2) + "..." + secret.substring(secret.length() - 2, secret.length());
     }
+
+    /**
+     * A request proxied to the local openHAB. Response content is aggregated up to the configured frame size, or
+     * for at most {@link #FRAME_FLUSH_DELAY} milliseconds, before it is sent to the openHAB Cloud.
+     */
+    private class ProxiedRequest {
+        private final int id;
+        private final Request request;
+        private final long created = System.nanoTime();
+        private final ResponseFrameAggregator aggregator;
+        private Response.@Nullable CompleteListener completeListener;
+        private volatile long started;
+
+        ProxiedRequest(int id, Request request) {
+            this.id = id;
+            this.request = request;
+            this.aggregator = new ResponseFrameAggregator(frameSize, FRAME_FLUSH_DELAY, scheduler, this::sendFrame);
+        }
+
+        void send() {
+            started = System.nanoTime();
+            Response.CompleteListener listener = completeListener;
+            if (listener != null) {
+                request.send(listener);
+            }
+        }
+
+        void append(ByteBuffer content) {
+            if (logger.isTraceEnabled()) {
+                logger.trace("{}", StandardCharsets.UTF_8.decode(content.duplicate()).toString());
+            }
+            aggregator.append(content);
+        }
+
+        void flush() {
+            aggregator.flush();
+        }
+
+        private void sendFrame(byte[] frame) {
+            JSONObject responseJson = new JSONObject();
+            try {
+                responseJson.put("id", id);
+                responseJson.put("body", frame);
+                socket.emit("responseContentBinary", responseJson);
+                logger.trace("Sent {} bytes of content to request {}", frame.length, id);
+            } catch (JSONException e) {
+                logger.debug("{}", e.getMessage());
+            }
+        }
+
+        void logMetrics() {
+            if (logger.isDebugEnabled()) {
+                long now = System.nanoTime();
+                logger.debug("Request {} finished after {} ms (queued {} ms), {} bytes sent in {} frames", id,
+                        TimeUnit.NANOSECONDS.toMillis(now - created), TimeUnit.NANOSECONDS.toMillis(started - created),
+                        aggregator.getBytes(), aggregator.getFrames());
+            }
+        }
+    }
 }
@@ -75,10 +75,15 @@ public class CloudService implements ActionService, CloudClientListener, EventSu
     private static final String CFG_EXPOSE = "expose";
     private static final String CFG_BASE_URL = "baseURL";
     private static final String CFG_MODE = "mode";
+    private static final String CFG_MAX_PROXY_REQUESTS = "maxProxyRequests";
+    private static final String CFG_PROXY_FRAME_SIZE = "proxyFrameSize";
     private static final String SECRET_FILE_NAME = "openhabcloud" + File.separator + "secret";
     private static final String DEFAULT_URL = "https://myopenhab.org/";
     private static final int DEFAULT_LOCAL_OPENHAB_MAX_CONCURRENT_REQUESTS = 200;
     private static final int DEFAULT_LOCAL_OPENHAB_REQUEST_TIMEOUT = 30000;
+    // well below the connections to the local openHAB, but enough for the parallel requests of a UI page
+    private static final int DEFAULT_MAX_PROXY_REQUESTS = 32;
+    private static final int DEFAULT_PROXY_FRAME_SIZE = 16384;
     private static final String HTTPCLIENT_NAME = "openhabcloud";
     private static final String CHARS = "0123456789ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz";
     private static final SecureRandom SR = new SecureRandom();
@@ -94,6 +99,8 @@ public class CloudService implements ActionService, CloudClientListener, EventSu
 
     private boolean remoteAccessEnabled = true;
     private Set<String> exposedItems = null;
+    private int maxProxyRequests = DEFAULT_MAX_PROXY_REQUESTS;
+    private int proxyFrameSize = DEFAULT_PROXY_FRAME_SIZE;
     private int localPort;
 
     @Activate
@@ -209,6 +216,9 @@ public class CloudService implements ActionService, CloudClientListener, EventSu
             cloudBaseUrl = DEFAULT_URL;
         }
 
+        maxProxyRequests = getIntConfig(config, CFG_MAX_PROXY_REQUESTS, DEFAULT_MAX_PROXY_REQUESTS);
+        proxyFrameSize = getIntConfig(config, CFG_PROXY_FRAME_SIZE, DEFAULT_PROXY_FRAME_SIZE);
+
         exposedItems = new HashSet<>();
         Object expCfg = config.get(CFG_EXPOSE);
         if (expCfg instanceof String) {
@@ -246,12 +256,27 @@ public class CloudService implements ActionService, CloudClientListener, EventSu
 
         String localBaseUrl = "http://localhost:" + localPort;
         cloudClient = new CloudClient(httpClient, InstanceUUID.get(), getSecret(), cloudBaseUrl, localBaseUrl,
-                remoteAccessEnabled, exposedItems);
+                remoteAccessEnabled, exposedItems, maxProxyRequests, proxyFrameSize);
         cloudClient.connect();
         cloudClient.setListener(this);
         NotificationAction.cloudService = this;
     }
 
+    private int getIntConfig(Map<String, ?> config, String key, int defaultValue) {
+        Object value = config.get(key);
+        if (value instanceof Number) {
+            return Math.max(0, ((Number) value).intValue());
+        } else if (value != null) {
+            try {
+                return Math.max(0, Integer.parseInt(value.toString().trim()));
+            } catch (NumberFormatException e) {
+                logger.warn("Invalid value '{}' for configuration parameter '{}', using default {}", value, key,
+                        defaultValue);
+            }
+        }
+        return defaultValue;
+    }
+
     @Override
     public String getActionClassName() {
         return NotificationAction.class.getCanonicalName();
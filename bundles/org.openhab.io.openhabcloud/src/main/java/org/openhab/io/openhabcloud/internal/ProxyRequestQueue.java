@@ -0,0 +1,112 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.io.openhabcloud.internal;
+
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+
+/**
+ * Limits the number of requests that are proxied to the local openHAB at the same time. Requests above the limit
+ * are queued in order of arrival and started when a slot is released.
+ *
+ * Streaming requests (server-sent events, long polling) stay open for a long time and are never counted, otherwise
+ * a few open browser tabs would block all other requests.
+ *
+ * @author openHAB Contributors - Initial contribution
+ */
+@NonNullByDefault
+class ProxyRequestQueue {
+    private final int maxRunning;
+
+    // all guarded by this
+    private final Set<Integer> running = new HashSet<>();
+    private final Map<Integer, Runnable> queued = new LinkedHashMap<>();
+
+    /**
+     * @param maxRunning Maximum number of counted requests running at the same time, 0 for no limit
+     */
+    ProxyRequestQueue(int maxRunning) {
+        this.maxRunning = maxRunning;
+    }
+
+    /**
+     * Starts the request, or queues it if the maximum number of running requests is reached.
+     *
+     * @param id The request id
+     * @param start Starts the request, called on the calling thread or on the thread that releases a slot
+     * @param streaming Streaming requests are started directly and do not take a slot
+     * @return true if the request has been started, false if it has been queued
+     */
+    boolean submit(int id, Runnable start, boolean streaming) {
+        if (!streaming) {
+            synchronized (this) {
+                if (maxRunning > 0 && running.size() >= maxRunning) {
+                    queued.put(id, start);
+                    return false;
+                }
+                running.add(id);
+            }
+        }
+        start.run();
+        return true;
+    }
+
+    /**
+     * Releases the slot of a finished or cancelled request, or of a request that turned out to be streaming, and
+     * starts the next queued request.
+     */
+    void release(int id) {
+        Runnable next;
+        synchronized (this) {
+            if (!running.remove(id)) {
+                return;
+            }
+            Iterator<Map.Entry<Integer, Runnable>> iterator = queued.entrySet().iterator();
+            if (!iterator.hasNext()) {
+                return;
+            }
+            Map.Entry<Integer, Runnable> entry = iterator.next();
+            iterator.remove();
+            running.add(entry.getKey());
+            next = entry.getValue();
+        }
+        next.run();
+    }
+
+    /**
+     * Drops a request that has not been started yet.
+     *
+     * @return true if the request was queued
+     */
+    synchronized boolean cancelQueued(int id) {
+        return queued.remove(id) != null;
+    }
+
+    synchronized int getRunningCount() {
+        return running.size();
+    }
+
+    synchronized int getQueuedCount() {
+        return queued.size();
+    }
+
+    synchronized void clear() {
+        running.clear();
+        queued.clear();
+    }
+}
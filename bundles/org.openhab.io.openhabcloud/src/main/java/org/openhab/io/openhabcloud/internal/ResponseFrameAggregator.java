@@ -0,0 +1,94 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.io.openhabcloud.internal;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.eclipse.jetty.util.BufferUtil;
+
+/**
+ * Aggregates the response content of a proxied request into frames. Content is collected up to the frame size, or
+ * for at most the flush delay, so streaming responses stay responsive.
+ *
+ * @author openHAB Contributors - Initial contribution
+ */
+@NonNullByDefault
+class ResponseFrameAggregator {
+    private final int frameSize;
+    private final long flushDelay;
+    private final ScheduledExecutorService scheduler;
+    private final Consumer<byte[]> frameConsumer;
+
+    // all guarded by this
+    private final ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+    private @Nullable ScheduledFuture<?> flushFuture;
+    private long bytes;
+    private int frames;
+
+    /**
+     * @param frameSize Size in bytes up to which content is aggregated, 0 to send every chunk directly
+     * @param flushDelay Maximum time in milliseconds content is held back
+     * @param scheduler Scheduler for the delayed flush
+     * @param frameConsumer Sends a frame, called while holding the lock of this aggregator so frames stay in order
+     */
+    ResponseFrameAggregator(int frameSize, long flushDelay, ScheduledExecutorService scheduler,
+            Consumer<byte[]> frameConsumer) {
+        this.frameSize = frameSize;
+        this.flushDelay = flushDelay;
+        this.scheduler = scheduler;
+        this.frameConsumer = frameConsumer;
+    }
+
+    synchronized void append(ByteBuffer content) {
+        byte[] data = BufferUtil.toArray(content);
+        bytes += data.length;
+        buffer.write(data, 0, data.length);
+        if (buffer.size() >= frameSize) {
+            flush();
+        } else if (flushFuture == null) {
+            flushFuture = scheduler.schedule(this::flush, flushDelay, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Sends the aggregated content, if any.
+     */
+    synchronized void flush() {
+        ScheduledFuture<?> future = flushFuture;
+        if (future != null) {
+            future.cancel(false);
+            flushFuture = null;
+        }
+        if (buffer.size() == 0) {
+            return;
+        }
+        frameConsumer.accept(buffer.toByteArray());
+        frames++;
+        buffer.reset();
+    }
+
+    synchronized long getBytes() {
+        return bytes;
+    }
+
+    synchronized int getFrames() {
+        return frames;
+    }
+}
@@ -0,0 +1,129 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.io.openhabcloud.internal;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the {@link ProxyRequestQueue} class.
+ *
+ * @author openHAB Contributors - Initial contribution
+ */
+@NonNullByDefault
+public class ProxyRequestQueueTest {
+
+    private final List<Integer> started = new ArrayList<>();
+
+    private boolean submit(ProxyRequestQueue queue, int id, boolean streaming) {
+        return queue.submit(id, () -> started.add(id), streaming);
+    }
+
+    @Test
+    public void unlimited() {
+        ProxyRequestQueue queue = new ProxyRequestQueue(0);
+        for (int i = 0; i < 100; i++) {
+            assertTrue(submit(queue, i, false));
+        }
+        assertThat(started.size(), is(100));
+        assertThat(queue.getQueuedCount(), is(0));
+    }
+
+    @Test
+    public void queuedInOrderOfArrival() {
+        ProxyRequestQueue queue = new ProxyRequestQueue(2);
+        assertTrue(submit(queue, 1, false));
+        assertTrue(submit(queue, 2, false));
+        assertFalse(submit(queue, 3, false));
+        assertFalse(submit(queue, 4, false));
+        assertThat(started, is(List.of(1, 2)));
+        assertThat(queue.getQueuedCount(), is(2));
+
+        queue.release(2);
+        assertThat(started, is(List.of(1, 2, 3)));
+        queue.release(1);
+        assertThat(started, is(List.of(1, 2, 3, 4)));
+        assertThat(queue.getRunningCount(), is(2));
+        assertThat(queue.getQueuedCount(), is(0));
+
+        queue.release(3);
+        queue.release(4);
+        assertThat(queue.getRunningCount(), is(0));
+    }
+
+    @Test
+    public void releaseIsIdempotent() {
+        ProxyRequestQueue queue = new ProxyRequestQueue(1);
+        submit(queue, 1, false);
+        submit(queue, 2, false);
+        submit(queue, 3, false);
+
+        // Finishing a request that already released its slot, e.g. after a cancel, must not start another one
+        queue.release(1);
+        queue.release(1);
+        assertThat(started, is(List.of(1, 2)));
+        assertThat(queue.getRunningCount(), is(1));
+    }
+
+    @Test
+    public void streamingRequestsAreNotCounted() {
+        ProxyRequestQueue queue = new ProxyRequestQueue(1);
+        assertTrue(submit(queue, 1, true));
+        assertTrue(submit(queue, 2, true));
+        assertTrue(submit(queue, 3, false));
+        assertFalse(submit(queue, 4, false));
+        assertTrue(submit(queue, 5, true));
+        assertThat(started, is(List.of(1, 2, 3, 5)));
+
+        // Finishing a streaming request does not free a slot
+        queue.release(1);
+        assertThat(started, is(List.of(1, 2, 3, 5)));
+    }
+
+    @Test
+    public void requestDetectedAsStreamingReleasesItsSlot() {
+        ProxyRequestQueue queue = new ProxyRequestQueue(1);
+        submit(queue, 1, false);
+        submit(queue, 2, false);
+
+        // The response of request 1 turned out to be an event stream
+        queue.release(1);
+        assertThat(started, is(List.of(1, 2)));
+
+        // Its completion later on must not take the slot of request 2
+        submit(queue, 3, false);
+        queue.release(1);
+        assertThat(started, is(List.of(1, 2)));
+        assertThat(queue.getQueuedCount(), is(1));
+    }
+
+    @Test
+    public void cancelQueued() {
+        ProxyRequestQueue queue = new ProxyRequestQueue(1);
+        submit(queue, 1, false);
+        submit(queue, 2, false);
+        submit(queue, 3, false);
+
+        assertTrue(queue.cancelQueued(2));
+        assertFalse(queue.cancelQueued(1));
+        queue.release(1);
+        assertThat(started, is(List.of(1, 3)));
+    }
+}
@@ -0,0 +1,119 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.io.openhabcloud.internal;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+
+/**
+ * Tests the {@link ResponseFrameAggregator} class.
+ *
+ * @author openHAB Contributors - Initial contribution
+ */
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.WARN)
+public class ResponseFrameAggregatorTest {
+
+    private @Mock ScheduledExecutorService scheduler;
+    private @Mock ScheduledFuture<?> future;
+
+    private final List<String> frames = new ArrayList<>();
+
+    @BeforeEach
+    public void setUp() {
+        doReturn(future).when(scheduler).schedule(any(Runnable.class), anyLong(), any(TimeUnit.class));
+    }
+
+    private ResponseFrameAggregator create(int frameSize) {
+        return new ResponseFrameAggregator(frameSize, 50, scheduler,
+                frame -> frames.add(new String(frame, StandardCharsets.UTF_8)));
+    }
+
+    private static ByteBuffer content(String content) {
+        return ByteBuffer.wrap(content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void aggregatesUpToFrameSize() {
+        ResponseFrameAggregator aggregator = create(8);
+        aggregator.append(content("abc"));
+        aggregator.append(content("def"));
+        assertThat(frames.size(), is(0));
+
+        aggregator.append(content("ghi"));
+        assertThat(frames, is(List.of("abcdefghi")));
+        verify(future).cancel(false);
+
+        // The remainder is sent on completion
+        aggregator.append(content("jk"));
+        aggregator.flush();
+        assertThat(frames, is(List.of("abcdefghi", "jk")));
+        assertThat(aggregator.getBytes(), is(11L));
+        assertThat(aggregator.getFrames(), is(2));
+    }
+
+    @Test
+    public void flushedAfterDelay() {
+        ResponseFrameAggregator aggregator = create(1024);
+        aggregator.append(content("event: 1"));
+        aggregator.append(content("event: 2"));
+
+        // A single timer for all chunks of a frame
+        ArgumentCaptor<Runnable> captor = ArgumentCaptor.forClass(Runnable.class);
+        verify(scheduler).schedule(captor.capture(), eq(50L), eq(TimeUnit.MILLISECONDS));
+        assertThat(frames.size(), is(0));
+
+        captor.getValue().run();
+        assertThat(frames, is(List.of("event: 1event: 2")));
+
+        // The next chunk starts a new timer
+        aggregator.append(content("event: 3"));
+        verify(scheduler, times(2)).schedule(any(Runnable.class), anyLong(), any(TimeUnit.class));
+    }
+
+    @Test
+    public void emptyFlushSendsNothing() {
+        ResponseFrameAggregator aggregator = create(1024);
+        aggregator.flush();
+        assertThat(frames.size(), is(0));
+        assertThat(aggregator.getFrames(), is(0));
+    }
+
+    @Test
+    public void frameSizeZeroSendsEveryChunk() {
+        ResponseFrameAggregator aggregator = create(0);
+        aggregator.append(content("a"));
+        aggregator.append(content("b"));
+        assertThat(frames, is(List.of("a", "b")));
+        verifyNoInteractions(scheduler);
+    }
+}
@@ -20,6 +20,7 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 import static org.openhab.binding.modbus.internal.ModbusBindingConstantsInternal.*;
 
+import java.math.BigDecimal;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
@@ -598,6 +599,41 @@ public class ModbusDataHandlerTest extends AbstractModbusOSGiTest {
         assertSingleStateUpdate(dataHandler, CHANNEL_STRING, is(equalTo(new StringType("ON"))));
     }
 
+    @Test
+    public void testOnRegistersDeadband() {
+        ModbusSlaveEndpoint endpoint = new ModbusTCPSlaveEndpoint("thisishost", 502, false);
+        ModbusReadRequestBlueprint request = Mockito.mock(ModbusReadRequestBlueprint.class);
+        doReturn(3).when(request).getDataLength();
+        doReturn(ModbusReadFunctionCode.READ_MULTIPLE_REGISTERS).when(request).getFunctionCode();
+        PollTask task = Mockito.mock(PollTask.class);
+        doReturn(endpoint).when(task).getEndpoint();
+        doReturn(request).when(task).getRequest();
+        Bridge poller = createPollerMock("poller1", task);
+
+        Configuration dataConfig = new Configuration();
+        dataConfig.put("readStart", "0");
+        dataConfig.put("readTransform", "default");
+        dataConfig.put("readValueType", ModbusConstants.ValueType.INT16.getConfigValue());
+        dataConfig.put("updateUnchangedValuesEveryMillis", new BigDecimal(3600000));
+        dataConfig.put("updateDeadband", new BigDecimal(2));
+        ModbusDataThingHandler dataHandler = createDataHandler("read1", poller,
+                builder -> builder.withConfiguration(dataConfig));
+        assertThat(dataHandler.getThing().getStatus(), is(equalTo(ThingStatus.ONLINE)));
+
+        // 11 is within the deadband of 10, 12 is not. Deadband is relative to the last updated value, not to 11.
+        for (int value : new int[] { 10, 11, 10, 12 }) {
+            dataHandler.onReadResult(new AsyncModbusReadResult(request, new ModbusRegisterArray(value, 0, 0)));
+        }
+
+        String numberItemName = getItemName(new ChannelUID(dataHandler.getThing().getUID(), CHANNEL_NUMBER));
+        waitForAssert(() -> assertThat(getStateUpdates(numberItemName),
+                is(equalTo(Arrays.<State> asList(new DecimalType(10), new DecimalType(12))))));
+        // Other than numeric states are updated on every change
+        String stringItemName = getItemName(new ChannelUID(dataHandler.getThing().getUID(), CHANNEL_STRING));
+        waitForAssert(() -> assertThat(getStateUpdates(stringItemName), is(equalTo(Arrays.<State> asList(
+                new StringType("10"), new StringType("11"), new StringType("10"), new StringType("12"))))));
+    }
+
     @Test
     public void testWriteRealTransformation() throws InvalidSyntaxException {
         captureModbusWrites();